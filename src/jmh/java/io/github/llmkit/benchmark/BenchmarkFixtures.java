@@ -0,0 +1,116 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.chat.openai.OpenAIChatConfig;
+import io.github.llmkit.chat.openai.OpenAIChatModel;
+import io.github.llmkit.core.json.StreamDeltaParser;
+import io.github.llmkit.prompt.ChatPrompt;
+import io.github.llmkit.prompt.ChatPromptBuilder;
+import io.github.llmkit.prompt.Prompt;
+import okhttp3.RequestBody;
+
+/**
+ * Shared test data and helpers for the JMH benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final ChatOptions OPTIONS = ChatOptions.builder()
+            .temperature(0.7f)
+            .maxTokens(512)
+            .topP(0.9)
+            .build();
+
+    static final String COMPLETION = "{\"id\":\"chatcmpl-9Xk2lN7mVqPz3hB1cD4eF5gH6iJ\"," +
+            "\"object\":\"chat.completion\",\"created\":1718000000,\"model\":\"gpt-4o-2024-05-13\"," +
+            "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":" +
+            "\"Recursion is a technique where a function calls itself to solve smaller instances of " +
+            "the same problem. Every recursive function needs a base case that stops the recursion " +
+            "and a recursive case that moves towards the base case.\"},\"logprobs\":null," +
+            "\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":52,\"completion_tokens\":48," +
+            "\"total_tokens\":100},\"system_fingerprint\":\"fp_319be4768e\"}";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a conversation with a system message followed by alternating
+     * user and assistant turns.
+     *
+     * @param messageCount the total number of messages
+     * @return the prompt
+     */
+    static ChatPrompt conversation(int messageCount) {
+        ChatPromptBuilder builder = Prompt.chat().system("You are a helpful coding assistant. Be concise.");
+        for (int i = 1; i < messageCount; i++) {
+            if (i % 2 == 1) {
+                builder.user("Question " + i + ": how do I reverse a linked list in Java without recursion?");
+            } else {
+                builder.assistant("Answer " + i + ": keep three references (prev, current, next) and walk the " +
+                        "list once, pointing each node's next field at the previous node.");
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds an SSE response body with the given number of content chunks.
+     *
+     * @param chunks the number of content chunks
+     * @return the SSE body
+     */
+    static String sseBody(int chunks) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < chunks; i++) {
+            sb.append("data: {\"id\":\"chatcmpl-9Xk2lN7mVqPz3hB1cD4eF5gH6iJ\",\"object\":\"chat.completion.chunk\",")
+              .append("\"created\":1718000000,\"model\":\"gpt-4o-2024-05-13\",\"choices\":[{\"index\":0,")
+              .append("\"delta\":{\"content\":\" token").append(i).append("\"},\"logprobs\":null,")
+              .append("\"finish_reason\":null}]}\n\n");
+        }
+        sb.append("data: [DONE]\n\n");
+        return sb.toString();
+    }
+
+    /**
+     * Creates a model pointing at the given endpoint.
+     *
+     * @param endpoint the endpoint URL
+     * @return the model
+     */
+    static ExposedChatModel model(String endpoint) {
+        OpenAIChatConfig config = OpenAIChatConfig.builder()
+                .apiKey("benchmark-key")
+                .endpoint(endpoint)
+                .retryEnabled(false)
+                .build();
+        return new ExposedChatModel(config);
+    }
+
+    /**
+     * OpenAIChatModel that exposes its protected request building and
+     * response parsing hooks to the benchmarks.
+     */
+    static final class ExposedChatModel extends OpenAIChatModel {
+
+        ExposedChatModel(OpenAIChatConfig config) {
+            super(config);
+        }
+
+        String requestBody(Prompt prompt, ChatOptions options, boolean stream) {
+            return buildRequestBody(prompt, options, stream);
+        }
+
+        RequestBody sinkRequestBody(Prompt prompt, ChatOptions options, boolean stream) {
+            return createRequestBody(prompt, options, stream);
+        }
+
+        ChatResponse response(String body) {
+            return parseResponse(body);
+        }
+
+        ChatDelta streamDelta(StreamDeltaParser.Session session, String data) {
+            return parseStreamDelta(session, data);
+        }
+    }
+}
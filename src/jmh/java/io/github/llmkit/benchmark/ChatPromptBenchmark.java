@@ -0,0 +1,36 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.message.AiMessage;
+import io.github.llmkit.message.UserMessage;
+import io.github.llmkit.prompt.ChatPrompt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures growing a conversation one message at a time with the
+ * immutable {@code ChatPrompt.add*} methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatPromptBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int turns;
+
+    private final UserMessage user = UserMessage.of("How do I reverse a linked list?");
+    private final AiMessage assistant = AiMessage.of("Walk the list once and flip each next pointer.");
+
+    @Benchmark
+    public ChatPrompt addMessageChain() {
+        ChatPrompt prompt = ChatPrompt.empty().addUserMessage("You are helpful");
+        for (int i = 0; i < turns; i++) {
+            prompt = prompt.addMessage(user).addMessage(assistant);
+        }
+        return prompt;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.resilience.CircuitBreaker;
+import io.github.llmkit.resilience.CircuitBreakerConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a request costs once a circuit breaker has made its decision.
+ *
+ * <p>{@code rejectWhileOpen} is the whole fast-fail path of a degraded
+ * provider, including the {@link CircuitBreakerOpenException}, where the
+ * request would otherwise wait for the read timeout; {@code admitWhileClosed}
+ * is the bookkeeping added to every healthy call.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+
+    private CircuitBreaker closed;
+    private CircuitBreaker open;
+
+    @Setup
+    public void setUp() {
+        closed = CircuitBreaker.of("closed", CircuitBreakerConfig.DEFAULT);
+        open = CircuitBreaker.of("open", CircuitBreakerConfig.builder()
+                .minimumCalls(1)
+                .openDurationMs(TimeUnit.HOURS.toMillis(1))
+                .build());
+        try {
+            open.execute(() -> {
+                throw new NetworkException("Service unavailable", 503, "{}");
+            });
+        } catch (NetworkException expected) {
+            // The breaker is now open
+        }
+    }
+
+    @Benchmark
+    public String admitWhileClosed() {
+        return closed.execute(() -> "ok");
+    }
+
+    @Benchmark
+    public Object rejectWhileOpen() {
+        try {
+            return open.execute(() -> "never sent");
+        } catch (CircuitBreakerOpenException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.chat.openai.OpenAIChatConfig;
+import io.github.llmkit.core.http.HttpClientFactory;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.VirtualThreads;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.QueueDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many client threads are needed to keep a given number of
+ * conversations in flight against a provider with fixed latency.
+ *
+ * <ul>
+ *   <li>{@code platform}: blocking {@code call()} on a platform thread per conversation</li>
+ *   <li>{@code async}: {@code callAsync()} on OkHttp's dispatcher pool</li>
+ *   <li>{@code virtual}: blocking {@code call()} on a virtual thread per
+ *       conversation, with HTTP callbacks on virtual threads too (JDK 21+)</li>
+ * </ul>
+ *
+ * <p>Each invocation runs one batch of {@code concurrency} calls and reports
+ * its wall time. At the end of each trial the benchmark prints the peak
+ * number of live platform threads during a batch above those alive before the trial started,
+ * excluding the mock server's own threads; pooled threads kept alive between
+ * batches are therefore counted. Virtual threads are not platform threads and are not
+ * counted; their carrier threads are.</p>
+ *
+ * <p>On JVMs without virtual threads run with {@code -p mode=platform,async}.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrencyBenchmark {
+
+    private static final long LATENCY_MS = 100;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    @Param({"platform", "async", "virtual"})
+    public String mode;
+
+    private MockWebServer server;
+    private ChatModel model;
+    private ExecutorService conversations;
+    private Prompt prompt;
+    private int baselineThreads;
+    private int peakThreads;
+
+    @Setup
+    public void setUp() throws IOException {
+        baselineThreads = ThreadSampler.count();
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("mode=virtual requires Java 21, run with -p mode=platform,async");
+        }
+        QueueDispatcher dispatcher = new QueueDispatcher();
+        dispatcher.setFailFast(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(BenchmarkFixtures.COMPLETION)
+                .setHeadersDelay(LATENCY_MS, TimeUnit.MILLISECONDS));
+        server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+
+        model = OpenAIChatConfig.builder()
+                .apiKey("benchmark-key")
+                .endpoint(server.url("/").toString())
+                .retryEnabled(false)
+                .maxIdleConnections(concurrency)
+                .maxRequests(concurrency)
+                .maxRequestsPerHost(concurrency)
+                .executor(virtual ? VirtualThreads.executor() : null)
+                .build()
+                .toModel();
+        if ("platform".equals(mode)) {
+            conversations = Executors.newCachedThreadPool();
+        } else if (virtual) {
+            conversations = VirtualThreads.newExecutor();
+        }
+        prompt = BenchmarkFixtures.conversation(2);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%n[mode=%s, concurrency=%d] peak client platform threads: %d%n",
+                mode, concurrency, peakThreads);
+        if (conversations != null) {
+            conversations.shutdownNow();
+        }
+        server.shutdown();
+        HttpClientFactory.reset();
+    }
+
+    @Benchmark
+    public void conversations() throws InterruptedException {
+        ThreadSampler sampler = new ThreadSampler(baselineThreads);
+        sampler.start();
+
+        List<CompletableFuture<ChatResponse>> calls = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            if (conversations == null) {
+                calls.add(model.callAsync(prompt, BenchmarkFixtures.OPTIONS));
+            } else {
+                calls.add(CompletableFuture.supplyAsync(
+                        () -> model.call(prompt, BenchmarkFixtures.OPTIONS), conversations));
+            }
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).join();
+
+        peakThreads = Math.max(peakThreads, sampler.finish());
+    }
+
+    /**
+     * Samples the number of live client platform threads every millisecond.
+     */
+    private static final class ThreadSampler extends Thread {
+
+        private static final ThreadMXBean MX_BEAN = ManagementFactory.getThreadMXBean();
+
+        private final int baseline;
+        private volatile boolean running = true;
+        private volatile int peak;
+
+        ThreadSampler(int baseline) {
+            this.baseline = baseline;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                peak = Math.max(peak, count());
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        int finish() throws InterruptedException {
+            running = false;
+            join();
+            // The sampler itself is not a client thread
+            return Math.max(0, Math.max(peak, count()) - 1 - baseline);
+        }
+
+        static int count() {
+            int count = 0;
+            for (ThreadInfo info : MX_BEAN.getThreadInfo(MX_BEAN.getAllThreadIds())) {
+                if (info != null && !info.getThreadName().startsWith("MockWebServer")) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
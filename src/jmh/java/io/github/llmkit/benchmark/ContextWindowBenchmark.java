@@ -0,0 +1,74 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.message.AiMessage;
+import io.github.llmkit.message.SystemMessage;
+import io.github.llmkit.message.UserMessage;
+import io.github.llmkit.prompt.ChatPrompt;
+import io.github.llmkit.prompt.ContextWindow;
+import io.github.llmkit.tokenizer.BpeEncoding;
+import io.github.llmkit.tokenizer.BpeTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole chat session in which the conversation is counted before
+ * every request, each turn bringing two messages.
+ *
+ * <p>{@code fitEachTurn} keeps the conversation in a 2000-token window;
+ * {@code recountEachTurn} sums the counts of the whole history on every turn
+ * without a prompt-level cache, as before {@link ContextWindow}. The messages
+ * are created once, so after the first invocation their own counts are cached
+ * and only the per-turn bookkeeping is measured.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextWindowBenchmark {
+
+    private static final SystemMessage SYSTEM = SystemMessage.of("You are a helpful coding assistant.");
+
+    @Param({"100", "1000"})
+    public int turns;
+
+    private BpeTokenizer tokenizer;
+    private ContextWindow window;
+    private UserMessage[] users;
+    private AiMessage[] assistants;
+
+    @Setup
+    public void setUp() {
+        tokenizer = BpeTokenizer.load(BpeEncoding.CL100K_BASE);
+        window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(2000).build();
+        users = new UserMessage[turns];
+        assistants = new AiMessage[turns];
+        for (int i = 0; i < turns; i++) {
+            users[i] = UserMessage.of("How do I reverse a linked list of " + i + " nodes?");
+            assistants[i] = AiMessage.of("Walk the " + i + " nodes once and flip each next pointer.");
+        }
+    }
+
+    @Benchmark
+    public ChatPrompt fitEachTurn() {
+        ChatPrompt prompt = ChatPrompt.of(SYSTEM);
+        for (int i = 0; i < turns; i++) {
+            prompt = window.fit(prompt.addMessage(users[i]), null).addMessage(assistants[i]);
+        }
+        return prompt;
+    }
+
+    @Benchmark
+    public int recountEachTurn() {
+        ChatPrompt prompt = ChatPrompt.of(SYSTEM);
+        int tokens = 0;
+        for (int i = 0; i < turns; i++) {
+            prompt = prompt.addMessage(users[i]);
+            tokens = ChatPrompt.of(prompt.getMessages()).countTokens(tokenizer);
+            prompt = prompt.addMessage(assistants[i]);
+        }
+        return tokens;
+    }
+}
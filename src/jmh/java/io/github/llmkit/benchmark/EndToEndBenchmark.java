@@ -0,0 +1,163 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.core.http.HttpClientFactory;
+import io.github.llmkit.prompt.Prompt;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.net.ServerSocketFactory;
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full {@code call()} and {@code stream()} round trips against an
+ * in-process {@link MockWebServer}, including request serialization, HTTP
+ * transport over loopback and response parsing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+
+    @Param({"2", "200"})
+    public int messages;
+
+    private MockWebServer server;
+    private BenchmarkFixtures.ExposedChatModel model;
+    private Prompt prompt;
+
+    @Setup
+    public void setUp() throws IOException {
+        String sse = BenchmarkFixtures.sseBody(100);
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getBody().readUtf8().contains("\"stream\":true")) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "text/event-stream")
+                            .setBody(sse);
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(BenchmarkFixtures.COMPLETION);
+            }
+        });
+        server.start();
+        HttpClientFactory.setDefaultClient(HttpClientFactory.createDefaultClient().newBuilder()
+                .socketFactory(new NoDelaySocketFactory())
+                .build());
+        model = BenchmarkFixtures.model(server.url("/").toString());
+        prompt = BenchmarkFixtures.conversation(messages);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.shutdown();
+        HttpClientFactory.reset();
+    }
+
+    /**
+     * Server-side counterpart of {@link NoDelaySocketFactory} for the sockets
+     * accepted by the mock server.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new NoDelayServerSocket();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress ifAddress) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class NoDelayServerSocket extends ServerSocket {
+
+        NoDelayServerSocket() throws IOException {
+            super();
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            Socket socket = super.accept();
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+
+    /**
+     * Disables Nagle's algorithm so small loopback writes are not held back
+     * by delayed ACKs, which would otherwise dominate the measurement.
+     */
+    private static final class NoDelaySocketFactory extends SocketFactory {
+
+        private final SocketFactory delegate = SocketFactory.getDefault();
+
+        @Override
+        public Socket createSocket() throws IOException {
+            return configure(delegate.createSocket());
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return configure(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return configure(delegate.createSocket(host, port, localHost, localPort));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return configure(delegate.createSocket(host, port));
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+                throws IOException {
+            return configure(delegate.createSocket(address, port, localAddress, localPort));
+        }
+
+        private Socket configure(Socket socket) throws IOException {
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+
+    @Benchmark
+    public ChatResponse call() {
+        return model.call(prompt, BenchmarkFixtures.OPTIONS);
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        model.stream(prompt, blackhole::consume, BenchmarkFixtures.OPTIONS);
+    }
+}
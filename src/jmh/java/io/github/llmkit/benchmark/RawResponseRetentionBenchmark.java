@@ -0,0 +1,88 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.core.json.ChatResponseParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap held by stored responses under each
+ * {@link RawResponseRetention}, and the cost of reading the raw response back.
+ *
+ * <p>{@code store} parses {@code count} responses, keeps them all reachable
+ * and reports the retained heap through the {@code retainedMb} and
+ * {@code bytesPerResponse} counters. JMH sums these counters over
+ * measurement iterations, so run it with a single one:</p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="RawResponseRetention.store -wi 1 -i 1"
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class RawResponseRetentionBenchmark {
+
+    @Param({"NONE", "FULL", "COMPRESSED"})
+    public RawResponseRetention retention;
+
+    @Param({"1000000"})
+    public int count;
+
+    private byte[] body;
+    private ChatResponse response;
+
+    /**
+     * Heap retained by the responses built in one {@code store} invocation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedMb;
+        public long bytesPerResponse;
+    }
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkFixtures.COMPLETION.getBytes(StandardCharsets.UTF_8);
+        response = ChatResponseParser.parse(body.clone(), retention);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1)
+    public ChatResponse[] store(Footprint footprint) {
+        long before = usedHeap();
+        ChatResponse[] responses = new ChatResponse[count];
+        for (int i = 0; i < count; i++) {
+            // Every response owns its body, as it would when read off the wire
+            responses[i] = ChatResponseParser.parse(body.clone(), retention);
+        }
+        long retained = usedHeap() - before;
+        footprint.retainedMb = retained >> 20;
+        footprint.bytesPerResponse = retained / count;
+        return responses;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String rawResponse() {
+        return response.getRawResponse();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.llmkit.benchmark;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.core.json.JsonSinkWriter;
+import io.github.llmkit.message.Message;
+import io.github.llmkit.prompt.Prompt;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing a prompt and options into an OpenAI request body.
+ *
+ * <p>{@code writeRequestBody} is the path taken by real calls: the body is
+ * written straight into an Okio sink, copying each message's cached encoding.
+ * {@code uncachedRequestBody} writes to the sink but encodes every message
+ * again, as happened before messages cached their JSON. {@code treeRequestBody}
+ * reproduces the earlier JSONObject tree, {@code toJSONString()} and
+ * {@code RequestBody.create(String)} path as a baseline.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyBenchmark {
+
+    private static final MediaType JSON_TYPE = MediaType.parse("application/json; charset=utf-8");
+
+    @Param({"2", "200"})
+    public int messages;
+
+    private BenchmarkFixtures.ExposedChatModel model;
+    private Prompt prompt;
+    private final Buffer sink = new Buffer();
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkFixtures.model("http://localhost");
+        prompt = BenchmarkFixtures.conversation(messages);
+    }
+
+    @Benchmark
+    public String buildRequestBody() {
+        return model.requestBody(prompt, BenchmarkFixtures.OPTIONS, false);
+    }
+
+    @Benchmark
+    public String buildStreamingRequestBody() {
+        return model.requestBody(prompt, BenchmarkFixtures.OPTIONS, true);
+    }
+
+    @Benchmark
+    public long writeRequestBody() throws IOException {
+        model.sinkRequestBody(prompt, BenchmarkFixtures.OPTIONS, false).writeTo(sink);
+        return drain();
+    }
+
+    @Benchmark
+    public long uncachedRequestBody() throws IOException {
+        JsonSinkWriter json = new JsonSinkWriter(sink);
+        json.beginObject().name("model").value("gpt-4o");
+        json.name("messages").beginArray();
+        for (Message msg : prompt.getMessages()) {
+            json.beginObject().name("role").value(msg.getRole());
+            if (msg.getContent() != null) {
+                json.name("content").value(msg.getContent());
+            }
+            json.endObject();
+        }
+        json.endArray();
+        json.name("temperature").value(BenchmarkFixtures.OPTIONS.getTemperature());
+        json.name("max_tokens").value(BenchmarkFixtures.OPTIONS.getMaxTokens());
+        json.name("top_p").value(BenchmarkFixtures.OPTIONS.getTopP());
+        json.endObject();
+        return drain();
+    }
+
+    @Benchmark
+    public long treeRequestBody() throws IOException {
+        JSONObject body = new JSONObject();
+        body.put("model", "gpt-4o");
+        JSONArray array = new JSONArray();
+        for (Message msg : prompt.getMessages()) {
+            JSONObject msgObj = new JSONObject();
+            msgObj.put("role", msg.getRole());
+            msgObj.put("content", msg.getContent());
+            array.add(msgObj);
+        }
+        body.put("messages", array);
+        body.put("temperature", BenchmarkFixtures.OPTIONS.getTemperature());
+        body.put("max_tokens", BenchmarkFixtures.OPTIONS.getMaxTokens());
+        body.put("top_p", BenchmarkFixtures.OPTIONS.getTopP());
+        RequestBody.create(body.toJSONString(), JSON_TYPE).writeTo(sink);
+        return drain();
+    }
+
+    private long drain() {
+        long size = sink.size();
+        sink.clear();
+        return size;
+    }
+}
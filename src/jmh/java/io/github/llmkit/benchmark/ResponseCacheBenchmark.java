@@ -0,0 +1,82 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.cache.CacheKey;
+import io.github.llmkit.cache.DiskResponseCache;
+import io.github.llmkit.cache.InMemoryResponseCache;
+import io.github.llmkit.cache.ResponseCache;
+import io.github.llmkit.prompt.Prompt;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares warm lookups in {@link InMemoryResponseCache} and
+ * {@link DiskResponseCache}, and measures computing a {@link CacheKey}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseCacheBenchmark {
+
+    private static final int ENTRIES = 10_000;
+
+    @Param({"memory", "disk"})
+    public String store;
+
+    private ResponseCache cache;
+    private CacheKey[] keys;
+    private Path directory;
+    private Prompt prompt;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("disk".equals(store)) {
+            directory = Files.createTempDirectory("llmkit-cache-bench");
+            cache = DiskResponseCache.builder(directory).build();
+        } else {
+            cache = InMemoryResponseCache.builder().maxSize(ENTRIES).build();
+        }
+
+        ChatResponse response = ChatResponse.builder()
+                .content(BenchmarkFixtures.COMPLETION)
+                .finishReason("stop")
+                .usage(52, 311, 363)
+                .build();
+        keys = new CacheKey[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            keys[i] = new CacheKey(i, ThreadLocalRandom.current().nextLong());
+            cache.put(keys[i], response);
+        }
+        prompt = BenchmarkFixtures.conversation(20);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (cache instanceof DiskResponseCache) {
+            ((DiskResponseCache) cache).close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public ChatResponse get() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(ENTRIES)]);
+    }
+
+    @Benchmark
+    public CacheKey computeKey() {
+        return CacheKey.of(prompt, BenchmarkFixtures.OPTIONS);
+    }
+}
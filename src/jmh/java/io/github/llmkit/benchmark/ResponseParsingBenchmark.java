@@ -0,0 +1,44 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.core.json.StreamDeltaParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a chat completion response and a streaming chunk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    private static final String CHUNK = "{\"id\":\"chatcmpl-9Xk2lN7mVqPz3hB1cD4eF5gH6iJ\"," +
+            "\"object\":\"chat.completion.chunk\",\"created\":1718000000,\"model\":\"gpt-4o-2024-05-13\"," +
+            "\"choices\":[{\"index\":0,\"delta\":{\"content\":\" recursion\"},\"logprobs\":null," +
+            "\"finish_reason\":null}]}";
+
+    private BenchmarkFixtures.ExposedChatModel model;
+    private StreamDeltaParser.Session session;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkFixtures.model("http://localhost");
+        session = StreamDeltaParser.newSession();
+    }
+
+    @Benchmark
+    public ChatResponse parseResponse() {
+        return model.response(BenchmarkFixtures.COMPLETION);
+    }
+
+    @Benchmark
+    public ChatDelta parseStreamDelta() {
+        return model.streamDelta(session, CHUNK);
+    }
+}
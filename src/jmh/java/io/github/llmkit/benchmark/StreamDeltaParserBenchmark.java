@@ -0,0 +1,70 @@
+package io.github.llmkit.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.core.json.StreamDeltaParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting {@code choices[0].delta.content} from an SSE chunk by
+ * building a full {@code JSONObject} tree against the streaming
+ * {@link StreamDeltaParser}, as used on the streaming path: a
+ * {@link StreamDeltaParser.Session} parsing every chunk of a stream into a
+ * {@link ChatDelta}.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per operation.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamDeltaParserBenchmark {
+
+    private static final String CHUNK = "{\"id\":\"chatcmpl-9Xk2lN7mVqPz3hB1cD4eF5gH6iJ\"," +
+            "\"object\":\"chat.completion.chunk\",\"created\":1718000000,\"model\":\"gpt-4o-2024-05-13\"," +
+            "\"system_fingerprint\":\"fp_319be4768e\",\"choices\":[{\"index\":0," +
+            "\"delta\":{\"content\":\" recursion\"},\"logprobs\":null,\"finish_reason\":null}]}";
+
+    private static final String USAGE_CHUNK = "{\"id\":\"chatcmpl-9Xk2lN7mVqPz3hB1cD4eF5gH6iJ\"," +
+            "\"object\":\"chat.completion.chunk\",\"created\":1718000000,\"model\":\"gpt-4o-2024-05-13\"," +
+            "\"choices\":[],\"usage\":{\"prompt_tokens\":52,\"completion_tokens\":311,\"total_tokens\":363}}";
+
+    @Param({"content", "usage"})
+    public String chunkType;
+
+    private String chunk;
+    private StreamDeltaParser.Session session;
+
+    @Setup
+    public void setUp() {
+        chunk = "usage".equals(chunkType) ? USAGE_CHUNK : CHUNK;
+        session = StreamDeltaParser.newSession();
+        // The id and model have been read from the stream's first chunk
+        session.parseDelta(chunk);
+    }
+
+    @Benchmark
+    public String jsonObjectTree() {
+        JSONObject json = JSON.parseObject(chunk);
+        JSONArray choices = json.getJSONArray("choices");
+        if (choices != null && !choices.isEmpty()) {
+            JSONObject choice = choices.getJSONObject(0);
+            JSONObject delta = choice.getJSONObject("delta");
+            if (delta != null) {
+                return delta.getString("content");
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ChatDelta streamingReader() {
+        return session.parseDelta(chunk);
+    }
+}
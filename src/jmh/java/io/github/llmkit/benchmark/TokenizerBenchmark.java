@@ -0,0 +1,75 @@
+package io.github.llmkit.benchmark;
+
+import io.github.llmkit.prompt.ChatPrompt;
+import io.github.llmkit.tokenizer.BpeEncoding;
+import io.github.llmkit.tokenizer.BpeTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BpeTokenizer} throughput on a single thread, reported in
+ * tokens per second through the {@code tokens} counter.
+ *
+ * <p>Uses the bundled cl100k vocabulary.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+
+    private static final String TEXT = "Recursion is a technique where a function calls itself to solve smaller " +
+            "instances of the same problem. Every recursive function needs a base case that stops the recursion " +
+            "and a recursive case that moves towards the base case. In Java, deep recursion can overflow the " +
+            "stack, so iterative solutions are often preferred for linked lists: keep three references (prev, " +
+            "current, next) and walk the list once, pointing each node's next field at the previous node.\n\n" +
+            "```java\nNode reverse(Node head) {\n    Node prev = null;\n    while (head != null) {\n" +
+            "        Node next = head.next;\n        head.next = prev;\n        prev = head;\n        head = next;\n" +
+            "    }\n    return prev;\n}\n```\n\nThe loop runs in O(n) time and O(1) extra space. " +
+            "递归是一种函数调用自身来解决问题的方法，每个递归函数都需要一个终止条件。";
+
+    private BpeTokenizer tokenizer;
+    private ChatPrompt conversation;
+
+    /**
+     * Tokens processed; JMH reports it as a rate, i.e. tokens per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokens {
+        public long tokens;
+    }
+
+    @Setup
+    public void setUp() {
+        tokenizer = BpeTokenizer.load(BpeEncoding.CL100K_BASE);
+        conversation = BenchmarkFixtures.conversation(200);
+    }
+
+    @Benchmark
+    public int countTokens(Tokens counter) {
+        int count = tokenizer.countTokens(TEXT);
+        counter.tokens += count;
+        return count;
+    }
+
+    @Benchmark
+    public int[] encode(Tokens counter) {
+        int[] tokens = tokenizer.encode(TEXT);
+        counter.tokens += tokens.length;
+        return tokens;
+    }
+
+    /**
+     * Counts a 200-message conversation whose message counts are already
+     * cached, as when the history is recounted on every turn.
+     */
+    @Benchmark
+    public int countCachedConversation() {
+        return tokenizer.countTokens(conversation);
+    }
+}
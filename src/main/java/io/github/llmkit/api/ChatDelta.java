@@ -0,0 +1,201 @@
+package io.github.llmkit.api;
+
+import java.util.Objects;
+
+/**
+ * An incremental piece of a streamed chat response.
+ *
+ * <p>Each delta corresponds to one streaming chunk. Most deltas carry a
+ * content fragment; the first one usually carries the role, the last ones the
+ * finish reason and, when {@link ChatOptions#getIncludeUsage() includeUsage}
+ * is enabled, the token usage of the whole response.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class ChatDelta {
+
+    private final String id;
+    private final String model;
+    private final String role;
+    private final String content;
+    private final String finishReason;
+    private final ChatResponse.Usage usage;
+
+    private ChatDelta(Builder builder) {
+        this.id = builder.id;
+        this.model = builder.model;
+        this.role = builder.role;
+        this.content = builder.content;
+        this.finishReason = builder.finishReason;
+        this.usage = builder.usage;
+    }
+
+    /**
+     * Creates a new builder for ChatDelta.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a delta carrying only generated content.
+     *
+     * @param content the content fragment
+     * @return a new ChatDelta
+     */
+    public static ChatDelta of(String content) {
+        return builder().content(content).build();
+    }
+
+    /**
+     * Returns the id of the completion this chunk belongs to.
+     *
+     * @return the completion id, or null if not reported
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the model that generated this chunk.
+     *
+     * @return the model name, or null if not reported
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the role of the generated message.
+     *
+     * @return the role, usually only set on the first delta
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Returns the generated content fragment.
+     *
+     * @return the content, or null if this delta carries none
+     */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * Returns whether this delta carries a non-empty content fragment.
+     *
+     * @return true if there is content
+     */
+    public boolean hasContent() {
+        return content != null && !content.isEmpty();
+    }
+
+    /**
+     * Returns the finish reason.
+     *
+     * @return the finish reason (e.g., "stop", "length"), or null until the last chunk
+     */
+    public String getFinishReason() {
+        return finishReason;
+    }
+
+    /**
+     * Returns the token usage of the whole response.
+     *
+     * @return the usage, or null if this chunk does not report it
+     */
+    public ChatResponse.Usage getUsage() {
+        return usage;
+    }
+
+    /**
+     * Returns whether this delta carries no role, content, finish reason or usage.
+     *
+     * @return true if the delta carries nothing of interest
+     */
+    public boolean isEmpty() {
+        return role == null && !hasContent() && finishReason == null && usage == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChatDelta)) return false;
+        ChatDelta that = (ChatDelta) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(model, that.model) &&
+                Objects.equals(role, that.role) &&
+                Objects.equals(content, that.content) &&
+                Objects.equals(finishReason, that.finishReason) &&
+                Objects.equals(usage, that.usage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, model, role, content, finishReason, usage);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatDelta{" +
+                "content='" + content + '\'' +
+                (role != null ? ", role='" + role + '\'' : "") +
+                (finishReason != null ? ", finishReason='" + finishReason + '\'' : "") +
+                (usage != null ? ", usage=" + usage : "") +
+                '}';
+    }
+
+    /**
+     * Builder for ChatDelta.
+     */
+    public static final class Builder {
+        private String id;
+        private String model;
+        private String role;
+        private String content;
+        private String finishReason;
+        private ChatResponse.Usage usage;
+
+        private Builder() {
+        }
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder model(String model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder role(String role) {
+            this.role = role;
+            return this;
+        }
+
+        public Builder content(String content) {
+            this.content = content;
+            return this;
+        }
+
+        public Builder finishReason(String finishReason) {
+            this.finishReason = finishReason;
+            return this;
+        }
+
+        public Builder usage(ChatResponse.Usage usage) {
+            this.usage = usage;
+            return this;
+        }
+
+        public ChatDelta build() {
+            return new ChatDelta(this);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package io.github.llmkit.api;
 
+import io.github.llmkit.batch.BatchExecutor;
+import io.github.llmkit.batch.BatchOptions;
+import io.github.llmkit.batch.BatchResult;
 import io.github.llmkit.exception.ChatException;
 import io.github.llmkit.prompt.Prompt;
 import io.github.llmkit.prompt.SimplePrompt;
+import io.github.llmkit.stream.ChatDeltaPublisher;
+import io.github.llmkit.stream.ChatResponseAggregator;
+import io.github.llmkit.util.FutureUtil;
+import org.reactivestreams.Publisher;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -38,6 +47,12 @@ import java.util.function.Consumer;
  * });
  * }</pre>
  *
+ * <h3>Asynchronous Usage</h3>
+ * <pre>{@code
+ * chatModel.callAsync(Prompt.of("What is Java?"))
+ *     .thenAccept(response -> System.out.println(response.getContent()));
+ * }</pre>
+ *
  * @author LLMKit Contributors
  * @since 0.2.0
  */
@@ -164,4 +179,244 @@ public interface ChatModel {
      * @throws ChatException if the request fails
      */
     void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options);
+
+    /**
+     * Streams a response as typed deltas and returns the aggregated response.
+     *
+     * @param prompt  the prompt
+     * @param onDelta callback for each delta
+     * @return the response aggregated from the deltas
+     * @throws ChatException if the request fails
+     * @since 0.3.0
+     */
+    default ChatResponse streamDeltas(Prompt prompt, Consumer<ChatDelta> onDelta) {
+        return streamDeltas(prompt, onDelta, ChatOptions.DEFAULT);
+    }
+
+    /**
+     * Streams a response as typed deltas with options and returns the
+     * aggregated response.
+     *
+     * @param prompt  the prompt
+     * @param onDelta callback for each delta
+     * @param options the chat options
+     * @return the response aggregated from the deltas
+     * @throws ChatException if the request fails
+     * @see #streamDeltasAsync(Prompt, Consumer, ChatOptions)
+     * @since 0.3.0
+     */
+    default ChatResponse streamDeltas(Prompt prompt, Consumer<ChatDelta> onDelta, ChatOptions options) {
+        return FutureUtil.await(streamDeltasAsync(prompt, onDelta, options));
+    }
+
+    // ========== Asynchronous Methods ==========
+
+    /**
+     * Sends a prompt without blocking the calling thread.
+     *
+     * @param prompt the prompt
+     * @return a future completed with the full chat response
+     */
+    default CompletableFuture<ChatResponse> callAsync(Prompt prompt) {
+        return callAsync(prompt, ChatOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a prompt with options without blocking the calling thread.
+     *
+     * <p>The returned future completes exceptionally with a {@link ChatException}
+     * if the request fails. Cancelling the future cancels the request where the
+     * implementation supports it.</p>
+     *
+     * <p>The default implementation runs {@link #call(Prompt, ChatOptions)} on the
+     * common fork-join pool. HTTP-based implementations override this with a
+     * truly non-blocking version.</p>
+     *
+     * @param prompt  the prompt
+     * @param options the chat options
+     * @return a future completed with the full chat response
+     */
+    default CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        return CompletableFuture.supplyAsync(() -> call(prompt, options));
+    }
+
+    /**
+     * Streams a response without blocking the calling thread.
+     *
+     * @param prompt  the prompt
+     * @param onDelta callback for each response delta
+     * @return a future completed when the stream ends
+     */
+    default CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta) {
+        return streamAsync(prompt, onDelta, ChatOptions.DEFAULT);
+    }
+
+    /**
+     * Streams a response with options without blocking the calling thread.
+     *
+     * <p>The returned future completes when the stream ends, or exceptionally with
+     * a {@link ChatException} if the stream fails. Cancelling the future closes the
+     * stream where the implementation supports it.</p>
+     *
+     * <p>The default implementation runs {@link #stream(Prompt, Consumer, ChatOptions)}
+     * on the common fork-join pool.</p>
+     *
+     * @param prompt  the prompt
+     * @param onDelta callback for each response delta
+     * @param options the chat options
+     * @return a future completed when the stream ends
+     */
+    default CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        return CompletableFuture.runAsync(() -> stream(prompt, onDelta, options));
+    }
+
+    /**
+     * Streams a response as typed deltas without blocking the calling thread.
+     *
+     * <p>Unlike {@link #streamAsync(Prompt, Consumer, ChatOptions)}, every delta
+     * carrying a role, content, finish reason or usage is delivered, and the
+     * returned future completes with the {@link ChatResponse} aggregated from
+     * them: the full content, the finish reason and, if the provider reports it
+     * (see {@link ChatOptions#getIncludeUsage()}), the token usage. Cancelling
+     * the future closes the stream where the implementation supports it.</p>
+     *
+     * <p>The default implementation wraps the content fragments of
+     * {@link #streamAsync(Prompt, Consumer, ChatOptions)}, so only content is
+     * available.</p>
+     *
+     * @param prompt  the prompt
+     * @param onDelta callback for each delta
+     * @param options the chat options
+     * @return a future completed with the aggregated response when the stream ends
+     * @since 0.3.0
+     */
+    default CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                             ChatOptions options) {
+        ChatResponseAggregator aggregator = new ChatResponseAggregator();
+        CompletableFuture<Void> stream = streamAsync(prompt, content -> {
+            ChatDelta delta = ChatDelta.of(content);
+            aggregator.accept(delta);
+            onDelta.accept(delta);
+        }, options);
+        CompletableFuture<ChatResponse> result = stream.thenApply(ignored -> aggregator.toResponse());
+        FutureUtil.propagateCancellation(result, stream);
+        return result;
+    }
+
+    // ========== Metadata ==========
+
+    /**
+     * Returns the model used for requests whose {@link ChatOptions#getModel()}
+     * is not set.
+     *
+     * <p>Decorators use it to resolve the effective model of a request, for
+     * example to key caches and circuit breakers. The default implementation
+     * returns null, meaning unknown.</p>
+     *
+     * @return the default model, or null if unknown
+     * @since 0.3.0
+     */
+    default String getDefaultModel() {
+        return null;
+    }
+
+    /**
+     * Returns the URL requests are sent to, identifying the provider
+     * deployment behind this model.
+     *
+     * <p>The default implementation returns null, meaning unknown.</p>
+     *
+     * @return the endpoint URL, or null if unknown
+     * @since 0.3.0
+     */
+    default String getEndpointUrl() {
+        return null;
+    }
+
+    // ========== Batch Methods ==========
+
+    /**
+     * Sends many prompts with the default {@link BatchOptions}.
+     *
+     * @param prompts the prompts
+     * @return one result per prompt, in input order
+     * @see #callAll(List, ChatOptions, BatchOptions)
+     * @since 0.3.0
+     */
+    default List<BatchResult> callAll(List<? extends Prompt> prompts) {
+        return callAll(prompts, ChatOptions.DEFAULT, BatchOptions.DEFAULT);
+    }
+
+    /**
+     * Sends many prompts with bounded concurrency and waits for all of them.
+     *
+     * <p>Each prompt is isolated: a failure is recorded in its
+     * {@link BatchResult} and does not affect the others. Results can also be
+     * consumed as they arrive through {@link BatchOptions.Builder#onResult}.</p>
+     *
+     * @param prompts      the prompts
+     * @param options      the chat options applied to every prompt
+     * @param batchOptions concurrency, ordering, retry and callbacks
+     * @return one result per prompt, in input order
+     * @throws ChatException if the wait is interrupted
+     * @since 0.3.0
+     */
+    default List<BatchResult> callAll(List<? extends Prompt> prompts, ChatOptions options,
+                                      BatchOptions batchOptions) {
+        return FutureUtil.await(callAllAsync(prompts, options, batchOptions));
+    }
+
+    /**
+     * Sends many prompts with bounded concurrency without blocking the calling
+     * thread.
+     *
+     * <p>Prompts are sent through {@link #callAsync(Prompt, ChatOptions)}.
+     * Cancelling the returned future cancels the prompts in flight and skips
+     * the remaining ones.</p>
+     *
+     * @param prompts      the prompts
+     * @param options      the chat options applied to every prompt
+     * @param batchOptions concurrency, ordering, retry and callbacks
+     * @return a future completed with one result per prompt, in input order
+     * @see BatchExecutor
+     * @since 0.3.0
+     */
+    default CompletableFuture<List<BatchResult>> callAllAsync(List<? extends Prompt> prompts, ChatOptions options,
+                                                             BatchOptions batchOptions) {
+        return BatchExecutor.execute(this, prompts, options, batchOptions);
+    }
+
+    // ========== Reactive Methods ==========
+
+    /**
+     * Returns a Reactive Streams publisher of the response deltas.
+     *
+     * @param prompt the prompt
+     * @return a cold publisher that starts a stream per subscriber
+     * @see #streamPublisher(Prompt, ChatOptions)
+     * @since 0.3.0
+     */
+    default Publisher<ChatDelta> streamPublisher(Prompt prompt) {
+        return streamPublisher(prompt, ChatOptions.DEFAULT);
+    }
+
+    /**
+     * Returns a Reactive Streams publisher of the response deltas with options.
+     *
+     * <p>Each subscriber gets its own stream, started on its first
+     * {@code request(n)}. Deltas are emitted only as requested; when the
+     * subscriber falls behind, a bounded buffer fills up and then the thread
+     * delivering deltas from {@link #streamDeltasAsync(Prompt, Consumer, ChatOptions)}
+     * blocks, which for HTTP models stops reading the SSE socket. Cancelling the
+     * subscription cancels the stream.</p>
+     *
+     * @param prompt  the prompt
+     * @param options the chat options
+     * @return a cold publisher that starts a stream per subscriber
+     * @see ChatDeltaPublisher
+     * @since 0.3.0
+     */
+    default Publisher<ChatDelta> streamPublisher(Prompt prompt, ChatOptions options) {
+        return new ChatDeltaPublisher(sink -> streamDeltasAsync(prompt, sink, options));
+    }
 }
@@ -48,6 +48,7 @@ public final class ChatOptions {
     private final Boolean retryEnabled;
     private final Integer retryCount;
     private final Integer retryDelayMs;
+    private final RawResponseRetention rawResponseRetention;
 
     private ChatOptions(Builder builder) {
         this.model = builder.model;
@@ -63,6 +64,7 @@ public final class ChatOptions {
         this.retryEnabled = builder.retryEnabled;
         this.retryCount = builder.retryCount;
         this.retryDelayMs = builder.retryDelayMs;
+        this.rawResponseRetention = builder.rawResponseRetention;
     }
 
     /**
@@ -91,7 +93,8 @@ public final class ChatOptions {
                 .extra(this.extra.isEmpty() ? null : new HashMap<>(this.extra))
                 .retryEnabled(this.retryEnabled)
                 .retryCount(this.retryCount)
-                .retryDelayMs(this.retryDelayMs);
+                .retryDelayMs(this.retryDelayMs)
+                .rawResponseRetention(this.rawResponseRetention);
     }
 
     // ========== With methods for creating modified copies ==========
@@ -287,6 +290,27 @@ public final class ChatOptions {
         return retryDelayMs != null ? retryDelayMs : defaultValue;
     }
 
+    /**
+     * Returns how the raw response is kept.
+     *
+     * @return the retention policy, or null if not set
+     * @since 0.3.0
+     */
+    public RawResponseRetention getRawResponseRetention() {
+        return rawResponseRetention;
+    }
+
+    /**
+     * Returns the raw response retention or a default value.
+     *
+     * @param defaultValue the default value
+     * @return the retention policy or the default
+     * @since 0.3.0
+     */
+    public RawResponseRetention getRawResponseRetentionOrDefault(RawResponseRetention defaultValue) {
+        return rawResponseRetention != null ? rawResponseRetention : defaultValue;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -302,13 +326,15 @@ public final class ChatOptions {
                 Objects.equals(extra, that.extra) &&
                 Objects.equals(retryEnabled, that.retryEnabled) &&
                 Objects.equals(retryCount, that.retryCount) &&
-                Objects.equals(retryDelayMs, that.retryDelayMs);
+                Objects.equals(retryDelayMs, that.retryDelayMs) &&
+                rawResponseRetention == that.rawResponseRetention;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(model, temperature, maxTokens, topP, frequencyPenalty,
-                presencePenalty, includeUsage, extra, retryEnabled, retryCount, retryDelayMs);
+                presencePenalty, includeUsage, extra, retryEnabled, retryCount, retryDelayMs,
+                rawResponseRetention);
     }
 
     @Override
@@ -325,6 +351,7 @@ public final class ChatOptions {
                 ", retryEnabled=" + retryEnabled +
                 ", retryCount=" + retryCount +
                 ", retryDelayMs=" + retryDelayMs +
+                ", rawResponseRetention=" + rawResponseRetention +
                 '}';
     }
 
@@ -343,6 +370,7 @@ public final class ChatOptions {
         private Boolean retryEnabled;
         private Integer retryCount;
         private Integer retryDelayMs;
+        private RawResponseRetention rawResponseRetention;
 
         private Builder() {
         }
@@ -483,6 +511,18 @@ public final class ChatOptions {
             return this;
         }
 
+        /**
+         * Sets how the raw response is kept, overriding the model configuration.
+         *
+         * @param rawResponseRetention the retention policy
+         * @return this builder
+         * @since 0.3.0
+         */
+        public Builder rawResponseRetention(RawResponseRetention rawResponseRetention) {
+            this.rawResponseRetention = rawResponseRetention;
+            return this;
+        }
+
         /**
          * Builds the ChatOptions instance.
          *
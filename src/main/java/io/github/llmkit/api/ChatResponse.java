@@ -2,6 +2,7 @@ package io.github.llmkit.api;
 
 import io.github.llmkit.message.AiMessage;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -17,12 +18,18 @@ public final class ChatResponse {
 
     private final AiMessage message;
     private final String rawResponse;
+    /** UTF-8 bytes of the raw response, deflated when {@code rawResponseLength >= 0}. */
+    private final byte[] rawResponseBytes;
+    /** Uncompressed length of {@code rawResponseBytes}, or -1 if it is not compressed. */
+    private final int rawResponseLength;
     private final Usage usage;
     private final String finishReason;
 
     private ChatResponse(Builder builder) {
         this.message = builder.message;
         this.rawResponse = builder.rawResponse;
+        this.rawResponseBytes = builder.rawResponseBytes;
+        this.rawResponseLength = builder.rawResponseLength;
         this.usage = builder.usage;
         this.finishReason = builder.finishReason;
     }
@@ -67,10 +74,24 @@ public final class ChatResponse {
     /**
      * Returns the raw response from the API.
      *
-     * @return the raw response JSON
+     * <p>Responses received over HTTP keep the raw body as UTF-8 bytes,
+     * possibly compressed, and decode it on each call, so the string is only
+     * built when it is actually needed.</p>
+     *
+     * @return the raw response JSON, or null if it was not retained
+     * @see RawResponseRetention
      */
     public String getRawResponse() {
-        return rawResponse;
+        if (rawResponse != null) {
+            return rawResponse;
+        }
+        if (rawResponseBytes == null) {
+            return null;
+        }
+        byte[] utf8 = rawResponseLength >= 0
+                ? RawResponseCodec.inflate(rawResponseBytes, rawResponseLength)
+                : rawResponseBytes;
+        return new String(utf8, StandardCharsets.UTF_8);
     }
 
     /**
@@ -162,6 +183,8 @@ public final class ChatResponse {
     public static final class Builder {
         private AiMessage message;
         private String rawResponse;
+        private byte[] rawResponseBytes;
+        private int rawResponseLength = -1;
         private Usage usage;
         private String finishReason;
 
@@ -180,6 +203,52 @@ public final class ChatResponse {
 
         public Builder rawResponse(String rawResponse) {
             this.rawResponse = rawResponse;
+            this.rawResponseBytes = null;
+            this.rawResponseLength = -1;
+            return this;
+        }
+
+        /**
+         * Sets the raw response as UTF-8 bytes, decoded on demand by
+         * {@link ChatResponse#getRawResponse()}. The array is not copied and
+         * must not be modified afterwards.
+         *
+         * @param rawResponseUtf8 the raw response bytes
+         * @return this builder
+         * @since 0.3.0
+         */
+        public Builder rawResponse(byte[] rawResponseUtf8) {
+            return rawResponse(rawResponseUtf8, RawResponseRetention.FULL);
+        }
+
+        /**
+         * Sets the raw response as UTF-8 bytes, kept as the retention policy
+         * says: dropped for {@link RawResponseRetention#NONE}, referenced as is
+         * for {@link RawResponseRetention#FULL} (the array must not be modified
+         * afterwards), or deflated right away for
+         * {@link RawResponseRetention#COMPRESSED}.
+         *
+         * @param rawResponseUtf8 the raw response bytes
+         * @param retention       how to keep them
+         * @return this builder
+         * @since 0.3.0
+         */
+        public Builder rawResponse(byte[] rawResponseUtf8, RawResponseRetention retention) {
+            if (retention == null) {
+                throw new IllegalArgumentException("retention must not be null");
+            }
+            this.rawResponse = null;
+            this.rawResponseBytes = null;
+            this.rawResponseLength = -1;
+            if (rawResponseUtf8 == null || retention == RawResponseRetention.NONE) {
+                return this;
+            }
+            if (retention == RawResponseRetention.COMPRESSED) {
+                this.rawResponseBytes = RawResponseCodec.deflate(rawResponseUtf8);
+                this.rawResponseLength = rawResponseUtf8.length;
+            } else {
+                this.rawResponseBytes = rawResponseUtf8;
+            }
             return this;
         }
 
@@ -0,0 +1,95 @@
+package io.github.llmkit.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate codec behind {@link RawResponseRetention#COMPRESSED}.
+ *
+ * <p>Chat completions are typically well under a kilobyte, too short for
+ * deflate to learn much from the response itself, so both sides are primed
+ * with a preset dictionary of the field names and values every
+ * OpenAI-compatible response repeats. Compressed bytes only ever live in
+ * memory, so the dictionary can change between releases.</p>
+ *
+ * <p>Creating a {@link Deflater} or {@link Inflater} allocates native zlib
+ * state, which costs more than compressing a small response; instances are
+ * therefore reset and reused per thread.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+final class RawResponseCodec {
+
+    /** Most frequent strings last, as deflate favours shorter distances. */
+    private static final byte[] DICTIONARY = ("\"refusal\":null,\"annotations\":[]"
+            + "\"prompt_tokens_details\":{\"cached_tokens\":0,\"audio_tokens\":0},"
+            + "\"completion_tokens_details\":{\"reasoning_tokens\":0,\"audio_tokens\":0,"
+            + "\"accepted_prediction_tokens\":0,\"rejected_prediction_tokens\":0}"
+            + "\"service_tier\":\"default\",\"system_fingerprint\":\"fp_"
+            + "\"finish_reason\":\"length\"\"tool_calls\":[{\"id\":\"call_\",\"type\":\"function\","
+            + "\"function\":{\"name\":\"\",\"arguments\":\"{\\\"}}]"
+            + "{\"id\":\"chatcmpl-\",\"object\":\"chat.completion\",\"created\":17,\"model\":\"gpt-4o-mini-"
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\""
+            + "\"},\"logprobs\":null,\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":,\"completion_tokens\":,\"total_tokens\":")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private RawResponseCodec() {
+        // Prevent instantiation
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] out = new byte[Math.max(64, data.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    static byte[] inflate(byte[] data, int length) {
+        Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(data);
+            byte[] out = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(out, read, length - read);
+                if (n == 0) {
+                    if (!inflater.needsDictionary()) {
+                        break;
+                    }
+                    inflater.setDictionary(DICTIONARY);
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Compressed raw response is truncated");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed raw response is corrupt", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
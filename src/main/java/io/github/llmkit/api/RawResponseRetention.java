@@ -0,0 +1,35 @@
+package io.github.llmkit.api;
+
+/**
+ * How a {@link ChatResponse} keeps the raw JSON returned by the provider.
+ *
+ * <p>Responses held in bulk, for example in conversation histories or
+ * caches, can spend more heap on the raw JSON than on the parsed message.
+ * Choose {@link #COMPRESSED} to keep it available at a fraction of the cost,
+ * or {@link #NONE} when it is never needed.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see ChatResponse#getRawResponse()
+ */
+public enum RawResponseRetention {
+
+    /**
+     * The raw response is dropped; {@link ChatResponse#getRawResponse()}
+     * returns null. The body is parsed straight from the HTTP stream.
+     */
+    NONE,
+
+    /**
+     * The raw response is kept as UTF-8 bytes and decoded on each call to
+     * {@link ChatResponse#getRawResponse()}.
+     */
+    FULL,
+
+    /**
+     * The raw response is deflated when the response is built and inflated
+     * on each call to {@link ChatResponse#getRawResponse()}, trading some CPU
+     * on both sides for a much smaller footprint.
+     */
+    COMPRESSED
+}
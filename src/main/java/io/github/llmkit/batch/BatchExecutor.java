@@ -0,0 +1,225 @@
+package io.github.llmkit.batch;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+import io.github.llmkit.util.RetryPolicy;
+import io.github.llmkit.util.Retryer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs many prompts against a {@link ChatModel} with bounded concurrency.
+ *
+ * <p>Prompts are sent with {@link ChatModel#callAsync(Prompt, ChatOptions)}, so
+ * HTTP models keep at most {@code maxConcurrency} requests in flight on their
+ * shared OkHttp client without holding a thread per request, and queue for
+ * their rate limit without blocking. Each prompt is isolated: its failure is
+ * recorded in its {@link BatchResult} and never fails the batch. A new prompt
+ * is started as soon as one completes.</p>
+ *
+ * <p>Cancelling the returned future stops starting new prompts and cancels the
+ * ones in flight.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see ChatModel#callAll(List, ChatOptions, BatchOptions)
+ */
+public final class BatchExecutor {
+
+    private BatchExecutor() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Starts a batch.
+     *
+     * @param model        the model to call
+     * @param prompts      the prompts
+     * @param options      the chat options applied to every prompt
+     * @param batchOptions the batch options
+     * @return a future completed with one result per prompt, in input order
+     */
+    public static CompletableFuture<List<BatchResult>> execute(ChatModel model, List<? extends Prompt> prompts,
+                                                               ChatOptions options, BatchOptions batchOptions) {
+        if (model == null || prompts == null) {
+            throw new IllegalArgumentException("model and prompts must not be null");
+        }
+        Run run = new Run(model, new ArrayList<>(prompts),
+                options != null ? options : ChatOptions.DEFAULT,
+                batchOptions != null ? batchOptions : BatchOptions.DEFAULT);
+        run.start();
+        return run.future;
+    }
+
+    /**
+     * State of one running batch.
+     */
+    private static final class Run {
+
+        final CompletableFuture<List<BatchResult>> future = new CompletableFuture<>();
+
+        private final ChatModel model;
+        private final List<Prompt> prompts;
+        private final ChatOptions options;
+        private final BatchOptions batch;
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicReferenceArray<BatchResult> results;
+        private final Map<Integer, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+        /**
+         * Next prompt to start; only touched by the thread draining {@link #wip}.
+         */
+        private int next;
+
+        // Guarded by this
+        private int succeeded;
+        private int failed;
+        private int nextToDeliver;
+
+        Run(ChatModel model, List<Prompt> prompts, ChatOptions options, BatchOptions batch) {
+            this.model = model;
+            this.prompts = prompts;
+            this.batch = batch;
+            // A batch retry policy replaces the model's own retries
+            this.options = batch.getRetryPolicy() != null
+                    ? options.toBuilder().retryEnabled(false).build()
+                    : options;
+            this.results = new AtomicReferenceArray<>(prompts.size());
+        }
+
+        void start() {
+            future.whenComplete((value, error) -> {
+                if (future.isCancelled()) {
+                    inFlight.values().forEach(call -> call.cancel(true));
+                }
+            });
+            if (prompts.isEmpty()) {
+                future.complete(Collections.emptyList());
+                return;
+            }
+            launch();
+        }
+
+        /**
+         * Starts prompts until the concurrency limit is reached. Calls that
+         * complete synchronously re-enter here; the work-in-progress counter
+         * turns that recursion into iterations of the outer loop.
+         */
+        private void launch() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                while (!future.isDone() && next < prompts.size()
+                        && running.get() < batch.getMaxConcurrency()) {
+                    running.incrementAndGet();
+                    send(next++);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void send(int index) {
+            Prompt prompt = prompts.get(index);
+            long sentNanos = System.nanoTime();
+            CompletableFuture<ChatResponse> call;
+            try {
+                call = attempt(prompt);
+            } catch (RuntimeException e) {
+                call = new CompletableFuture<>();
+                call.completeExceptionally(e);
+            }
+            inFlight.put(index, call);
+            call.whenComplete((response, error) -> {
+                inFlight.remove(index);
+                long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos);
+                complete(error == null
+                        ? new BatchResult(index, prompt, response, null, latencyMs)
+                        : new BatchResult(index, prompt, null, FutureUtil.unwrap(error), latencyMs));
+            });
+        }
+
+        private CompletableFuture<ChatResponse> attempt(Prompt prompt) {
+            RetryPolicy retryPolicy = batch.getRetryPolicy();
+            Supplier<CompletableFuture<ChatResponse>> call = () -> model.callAsync(prompt, options);
+            return retryPolicy != null && retryPolicy.getMaxRetries() > 0
+                    ? Retryer.retryAsync(call, retryPolicy)
+                    : call.get();
+        }
+
+        private void complete(BatchResult result) {
+            if (future.isDone()) {
+                return;
+            }
+            results.set(result.getIndex(), result);
+            boolean done;
+            synchronized (this) {
+                if (result.isSuccess()) {
+                    succeeded++;
+                } else {
+                    failed++;
+                }
+                deliver(result);
+                notify(batch.getOnProgress(), new BatchProgress(prompts.size(), succeeded, failed,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+                done = succeeded + failed == prompts.size();
+            }
+            running.decrementAndGet();
+            if (done) {
+                List<BatchResult> list = new ArrayList<>(prompts.size());
+                for (int i = 0; i < prompts.size(); i++) {
+                    list.add(results.get(i));
+                }
+                future.complete(Collections.unmodifiableList(list));
+            } else {
+                launch();
+            }
+        }
+
+        private void deliver(BatchResult result) {
+            Consumer<BatchResult> onResult = batch.getOnResult();
+            if (onResult == null) {
+                return;
+            }
+            if (batch.getOrder() == BatchOptions.Order.COMPLETION) {
+                notify(onResult, result);
+                return;
+            }
+            BatchResult ready;
+            while (nextToDeliver < prompts.size() && (ready = results.get(nextToDeliver)) != null) {
+                nextToDeliver++;
+                notify(onResult, ready);
+            }
+        }
+
+        private static <T> void notify(Consumer<T> callback, T value) {
+            if (callback == null) {
+                return;
+            }
+            try {
+                callback.accept(value);
+            } catch (Exception e) {
+                // A failing callback must not stop the batch
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.llmkit.batch;
+
+import io.github.llmkit.util.RetryPolicy;
+
+import java.util.function.Consumer;
+
+/**
+ * Options for running many prompts with {@code ChatModel.callAll}.
+ *
+ * <pre>{@code
+ * BatchOptions options = BatchOptions.builder()
+ *     .maxConcurrency(32)
+ *     .order(BatchOptions.Order.COMPLETION)
+ *     .retryPolicy(RetryPolicy.builder().maxRetries(5).build())
+ *     .onResult(result -> sink.write(result))
+ *     .onProgress(progress -> log.info("{}/{} done", progress.getCompleted(), progress.getTotal()))
+ *     .build();
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class BatchOptions {
+
+    /**
+     * Default options: 16 concurrent requests, results delivered in input
+     * order, the model's own retry settings.
+     */
+    public static final BatchOptions DEFAULT = builder().build();
+
+    /**
+     * Order in which results are passed to {@link Builder#onResult(Consumer)}.
+     */
+    public enum Order {
+        /**
+         * Results are delivered in the order of the input prompts. A slow
+         * prompt holds back the delivery of later results.
+         */
+        INPUT,
+        /**
+         * Results are delivered as soon as they complete.
+         */
+        COMPLETION
+    }
+
+    private final int maxConcurrency;
+    private final Order order;
+    private final RetryPolicy retryPolicy;
+    private final Consumer<BatchResult> onResult;
+    private final Consumer<BatchProgress> onProgress;
+
+    private BatchOptions(Builder builder) {
+        this.maxConcurrency = builder.maxConcurrency;
+        this.order = builder.order;
+        this.retryPolicy = builder.retryPolicy;
+        this.onResult = builder.onResult;
+        this.onProgress = builder.onProgress;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the per-prompt retry policy.
+     *
+     * @return the policy, or null to use the model's own retry settings
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public Consumer<BatchResult> getOnResult() {
+        return onResult;
+    }
+
+    public Consumer<BatchProgress> getOnProgress() {
+        return onProgress;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOptions{" +
+                "maxConcurrency=" + maxConcurrency +
+                ", order=" + order +
+                ", retryPolicy=" + retryPolicy +
+                '}';
+    }
+
+    /**
+     * Builder for BatchOptions.
+     */
+    public static final class Builder {
+
+        private int maxConcurrency = 16;
+        private Order order = Order.INPUT;
+        private RetryPolicy retryPolicy;
+        private Consumer<BatchResult> onResult;
+        private Consumer<BatchProgress> onProgress;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of prompts in flight at once (default 16).
+         *
+         * <p>The dispatcher limits of the model's configuration
+         * ({@code maxRequests}, {@code maxRequestsPerHost}) and its rate limit
+         * still apply on top of this.</p>
+         *
+         * @param maxConcurrency the maximum concurrency
+         * @return this builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the order in which results are passed to the result callback
+         * (default {@link Order#INPUT}). The returned list is always in input
+         * order.
+         *
+         * @param order the delivery order
+         * @return this builder
+         */
+        public Builder order(Order order) {
+            if (order == null) {
+                throw new IllegalArgumentException("order must not be null");
+            }
+            this.order = order;
+            return this;
+        }
+
+        /**
+         * Sets the retry policy applied to each prompt, replacing the model's
+         * own retry settings.
+         *
+         * @param retryPolicy the policy, or null to use the model's settings (default)
+         * @return this builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets a callback invoked with each result. Callbacks are never invoked
+         * concurrently; exceptions thrown by them are ignored.
+         *
+         * @param onResult the result callback
+         * @return this builder
+         */
+        public Builder onResult(Consumer<BatchResult> onResult) {
+            this.onResult = onResult;
+            return this;
+        }
+
+        /**
+         * Sets a callback invoked after each completed prompt. Callbacks are
+         * never invoked concurrently; exceptions thrown by them are ignored.
+         *
+         * @param onProgress the progress callback
+         * @return this builder
+         */
+        public Builder onProgress(Consumer<BatchProgress> onProgress) {
+            this.onProgress = onProgress;
+            return this;
+        }
+
+        public BatchOptions build() {
+            return new BatchOptions(this);
+        }
+    }
+}
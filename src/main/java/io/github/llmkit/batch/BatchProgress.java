@@ -0,0 +1,66 @@
+package io.github.llmkit.batch;
+
+/**
+ * Snapshot of a batch's progress.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class BatchProgress {
+
+    private final int total;
+    private final int succeeded;
+    private final int failed;
+    private final long elapsedMs;
+
+    BatchProgress(int total, int succeeded, int failed, long elapsedMs) {
+        this.total = total;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getCompleted() {
+        return succeeded + failed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the time since the batch started.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Returns whether every prompt has completed.
+     *
+     * @return true if the batch is done
+     */
+    public boolean isDone() {
+        return getCompleted() == total;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchProgress{" +
+                "completed=" + getCompleted() + "/" + total +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", elapsedMs=" + elapsedMs +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.llmkit.batch;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.LLMKitException;
+import io.github.llmkit.prompt.Prompt;
+
+/**
+ * Outcome of one prompt of a batch: either a response or the failure that
+ * ended it after retries.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class BatchResult {
+
+    private final int index;
+    private final Prompt prompt;
+    private final ChatResponse response;
+    private final LLMKitException error;
+    private final long latencyMs;
+
+    BatchResult(int index, Prompt prompt, ChatResponse response, LLMKitException error, long latencyMs) {
+        this.index = index;
+        this.prompt = prompt;
+        this.response = response;
+        this.error = error;
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * Returns the position of the prompt in the input list.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Prompt getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Returns the response.
+     *
+     * @return the response, or null if the prompt failed
+     */
+    public ChatResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Returns the failure.
+     *
+     * @return the error, or null if the prompt succeeded
+     */
+    public LLMKitException getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the time from sending the prompt to its outcome, including retries
+     * and rate-limit waits.
+     *
+     * @return the latency in milliseconds
+     */
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "index=" + index +
+                (error == null ? ", response=" + response : ", error=" + error) +
+                ", latencyMs=" + latencyMs +
+                '}';
+    }
+}
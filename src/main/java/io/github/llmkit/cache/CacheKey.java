@@ -0,0 +1,163 @@
+package io.github.llmkit.cache;
+
+import com.alibaba.fastjson2.JSON;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.message.Message;
+import io.github.llmkit.prompt.Prompt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stable 128-bit key identifying a chat request.
+ *
+ * <p>The key is derived from a SHA-256 digest over the prompt messages (role and
+ * content, in order), a namespace identifying the provider deployment, and the
+ * {@link ChatOptions} fields that influence the generated response: the
+ * resolved model, temperature, max tokens, top-p, frequency and presence
+ * penalties, and extra parameters. Retry settings and {@code includeUsage} do
+ * not affect the response and are not part of the key.</p>
+ *
+ * <p>Keys are stable across JVM restarts, which makes them suitable for
+ * persistent caches.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class CacheKey {
+
+    private final long high;
+    private final long low;
+
+    /**
+     * Creates a key from its two 64-bit halves.
+     *
+     * @param high the high 64 bits
+     * @param low  the low 64 bits
+     */
+    public CacheKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Computes the key for a prompt and options, without a namespace and
+     * using the model named in the options as is.
+     *
+     * @param prompt  the prompt
+     * @param options the chat options, or null for {@link ChatOptions#DEFAULT}
+     * @return the cache key
+     * @see #of(String, String, Prompt, ChatOptions)
+     */
+    public static CacheKey of(Prompt prompt, ChatOptions options) {
+        return of(null, null, prompt, options);
+    }
+
+    /**
+     * Computes the key for a prompt and options sent to a given deployment.
+     *
+     * <p>Requests without a model in their options are keyed on
+     * {@code defaultModel}, so that they match requests naming that model
+     * explicitly but not requests served by a model with another default.</p>
+     *
+     * @param namespace    identifies the provider deployment, e.g. its
+     *                     endpoint URL, or null
+     * @param defaultModel the model used when the options name none, or null
+     * @param prompt       the prompt
+     * @param options      the chat options, or null for {@link ChatOptions#DEFAULT}
+     * @return the cache key
+     */
+    public static CacheKey of(String namespace, String defaultModel, Prompt prompt, ChatOptions options) {
+        if (options == null) {
+            options = ChatOptions.DEFAULT;
+        }
+        MessageDigest digest = newDigest();
+
+        update(digest, namespace);
+        for (Message message : prompt.getMessages()) {
+            update(digest, message.getRole());
+            update(digest, message.getContent());
+        }
+        digest.update((byte) 0);
+
+        update(digest, options.getModelOrDefault(defaultModel));
+        update(digest, options.getTemperature());
+        update(digest, options.getMaxTokens());
+        update(digest, options.getTopP());
+        update(digest, options.getFrequencyPenalty());
+        update(digest, options.getPresencePenalty());
+        if (!options.getExtra().isEmpty()) {
+            // Sort keys so that map iteration order does not change the key
+            Map<String, Object> sorted = new TreeMap<>(options.getExtra());
+            update(digest, JSON.toJSONString(sorted));
+        } else {
+            update(digest, null);
+        }
+
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new CacheKey(hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Returns the high 64 bits of the key.
+     *
+     * @return the high bits
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns the low 64 bits of the key.
+     *
+     * @return the low bits
+     */
+    public long getLow() {
+        return low;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            // Distinguish null from the empty string
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheKey)) return false;
+        CacheKey that = (CacheKey) o;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
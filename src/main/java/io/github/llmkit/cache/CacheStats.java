@@ -0,0 +1,87 @@
+package io.github.llmkit.cache;
+
+/**
+ * Point-in-time snapshot of a {@link ResponseCache}'s counters.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param hitCount      the number of lookups that returned a cached response
+     * @param missCount     the number of lookups that found nothing
+     * @param evictionCount the number of entries removed because of size or expiry
+     * @param size          the current number of entries
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of lookups that returned a cached response.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that found no usable entry.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was full or the
+     * entry expired.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of entries at the time of the snapshot.
+     *
+     * @return the cache size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the ratio of hits to lookups, or 0 if there were no lookups.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * {@link ChatModel} decorator that serves repeated identical requests from a
+ * {@link ResponseCache}.
+ *
+ * <p>Requests are matched exactly: two calls hit the same entry only if their
+ * messages and response-affecting options are equal, see {@link CacheKey}.
+ * Keys are namespaced by the delegate's {@linkplain ChatModel#getEndpointUrl()
+ * endpoint} and resolve a missing model to its
+ * {@linkplain ChatModel#getDefaultModel() default model}, so models talking to
+ * different providers or models can share one cache without serving each
+ * other's answers. Set {@link Builder#namespace(String)} when the delegate does
+ * not report its endpoint.
+ * By default only deterministic requests (temperature explicitly set to 0) are
+ * cached, because sampling at a higher temperature is expected to produce a
+ * different answer each time. Use {@link Builder#cacheNonDeterministic(boolean)}
+ * to cache every request.</p>
+ *
+ * <pre>{@code
+ * ChatModel cached = CachingChatModel.builder(model)
+ *     .maxSize(10_000)
+ *     .ttlMs(TimeUnit.HOURS.toMillis(1))
+ *     .build();
+ *
+ * ChatOptions options = ChatOptions.builder().temperature(0f).build();
+ * cached.call(prompt, options);   // calls the provider
+ * cached.call(prompt, options);   // served from the cache
+ * }</pre>
+ *
+ * <p>Streaming requests are passed through to the delegate and are not cached.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class CachingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final ResponseCache cache;
+    private final boolean cacheNonDeterministic;
+    private final String namespace;
+
+    private CachingChatModel(Builder builder) {
+        this.delegate = builder.delegate;
+        this.namespace = builder.namespace != null ? builder.namespace : builder.delegate.getEndpointUrl();
+        this.cache = builder.cache != null
+                ? builder.cache
+                : InMemoryResponseCache.builder().maxSize(builder.maxSize).ttlMs(builder.ttlMs).build();
+        this.cacheNonDeterministic = builder.cacheNonDeterministic;
+    }
+
+    /**
+     * Creates a new builder wrapping the given model.
+     *
+     * @param delegate the model to cache responses for
+     * @return a new builder
+     */
+    public static Builder builder(ChatModel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        if (!isCacheable(options)) {
+            return delegate.call(prompt, options);
+        }
+        CacheKey key = cacheKey(prompt, options);
+        ChatResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ChatResponse response = delegate.call(prompt, options);
+        if (response != null) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        if (!isCacheable(options)) {
+            return delegate.callAsync(prompt, options);
+        }
+        CacheKey key = cacheKey(prompt, options);
+        ChatResponse cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<ChatResponse> call = delegate.callAsync(prompt, options);
+        CompletableFuture<ChatResponse> result = call.whenComplete((response, error) -> {
+            if (response != null) {
+                cache.put(key, response);
+            }
+        });
+        FutureUtil.propagateCancellation(result, call);
+        return result;
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        delegate.stream(prompt, onDelta, options);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        return delegate.streamAsync(prompt, onDelta, options);
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        return delegate.streamDeltasAsync(prompt, onDelta, options);
+    }
+
+    @Override
+    public String getDefaultModel() {
+        return delegate.getDefaultModel();
+    }
+
+    @Override
+    public String getEndpointUrl() {
+        return delegate.getEndpointUrl();
+    }
+
+    /**
+     * Returns the underlying cache.
+     *
+     * @return the cache
+     */
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the wrapped model.
+     *
+     * @return the delegate
+     */
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    private CacheKey cacheKey(Prompt prompt, ChatOptions options) {
+        return CacheKey.of(namespace, delegate.getDefaultModel(), prompt, options);
+    }
+
+    private boolean isCacheable(ChatOptions options) {
+        if (cacheNonDeterministic) {
+            return true;
+        }
+        Float temperature = options != null ? options.getTemperature() : null;
+        return temperature != null && temperature == 0f;
+    }
+
+    /**
+     * Builder for {@link CachingChatModel}.
+     */
+    public static class Builder {
+
+        private final ChatModel delegate;
+        private ResponseCache cache;
+        private int maxSize = 1000;
+        private long ttlMs = 0;
+        private boolean cacheNonDeterministic = false;
+        private String namespace;
+
+        private Builder(ChatModel delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("delegate must not be null");
+            }
+            this.delegate = delegate;
+        }
+
+        /**
+         * Uses a custom cache store. When set, {@link #maxSize(int)} and
+         * {@link #ttlMs(long)} are ignored.
+         *
+         * @param cache the cache store
+         * @return this builder
+         */
+        public Builder cache(ResponseCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached responses (default 1000).
+         *
+         * @param maxSize the maximum size
+         * @return this builder
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached response stays valid.
+         *
+         * @param ttlMs the time-to-live in milliseconds, 0 for no expiry (default)
+         * @return this builder
+         */
+        public Builder ttlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+            return this;
+        }
+
+        /**
+         * Sets whether requests with a non-zero or unspecified temperature are
+         * cached (default false).
+         *
+         * @param cacheNonDeterministic true to cache every request
+         * @return this builder
+         */
+        public Builder cacheNonDeterministic(boolean cacheNonDeterministic) {
+            this.cacheNonDeterministic = cacheNonDeterministic;
+            return this;
+        }
+
+        /**
+         * Sets the namespace of the cache keys. Defaults to the delegate's
+         * {@linkplain ChatModel#getEndpointUrl() endpoint URL}.
+         *
+         * @param namespace the namespace
+         * @return this builder
+         */
+        public Builder namespace(String namespace) {
+            this.namespace = namespace;
+            return this;
+        }
+
+        /**
+         * Builds the caching model.
+         *
+         * @return a new caching model
+         */
+        public CachingChatModel build() {
+            return new CachingChatModel(this);
+        }
+    }
+}
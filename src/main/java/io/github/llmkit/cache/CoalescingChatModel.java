@@ -0,0 +1,462 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link ChatModel} decorator that collapses identical concurrent requests into
+ * a single provider call ("single-flight").
+ *
+ * <p>Requests are identified by their {@link CacheKey} together with the
+ * options that shape the returned response rather than the generated text:
+ * the raw response retention and, for streams, whether usage is requested.
+ * A caller therefore never joins a request that would answer it with less
+ * than it asked for. The first caller for a
+ * key sends the request; callers arriving while it is in flight wait for the
+ * same result instead of sending a duplicate. Once the request completes, the
+ * next caller starts a new one, so nothing is cached beyond the lifetime of a
+ * request. Combine with {@link CachingChatModel} to also reuse completed
+ * responses:</p>
+ *
+ * <pre>{@code
+ * ChatModel model = CachingChatModel.builder(new CoalescingChatModel(openAi)).build();
+ * }</pre>
+ *
+ * <p>Streaming requests are coalesced separately from calls, and
+ * {@code streamAsync} shares streams with {@code streamDeltasAsync}. A caller
+ * joining a stream first receives the deltas emitted so far and then the live
+ * deltas, so every subscriber sees the complete output in order and the same
+ * aggregated response.</p>
+ *
+ * <p>Cancelling an asynchronous caller's future detaches only that caller; the
+ * underlying request is cancelled when every caller sharing it has cancelled.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class CoalescingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+
+    private final ConcurrentMap<FlightKey, Flight<ChatResponse>> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<FlightKey, StreamFlight> streams = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Creates a coalescing wrapper around the given model.
+     *
+     * @param delegate the model that sends requests
+     */
+    public CoalescingChatModel(ChatModel delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        FlightKey key = flightKey(prompt, options, false);
+        while (true) {
+            Flight<ChatResponse> flight = new Flight<>();
+            Flight<ChatResponse> existing = calls.putIfAbsent(key, flight);
+            if (existing != null) {
+                if (existing.join()) {
+                    coalesced.increment();
+                    return FutureUtil.await(existing.subscribe());
+                }
+                // Every caller of the existing flight has cancelled; start a new one
+                calls.remove(key, existing);
+                continue;
+            }
+
+            // The calling thread executes the request, so it never leaves the flight
+            flight.join();
+            requests.increment();
+            try {
+                ChatResponse response = delegate.call(prompt, options);
+                flight.result.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                flight.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                calls.remove(key, flight);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        FlightKey key = flightKey(prompt, options, false);
+        while (true) {
+            Flight<ChatResponse> flight = new Flight<>();
+            Flight<ChatResponse> existing = calls.putIfAbsent(key, flight);
+            if (existing != null) {
+                if (existing.join()) {
+                    coalesced.increment();
+                    return existing.subscribe();
+                }
+                calls.remove(key, existing);
+                continue;
+            }
+
+            flight.join();
+            CompletableFuture<ChatResponse> subscriber = flight.subscribe();
+            requests.increment();
+            CompletableFuture<ChatResponse> response;
+            try {
+                response = delegate.callAsync(prompt, options);
+            } catch (RuntimeException e) {
+                calls.remove(key, flight);
+                flight.result.completeExceptionally(e);
+                return subscriber;
+            }
+            flight.onAbandon(() -> response.cancel(true));
+            response.whenComplete((result, error) -> {
+                calls.remove(key, flight);
+                if (error != null) {
+                    flight.result.completeExceptionally(error);
+                } else {
+                    flight.result.complete(result);
+                }
+            });
+            return subscriber;
+        }
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        FutureUtil.await(streamAsync(prompt, onDelta, options));
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        CompletableFuture<ChatResponse> stream = streamDeltasAsync(prompt, delta -> {
+            if (delta.hasContent()) {
+                onDelta.accept(delta.getContent());
+            }
+        }, options);
+        CompletableFuture<Void> result = stream.thenApply(response -> null);
+        FutureUtil.propagateCancellation(result, stream);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        FlightKey key = flightKey(prompt, options, true);
+        while (true) {
+            StreamFlight flight = new StreamFlight();
+            StreamFlight existing = streams.putIfAbsent(key, flight);
+            if (existing != null) {
+                if (existing.join()) {
+                    coalesced.increment();
+                    return existing.subscribe(onDelta);
+                }
+                streams.remove(key, existing);
+                continue;
+            }
+
+            flight.join();
+            CompletableFuture<ChatResponse> subscriber = flight.subscribe(onDelta);
+            requests.increment();
+            CompletableFuture<ChatResponse> completion;
+            try {
+                completion = delegate.streamDeltasAsync(prompt, flight::publish, options);
+            } catch (RuntimeException e) {
+                streams.remove(key, flight);
+                flight.result.completeExceptionally(e);
+                return subscriber;
+            }
+            flight.onAbandon(() -> completion.cancel(true));
+            completion.whenComplete((result, error) -> {
+                streams.remove(key, flight);
+                if (error != null) {
+                    flight.result.completeExceptionally(error);
+                } else {
+                    flight.result.complete(result);
+                }
+            });
+            return subscriber;
+        }
+    }
+
+    /**
+     * Returns the number of requests sent to the delegate.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of calls and streams that were served by joining a
+     * request already in flight instead of sending their own.
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlightCount() {
+        return calls.size() + streams.size();
+    }
+
+    @Override
+    public String getDefaultModel() {
+        return delegate.getDefaultModel();
+    }
+
+    @Override
+    public String getEndpointUrl() {
+        return delegate.getEndpointUrl();
+    }
+
+    /**
+     * Returns the wrapped model.
+     *
+     * @return the delegate
+     */
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    private FlightKey flightKey(Prompt prompt, ChatOptions options, boolean stream) {
+        CacheKey request = CacheKey.of(null, delegate.getDefaultModel(), prompt, options);
+        if (options == null) {
+            return new FlightKey(request, null, null);
+        }
+        return new FlightKey(request, stream ? options.getIncludeUsage() : null, options.getRawResponseRetention());
+    }
+
+    /**
+     * Identifies a request: its {@link CacheKey} plus the options that change
+     * the response object without changing the generated text.
+     */
+    private static final class FlightKey {
+        private final CacheKey request;
+        private final Boolean includeUsage;
+        private final RawResponseRetention retention;
+
+        FlightKey(CacheKey request, Boolean includeUsage, RawResponseRetention retention) {
+            this.request = request;
+            this.includeUsage = includeUsage;
+            this.retention = retention;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FlightKey)) return false;
+            FlightKey that = (FlightKey) o;
+            return request.equals(that.request)
+                    && Objects.equals(includeUsage, that.includeUsage)
+                    && retention == that.retention;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(request, includeUsage, retention);
+        }
+    }
+
+    /**
+     * A request shared by one or more callers.
+     */
+    private static class Flight<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /**
+         * Number of callers still waiting; -1 once everyone has cancelled.
+         */
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private volatile Runnable onAbandon;
+
+        /**
+         * Registers a caller. Fails if every previous caller has already
+         * cancelled, in which case the flight must not be reused.
+         */
+        boolean join() {
+            while (true) {
+                int count = subscribers.get();
+                if (count < 0) {
+                    return false;
+                }
+                if (subscribers.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Returns a caller-owned view of the result. Cancelling it detaches the
+         * caller and cancels the request once no callers remain.
+         */
+        CompletableFuture<T> subscribe() {
+            CompletableFuture<T> view = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    view.completeExceptionally(error);
+                } else {
+                    view.complete(value);
+                }
+            });
+            view.whenComplete((value, error) -> {
+                if (view.isCancelled()) {
+                    leave();
+                }
+            });
+            return view;
+        }
+
+        void onAbandon(Runnable action) {
+            onAbandon = action;
+            if (subscribers.get() < 0) {
+                action.run();
+            }
+        }
+
+        void leave() {
+            if (subscribers.decrementAndGet() == 0 && subscribers.compareAndSet(0, -1)) {
+                Runnable action = onAbandon;
+                if (action != null) {
+                    action.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * A stream shared by one or more callers. Deltas are recorded so that late
+     * subscribers can catch up.
+     *
+     * <p>The log is only locked to append and read deltas; consumers are
+     * called outside the lock, each by at most one thread at a time and in
+     * log order. A subscriber joining while another consumer is busy replays
+     * the log on its own thread instead of waiting for that consumer.</p>
+     */
+    private static final class StreamFlight extends Flight<ChatResponse> {
+
+        private final List<ChatDelta> deltas = new ArrayList<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+
+        void publish(ChatDelta delta) {
+            Subscriber[] snapshot;
+            synchronized (this) {
+                deltas.add(delta);
+                snapshot = subscribers.toArray(new Subscriber[0]);
+            }
+            for (Subscriber subscriber : snapshot) {
+                subscriber.drain();
+            }
+        }
+
+        CompletableFuture<ChatResponse> subscribe(Consumer<ChatDelta> onDelta) {
+            Subscriber subscriber = new Subscriber(onDelta);
+            synchronized (this) {
+                subscribers.add(subscriber);
+            }
+            subscriber.view.whenComplete((value, error) -> {
+                synchronized (this) {
+                    subscribers.remove(subscriber);
+                }
+                if (subscriber.view.isCancelled()) {
+                    leave();
+                }
+            });
+            subscriber.drain();
+            result.whenComplete((value, error) -> subscriber.drain());
+            return subscriber.view;
+        }
+
+        private synchronized ChatDelta deltaAt(int index) {
+            return index < deltas.size() ? deltas.get(index) : null;
+        }
+
+        /**
+         * One caller's position in the delta log.
+         */
+        private final class Subscriber {
+            final CompletableFuture<ChatResponse> view = new CompletableFuture<>();
+            private final Consumer<ChatDelta> consumer;
+            private final AtomicInteger pending = new AtomicInteger();
+            private int next;
+
+            Subscriber(Consumer<ChatDelta> consumer) {
+                this.consumer = consumer;
+            }
+
+            /**
+             * Delivers the deltas this subscriber has not seen yet, then
+             * completes its view once the stream has ended. If another thread
+             * is already draining, it picks up the new work before leaving.
+             */
+            void drain() {
+                if (pending.getAndIncrement() != 0) {
+                    return;
+                }
+                do {
+                    while (!view.isDone()) {
+                        // Every delta is appended before the result completes
+                        boolean finished = result.isDone();
+                        ChatDelta delta = deltaAt(next);
+                        if (delta == null) {
+                            if (finished) {
+                                result.whenComplete((value, error) -> {
+                                    if (error != null) {
+                                        view.completeExceptionally(error);
+                                    } else {
+                                        view.complete(value);
+                                    }
+                                });
+                            }
+                            break;
+                        }
+                        next++;
+                        deliver(consumer, delta);
+                    }
+                } while (pending.decrementAndGet() != 0);
+            }
+        }
+
+        private static void deliver(Consumer<ChatDelta> consumer, ChatDelta delta) {
+            try {
+                consumer.accept(delta);
+            } catch (Exception e) {
+                // A failing subscriber must not affect the others
+            }
+        }
+    }
+}
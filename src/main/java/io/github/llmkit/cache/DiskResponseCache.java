@@ -0,0 +1,692 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.message.AiMessage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent {@link ResponseCache} backed by append-only, memory-mapped segment
+ * files.
+ *
+ * <p>Responses are appended to fixed-size segment files
+ * ({@code segment-00000001.dat}, ...) and read back through
+ * {@link MappedByteBuffer}s, so warm lookups are served from the page cache
+ * without copying cached completions onto the heap. An off-heap hash index maps
+ * each {@link CacheKey} to the location of its latest record; it is rebuilt by
+ * scanning the segments when the cache is opened.</p>
+ *
+ * <p>Overwritten, invalidated and expired records stay on disk until the cache
+ * is compacted. Compaction copies live records into new segments and deletes
+ * the old files. It runs automatically when a segment fills up and the share of
+ * dead bytes exceeds the configured threshold, and can be triggered with
+ * {@link #compact()}.</p>
+ *
+ * <pre>{@code
+ * DiskResponseCache cache = DiskResponseCache.builder(Paths.get("/var/cache/llmkit"))
+ *     .ttlMs(TimeUnit.DAYS.toMillis(7))
+ *     .build();
+ *
+ * ChatModel cached = CachingChatModel.builder(model)
+ *     .cache(cache)
+ *     .build();
+ * }</pre>
+ *
+ * <p>Records are protected by a CRC32 checksum; a torn record at the end of a
+ * segment is ignored when the cache is reopened. Writes reach the page cache
+ * immediately and survive a process crash, but are only forced to the storage
+ * device by {@link #flush()} and {@link #close()}. Raw response bodies are not
+ * stored unless {@link Builder#storeRawResponse(boolean)} is enabled.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class DiskResponseCache implements ResponseCache, Closeable {
+
+    private static final int MAGIC = 0x4C4C4D43; // "LLMC"
+    private static final int TOMBSTONE = -1;
+
+    /**
+     * Record header: magic, crc32, key high, key low, created millis, payload length.
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 4;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{8})\\.dat");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long ttlMs;
+    private final double compactionThreshold;
+    private final boolean storeRawResponse;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final OffHeapIndex index = new OffHeapIndex(1024);
+
+    private Segment active;
+    private int nextSegmentId = 1;
+    private long liveBytes;
+    private long deadBytes;
+    private boolean closed;
+    private boolean compacting;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private DiskResponseCache(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.ttlMs = builder.ttlMs;
+        this.compactionThreshold = builder.compactionThreshold;
+        this.storeRawResponse = builder.storeRawResponse;
+
+        Files.createDirectories(directory);
+        load();
+    }
+
+    /**
+     * Creates a new builder for a cache stored in the given directory.
+     *
+     * @param directory the directory holding the segment files
+     * @return a new builder
+     */
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    @Override
+    public ChatResponse get(CacheKey key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            long location = index.get(key.getHigh(), key.getLow());
+            if (location == OffHeapIndex.NOT_FOUND) {
+                misses.increment();
+                return null;
+            }
+            ByteBuffer record = segments.get(OffHeapIndex.segmentId(location)).buffer.duplicate();
+            record.position(OffHeapIndex.offset(location) + 24);
+            long createdMillis = record.getLong();
+            if (isExpired(createdMillis)) {
+                // Reclaimed by the next compaction
+                misses.increment();
+                return null;
+            }
+            int length = record.getInt();
+            record.limit(record.position() + length);
+            hits.increment();
+            return decode(record);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(CacheKey key, ChatResponse response) {
+        byte[] payload = encode(response);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            append(key.getHigh(), key.getLow(), System.currentTimeMillis(), payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cache record", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            long previous = index.remove(key.getHigh(), key.getLow());
+            if (previous != OffHeapIndex.NOT_FOUND) {
+                markDead(previous);
+                // Persist the removal so that reopening the cache does not resurrect the entry
+                writeRecord(key.getHigh(), key.getLow(), System.currentTimeMillis(), null);
+                deadBytes += HEADER_SIZE;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cache record", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            for (Segment segment : segments.values()) {
+                segment.delete();
+            }
+            segments.clear();
+            active = null;
+            index.clear();
+            liveBytes = 0;
+            deadBytes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        int size;
+        lock.readLock().lock();
+        try {
+            size = index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * Copies live, unexpired records into new segments and deletes the old
+     * segment files.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            doCompact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces written records to the storage device.
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            if (active != null) {
+                active.buffer.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the total size of the segment files on disk.
+     *
+     * @return the size in bytes
+     */
+    public long getDiskUsage() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (Segment segment : segments.values()) {
+                total += segment.buffer.capacity();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes held by overwritten, invalidated or
+     * tombstone records that the next compaction will reclaim.
+     *
+     * @return the dead bytes
+     */
+    public long getDeadBytes() {
+        lock.readLock().lock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (active != null) {
+                active.buffer.force();
+            }
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close cache", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== Internal ====================
+
+    private void load() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        ids.sort(null);
+
+        for (int id : ids) {
+            Segment segment = Segment.open(segmentPath(id), id);
+            segments.put(id, segment);
+            replay(segment);
+            nextSegmentId = id + 1;
+        }
+        // New records always go to a fresh segment; it is created on the first write
+    }
+
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        CRC32 crc = new CRC32();
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            if (buffer.getInt(position) != MAGIC) {
+                break;
+            }
+            int checksum = buffer.getInt(position + 4);
+            long high = buffer.getLong(position + 8);
+            long low = buffer.getLong(position + 16);
+            int length = buffer.getInt(position + 32);
+            int payloadLength = Math.max(length, 0);
+            if (position + HEADER_SIZE + payloadLength > buffer.capacity()) {
+                break;
+            }
+            buffer.limit(position + HEADER_SIZE + payloadLength).position(position + 8);
+            crc.reset();
+            crc.update(buffer);
+            buffer.limit(buffer.capacity());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            if (length == TOMBSTONE) {
+                long previous = index.remove(high, low);
+                if (previous != OffHeapIndex.NOT_FOUND) {
+                    markDead(previous);
+                }
+                deadBytes += HEADER_SIZE;
+            } else {
+                long previous = index.put(high, low, segment.id, position);
+                if (previous != OffHeapIndex.NOT_FOUND) {
+                    markDead(previous);
+                }
+                liveBytes += HEADER_SIZE + length;
+            }
+            position += HEADER_SIZE + payloadLength;
+        }
+        segment.position = position;
+        deadBytes += segment.buffer.capacity() - position;
+    }
+
+    private void append(long high, long low, long createdMillis, byte[] payload) throws IOException {
+        int location = writeRecord(high, low, createdMillis, payload);
+        long previous = index.put(high, low, active.id, location);
+        if (previous != OffHeapIndex.NOT_FOUND) {
+            markDead(previous);
+        }
+        liveBytes += HEADER_SIZE + payload.length;
+    }
+
+    /**
+     * Writes a record to the active segment, rolling to a new segment if needed.
+     * A null payload writes a tombstone.
+     *
+     * @return the offset of the record in the active segment
+     */
+    private int writeRecord(long high, long low, long createdMillis, byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + (payload != null ? payload.length : 0);
+        if (active == null || active.position + recordSize > active.buffer.capacity()) {
+            roll(recordSize);
+        }
+
+        int position = active.position;
+        ByteBuffer buffer = active.buffer.duplicate();
+        buffer.position(position + 8);
+        buffer.putLong(high);
+        buffer.putLong(low);
+        buffer.putLong(createdMillis);
+        buffer.putInt(payload != null ? payload.length : TOMBSTONE);
+        if (payload != null) {
+            buffer.put(payload);
+        }
+
+        CRC32 crc = new CRC32();
+        buffer.limit(position + recordSize).position(position + 8);
+        crc.update(buffer);
+        buffer.limit(buffer.capacity());
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // Magic goes last so that a partially written record is never treated as valid
+        buffer.putInt(position, MAGIC);
+
+        active.position = position + recordSize;
+        return position;
+    }
+
+    private void roll(int minSize) throws IOException {
+        if (active != null) {
+            // Unused tail of the finished segment is dead space
+            deadBytes += active.buffer.capacity() - active.position;
+            active = null;
+            if (!compacting && deadBytes > (liveBytes + deadBytes) * compactionThreshold) {
+                doCompact();
+                if (active != null && active.position + minSize <= active.buffer.capacity()) {
+                    return;
+                }
+            }
+        }
+        int id = nextSegmentId++;
+        active = Segment.create(segmentPath(id), id, Math.max(segmentSize, minSize));
+        segments.put(id, active);
+    }
+
+    private void doCompact() throws IOException {
+        Map<Integer, Segment> old = new TreeMap<>(segments);
+        active = null;
+        compacting = true;
+
+        // Re-appending an existing key updates its slot in place, so the index can be walked directly
+        for (int slot = 0; slot < index.capacity(); slot++) {
+            if (!index.isLive(slot)) {
+                continue;
+            }
+            long high = index.highAt(slot);
+            long low = index.lowAt(slot);
+            ByteBuffer record = old.get(index.segmentAt(slot)).buffer.duplicate();
+            record.position(index.offsetAt(slot) + 24);
+            long createdMillis = record.getLong();
+            if (isExpired(createdMillis)) {
+                index.remove(high, low);
+                evictions.increment();
+                continue;
+            }
+            byte[] payload = new byte[record.getInt()];
+            record.get(payload);
+            append(high, low, createdMillis, payload);
+        }
+
+        compacting = false;
+
+        for (Segment segment : old.values()) {
+            segments.remove(segment.id);
+            segment.delete();
+        }
+
+        // Only live records remain; the unused tails of full segments are the only dead space
+        liveBytes = 0;
+        deadBytes = 0;
+        for (Segment segment : segments.values()) {
+            liveBytes += segment.position;
+            if (segment != active) {
+                deadBytes += segment.buffer.capacity() - segment.position;
+            }
+        }
+    }
+
+    private void markDead(long location) {
+        ByteBuffer buffer = segments.get(OffHeapIndex.segmentId(location)).buffer;
+        int recordSize = HEADER_SIZE + buffer.getInt(OffHeapIndex.offset(location) + 32);
+        liveBytes -= recordSize;
+        deadBytes += recordSize;
+    }
+
+    private boolean isExpired(long createdMillis) {
+        return ttlMs > 0 && System.currentTimeMillis() - createdMillis >= ttlMs;
+    }
+
+    private Path segmentPath(int id) {
+        return directory.resolve(String.format("segment-%08d.dat", id));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Cache is closed");
+        }
+    }
+
+    // ==================== Serialization ====================
+
+    private byte[] encode(ChatResponse response) {
+        byte[] content = bytes(response.getContent());
+        byte[] finishReason = bytes(response.getFinishReason());
+        byte[] raw = storeRawResponse ? bytes(response.getRawResponse()) : null;
+        ChatResponse.Usage usage = response.getUsage();
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                sizeOf(content) + sizeOf(finishReason) + sizeOf(raw) + 1 + (usage != null ? 12 : 0));
+        putBytes(buffer, content);
+        putBytes(buffer, finishReason);
+        putBytes(buffer, raw);
+        if (usage != null) {
+            buffer.put((byte) 1);
+            buffer.putInt(usage.getPromptTokens());
+            buffer.putInt(usage.getCompletionTokens());
+            buffer.putInt(usage.getTotalTokens());
+        } else {
+            buffer.put((byte) 0);
+        }
+        return buffer.array();
+    }
+
+    private static ChatResponse decode(ByteBuffer buffer) {
+        String content = getString(buffer);
+        String finishReason = getString(buffer);
+        String raw = getString(buffer);
+        ChatResponse.Usage usage = null;
+        if (buffer.get() == 1) {
+            usage = new ChatResponse.Usage(buffer.getInt(), buffer.getInt(), buffer.getInt());
+        }
+        return ChatResponse.builder()
+                .message(content != null ? new AiMessage(content) : null)
+                .finishReason(finishReason)
+                .rawResponse(raw)
+                .usage(usage)
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] value) {
+        return 4 + (value != null ? value.length : 0);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    // ==================== Segment ====================
+
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int position;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int id, int size) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(size);
+            }
+            return open(path, id);
+        }
+
+        static Segment open(Path path, int id) throws IOException {
+            RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return new Segment(id, path, channel, buffer);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        void delete() throws IOException {
+            // The mapping stays valid until the buffer is garbage collected
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    // ==================== Builder ====================
+
+    /**
+     * Builder for {@link DiskResponseCache}.
+     */
+    public static class Builder {
+
+        private final Path directory;
+        private int segmentSize = 64 * 1024 * 1024;
+        private long ttlMs = 0;
+        private double compactionThreshold = 0.5;
+        private boolean storeRawResponse = false;
+
+        private Builder(Path directory) {
+            if (directory == null) {
+                throw new IllegalArgumentException("directory must not be null");
+            }
+            this.directory = directory;
+        }
+
+        /**
+         * Sets the size of each segment file (default 64 MB, at most 1 GB).
+         * Responses larger than a segment get a segment of their own.
+         *
+         * @param segmentSizeBytes the segment size in bytes
+         * @return this builder
+         */
+        public Builder segmentSizeBytes(int segmentSizeBytes) {
+            if (segmentSizeBytes < HEADER_SIZE || segmentSizeBytes > (1 << 30)) {
+                throw new IllegalArgumentException("segmentSizeBytes must be between " + HEADER_SIZE + " and 1 GB");
+            }
+            this.segmentSize = segmentSizeBytes;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached response stays valid. Age is measured with the
+         * wall clock, so it carries over when the cache is reopened.
+         *
+         * @param ttlMs the time-to-live in milliseconds, 0 for no expiry (default)
+         * @return this builder
+         */
+        public Builder ttlMs(long ttlMs) {
+            if (ttlMs < 0) {
+                throw new IllegalArgumentException("ttlMs must not be negative");
+            }
+            this.ttlMs = ttlMs;
+            return this;
+        }
+
+        /**
+         * Sets the share of dead bytes that triggers compaction when a segment
+         * fills up (default 0.5).
+         *
+         * @param compactionThreshold a ratio between 0 and 1
+         * @return this builder
+         */
+        public Builder compactionThreshold(double compactionThreshold) {
+            if (compactionThreshold <= 0 || compactionThreshold > 1) {
+                throw new IllegalArgumentException("compactionThreshold must be in (0, 1]");
+            }
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets whether the raw provider response is stored along with the parsed
+         * response (default false).
+         *
+         * @param storeRawResponse true to store raw responses
+         * @return this builder
+         */
+        public Builder storeRawResponse(boolean storeRawResponse) {
+            this.storeRawResponse = storeRawResponse;
+            return this;
+        }
+
+        /**
+         * Opens the cache, replaying existing segment files.
+         *
+         * @return the cache
+         * @throws UncheckedIOException if the directory cannot be read
+         */
+        public DiskResponseCache build() {
+            try {
+                return new DiskResponseCache(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open cache at " + directory, e);
+            }
+        }
+    }
+}
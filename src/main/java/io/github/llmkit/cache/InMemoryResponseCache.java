@@ -0,0 +1,180 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory {@link ResponseCache} with LRU eviction and an optional
+ * time-to-live.
+ *
+ * <p>Entries are kept in an access-ordered {@link LinkedHashMap}; when the
+ * cache exceeds {@code maxSize} the least recently used entry is evicted.
+ * Expired entries are removed lazily when they are looked up.</p>
+ *
+ * <pre>{@code
+ * ResponseCache cache = InMemoryResponseCache.builder()
+ *     .maxSize(10_000)
+ *     .ttlMs(TimeUnit.HOURS.toMillis(1))
+ *     .build();
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<CacheKey, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    InMemoryResponseCache(int maxSize, long ttlMs, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMs > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMs) : 0;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ChatResponse get(CacheKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry, ticker.getAsLong())) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.response;
+        }
+    }
+
+    @Override
+    public void put(CacheKey key, ChatResponse response) {
+        long now = ticker.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry(response, now));
+            if (entries.size() > maxSize) {
+                Iterator<Map.Entry<CacheKey, Entry>> it = entries.entrySet().iterator();
+                while (entries.size() > maxSize && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlNanos > 0 && now - entry.createdNanos >= ttlNanos;
+    }
+
+    private static final class Entry {
+        final ChatResponse response;
+        final long createdNanos;
+
+        Entry(ChatResponse response, long createdNanos) {
+            this.response = response;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    /**
+     * Builder for {@link InMemoryResponseCache}.
+     */
+    public static class Builder {
+
+        private int maxSize = 1000;
+        private long ttlMs = 0;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Sets the maximum number of entries (default 1000).
+         *
+         * @param maxSize the maximum size, must be positive
+         * @return this builder
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long an entry stays valid after it is written.
+         *
+         * @param ttlMs the time-to-live in milliseconds, 0 for no expiry (default)
+         * @return this builder
+         */
+        public Builder ttlMs(long ttlMs) {
+            if (ttlMs < 0) {
+                throw new IllegalArgumentException("ttlMs must not be negative");
+            }
+            this.ttlMs = ttlMs;
+            return this;
+        }
+
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return a new cache
+         */
+        public InMemoryResponseCache build() {
+            return new InMemoryResponseCache(maxSize, ttlMs, ticker);
+        }
+    }
+}
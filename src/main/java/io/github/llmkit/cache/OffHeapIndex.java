@@ -0,0 +1,193 @@
+package io.github.llmkit.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open-addressing hash table from {@link CacheKey} to a record location, stored
+ * in a direct {@link ByteBuffer} so that large indexes do not add to heap size
+ * or GC work.
+ *
+ * <p>Each slot is 24 bytes: the two halves of the key, the segment id and the
+ * offset of the record inside the segment. Segment id 0 marks an empty slot and
+ * -1 a deleted one. Cache keys are already uniformly distributed hashes, so the
+ * low bits of the key are used directly as the slot index.</p>
+ *
+ * <p>Not thread-safe; {@link DiskResponseCache} guards it with its lock.</p>
+ */
+final class OffHeapIndex {
+
+    static final long NOT_FOUND = -1L;
+
+    private static final int SLOT_SIZE = 24;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private ByteBuffer table;
+    private int capacity;
+    private int size;
+    private int deleted;
+
+    OffHeapIndex(int initialCapacity) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1));
+    }
+
+    /**
+     * Packs a segment id and offset into a location value.
+     */
+    static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    static int offset(long location) {
+        return (int) location;
+    }
+
+    long get(long high, long low) {
+        int slot = find(high, low);
+        return slot < 0 ? NOT_FOUND : location(segmentAt(slot), offsetAt(slot));
+    }
+
+    /**
+     * Inserts or replaces the location for a key.
+     *
+     * @return the previous location, or {@link #NOT_FOUND}
+     */
+    long put(long high, long low, int segmentId, int offset) {
+        int slot = find(high, low);
+        if (slot >= 0) {
+            long previous = location(segmentAt(slot), offsetAt(slot));
+            writeSlot(slot, high, low, segmentId, offset);
+            return previous;
+        }
+        if ((size + deleted + 1) * 2 > capacity) {
+            // Grow only when live entries need it; otherwise rehashing just drops tombstones
+            rehash(size * 4 >= capacity ? capacity * 2 : capacity);
+        }
+        int mask = capacity - 1;
+        int i = (int) low & mask;
+        while (true) {
+            int segment = segmentAt(i);
+            if (segment == EMPTY || segment == DELETED) {
+                if (segment == DELETED) {
+                    deleted--;
+                }
+                writeSlot(i, high, low, segmentId, offset);
+                size++;
+                return NOT_FOUND;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @return the removed location, or {@link #NOT_FOUND}
+     */
+    long remove(long high, long low) {
+        int slot = find(high, low);
+        if (slot < 0) {
+            return NOT_FOUND;
+        }
+        long previous = location(segmentAt(slot), offsetAt(slot));
+        table.putInt(slot * SLOT_SIZE + 16, DELETED);
+        size--;
+        deleted++;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns true if the slot holds a live entry.
+     */
+    boolean isLive(int slot) {
+        return segmentAt(slot) > 0;
+    }
+
+    long highAt(int slot) {
+        return table.getLong(slot * SLOT_SIZE);
+    }
+
+    long lowAt(int slot) {
+        return table.getLong(slot * SLOT_SIZE + 8);
+    }
+
+    int segmentAt(int slot) {
+        return table.getInt(slot * SLOT_SIZE + 16);
+    }
+
+    int offsetAt(int slot) {
+        return table.getInt(slot * SLOT_SIZE + 20);
+    }
+
+    void clear() {
+        allocate(16);
+    }
+
+    private int find(long high, long low) {
+        int mask = capacity - 1;
+        int i = (int) low & mask;
+        while (true) {
+            int segment = segmentAt(i);
+            if (segment == EMPTY) {
+                return -1;
+            }
+            if (segment != DELETED && lowAt(i) == low && highAt(i) == high) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void writeSlot(int slot, long high, long low, int segmentId, int offset) {
+        int base = slot * SLOT_SIZE;
+        table.putLong(base, high);
+        table.putLong(base + 8, low);
+        table.putInt(base + 16, segmentId);
+        table.putInt(base + 20, offset);
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer old = table;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        int mask = capacity - 1;
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            int base = slot * SLOT_SIZE;
+            int segment = old.getInt(base + 16);
+            if (segment <= 0) {
+                continue;
+            }
+            long high = old.getLong(base);
+            long low = old.getLong(base + 8);
+            int i = (int) low & mask;
+            while (segmentAt(i) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            writeSlot(i, high, low, segment, old.getInt(base + 20));
+            size++;
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        if ((long) newCapacity * SLOT_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Index capacity exceeded: " + newCapacity);
+        }
+        // allocateDirect zero-fills, so every slot starts out EMPTY
+        table = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE);
+        capacity = newCapacity;
+        size = 0;
+        deleted = 0;
+    }
+}
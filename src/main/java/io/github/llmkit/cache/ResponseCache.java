@@ -0,0 +1,51 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatResponse;
+
+/**
+ * Storage for chat responses, keyed by {@link CacheKey}.
+ *
+ * <p>Implementations must be thread-safe. {@link CachingChatModel} uses
+ * {@link InMemoryResponseCache} by default; other stores can be plugged in
+ * through {@link CachingChatModel.Builder#cache(ResponseCache)}.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the cached response for a key.
+     *
+     * @param key the cache key
+     * @return the cached response, or null if absent or expired
+     */
+    ChatResponse get(CacheKey key);
+
+    /**
+     * Stores a response.
+     *
+     * @param key      the cache key
+     * @param response the response to store
+     */
+    void put(CacheKey key, ChatResponse response);
+
+    /**
+     * Removes the entry for a key, if present.
+     *
+     * @param key the cache key
+     */
+    void invalidate(CacheKey key);
+
+    /**
+     * Removes all entries.
+     */
+    void clear();
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,159 @@
+package io.github.llmkit.chat.openai;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.exception.ParseException;
+
+/**
+ * Snapshot of a provider-side batch job, as returned by the {@code /v1/batches}
+ * endpoints.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see OpenAIBatchClient
+ */
+public final class OpenAIBatch {
+
+    private final String id;
+    private final String status;
+    private final String inputFileId;
+    private final String outputFileId;
+    private final String errorFileId;
+    private final int totalRequests;
+    private final int completedRequests;
+    private final int failedRequests;
+    private final String rawResponse;
+
+    private OpenAIBatch(JSONObject json, String rawResponse) {
+        this.id = json.getString("id");
+        this.status = json.getString("status");
+        this.inputFileId = json.getString("input_file_id");
+        this.outputFileId = json.getString("output_file_id");
+        this.errorFileId = json.getString("error_file_id");
+        JSONObject counts = json.getJSONObject("request_counts");
+        this.totalRequests = counts != null ? counts.getIntValue("total", 0) : 0;
+        this.completedRequests = counts != null ? counts.getIntValue("completed", 0) : 0;
+        this.failedRequests = counts != null ? counts.getIntValue("failed", 0) : 0;
+        this.rawResponse = rawResponse;
+    }
+
+    static OpenAIBatch parse(String response) {
+        JSONObject json;
+        try {
+            json = JSON.parseObject(response);
+        } catch (Exception e) {
+            throw ParseException.invalidJson(response, e);
+        }
+        if (json == null || json.getString("id") == null) {
+            throw new ParseException("No batch id in response", response);
+        }
+        return new OpenAIBatch(json, response);
+    }
+
+    /**
+     * Returns the batch id.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the provider status, such as {@code validating},
+     * {@code in_progress}, {@code completed} or {@code failed}.
+     *
+     * @return the status
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the id of the uploaded request file.
+     *
+     * @return the input file id
+     */
+    public String getInputFileId() {
+        return inputFileId;
+    }
+
+    /**
+     * Returns the id of the file holding successful results.
+     *
+     * @return the output file id, or null until results are available
+     */
+    public String getOutputFileId() {
+        return outputFileId;
+    }
+
+    /**
+     * Returns the id of the file holding failed requests.
+     *
+     * @return the error file id, or null if no request failed
+     */
+    public String getErrorFileId() {
+        return errorFileId;
+    }
+
+    /**
+     * Returns the number of requests in the batch.
+     *
+     * @return the total request count
+     */
+    public int getTotalRequests() {
+        return totalRequests;
+    }
+
+    /**
+     * Returns the number of requests that completed successfully.
+     *
+     * @return the completed request count
+     */
+    public int getCompletedRequests() {
+        return completedRequests;
+    }
+
+    /**
+     * Returns the number of requests that failed.
+     *
+     * @return the failed request count
+     */
+    public int getFailedRequests() {
+        return failedRequests;
+    }
+
+    /**
+     * Returns the raw JSON the snapshot was parsed from.
+     *
+     * @return the raw response
+     */
+    public String getRawResponse() {
+        return rawResponse;
+    }
+
+    /**
+     * Checks whether the batch finished successfully and its results can be read.
+     *
+     * @return true if the status is {@code completed}
+     */
+    public boolean isCompleted() {
+        return "completed".equals(status);
+    }
+
+    /**
+     * Checks whether the batch reached a final status.
+     *
+     * @return true if the batch completed, failed, expired or was cancelled
+     */
+    public boolean isTerminal() {
+        return "completed".equals(status) || "failed".equals(status)
+                || "expired".equals(status) || "cancelled".equals(status);
+    }
+
+    @Override
+    public String toString() {
+        return "OpenAIBatch{id='" + id + "', status='" + status + "', completed=" + completedRequests
+                + ", failed=" + failedRequests + ", total=" + totalRequests + '}';
+    }
+}
@@ -0,0 +1,379 @@
+package io.github.llmkit.chat.openai;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.core.http.HttpClientFactory;
+import io.github.llmkit.core.http.LLMHttpClient;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.LLMKitException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Client for the provider-side batch API ({@code /v1/files} and
+ * {@code /v1/batches}), which processes large offline workloads within a
+ * completion window at a reduced price.
+ *
+ * <p>Requests are staged in a local JSONL file, one line per prompt, written
+ * as the prompts are iterated so that the whole batch never has to be held in
+ * memory. Each request body is written straight into the file by the same
+ * {@link OpenAIChatModel#createRequestBody} logic as a regular call, so model
+ * defaults and options apply unchanged. Result files are read back line by
+ * line and parsed into {@link OpenAIBatchOutput}s.</p>
+ *
+ * <pre>{@code
+ * OpenAIBatchClient client = new OpenAIBatchClient(model);
+ * OpenAIBatch batch = client.submit(prompts, ChatOptions.DEFAULT);
+ *
+ * batch = client.awaitCompletion(batch.getId(), 60_000, TimeUnit.HOURS.toMillis(24));
+ * client.readResults(batch, output -> {
+ *     if (output.isSuccess()) {
+ *         store(output.getIndex(), output.getResponse());
+ *     }
+ * });
+ * }</pre>
+ *
+ * <p>The client uses the OkHttpClient of the model's configuration, see
+ * {@link HttpClientFactory#getClient(io.github.llmkit.core.config.ChatConfig)}.
+ * The API base is derived from the configured request path, so
+ * {@code /v1/chat/completions} maps to {@code /v1/files} and
+ * {@code /v1/batches}.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class OpenAIBatchClient {
+
+    /**
+     * Completion window requested for new batches.
+     */
+    public static final String COMPLETION_WINDOW = "24h";
+
+    private static final MediaType JSON_TYPE = MediaType.parse("application/json; charset=utf-8");
+    private static final MediaType JSONL_TYPE = MediaType.parse("application/jsonl");
+    private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+
+    private final OpenAIChatModel model;
+    private final OkHttpClient okHttpClient;
+    private final String apiBase;
+
+    /**
+     * Creates a batch client for the given model.
+     *
+     * @param model the model whose configuration and request format are used
+     * @throws IllegalArgumentException if model is null
+     */
+    public OpenAIBatchClient(OpenAIChatModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("model must not be null");
+        }
+        this.model = model;
+        this.okHttpClient = HttpClientFactory.getClient(model.getConfig());
+        this.apiBase = apiBase(model.getConfig());
+    }
+
+    /**
+     * Stages, uploads and creates a batch in one step.
+     *
+     * <p>The prompts are written to a temporary file that is deleted once it
+     * has been uploaded.</p>
+     *
+     * @param prompts the prompts, iterated once
+     * @param options the options applied to every request
+     * @return the created batch
+     * @throws LLMKitException if staging, uploading or creating the batch fails
+     */
+    public OpenAIBatch submit(Iterable<? extends Prompt> prompts, ChatOptions options) {
+        Path file;
+        try {
+            file = Files.createTempFile("llmkit-batch-", ".jsonl");
+        } catch (IOException e) {
+            throw new ChatException("Failed to create batch staging file", e);
+        }
+        try {
+            writeRequests(prompts, options, file);
+            return createBatch(uploadFile(file));
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Best effort; the file lives in the temp directory
+            }
+        }
+    }
+
+    /**
+     * Writes one batch request line per prompt to a JSONL file.
+     *
+     * <p>The custom id of each line is the zero-based index of its prompt.
+     * Prompts are serialized as they are iterated, so a lazily generated
+     * {@code Iterable} is never materialized.</p>
+     *
+     * @param prompts the prompts, iterated once
+     * @param options the options applied to every request, or null for defaults
+     * @param file    the file to create or overwrite
+     * @return the number of requests written
+     * @throws ChatException if the file cannot be written
+     */
+    public int writeRequests(Iterable<? extends Prompt> prompts, ChatOptions options, Path file) {
+        if (prompts == null) {
+            throw new IllegalArgumentException("prompts must not be null");
+        }
+        ChatOptions opts = options != null ? options : ChatOptions.DEFAULT;
+        String url = JSON.toJSONString(model.getConfig().getRequestPath());
+        int count = 0;
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+            for (Prompt prompt : prompts) {
+                sink.writeUtf8("{\"custom_id\":\"");
+                sink.writeDecimalLong(count++);
+                sink.writeUtf8("\",\"method\":\"POST\",\"url\":");
+                sink.writeUtf8(url);
+                sink.writeUtf8(",\"body\":");
+                model.createRequestBody(prompt, opts, false).writeTo(sink);
+                sink.writeUtf8("}\n");
+            }
+        } catch (IOException e) {
+            throw new ChatException("Failed to write batch requests to " + file, e);
+        }
+        return count;
+    }
+
+    /**
+     * Uploads a staged request file for batch processing.
+     *
+     * <p>The file is streamed from disk.</p>
+     *
+     * @param file the JSONL request file
+     * @return the id of the uploaded file
+     * @throws NetworkException if the upload fails
+     */
+    public String uploadFile(Path file) {
+        RequestBody body = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("purpose", "batch")
+                .addFormDataPart("file", file.getFileName().toString(),
+                        RequestBody.create(file.toFile(), JSONL_TYPE))
+                .build();
+        String response = execute(request("/files").post(body).build());
+        JSONObject json = parseObject(response);
+        String id = json.getString("id");
+        if (id == null) {
+            throw new ParseException("No file id in response", response);
+        }
+        return id;
+    }
+
+    /**
+     * Creates a batch from an uploaded request file.
+     *
+     * @param inputFileId the id returned by {@link #uploadFile(Path)}
+     * @return the created batch
+     * @throws LLMKitException if the request fails
+     */
+    public OpenAIBatch createBatch(String inputFileId) {
+        JSONObject payload = new JSONObject();
+        payload.put("input_file_id", inputFileId);
+        payload.put("endpoint", model.getConfig().getRequestPath());
+        payload.put("completion_window", COMPLETION_WINDOW);
+        RequestBody body = RequestBody.create(payload.toJSONString(), JSON_TYPE);
+        return OpenAIBatch.parse(execute(request("/batches").post(body).build()));
+    }
+
+    /**
+     * Retrieves the current state of a batch.
+     *
+     * @param batchId the batch id
+     * @return the batch
+     * @throws LLMKitException if the request fails
+     */
+    public OpenAIBatch getBatch(String batchId) {
+        return OpenAIBatch.parse(execute(request("/batches/" + batchId).get().build()));
+    }
+
+    /**
+     * Requests cancellation of a batch.
+     *
+     * <p>Results of requests that already completed remain available.</p>
+     *
+     * @param batchId the batch id
+     * @return the batch, usually in {@code cancelling} state
+     * @throws LLMKitException if the request fails
+     */
+    public OpenAIBatch cancelBatch(String batchId) {
+        RequestBody body = RequestBody.create("", JSON_TYPE);
+        return OpenAIBatch.parse(execute(request("/batches/" + batchId + "/cancel").post(body).build()));
+    }
+
+    /**
+     * Polls a batch until it reaches a terminal status.
+     *
+     * @param batchId        the batch id
+     * @param pollIntervalMs the delay between polls in milliseconds
+     * @param timeoutMs      the maximum time to wait in milliseconds, 0 for no limit
+     * @return the batch in its terminal state
+     * @throws ChatException if the timeout elapses or the thread is interrupted
+     */
+    public OpenAIBatch awaitCompletion(String batchId, long pollIntervalMs, long timeoutMs) {
+        if (pollIntervalMs <= 0) {
+            throw new IllegalArgumentException("pollIntervalMs must be positive");
+        }
+        long deadline = timeoutMs > 0 ? System.currentTimeMillis() + timeoutMs : Long.MAX_VALUE;
+        while (true) {
+            OpenAIBatch batch = getBatch(batchId);
+            if (batch.isTerminal()) {
+                return batch;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new ChatException("Batch " + batchId + " did not finish within " + timeoutMs + " ms");
+            }
+            try {
+                Thread.sleep(Math.min(pollIntervalMs, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChatException("Interrupted while waiting for batch " + batchId, e);
+            }
+        }
+    }
+
+    /**
+     * Streams the results of a batch, first the output file and then the error
+     * file.
+     *
+     * <p>Failed requests are reported as outputs carrying an error; a single
+     * malformed line does not stop the remaining results. Outputs arrive in
+     * file order, which is not necessarily the submission order.</p>
+     *
+     * @param batch    the batch, usually returned by {@link #awaitCompletion}
+     * @param consumer receives each output
+     * @throws LLMKitException if a result file cannot be downloaded
+     */
+    public void readResults(OpenAIBatch batch, Consumer<OpenAIBatchOutput> consumer) {
+        if (batch.getOutputFileId() != null) {
+            readResultFile(batch.getOutputFileId(), consumer);
+        }
+        if (batch.getErrorFileId() != null) {
+            readResultFile(batch.getErrorFileId(), consumer);
+        }
+    }
+
+    /**
+     * Streams one result file, parsing it line by line.
+     *
+     * @param fileId   the id of an output or error file
+     * @param consumer receives each output
+     * @throws LLMKitException if the file cannot be downloaded
+     */
+    public void readResultFile(String fileId, Consumer<OpenAIBatchOutput> consumer) {
+        Request request = request("/files/" + fileId + "/content").get().build();
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful()) {
+                throw LLMHttpClient.httpError(response, body != null ? body.string() : null);
+            }
+            if (body == null) {
+                return;
+            }
+            BufferedSource source = body.source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.trim().isEmpty()) {
+                    consumer.accept(parseOutput(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new NetworkException("Failed to download batch file " + fileId, e);
+        }
+    }
+
+    private OpenAIBatchOutput parseOutput(String line) {
+        JSONObject json;
+        try {
+            json = JSON.parseObject(line);
+        } catch (Exception e) {
+            return new OpenAIBatchOutput(null, null, ParseException.invalidJson(line, e));
+        }
+        String customId = json.getString("custom_id");
+
+        JSONObject error = json.getJSONObject("error");
+        if (error != null && !error.isEmpty()) {
+            return new OpenAIBatchOutput(customId, null,
+                    new ProviderException(error.getString("message"), error.getString("code"), null, line));
+        }
+        JSONObject response = json.getJSONObject("response");
+        JSONObject body = response != null ? response.getJSONObject("body") : null;
+        if (body == null) {
+            return new OpenAIBatchOutput(customId, null, new ParseException("No response body in batch output", line));
+        }
+        int status = response.getIntValue("status_code", 200);
+        if (status < 200 || status >= 300) {
+            JSONObject bodyError = body.getJSONObject("error");
+            String message = bodyError != null ? bodyError.getString("message") : "Request failed with status " + status;
+            String code = bodyError != null ? bodyError.getString("code") : null;
+            String type = bodyError != null ? bodyError.getString("type") : null;
+            return new OpenAIBatchOutput(customId, null, new ProviderException(message, code, type, status, line));
+        }
+        try {
+            return new OpenAIBatchOutput(customId, model.parseBatchResponse(body.toJSONString()), null);
+        } catch (LLMKitException e) {
+            return new OpenAIBatchOutput(customId, null, e);
+        }
+    }
+
+    private Request.Builder request(String path) {
+        return new Request.Builder()
+                .url(apiBase + path)
+                .header("Authorization", "Bearer " + model.getConfig().getApiKey());
+    }
+
+    private String execute(Request request) {
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            String text = body != null ? body.string() : null;
+            if (!response.isSuccessful()) {
+                throw LLMHttpClient.httpError(response, text);
+            }
+            return text;
+        } catch (IOException e) {
+            throw new NetworkException("Failed to execute HTTP request to " + request.url(), e);
+        }
+    }
+
+    private static JSONObject parseObject(String response) {
+        try {
+            JSONObject json = JSON.parseObject(response);
+            if (json == null) {
+                throw new ParseException("Empty response from API");
+            }
+            return json;
+        } catch (ParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw ParseException.invalidJson(response, e);
+        }
+    }
+
+    private static String apiBase(OpenAIChatConfig config) {
+        String path = config.getRequestPath();
+        int index = path != null ? path.lastIndexOf(CHAT_COMPLETIONS_PATH) : -1;
+        return config.getEndpoint() + (index >= 0 ? path.substring(0, index) : "/v1");
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.llmkit.chat.openai;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.LLMKitException;
+
+/**
+ * One line of a batch result file: the response or error for a single request.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see OpenAIBatchClient#readResults(OpenAIBatch, java.util.function.Consumer)
+ */
+public final class OpenAIBatchOutput {
+
+    private final String customId;
+    private final ChatResponse response;
+    private final LLMKitException error;
+
+    OpenAIBatchOutput(String customId, ChatResponse response, LLMKitException error) {
+        this.customId = customId;
+        this.response = response;
+        this.error = error;
+    }
+
+    /**
+     * Returns the id the request was submitted with.
+     *
+     * <p>For requests staged by {@link OpenAIBatchClient#writeRequests}, this is
+     * the zero-based index of the prompt, see {@link #getIndex()}.</p>
+     *
+     * @return the custom id
+     */
+    public String getCustomId() {
+        return customId;
+    }
+
+    /**
+     * Returns the index of the prompt this output belongs to.
+     *
+     * @return the index, or -1 if the custom id is not an index
+     */
+    public int getIndex() {
+        try {
+            return customId != null ? Integer.parseInt(customId) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the response.
+     *
+     * @return the response, or null if the request failed
+     */
+    public ChatResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Returns the failure.
+     *
+     * @return the error, or null if the request succeeded
+     */
+    public LLMKitException getError() {
+        return error;
+    }
+
+    /**
+     * Checks whether the request succeeded.
+     *
+     * @return true if a response is available
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenAIBatchOutput{customId='" + customId + "', "
+                + (isSuccess() ? "response=" + response : "error=" + error) + '}';
+    }
+}
@@ -1,10 +1,16 @@
 package io.github.llmkit.core.config;
 
 import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.RawResponseRetention;
 import io.github.llmkit.exception.ConfigurationException;
+import io.github.llmkit.ratelimit.RateLimit;
+import io.github.llmkit.ratelimit.TokenEstimator;
+import io.github.llmkit.util.RetryPolicy;
 import io.github.llmkit.util.StringUtil;
+import io.github.llmkit.util.VirtualThreads;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Abstract builder for ChatConfig subclasses.
@@ -20,6 +26,7 @@ import java.util.Map;
 public abstract class AbstractChatConfigBuilder<C extends ChatConfig, B extends AbstractChatConfigBuilder<C, B>> {
 
     protected final C config;
+    private boolean retryMaxDelaySet;
 
     protected AbstractChatConfigBuilder(C config) {
         this.config = config;
@@ -119,7 +126,11 @@ public abstract class AbstractChatConfigBuilder<C extends ChatConfig, B extends
     }
 
     /**
-     * Sets the retry delay.
+     * Sets the delay before the first retry.
+     *
+     * <p>Later retries back off exponentially, see {@link #retryMultiplier(double)}.
+     * If {@link #retryMaxDelayMs(int)} is not set, the maximum delay is raised
+     * to this delay when it is longer.</p>
      *
      * @param retryDelayMs the delay in milliseconds
      * @return this builder
@@ -129,6 +140,189 @@ public abstract class AbstractChatConfigBuilder<C extends ChatConfig, B extends
         return self();
     }
 
+    /**
+     * Sets the maximum backoff delay between retries.
+     *
+     * @param retryMaxDelayMs the maximum delay in milliseconds
+     * @return this builder
+     */
+    public B retryMaxDelayMs(int retryMaxDelayMs) {
+        config.setRetryMaxDelayMs(retryMaxDelayMs);
+        retryMaxDelaySet = true;
+        return self();
+    }
+
+    /**
+     * Sets the factor by which the retry delay grows per attempt.
+     *
+     * @param retryMultiplier the multiplier, 1 for a fixed delay
+     * @return this builder
+     */
+    public B retryMultiplier(double retryMultiplier) {
+        config.setRetryMultiplier(retryMultiplier);
+        return self();
+    }
+
+    /**
+     * Sets the jitter applied to retry delays.
+     *
+     * @param retryJitter the jitter strategy
+     * @return this builder
+     */
+    public B retryJitter(RetryPolicy.Jitter retryJitter) {
+        config.setRetryJitter(retryJitter);
+        return self();
+    }
+
+    /**
+     * Sets the maximum number of idle connections kept in the connection pool.
+     *
+     * @param maxIdleConnections the maximum idle connections
+     * @return this builder
+     */
+    public B maxIdleConnections(int maxIdleConnections) {
+        config.setMaxIdleConnections(maxIdleConnections);
+        return self();
+    }
+
+    /**
+     * Sets how long idle connections are kept alive in the pool.
+     *
+     * @param keepAliveDurationMs the keep-alive duration in milliseconds
+     * @return this builder
+     */
+    public B keepAliveDurationMs(long keepAliveDurationMs) {
+        config.setKeepAliveDurationMs(keepAliveDurationMs);
+        return self();
+    }
+
+    /**
+     * Sets the maximum number of concurrent asynchronous requests.
+     *
+     * @param maxRequests the maximum concurrent requests
+     * @return this builder
+     */
+    public B maxRequests(int maxRequests) {
+        config.setMaxRequests(maxRequests);
+        return self();
+    }
+
+    /**
+     * Sets the maximum number of concurrent asynchronous requests per host.
+     *
+     * @param maxRequestsPerHost the maximum concurrent requests per host
+     * @return this builder
+     */
+    public B maxRequestsPerHost(int maxRequestsPerHost) {
+        config.setMaxRequestsPerHost(maxRequestsPerHost);
+        return self();
+    }
+
+    /**
+     * Sets the executor that runs HTTP callbacks, SSE readers and the
+     * continuations of asynchronous calls.
+     *
+     * <p>The executor is not shut down by the framework. Note that
+     * {@link #maxRequests(int)} and {@link #maxRequestsPerHost(int)} still
+     * bound the number of concurrent asynchronous requests. Each executor
+     * instance gets its own HTTP client and connection pool, kept until the
+     * executor is shut down, so pass a long-lived executor shared by all
+     * configs rather than a new one per config.</p>
+     *
+     * @param executor the executor, or null for OkHttp's default thread pool
+     * @return this builder
+     */
+    public B executor(ExecutorService executor) {
+        config.setExecutor(executor);
+        return self();
+    }
+
+    /**
+     * Runs HTTP callbacks and SSE readers on virtual threads.
+     *
+     * @return this builder
+     * @throws ConfigurationException if the JVM does not support virtual threads
+     * @see VirtualThreads
+     */
+    public B virtualThreads() {
+        return executor(VirtualThreads.executor());
+    }
+
+    /**
+     * Sets the default client-side quota for every model of this configuration.
+     *
+     * <p>Requests beyond the quota wait locally instead of being sent and
+     * rejected with HTTP 429. The quota is shared by all models using the same
+     * API key and model name.</p>
+     *
+     * @param requestsPerMinute the requests per minute, 0 for unlimited
+     * @param tokensPerMinute   the tokens per minute, 0 for unlimited
+     * @return this builder
+     */
+    public B rateLimit(int requestsPerMinute, int tokensPerMinute) {
+        config.setRequestsPerMinute(requestsPerMinute);
+        config.setTokensPerMinute(tokensPerMinute);
+        return self();
+    }
+
+    /**
+     * Sets the client-side quota for one model, overriding the default.
+     *
+     * @param model             the model name
+     * @param requestsPerMinute the requests per minute, 0 for unlimited
+     * @param tokensPerMinute   the tokens per minute, 0 for unlimited
+     * @return this builder
+     */
+    public B rateLimit(String model, int requestsPerMinute, int tokensPerMinute) {
+        if (StringUtil.noText(model)) {
+            throw ConfigurationException.invalidValue("model", model, "must not be empty");
+        }
+        if (requestsPerMinute < 0 || tokensPerMinute < 0) {
+            throw ConfigurationException.invalidValue("rateLimit",
+                    requestsPerMinute + "/" + tokensPerMinute, "must not be negative");
+        }
+        config.putModelRateLimit(model, RateLimit.of(requestsPerMinute, tokensPerMinute));
+        return self();
+    }
+
+    /**
+     * Sets how prompt tokens are estimated before a request is sent.
+     *
+     * @param tokenEstimator the estimator
+     * @return this builder
+     */
+    public B tokenEstimator(TokenEstimator tokenEstimator) {
+        config.setTokenEstimator(tokenEstimator);
+        return self();
+    }
+
+    /**
+     * Sets how responses keep the raw JSON returned by the provider.
+     *
+     * <p>Use {@link RawResponseRetention#COMPRESSED} or
+     * {@link RawResponseRetention#NONE} when responses are stored in bulk, for
+     * example in conversation histories or caches.</p>
+     *
+     * @param rawResponseRetention the retention policy
+     * @return this builder
+     * @see RawResponseRetention
+     */
+    public B rawResponseRetention(RawResponseRetention rawResponseRetention) {
+        config.setRawResponseRetention(rawResponseRetention);
+        return self();
+    }
+
+    /**
+     * Sets whether responses keep the raw JSON returned by the provider.
+     *
+     * @param retainRawResponse true for {@link RawResponseRetention#FULL},
+     *                          false for {@link RawResponseRetention#NONE}
+     * @return this builder
+     */
+    public B retainRawResponse(boolean retainRawResponse) {
+        return rawResponseRetention(retainRawResponse ? RawResponseRetention.FULL : RawResponseRetention.NONE);
+    }
+
     /**
      * Adds a custom property.
      *
@@ -161,6 +355,48 @@ public abstract class AbstractChatConfigBuilder<C extends ChatConfig, B extends
         if (StringUtil.noText(config.getApiKey())) {
             throw ConfigurationException.missingField("apiKey");
         }
+        if (config.getRetryCount() < 0) {
+            throw ConfigurationException.invalidValue("retryCount",
+                    config.getRetryCount(), "must not be negative");
+        }
+        if (config.getRetryMaxDelayMs() < config.getRetryInitialDelayMs()) {
+            throw ConfigurationException.invalidValue("retryMaxDelayMs",
+                    config.getRetryMaxDelayMs(), "must not be less than retryDelayMs");
+        }
+        if (config.getRetryMultiplier() < 1.0) {
+            throw ConfigurationException.invalidValue("retryMultiplier",
+                    config.getRetryMultiplier(), "must be at least 1");
+        }
+        if (config.getRequestsPerMinute() < 0) {
+            throw ConfigurationException.invalidValue("requestsPerMinute",
+                    config.getRequestsPerMinute(), "must not be negative");
+        }
+        if (config.getTokensPerMinute() < 0) {
+            throw ConfigurationException.invalidValue("tokensPerMinute",
+                    config.getTokensPerMinute(), "must not be negative");
+        }
+        if (config.getTokenEstimator() == null) {
+            throw ConfigurationException.missingField("tokenEstimator");
+        }
+        if (config.getRawResponseRetention() == null) {
+            throw ConfigurationException.missingField("rawResponseRetention");
+        }
+        if (config.getMaxIdleConnections() < 0) {
+            throw ConfigurationException.invalidValue("maxIdleConnections",
+                    config.getMaxIdleConnections(), "must not be negative");
+        }
+        if (config.getKeepAliveDurationMs() <= 0) {
+            throw ConfigurationException.invalidValue("keepAliveDurationMs",
+                    config.getKeepAliveDurationMs(), "must be positive");
+        }
+        if (config.getMaxRequests() < 1) {
+            throw ConfigurationException.invalidValue("maxRequests",
+                    config.getMaxRequests(), "must be at least 1");
+        }
+        if (config.getMaxRequestsPerHost() < 1) {
+            throw ConfigurationException.invalidValue("maxRequestsPerHost",
+                    config.getMaxRequestsPerHost(), "must be at least 1");
+        }
     }
 
     /**
@@ -170,6 +406,9 @@ public abstract class AbstractChatConfigBuilder<C extends ChatConfig, B extends
      * @throws ConfigurationException if validation fails
      */
     public C build() {
+        if (!retryMaxDelaySet && config.getRetryMaxDelayMs() < config.getRetryInitialDelayMs()) {
+            config.setRetryMaxDelayMs(config.getRetryInitialDelayMs());
+        }
         validate();
         return config;
     }
@@ -1,10 +1,19 @@
 package io.github.llmkit.core.config;
 
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.ratelimit.RateLimit;
+import io.github.llmkit.ratelimit.TokenEstimator;
+import io.github.llmkit.util.RetryPolicy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
 /**
  * Configuration for chat models.
  *
  * <p>This class extends {@link BaseModelConfig} with chat-specific settings
- * like logging and retry configuration.</p>
+ * like logging, retry and HTTP connection pool configuration.</p>
  *
  * @author LLMKit Contributors
  * @since 0.2.0
@@ -15,6 +24,19 @@ public class ChatConfig extends BaseModelConfig {
     protected boolean retryEnabled = true;
     protected int retryCount = 3;
     protected int retryInitialDelayMs = 1000;
+    protected int retryMaxDelayMs = 30_000;
+    protected double retryMultiplier = 2.0;
+    protected RetryPolicy.Jitter retryJitter = RetryPolicy.Jitter.FULL;
+    protected int maxIdleConnections = 32;
+    protected long keepAliveDurationMs = 300_000L;
+    protected int maxRequests = 128;
+    protected int maxRequestsPerHost = 64;
+    protected int requestsPerMinute = 0;
+    protected int tokensPerMinute = 0;
+    protected Map<String, RateLimit> modelRateLimits = new HashMap<>();
+    protected TokenEstimator tokenEstimator = TokenEstimator.DEFAULT;
+    protected ExecutorService executor;
+    protected RawResponseRetention rawResponseRetention = RawResponseRetention.FULL;
 
     public boolean isLogEnabled() {
         return logEnabled;
@@ -47,4 +69,164 @@ public class ChatConfig extends BaseModelConfig {
     public void setRetryInitialDelayMs(int retryInitialDelayMs) {
         this.retryInitialDelayMs = retryInitialDelayMs;
     }
+
+    public int getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    public void setRetryMaxDelayMs(int retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+
+    public double getRetryMultiplier() {
+        return retryMultiplier;
+    }
+
+    public void setRetryMultiplier(double retryMultiplier) {
+        this.retryMultiplier = retryMultiplier;
+    }
+
+    public RetryPolicy.Jitter getRetryJitter() {
+        return retryJitter;
+    }
+
+    public void setRetryJitter(RetryPolicy.Jitter retryJitter) {
+        this.retryJitter = retryJitter;
+    }
+
+    /**
+     * Builds the retry policy described by this configuration.
+     *
+     * @return the retry policy, {@link RetryPolicy#NONE} if retry is disabled
+     * @since 0.3.0
+     */
+    public RetryPolicy getRetryPolicy() {
+        if (!retryEnabled) {
+            return RetryPolicy.NONE;
+        }
+        return RetryPolicy.builder()
+                .maxRetries(Math.max(0, retryCount))
+                .initialDelayMs(Math.max(0, retryInitialDelayMs))
+                .maxDelayMs(Math.max(0, retryMaxDelayMs))
+                .multiplier(Math.max(1.0, retryMultiplier))
+                .jitter(retryJitter)
+                .build();
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveDurationMs() {
+        return keepAliveDurationMs;
+    }
+
+    public void setKeepAliveDurationMs(long keepAliveDurationMs) {
+        this.keepAliveDurationMs = keepAliveDurationMs;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+
+    public int getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    public void setTokensPerMinute(int tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public Map<String, RateLimit> getModelRateLimits() {
+        return modelRateLimits;
+    }
+
+    public void setModelRateLimits(Map<String, RateLimit> modelRateLimits) {
+        this.modelRateLimits = modelRateLimits != null ? new HashMap<>(modelRateLimits) : new HashMap<>();
+    }
+
+    public void putModelRateLimit(String model, RateLimit rateLimit) {
+        this.modelRateLimits.put(model, rateLimit);
+    }
+
+    public TokenEstimator getTokenEstimator() {
+        return tokenEstimator;
+    }
+
+    public void setTokenEstimator(TokenEstimator tokenEstimator) {
+        this.tokenEstimator = tokenEstimator;
+    }
+
+    /**
+     * Returns the executor that runs HTTP callbacks, SSE readers and the
+     * continuations of asynchronous calls.
+     *
+     * @return the executor, or null to use OkHttp's default thread pool
+     * @since 0.3.0
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns how {@link io.github.llmkit.api.ChatResponse#getRawResponse()}
+     * is kept for non-streaming calls; requests may override it through
+     * {@link io.github.llmkit.api.ChatOptions}.
+     *
+     * @return the retention policy, {@link RawResponseRetention#FULL} by default
+     * @since 0.3.0
+     */
+    public RawResponseRetention getRawResponseRetention() {
+        return rawResponseRetention;
+    }
+
+    public void setRawResponseRetention(RawResponseRetention rawResponseRetention) {
+        this.rawResponseRetention = rawResponseRetention;
+    }
+
+    /**
+     * Returns the quota applied to requests for a model.
+     *
+     * <p>A limit registered for the model takes precedence over the default
+     * {@code requestsPerMinute} / {@code tokensPerMinute}.</p>
+     *
+     * @param model the model name
+     * @return the rate limit, {@link RateLimit#UNLIMITED} if none is configured
+     * @since 0.3.0
+     */
+    public RateLimit getRateLimit(String model) {
+        RateLimit limit = model != null ? modelRateLimits.get(model) : null;
+        if (limit != null) {
+            return limit;
+        }
+        return RateLimit.of(Math.max(0, requestsPerMinute), Math.max(0, tokensPerMinute));
+    }
 }
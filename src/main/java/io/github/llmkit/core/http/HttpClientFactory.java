@@ -1,7 +1,16 @@
 package io.github.llmkit.core.http;
 
+import io.github.llmkit.core.config.ChatConfig;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -17,8 +26,15 @@ import java.util.concurrent.TimeUnit;
  *
  * // Create a custom client with different timeouts
  * OkHttpClient customClient = HttpClientFactory.createClient(60, 120, 60);
+ *
+ * // Get the client dedicated to a provider config
+ * OkHttpClient providerClient = HttpClientFactory.getClient(config);
  * }</pre>
  *
+ * <p>Clients obtained through {@link #getClient(ChatConfig)} get their own
+ * connection pool and dispatcher, sized from the config, so that one provider's
+ * traffic cannot exhaust another provider's connections or dispatcher slots.</p>
+ *
  * @author LLMKit Contributors
  * @since 0.2.0
  */
@@ -26,6 +42,7 @@ public final class HttpClientFactory {
 
     private static volatile OkHttpClient defaultClient;
     private static final Object LOCK = new Object();
+    private static final ConcurrentMap<PoolKey, OkHttpClient> CONFIG_CLIENTS = new ConcurrentHashMap<>();
 
     private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 30;
     private static final int DEFAULT_READ_TIMEOUT_SECONDS = 60;
@@ -54,6 +71,123 @@ public final class HttpClientFactory {
         return defaultClient;
     }
 
+    /**
+     * Returns the client dedicated to the given chat configuration.
+     *
+     * <p>Configs with the same provider, endpoint and pool settings share one
+     * client. The client is derived from the default client, so it inherits its
+     * timeouts and interceptors, but it owns a separate {@link ConnectionPool}
+     * and {@link Dispatcher} sized from the config's {@code maxIdleConnections},
+     * {@code keepAliveDurationMs}, {@code maxRequests} and
+     * {@code maxRequestsPerHost} settings. If the config defines an
+     * {@linkplain ChatConfig#getExecutor() executor}, the dispatcher runs its
+     * calls on it.</p>
+     *
+     * <p>Clients are keyed on the executor instance, so executors should be
+     * long-lived and shared between configs: every new executor gets a client
+     * of its own, with its own connection pool, that is kept until the executor
+     * is shut down. Clients of executors that have been shut down are released
+     * on the next call to this method.</p>
+     *
+     * @param config the chat configuration
+     * @return the shared OkHttpClient for this configuration
+     */
+    public static OkHttpClient getClient(ChatConfig config) {
+        if (config == null) {
+            return getDefaultClient();
+        }
+        evictShutdownExecutors();
+        return CONFIG_CLIENTS.computeIfAbsent(new PoolKey(config), key -> createClient(config));
+    }
+
+    /**
+     * Creates a new OkHttpClient with its own connection pool and dispatcher
+     * sized from the given chat configuration.
+     *
+     * <p>An executor supplied through the config belongs to the caller; it is
+     * never shut down by this factory.</p>
+     *
+     * @param config the chat configuration
+     * @return a new OkHttpClient instance
+     */
+    public static OkHttpClient createClient(ChatConfig config) {
+        ExecutorService executor = config.getExecutor();
+        Dispatcher dispatcher;
+        if (executor != null) {
+            dispatcher = new Dispatcher(executor);
+        } else {
+            dispatcher = new Dispatcher();
+        }
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        return getDefaultClient().newBuilder()
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                        config.getKeepAliveDurationMs(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .build();
+    }
+
+    /**
+     * Returns connection pool and dispatcher statistics for all clients managed
+     * by this factory.
+     *
+     * <p>The default client is reported under the name {@code "default"}; clients
+     * created by {@link #getClient(ChatConfig)} are reported under a name built
+     * from the provider, endpoint and pool settings.</p>
+     *
+     * @return an unmodifiable map from client name to its statistics
+     */
+    public static Map<String, PoolStats> getPoolStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        OkHttpClient client = defaultClient;
+        if (client != null) {
+            stats.put("default", PoolStats.of(client));
+        }
+        evictShutdownExecutors();
+        CONFIG_CLIENTS.forEach((key, configClient) -> stats.put(key.toString(), PoolStats.of(configClient)));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Identifies a per-config client: the provider, endpoint and pool settings,
+     * plus the config's executor compared by identity.
+     */
+    private static final class PoolKey {
+        private final String settings;
+        private final ExecutorService executor;
+
+        PoolKey(ChatConfig config) {
+            this.settings = config.getProvider() + "@" + config.getEndpoint() +
+                    "[maxIdle=" + config.getMaxIdleConnections() +
+                    ",keepAliveMs=" + config.getKeepAliveDurationMs() +
+                    ",maxRequests=" + config.getMaxRequests() +
+                    ",maxRequestsPerHost=" + config.getMaxRequestsPerHost();
+            this.executor = config.getExecutor();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PoolKey)) return false;
+            PoolKey that = (PoolKey) o;
+            return settings.equals(that.settings) && executor == that.executor;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * settings.hashCode() + System.identityHashCode(executor);
+        }
+
+        @Override
+        public String toString() {
+            return settings + (executor != null
+                    ? ",executor=" + executor.getClass().getSimpleName() + "@"
+                    + Integer.toHexString(System.identityHashCode(executor))
+                    : "") + "]";
+        }
+    }
+
     /**
      * Creates a new OkHttpClient with default settings.
      *
@@ -127,28 +261,51 @@ public final class HttpClientFactory {
     }
 
     /**
-     * Shuts down the default client and releases resources.
+     * Shuts down the default client and all per-config clients and releases
+     * their resources.
      *
      * <p>Call this method on application shutdown if you want to release
-     * all resources held by the HTTP client.</p>
+     * all resources held by the HTTP clients.</p>
      */
     public static void shutdown() {
         synchronized (LOCK) {
+            CONFIG_CLIENTS.forEach((key, client) -> release(client, key.executor == null));
+            CONFIG_CLIENTS.clear();
             if (defaultClient != null) {
-                defaultClient.dispatcher().executorService().shutdown();
-                defaultClient.connectionPool().evictAll();
-                if (defaultClient.cache() != null) {
-                    try {
-                        defaultClient.cache().close();
-                    } catch (Exception ignored) {
-                        // Ignore cache close errors
-                    }
-                }
+                release(defaultClient, true);
                 defaultClient = null;
             }
         }
     }
 
+    /**
+     * Releases the clients whose executor has been shut down. The executor
+     * belongs to the caller, so only the connection pool is released.
+     */
+    private static void evictShutdownExecutors() {
+        for (Map.Entry<PoolKey, OkHttpClient> entry : CONFIG_CLIENTS.entrySet()) {
+            ExecutorService executor = entry.getKey().executor;
+            if (executor != null && executor.isShutdown()
+                    && CONFIG_CLIENTS.remove(entry.getKey(), entry.getValue())) {
+                release(entry.getValue(), false);
+            }
+        }
+    }
+
+    private static void release(OkHttpClient client, boolean ownsExecutor) {
+        if (ownsExecutor) {
+            client.dispatcher().executorService().shutdown();
+        }
+        client.connectionPool().evictAll();
+        if (client.cache() != null) {
+            try {
+                client.cache().close();
+            } catch (Exception ignored) {
+                // Ignore cache close errors
+            }
+        }
+    }
+
     /**
      * Resets the factory to its initial state.
      *
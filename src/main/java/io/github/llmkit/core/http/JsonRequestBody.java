@@ -0,0 +1,88 @@
+package io.github.llmkit.core.http;
+
+import io.github.llmkit.core.json.JsonSinkWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * JSON request body that is serialized straight into OkHttp's sink when the
+ * request is sent.
+ *
+ * <p>No {@code String} or byte array of the whole payload is created: the
+ * {@link Content} callback writes tokens through a {@link JsonSinkWriter}
+ * directly into the connection's buffer. The body is written again for every
+ * attempt, so it must only capture immutable inputs. The content length is
+ * unknown, so the body is sent with chunked transfer encoding.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class JsonRequestBody extends RequestBody {
+
+    /**
+     * The {@code application/json} media type used for request bodies.
+     */
+    public static final MediaType JSON_TYPE = MediaType.parse("application/json; charset=utf-8");
+
+    private final Content content;
+
+    /**
+     * Creates a body that writes the given content.
+     *
+     * @param content the callback producing the JSON document
+     * @throws IllegalArgumentException if content is null
+     */
+    public JsonRequestBody(Content content) {
+        if (content == null) {
+            throw new IllegalArgumentException("content must not be null");
+        }
+        this.content = content;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON_TYPE;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        content.writeTo(new JsonSinkWriter(sink));
+    }
+
+    /**
+     * Renders the body as a string, for logging, caching keys or APIs that
+     * need the payload in memory.
+     *
+     * @return the JSON document
+     */
+    public String toJson() {
+        Buffer buffer = new Buffer();
+        try {
+            writeTo(buffer);
+        } catch (IOException e) {
+            // Buffer does not throw
+            throw new UncheckedIOException(e);
+        }
+        return buffer.readUtf8();
+    }
+
+    /**
+     * Writes a JSON document.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * Writes the document.
+         *
+         * @param json the writer
+         * @throws IOException if the sink fails
+         */
+        void writeTo(JsonSinkWriter json) throws IOException;
+    }
+}
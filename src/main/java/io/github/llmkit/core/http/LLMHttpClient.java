@@ -4,13 +4,16 @@ import io.github.llmkit.exception.NetworkException;
 import okhttp3.*;
 
 import java.io.IOException;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Synchronous HTTP client for LLM API calls.
+ * HTTP client for LLM API calls.
  *
  * <p>This client handles HTTP POST requests to LLM APIs, including
- * proper error handling and response parsing.</p>
+ * proper error handling and response parsing. Requests can be sent
+ * synchronously with {@link #post} or asynchronously with {@link #postAsync}.</p>
  *
  * @author LLMKit Contributors
  * @since 0.2.0
@@ -51,31 +54,205 @@ public class LLMHttpClient {
      * @throws NetworkException if the request fails
      */
     public String post(String url, Map<String, String> headers, String payload) {
+        return post(url, headers, jsonBody(payload));
+    }
+
+    /**
+     * Sends a POST request with the given body.
+     *
+     * <p>Use a {@link JsonRequestBody} to serialize the payload directly into
+     * the connection without an intermediate string.</p>
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body
+     * @return the response body as a string
+     * @throws NetworkException if the request fails
+     * @since 0.3.0
+     */
+    public String post(String url, Map<String, String> headers, RequestBody body) {
+        return post(url, headers, body, LLMHttpClient::bodyString);
+    }
+
+    /**
+     * Sends a POST request and reads the successful response body with the
+     * given reader while the connection is still open.
+     *
+     * <p>This lets callers parse the body straight from its stream instead of
+     * materializing it as a string first. Error responses are still read as a
+     * string and reported as a {@link NetworkException}.</p>
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body
+     * @param reader  reads the response body
+     * @param <T>     the result type
+     * @return the value returned by the reader
+     * @throws NetworkException if the request fails
+     * @since 0.3.0
+     */
+    public <T> T post(String url, Map<String, String> headers, RequestBody body, BodyReader<T> reader) {
+        Request request = buildRequest(url, headers, body);
+
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            return readResponse(response, reader);
+        } catch (IOException e) {
+            throw new NetworkException("Failed to execute HTTP request to " + url, e);
+        }
+    }
+
+    /**
+     * Sends a POST request with JSON body without blocking the calling thread.
+     *
+     * <p>The request is enqueued on the OkHttp dispatcher and the returned future
+     * is completed from the dispatcher thread. Cancelling the future cancels the
+     * underlying HTTP call.</p>
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param payload the JSON payload
+     * @return a future completed with the response body, or exceptionally with a
+     *         {@link NetworkException} if the request fails
+     */
+    public CompletableFuture<String> postAsync(String url, Map<String, String> headers, String payload) {
+        return postAsync(url, headers, jsonBody(payload));
+    }
+
+    /**
+     * Sends a POST request with the given body without blocking the calling thread.
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body
+     * @return a future completed with the response body, or exceptionally with a
+     *         {@link NetworkException} if the request fails
+     * @see #postAsync(String, Map, String)
+     * @since 0.3.0
+     */
+    public CompletableFuture<String> postAsync(String url, Map<String, String> headers, RequestBody body) {
+        return postAsync(url, headers, body, LLMHttpClient::bodyString);
+    }
+
+    /**
+     * Sends a POST request without blocking the calling thread and reads the
+     * successful response body with the given reader on the callback thread.
+     *
+     * @param url     the request URL
+     * @param headers the request headers
+     * @param body    the request body
+     * @param reader  reads the response body
+     * @param <T>     the result type
+     * @return a future completed with the value returned by the reader, or
+     *         exceptionally with a {@link NetworkException} if the request fails
+     * @see #post(String, Map, RequestBody, BodyReader)
+     * @since 0.3.0
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Map<String, String> headers, RequestBody body,
+                                              BodyReader<T> reader) {
+        Call call = okHttpClient.newCall(buildRequest(url, headers, body));
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new NetworkException("Failed to execute HTTP request to " + url, e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    future.complete(readResponse(r, reader));
+                } catch (IOException e) {
+                    future.completeExceptionally(new NetworkException("Failed to execute HTTP request to " + url, e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request buildRequest(String url, Map<String, String> headers, RequestBody body) {
         Request.Builder builder = new Request.Builder().url(url);
 
         if (headers != null && !headers.isEmpty()) {
             headers.forEach(builder::addHeader);
         }
 
-        RequestBody body = RequestBody.create(payload == null ? "" : payload, JSON_TYPE);
-        Request request = builder.post(body).build();
+        return builder.post(body).build();
+    }
 
-        try (Response response = okHttpClient.newCall(request).execute()) {
-            ResponseBody responseBody = response.body();
-            String responseString = responseBody != null ? responseBody.string() : null;
-
-            if (!response.isSuccessful()) {
-                throw new NetworkException(
-                        "HTTP request failed with status " + response.code() + ": " + response.message(),
-                        response.code(),
-                        responseString
-                );
-            }
+    private static RequestBody jsonBody(String payload) {
+        return RequestBody.create(payload == null ? "" : payload, JSON_TYPE);
+    }
 
-            return responseString;
-        } catch (IOException e) {
-            throw new NetworkException("Failed to execute HTTP request to " + url, e);
+    private static <T> T readResponse(Response response, BodyReader<T> reader) throws IOException {
+        ResponseBody responseBody = response.body();
+
+        if (!response.isSuccessful()) {
+            throw httpError(response, responseBody != null ? responseBody.string() : null);
+        }
+
+        return reader.read(responseBody);
+    }
+
+    private static String bodyString(ResponseBody body) throws IOException {
+        return body != null ? body.string() : null;
+    }
+
+    /**
+     * Creates the exception for a non-successful HTTP response.
+     *
+     * @param response     the response
+     * @param responseBody the response body, may be null
+     * @return the exception carrying status, body and {@code Retry-After} delay
+     * @since 0.3.0
+     */
+    public static NetworkException httpError(Response response, String responseBody) {
+        return new NetworkException(
+                "HTTP request failed with status " + response.code() + ": " + response.message(),
+                response.code(),
+                responseBody,
+                parseRetryAfter(response.headers()),
+                null
+        );
+    }
+
+    /**
+     * Parses the delay requested by a response.
+     *
+     * <p>Supports the non-standard {@code retry-after-ms} header sent by OpenAI
+     * as well as {@code Retry-After} in both delta-seconds and HTTP-date form.</p>
+     *
+     * @param headers the response headers
+     * @return the delay in milliseconds, or null if absent or malformed
+     * @since 0.3.0
+     */
+    public static Long parseRetryAfter(Headers headers) {
+        String millis = headers.get("retry-after-ms");
+        if (millis != null) {
+            try {
+                return Math.max(0L, (long) Double.parseDouble(millis.trim()));
+            } catch (NumberFormatException ignored) {
+                // Fall back to Retry-After
+            }
+        }
+        String value = headers.get("Retry-After");
+        if (value == null) {
+            return null;
         }
+        try {
+            return Math.max(0L, (long) (Double.parseDouble(value.trim()) * 1000));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds; try HTTP-date
+        }
+        Date date = headers.getDate("Retry-After");
+        return date != null ? Math.max(0L, date.getTime() - System.currentTimeMillis()) : null;
     }
 
     /**
@@ -86,4 +263,23 @@ public class LLMHttpClient {
     public OkHttpClient getOkHttpClient() {
         return okHttpClient;
     }
+
+    /**
+     * Reads the body of a successful response.
+     *
+     * @param <T> the result type
+     * @since 0.3.0
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+
+        /**
+         * Reads the body. The body is closed by the client afterwards.
+         *
+         * @param body the response body, may be null
+         * @return the result
+         * @throws IOException if reading fails
+         */
+        T read(ResponseBody body) throws IOException;
+    }
 }
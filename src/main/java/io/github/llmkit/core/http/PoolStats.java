@@ -0,0 +1,128 @@
+package io.github.llmkit.core.http;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * Point-in-time snapshot of an OkHttpClient's connection pool and dispatcher.
+ *
+ * <p>Use {@link HttpClientFactory#getPoolStats()} to inspect the clients
+ * managed by the factory.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class PoolStats {
+
+    private final int connectionCount;
+    private final int idleConnectionCount;
+    private final int runningCalls;
+    private final int queuedCalls;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+
+    private PoolStats(int connectionCount, int idleConnectionCount, int runningCalls,
+                      int queuedCalls, int maxRequests, int maxRequestsPerHost) {
+        this.connectionCount = connectionCount;
+        this.idleConnectionCount = idleConnectionCount;
+        this.runningCalls = runningCalls;
+        this.queuedCalls = queuedCalls;
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Takes a snapshot of the given client.
+     *
+     * @param client the client to inspect
+     * @return the current pool statistics
+     */
+    public static PoolStats of(OkHttpClient client) {
+        ConnectionPool pool = client.connectionPool();
+        Dispatcher dispatcher = client.dispatcher();
+        return new PoolStats(
+                pool.connectionCount(),
+                pool.idleConnectionCount(),
+                dispatcher.runningCallsCount(),
+                dispatcher.queuedCallsCount(),
+                dispatcher.getMaxRequests(),
+                dispatcher.getMaxRequestsPerHost()
+        );
+    }
+
+    /**
+     * Returns the total number of open connections in the pool.
+     *
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Returns the number of idle connections in the pool.
+     *
+     * @return the idle connection count
+     */
+    public int getIdleConnectionCount() {
+        return idleConnectionCount;
+    }
+
+    /**
+     * Returns the number of connections currently carrying a request.
+     *
+     * @return the active connection count
+     */
+    public int getActiveConnectionCount() {
+        return connectionCount - idleConnectionCount;
+    }
+
+    /**
+     * Returns the number of calls currently executing.
+     *
+     * @return the running call count
+     */
+    public int getRunningCalls() {
+        return runningCalls;
+    }
+
+    /**
+     * Returns the number of asynchronous calls waiting for a dispatcher slot.
+     *
+     * @return the queued call count
+     */
+    public int getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * Returns the dispatcher's maximum number of concurrent requests.
+     *
+     * @return the max requests
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Returns the dispatcher's maximum number of concurrent requests per host.
+     *
+     * @return the max requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "connections=" + connectionCount +
+                ", idleConnections=" + idleConnectionCount +
+                ", runningCalls=" + runningCalls +
+                ", queuedCalls=" + queuedCalls +
+                ", maxRequests=" + maxRequests +
+                ", maxRequestsPerHost=" + maxRequestsPerHost +
+                '}';
+    }
+}
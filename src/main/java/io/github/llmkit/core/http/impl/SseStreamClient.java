@@ -1,7 +1,9 @@
 package io.github.llmkit.core.http.impl;
 
 import io.github.llmkit.core.http.HttpClientFactory;
+import io.github.llmkit.core.http.LLMHttpClient;
 import io.github.llmkit.core.http.StreamClient;
+import io.github.llmkit.exception.NetworkException;
 import okhttp3.*;
 import okhttp3.sse.EventSource;
 import okhttp3.sse.EventSourceListener;
@@ -23,8 +25,8 @@ public class SseStreamClient extends EventSourceListener implements StreamClient
     private static final MediaType JSON_TYPE = MediaType.parse("application/json; charset=utf-8");
 
     private final OkHttpClient okHttpClient;
-    private EventSource eventSource;
-    private StreamListener listener;
+    private volatile EventSource eventSource;
+    private volatile StreamListener listener;
     private volatile boolean active;
 
     /**
@@ -49,6 +51,19 @@ public class SseStreamClient extends EventSourceListener implements StreamClient
 
     @Override
     public void start(String url, Map<String, String> headers, String payload, StreamListener listener) {
+        start(url, headers, RequestBody.create(payload == null ? "" : payload, JSON_TYPE), listener);
+    }
+
+    /**
+     * Starts a streaming connection with the given request body.
+     *
+     * @param url      the request URL
+     * @param headers  the request headers
+     * @param body     the request body, see {@link io.github.llmkit.core.http.JsonRequestBody}
+     * @param listener the listener for stream events
+     * @since 0.3.0
+     */
+    public void start(String url, Map<String, String> headers, RequestBody body, StreamListener listener) {
         this.listener = listener;
         this.active = true;
 
@@ -58,7 +73,6 @@ public class SseStreamClient extends EventSourceListener implements StreamClient
             headers.forEach(builder::addHeader);
         }
 
-        RequestBody body = RequestBody.create(payload == null ? "" : payload, JSON_TYPE);
         Request request = builder.post(body).build();
 
         EventSource.Factory factory = EventSources.createFactory(okHttpClient);
@@ -98,9 +112,13 @@ public class SseStreamClient extends EventSourceListener implements StreamClient
 
     @Override
     public void onFailure(EventSource eventSource, Throwable t, Response response) {
-        Throwable error = t;
-        if (error == null && response != null) {
-            error = new RuntimeException("SSE failure with status " + response.code());
+        Throwable error;
+        if (response != null && !response.isSuccessful()) {
+            error = LLMHttpClient.httpError(response, readBody(response));
+        } else if (t != null) {
+            error = new NetworkException("SSE stream failed: " + t.getMessage(), t);
+        } else {
+            error = new NetworkException("SSE stream failed");
         }
 
         if (listener != null) {
@@ -110,7 +128,16 @@ public class SseStreamClient extends EventSourceListener implements StreamClient
         doStop();
     }
 
-    private void doStop() {
+    private static String readBody(Response response) {
+        try {
+            ResponseBody body = response.body();
+            return body != null ? body.string() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private synchronized void doStop() {
         if (active) {
             active = false;
 
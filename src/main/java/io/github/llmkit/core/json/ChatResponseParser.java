@@ -0,0 +1,263 @@
+package io.github.llmkit.core.json;
+
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.util.Fnv;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.message.AiMessage;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Parser for OpenAI-compatible chat completion responses.
+ *
+ * <p>Like {@link StreamDeltaParser}, this parser walks the response with a
+ * streaming {@link JSONReader} and keeps only {@code choices[0].message.content},
+ * {@code choices[0].finish_reason}, {@code usage} and {@code error}; no
+ * {@code JSONObject} tree is built. {@link #parse(InputStream)} reads straight
+ * from the HTTP response body, so the payload is never materialized as a
+ * {@code String}; the reader decodes from fastjson2's pooled buffers.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class ChatResponseParser {
+
+    private static final long HASH_ERROR = Fnv.hashCode64("error");
+    private static final long HASH_MESSAGE = Fnv.hashCode64("message");
+    private static final long HASH_CODE = Fnv.hashCode64("code");
+    private static final long HASH_TYPE = Fnv.hashCode64("type");
+    private static final long HASH_CHOICES = Fnv.hashCode64("choices");
+    private static final long HASH_CONTENT = Fnv.hashCode64("content");
+    private static final long HASH_FINISH_REASON = Fnv.hashCode64("finish_reason");
+    private static final long HASH_USAGE = Fnv.hashCode64("usage");
+    private static final long HASH_PROMPT_TOKENS = Fnv.hashCode64("prompt_tokens");
+    private static final long HASH_COMPLETION_TOKENS = Fnv.hashCode64("completion_tokens");
+    private static final long HASH_TOTAL_TOKENS = Fnv.hashCode64("total_tokens");
+
+    private static final JSONReader.Context CONTEXT = JSONFactory.createReadContext();
+
+    private ChatResponseParser() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Parses a response held as a string, keeping it as the raw response.
+     *
+     * @param response the response body
+     * @return the parsed response
+     * @throws ProviderException if the response contains an error
+     * @throws ParseException    if the response cannot be parsed
+     */
+    public static ChatResponse parse(String response) {
+        if (response == null || response.isEmpty()) {
+            throw new ParseException("Empty response from API");
+        }
+        ChatResponse.Builder builder = ChatResponse.builder().rawResponse(response);
+        try (JSONReader reader = JSONReader.of(response, CONTEXT)) {
+            return read(reader, builder, () -> response);
+        } catch (ParseException | ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw ParseException.invalidJson(response, e);
+        }
+    }
+
+    /**
+     * Parses a response held as UTF-8 bytes.
+     *
+     * <p>The bytes are kept as the raw response according to
+     * {@code retention}, see
+     * {@link ChatResponse.Builder#rawResponse(byte[], RawResponseRetention)}.</p>
+     *
+     * @param utf8      the response body
+     * @param retention how to keep the bytes as the raw response
+     * @return the parsed response
+     * @throws ProviderException if the response contains an error
+     * @throws ParseException    if the response cannot be parsed
+     */
+    public static ChatResponse parse(byte[] utf8, RawResponseRetention retention) {
+        if (utf8 == null || utf8.length == 0) {
+            throw new ParseException("Empty response from API");
+        }
+        ChatResponse.Builder builder = ChatResponse.builder().rawResponse(utf8, retention);
+        try (JSONReader reader = JSONReader.of(utf8, CONTEXT)) {
+            return read(reader, builder, () -> new String(utf8, StandardCharsets.UTF_8));
+        } catch (ParseException | ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw ParseException.invalidJson(new String(utf8, StandardCharsets.UTF_8), e);
+        }
+    }
+
+    /**
+     * Parses a response directly from a UTF-8 stream, without keeping the raw
+     * response.
+     *
+     * <p>The stream is read to the end of the JSON document but not closed.</p>
+     *
+     * @param in the response body stream
+     * @return the parsed response
+     * @throws ProviderException if the response contains an error
+     * @throws ParseException    if the response cannot be read or parsed
+     */
+    public static ChatResponse parse(InputStream in) {
+        try (JSONReader reader = JSONReader.of(in, StandardCharsets.UTF_8, CONTEXT)) {
+            if (reader.isEnd()) {
+                throw new ParseException("Empty response from API");
+            }
+            return read(reader, ChatResponse.builder(), () -> null);
+        } catch (ParseException | ProviderException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ParseException("Failed to parse response: " + e.getMessage(), null, e);
+        }
+    }
+
+    /**
+     * Walks the response object.
+     *
+     * @param raw supplies the raw response for exceptions; only called on failure
+     */
+    private static ChatResponse read(JSONReader reader, ChatResponse.Builder builder, Supplier<String> raw) {
+        if (!reader.nextIfObjectStart()) {
+            throw new ParseException("Response is not a JSON object", raw.get());
+        }
+        ProviderException error = null;
+        int choices = -1;
+        while (!reader.nextIfObjectEnd()) {
+            long hash = reader.readFieldNameHashCode();
+            if (hash == HASH_ERROR) {
+                error = readError(reader, raw);
+            } else if (hash == HASH_CHOICES) {
+                choices = readFirstChoice(reader, builder);
+            } else if (hash == HASH_USAGE) {
+                builder.usage(readUsage(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        if (choices <= 0) {
+            throw new ParseException("No choices in response", raw.get());
+        }
+        return builder.build();
+    }
+
+    private static ProviderException readError(JSONReader reader, Supplier<String> raw) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        String message = null;
+        String code = null;
+        String type = null;
+        boolean empty = true;
+        while (!reader.nextIfObjectEnd()) {
+            empty = false;
+            long hash = reader.readFieldNameHashCode();
+            if (hash == HASH_MESSAGE) {
+                message = readScalar(reader);
+            } else if (hash == HASH_CODE) {
+                code = readScalar(reader);
+            } else if (hash == HASH_TYPE) {
+                type = readScalar(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        return empty ? null : new ProviderException(message, code, type, raw.get());
+    }
+
+    /**
+     * Reads the choices array into the builder.
+     *
+     * @return the number of choices
+     */
+    private static int readFirstChoice(JSONReader reader, ChatResponse.Builder builder) {
+        if (!reader.nextIfArrayStart()) {
+            reader.skipValue();
+            return 0;
+        }
+        int count = 0;
+        while (!reader.nextIfArrayEnd()) {
+            if (count++ == 0 && reader.nextIfObjectStart()) {
+                while (!reader.nextIfObjectEnd()) {
+                    long hash = reader.readFieldNameHashCode();
+                    if (hash == HASH_MESSAGE) {
+                        String content = readMessageContent(reader);
+                        builder.message(content != null ? new AiMessage(content) : null);
+                    } else if (hash == HASH_FINISH_REASON) {
+                        builder.finishReason(readScalar(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        return count;
+    }
+
+    private static String readMessageContent(JSONReader reader) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        String content = null;
+        while (!reader.nextIfObjectEnd()) {
+            if (reader.readFieldNameHashCode() == HASH_CONTENT) {
+                content = reader.nextIfNull() ? null : reader.readString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return content;
+    }
+
+    private static ChatResponse.Usage readUsage(JSONReader reader) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        int promptTokens = 0;
+        int completionTokens = 0;
+        int totalTokens = 0;
+        while (!reader.nextIfObjectEnd()) {
+            long hash = reader.readFieldNameHashCode();
+            if (hash == HASH_PROMPT_TOKENS) {
+                promptTokens = reader.readInt32Value();
+            } else if (hash == HASH_COMPLETION_TOKENS) {
+                completionTokens = reader.readInt32Value();
+            } else if (hash == HASH_TOTAL_TOKENS) {
+                totalTokens = reader.readInt32Value();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return new ChatResponse.Usage(promptTokens, completionTokens, totalTokens);
+    }
+
+    /**
+     * Reads a string, number or null value as a string; error codes are
+     * strings for some providers and numbers for others.
+     */
+    private static String readScalar(JSONReader reader) {
+        if (reader.nextIfNull()) {
+            return null;
+        }
+        if (reader.isString()) {
+            return reader.readString();
+        }
+        Object value = reader.readAny();
+        return value != null ? value.toString() : null;
+    }
+}
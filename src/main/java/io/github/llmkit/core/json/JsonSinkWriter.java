@@ -0,0 +1,345 @@
+package io.github.llmkit.core.json;
+
+import com.alibaba.fastjson2.JSON;
+import okio.BufferedSink;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Minimal streaming JSON writer that encodes tokens as UTF-8 straight into an
+ * Okio {@link BufferedSink}.
+ *
+ * <p>Request bodies are written with this writer from
+ * {@link okhttp3.RequestBody#writeTo(BufferedSink)}, so a large conversation is
+ * serialized directly into OkHttp's socket buffer without building a
+ * {@code JSONObject} tree or an intermediate {@code String}. Strings are
+ * escaped and encoded in one pass into a small scratch buffer that is copied
+ * into the sink block by block, so the cost per string does not depend on its
+ * length.</p>
+ *
+ * <pre>{@code
+ * JsonSinkWriter json = new JsonSinkWriter(sink);
+ * json.beginObject()
+ *     .name("model").value("gpt-4o")
+ *     .name("stream").value(true)
+ *     .endObject();
+ * }</pre>
+ *
+ * <p>The writer does not validate the token sequence; callers are expected to
+ * produce well-formed documents.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class JsonSinkWriter {
+
+    private static final String[] CONTROL_ESCAPES = new String[0x20];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            CONTROL_ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\t'] = "\\t";
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\f'] = "\\f";
+        CONTROL_ESCAPES['\r'] = "\\r";
+    }
+
+    private static final int SCRATCH_SIZE = 1024;
+
+    private final BufferedSink sink;
+    /** Strings are encoded into this buffer and copied into the sink in blocks. */
+    private final byte[] scratch = new byte[SCRATCH_SIZE];
+    /** Whether the container at each depth already holds an element. */
+    private boolean[] nonEmpty = new boolean[8];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * Creates a writer on the given sink.
+     *
+     * @param sink the sink to write to; it is neither flushed nor closed
+     */
+    public JsonSinkWriter(BufferedSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("sink must not be null");
+        }
+        this.sink = sink;
+    }
+
+    /**
+     * Opens an object.
+     *
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter beginObject() throws IOException {
+        beforeValue();
+        sink.writeByte('{');
+        push();
+        return this;
+    }
+
+    /**
+     * Closes the current object.
+     *
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter endObject() throws IOException {
+        depth--;
+        sink.writeByte('}');
+        return this;
+    }
+
+    /**
+     * Opens an array.
+     *
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter beginArray() throws IOException {
+        beforeValue();
+        sink.writeByte('[');
+        push();
+        return this;
+    }
+
+    /**
+     * Closes the current array.
+     *
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter endArray() throws IOException {
+        depth--;
+        sink.writeByte(']');
+        return this;
+    }
+
+    /**
+     * Writes the name of the next object member.
+     *
+     * @param name the member name
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        sink.writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or {@code null}.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter value(boolean value) throws IOException {
+        beforeValue();
+        sink.writeUtf8(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a numeric value. Non-finite floating point values are written as
+     * {@code null}, since JSON cannot represent them.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter value(Number value) throws IOException {
+        if (value == null || !isFinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            sink.writeDecimalLong(value.longValue());
+        } else {
+            sink.writeUtf8(value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Writes an arbitrary value.
+     *
+     * <p>Strings, numbers, booleans, maps, iterables and arrays are written
+     * directly; any other object is serialized with fastjson2.</p>
+     *
+     * @param value the value, may be null
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter value(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Number) {
+            return value((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable) {
+            beginArray();
+            for (Object element : (Iterable<?>) value) {
+                value(element);
+            }
+            return endArray();
+        }
+        if (value.getClass().isArray()) {
+            beginArray();
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                value(Array.get(value, i));
+            }
+            return endArray();
+        }
+        beforeValue();
+        sink.writeUtf8(JSON.toJSONString(value));
+        return this;
+    }
+
+    /**
+     * Writes a value that is already encoded as JSON, copying its bytes as is.
+     *
+     * @param json a complete UTF-8 encoded JSON value
+     * @return this writer
+     * @throws IOException if the sink fails
+     * @see io.github.llmkit.message.Message#toJsonBytes()
+     */
+    public JsonSinkWriter jsonValue(ByteString json) throws IOException {
+        beforeValue();
+        sink.write(json);
+        return this;
+    }
+
+    /**
+     * Writes {@code null}.
+     *
+     * @return this writer
+     * @throws IOException if the sink fails
+     */
+    public JsonSinkWriter nullValue() throws IOException {
+        beforeValue();
+        sink.writeUtf8("null");
+        return this;
+    }
+
+    private void push() {
+        if (depth == nonEmpty.length) {
+            nonEmpty = Arrays.copyOf(nonEmpty, depth * 2);
+        }
+        nonEmpty[depth++] = false;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (depth > 0) {
+            if (nonEmpty[depth - 1]) {
+                sink.writeByte(',');
+            } else {
+                nonEmpty[depth - 1] = true;
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] buf = scratch;
+        int limit = buf.length - 12;
+        int pos = 0;
+        buf[pos++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (pos > limit) {
+                sink.write(buf, 0, pos);
+                pos = 0;
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buf[pos++] = (byte) c;
+                } else {
+                    String escape = c < 0x20 ? CONTROL_ESCAPES[c] : (c == '"' ? "\\\"" : "\\\\");
+                    for (int j = 0; j < escape.length(); j++) {
+                        buf[pos++] = (byte) escape.charAt(j);
+                    }
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // Unpaired surrogate, replaced like String.getBytes(UTF_8) does
+                buf[pos++] = '?';
+            }
+        }
+        buf[pos++] = '"';
+        sink.write(buf, 0, pos);
+    }
+
+    private static boolean isFinite(Number value) {
+        if (value instanceof Double) {
+            return !((Double) value).isNaN() && !((Double) value).isInfinite();
+        }
+        if (value instanceof Float) {
+            return !((Float) value).isNaN() && !((Float) value).isInfinite();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,263 @@
+package io.github.llmkit.core.json;
+
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.util.Fnv;
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatResponse;
+
+/**
+ * Parser for OpenAI-compatible streaming chunks.
+ *
+ * <p>A long completion arrives as thousands of small SSE events such as:</p>
+ * <pre>{@code
+ * {"id":"chatcmpl-1","object":"chat.completion.chunk","choices":[{"index":0,"delta":{"content":"Hel"}}]}
+ * }</pre>
+ *
+ * <p>Rather than building a {@code JSONObject} tree for every chunk, this parser
+ * walks the event with a streaming {@link JSONReader}, matches field names by
+ * their hash code and skips everything except {@code choices[0].delta.content}.
+ * The only object allocated per chunk on the happy path is the content string
+ * itself (plus the reader).</p>
+ *
+ * <p>{@link #parseDelta(String)} reads the whole chunk in the same single pass
+ * and also keeps the completion id, model, role, finish reason and the usage
+ * reported by the final chunk when {@code stream_options.include_usage} is set.
+ * A stream repeats the same id and model in every chunk, so streaming callers
+ * parse through a {@link Session}, which reads them from the first chunk that
+ * has them and skips them afterwards; a content chunk then only allocates the
+ * content string and the {@link ChatDelta} (plus the reader).</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class StreamDeltaParser {
+
+    private static final long HASH_CHOICES = Fnv.hashCode64("choices");
+    private static final long HASH_DELTA = Fnv.hashCode64("delta");
+    private static final long HASH_CONTENT = Fnv.hashCode64("content");
+    private static final long HASH_ID = Fnv.hashCode64("id");
+    private static final long HASH_MODEL = Fnv.hashCode64("model");
+    private static final long HASH_ROLE = Fnv.hashCode64("role");
+    private static final long HASH_FINISH_REASON = Fnv.hashCode64("finish_reason");
+    private static final long HASH_USAGE = Fnv.hashCode64("usage");
+    private static final long HASH_PROMPT_TOKENS = Fnv.hashCode64("prompt_tokens");
+    private static final long HASH_COMPLETION_TOKENS = Fnv.hashCode64("completion_tokens");
+    private static final long HASH_TOTAL_TOKENS = Fnv.hashCode64("total_tokens");
+
+    private static final JSONReader.Context CONTEXT = JSONFactory.createReadContext();
+
+    private StreamDeltaParser() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Extracts {@code choices[0].delta.content} from a streaming chunk.
+     *
+     * <p>Malformed chunks are tolerated: parsing errors result in {@code null}
+     * rather than an exception, matching how individual chunk failures are
+     * treated by the streaming methods.</p>
+     *
+     * @param data the SSE event data
+     * @return the content delta, or null if the chunk carries no content
+     */
+    public static String parseContent(String data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        try (JSONReader reader = JSONReader.of(data, CONTEXT)) {
+            if (!reader.nextIfObjectStart()) {
+                return null;
+            }
+            while (!reader.nextIfObjectEnd()) {
+                if (reader.readFieldNameHashCode() == HASH_CHOICES) {
+                    return readFirstChoiceContent(reader);
+                }
+                reader.skipValue();
+            }
+        } catch (Exception ignored) {
+            // Ignore parsing errors for individual chunks
+        }
+        return null;
+    }
+
+    /**
+     * Parses a single streaming chunk into a {@link ChatDelta}.
+     *
+     * <p>Malformed chunks are tolerated like in {@link #parseContent(String)}.
+     * To parse the chunks of a whole stream, use a {@link #newSession() session}.</p>
+     *
+     * @param data the SSE event data
+     * @return the delta, or null if the data is not a JSON object
+     */
+    public static ChatDelta parseDelta(String data) {
+        return newSession().parseDelta(data);
+    }
+
+    /**
+     * Creates the parsing state for one stream.
+     *
+     * @return a new session
+     */
+    public static Session newSession() {
+        return new Session();
+    }
+
+    /**
+     * Parses the chunks of one stream, in order. Not thread-safe; SSE events
+     * of a stream are delivered one at a time.
+     */
+    public static final class Session {
+
+        private final ChatDelta.Builder builder = ChatDelta.builder();
+        private String id;
+        private String model;
+
+        private Session() {
+        }
+
+        /**
+         * Parses the next chunk of the stream into a {@link ChatDelta}.
+         *
+         * <p>The id and model are read from the first chunk that reports a
+         * non-empty value and reused for every later delta without being
+         * parsed again.</p>
+         *
+         * @param data the SSE event data
+         * @return the delta, or null if the data is not a JSON object
+         */
+        public ChatDelta parseDelta(String data) {
+            if (data == null || data.isEmpty()) {
+                return null;
+            }
+            try (JSONReader reader = JSONReader.of(data, CONTEXT)) {
+                if (!reader.nextIfObjectStart()) {
+                    return null;
+                }
+                // build() copies the fields, so one builder serves every chunk
+                builder.role(null).content(null).finishReason(null).usage(null);
+                while (!reader.nextIfObjectEnd()) {
+                    long hash = reader.readFieldNameHashCode();
+                    if (hash == HASH_ID) {
+                        if (id == null || id.isEmpty()) {
+                            id = readNullableString(reader);
+                        } else {
+                            reader.skipValue();
+                        }
+                    } else if (hash == HASH_MODEL) {
+                        if (model == null || model.isEmpty()) {
+                            model = readNullableString(reader);
+                        } else {
+                            reader.skipValue();
+                        }
+                    } else if (hash == HASH_CHOICES) {
+                        readFirstChoice(reader, builder);
+                    } else if (hash == HASH_USAGE) {
+                        builder.usage(readUsage(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                return builder.id(id).model(model).build();
+            } catch (Exception ignored) {
+                // Ignore parsing errors for individual chunks
+            }
+            return null;
+        }
+    }
+
+    private static void readFirstChoice(JSONReader reader, ChatDelta.Builder builder) {
+        if (!reader.nextIfArrayStart()) {
+            reader.skipValue();
+            return;
+        }
+        boolean first = true;
+        while (!reader.nextIfArrayEnd()) {
+            if (first && reader.nextIfObjectStart()) {
+                while (!reader.nextIfObjectEnd()) {
+                    long hash = reader.readFieldNameHashCode();
+                    if (hash == HASH_DELTA) {
+                        readDelta(reader, builder);
+                    } else if (hash == HASH_FINISH_REASON) {
+                        builder.finishReason(readNullableString(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            } else {
+                reader.skipValue();
+            }
+            first = false;
+        }
+    }
+
+    private static void readDelta(JSONReader reader, ChatDelta.Builder builder) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return;
+        }
+        while (!reader.nextIfObjectEnd()) {
+            long hash = reader.readFieldNameHashCode();
+            if (hash == HASH_CONTENT) {
+                builder.content(readNullableString(reader));
+            } else if (hash == HASH_ROLE) {
+                builder.role(readNullableString(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+    }
+
+    private static ChatResponse.Usage readUsage(JSONReader reader) {
+        if (!reader.nextIfObjectStart()) {
+            reader.skipValue();
+            return null;
+        }
+        int promptTokens = 0;
+        int completionTokens = 0;
+        int totalTokens = 0;
+        while (!reader.nextIfObjectEnd()) {
+            long hash = reader.readFieldNameHashCode();
+            if (hash == HASH_PROMPT_TOKENS) {
+                promptTokens = reader.readInt32Value();
+            } else if (hash == HASH_COMPLETION_TOKENS) {
+                completionTokens = reader.readInt32Value();
+            } else if (hash == HASH_TOTAL_TOKENS) {
+                totalTokens = reader.readInt32Value();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return new ChatResponse.Usage(promptTokens, completionTokens, totalTokens);
+    }
+
+    private static String readNullableString(JSONReader reader) {
+        return reader.nextIfNull() ? null : reader.readString();
+    }
+
+    private static String readFirstChoiceContent(JSONReader reader) {
+        if (!reader.nextIfArrayStart() || !reader.nextIfObjectStart()) {
+            return null;
+        }
+        while (!reader.nextIfObjectEnd()) {
+            if (reader.readFieldNameHashCode() == HASH_DELTA) {
+                return readContent(reader);
+            }
+            reader.skipValue();
+        }
+        return null;
+    }
+
+    private static String readContent(JSONReader reader) {
+        if (!reader.nextIfObjectStart()) {
+            return null;
+        }
+        while (!reader.nextIfObjectEnd()) {
+            if (reader.readFieldNameHashCode() == HASH_CONTENT) {
+                return reader.nextIfNull() ? null : reader.readString();
+            }
+            reader.skipValue();
+        }
+        return null;
+    }
+}
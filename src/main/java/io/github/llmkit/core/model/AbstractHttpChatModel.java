@@ -0,0 +1,502 @@
+package io.github.llmkit.core.model;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.core.config.ChatConfig;
+import io.github.llmkit.core.http.HttpClientFactory;
+import io.github.llmkit.core.http.JsonRequestBody;
+import io.github.llmkit.core.http.LLMHttpClient;
+import io.github.llmkit.core.http.StreamClient;
+import io.github.llmkit.core.http.impl.SseStreamClient;
+import io.github.llmkit.core.json.ChatResponseParser;
+import io.github.llmkit.core.json.StreamDeltaParser;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.LLMKitException;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.ratelimit.RateLimit;
+import io.github.llmkit.ratelimit.RateLimiter;
+import io.github.llmkit.ratelimit.RateLimiterRegistry;
+import io.github.llmkit.stream.ChatResponseAggregator;
+import io.github.llmkit.util.FutureUtil;
+import io.github.llmkit.util.RetryPolicy;
+import io.github.llmkit.util.Retryer;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Base class for chat models that talk to an OpenAI-compatible HTTP API.
+ *
+ * <p>This class implements the transport side of {@link ChatModel}: synchronous
+ * and asynchronous calls through {@link LLMHttpClient}, SSE streaming through
+ * {@link SseStreamClient}, retries, client-side rate limiting and response
+ * parsing. Subclasses only need to provide the provider-specific request body.</p>
+ *
+ * <p>When the configuration defines a rate limit, every attempt first acquires
+ * a permit from the {@link RateLimiterRegistry}, charging the tokens estimated
+ * by {@link ChatConfig#getTokenEstimator()}; the charge is reconciled with the
+ * reported usage once the response has been parsed.</p>
+ *
+ * @param <C> the config type
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public abstract class AbstractHttpChatModel<C extends ChatConfig> implements ChatModel {
+
+    protected final C config;
+    protected final OkHttpClient okHttpClient;
+    protected final LLMHttpClient httpClient;
+
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private volatile String rateLimiterOwner;
+
+    /**
+     * Creates a new model with the given configuration.
+     *
+     * <p>The model uses the OkHttpClient dedicated to its configuration, see
+     * {@link HttpClientFactory#getClient(ChatConfig)}.</p>
+     *
+     * @param config the configuration
+     */
+    protected AbstractHttpChatModel(C config) {
+        this.config = config;
+        this.okHttpClient = HttpClientFactory.getClient(config);
+        this.httpClient = new LLMHttpClient(okHttpClient);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        if (options == null) {
+            options = ChatOptions.DEFAULT;
+        }
+
+        String url = config.getFullUrl();
+        Map<String, String> headers = buildHeaders();
+        RequestBody body = createRequestBody(prompt, options, false);
+        LLMHttpClient.BodyReader<ChatResponse> reader = responseReader(options);
+
+        RateLimiter limiter = rateLimiter(options);
+        int estimatedTokens = limiter != null ? config.getTokenEstimator().estimate(prompt, options) : 0;
+        AtomicReference<RateLimiter.Permit> permitRef = new AtomicReference<>();
+        Callable<ChatResponse> attempt = () -> post(url, headers, body, reader, limiter, estimatedTokens, permitRef);
+
+        ChatResponse response = Retryer.retry(attempt, retryPolicy(options));
+        return reconcile(response, permitRef.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The request is sent with OkHttp's asynchronous dispatcher, so no thread
+     * is blocked while waiting for the provider; the response is handled on the
+     * {@linkplain ChatConfig#getExecutor() configured executor} if any. Failed requests are retried
+     * according to {@link #retryPolicy(ChatOptions)}; backoff delays are
+     * scheduled on a shared timer rather than slept on a thread. Cancelling the
+     * returned future cancels the underlying HTTP call or pending retry.</p>
+     */
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        ChatOptions opts = options != null ? options : ChatOptions.DEFAULT;
+
+        String url;
+        Map<String, String> headers;
+        RequestBody body;
+        LLMHttpClient.BodyReader<ChatResponse> reader;
+        RateLimiter limiter;
+        int estimatedTokens;
+        try {
+            url = config.getFullUrl();
+            headers = buildHeaders();
+            body = createRequestBody(prompt, opts, false);
+            reader = responseReader(opts);
+            limiter = rateLimiter(opts);
+            estimatedTokens = limiter != null ? config.getTokenEstimator().estimate(prompt, opts) : 0;
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+
+        AtomicReference<RateLimiter.Permit> permitRef = new AtomicReference<>();
+        Supplier<CompletableFuture<ChatResponse>> attempt;
+        if (limiter != null) {
+            attempt = () -> limiter.executeAsync(estimatedTokens, permit -> {
+                permitRef.set(permit);
+                return httpClient.postAsync(url, headers, body, reader);
+            });
+        } else {
+            attempt = () -> httpClient.postAsync(url, headers, body, reader);
+        }
+
+        RetryPolicy retryPolicy = retryPolicy(opts);
+        CompletableFuture<ChatResponse> response = retryPolicy.getMaxRetries() > 0
+                ? Retryer.retryAsync(attempt, retryPolicy)
+                : attempt.get();
+
+        CompletableFuture<ChatResponse> result = response.thenApply(parsed -> reconcile(parsed, permitRef.get()));
+        FutureUtil.propagateCancellation(result, response);
+        return result;
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        FutureUtil.await(streamAsync(prompt, onDelta, options));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only content fragments are passed to {@code onDelta}; use
+     * {@link #streamDeltasAsync(Prompt, Consumer, ChatOptions)} to also receive
+     * the finish reason and usage.</p>
+     */
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        CompletableFuture<ChatResponse> stream = streamDeltasAsync(prompt, delta -> {
+            if (delta.hasContent()) {
+                onDelta.accept(delta.getContent());
+            }
+        }, options);
+        CompletableFuture<Void> result = stream.thenApply(response -> null);
+        FutureUtil.propagateCancellation(result, stream);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Deltas are delivered on the OkHttp reader thread, which runs on the
+     * {@linkplain ChatConfig#getExecutor() configured executor} if any. A stream
+     * that fails before delivering its first delta is retried according to
+     * {@link #retryPolicy(ChatOptions)}, with backoff scheduled on a shared
+     * timer; once a delta has been delivered the failure is reported instead,
+     * so that callers never see duplicated output. Cancelling the returned
+     * future closes the underlying event source. Failures while preparing the
+     * request complete the returned future exceptionally, like for
+     * {@link #callAsync(Prompt, ChatOptions)}.</p>
+     *
+     * <p>When the stream reports usage, a rate-limit permit is reconciled with
+     * it like for {@link #call(Prompt, ChatOptions)}; otherwise the estimate is
+     * kept.</p>
+     */
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        if (options == null) {
+            options = ChatOptions.DEFAULT;
+        }
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+
+        String url;
+        Map<String, String> headers;
+        RequestBody body;
+        RateLimiter limiter;
+        int estimatedTokens;
+        RetryPolicy retryPolicy;
+        try {
+            url = config.getFullUrl();
+            headers = buildHeaders();
+            body = createRequestBody(prompt, options, true);
+            limiter = rateLimiter(options);
+            estimatedTokens = limiter != null ? config.getTokenEstimator().estimate(prompt, options) : 0;
+            retryPolicy = retryPolicy(options);
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+        if (retryPolicy.getMaxRetries() == 0) {
+            return streamOnce(url, headers, body, onDelta, limiter, estimatedTokens);
+        }
+
+        AtomicBoolean delivered = new AtomicBoolean();
+        Consumer<ChatDelta> tracking = delta -> {
+            delivered.set(true);
+            onDelta.accept(delta);
+        };
+        RetryPolicy beforeFirstDelta = retryPolicy.toBuilder()
+                .retryOn(error -> !delivered.get() && retryPolicy.isRetryable(error))
+                .build();
+        return Retryer.retryAsync(
+                () -> streamOnce(url, headers, body, tracking, limiter, estimatedTokens), beforeFirstDelta);
+    }
+
+    private CompletableFuture<ChatResponse> streamOnce(String url, Map<String, String> headers, RequestBody body,
+                                                       Consumer<ChatDelta> onDelta, RateLimiter limiter,
+                                                       int estimatedTokens) {
+        if (limiter != null) {
+            return limiter.executeAsync(estimatedTokens, permit -> {
+                CompletableFuture<ChatResponse> stream = streamOnce(url, headers, body, onDelta, null, 0);
+                CompletableFuture<ChatResponse> reconciled = stream.thenApply(response -> reconcile(response, permit));
+                FutureUtil.propagateCancellation(reconciled, stream);
+                return reconciled;
+            });
+        }
+        CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+        AtomicReference<Throwable> errorRef = new AtomicReference<>();
+        ChatResponseAggregator aggregator = new ChatResponseAggregator();
+        StreamDeltaParser.Session session = StreamDeltaParser.newSession();
+
+        SseStreamClient streamClient = new SseStreamClient(okHttpClient);
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                streamClient.stop();
+            }
+        });
+        streamClient.start(url, headers, body, new StreamClient.StreamListener() {
+            @Override
+            public void onMessage(StreamClient client, String data) {
+                if ("[DONE]".equals(data)) {
+                    return;
+                }
+                ChatDelta delta = parseStreamDelta(session, data);
+                if (delta == null || delta.isEmpty()) {
+                    return;
+                }
+                aggregator.accept(delta);
+                try {
+                    onDelta.accept(delta);
+                } catch (Exception e) {
+                    // Log but continue processing
+                }
+            }
+
+            @Override
+            public void onError(StreamClient client, Throwable throwable) {
+                errorRef.set(throwable);
+            }
+
+            @Override
+            public void onClose(StreamClient client) {
+                Throwable error = errorRef.get();
+                if (error == null) {
+                    future.complete(aggregator.toResponse());
+                } else if (error instanceof LLMKitException) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.completeExceptionally(new ChatException("Stream failed: " + error.getMessage(), error));
+                }
+            }
+        });
+        return future;
+    }
+
+    private ChatResponse post(String url, Map<String, String> headers, RequestBody body,
+                              LLMHttpClient.BodyReader<ChatResponse> reader, RateLimiter limiter,
+                              int estimatedTokens, AtomicReference<RateLimiter.Permit> permitRef) {
+        if (limiter == null) {
+            return httpClient.post(url, headers, body, reader);
+        }
+        RateLimiter.Permit permit = limiter.acquire(estimatedTokens);
+        try {
+            ChatResponse response = httpClient.post(url, headers, body, reader);
+            permitRef.set(permit);
+            return response;
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<ChatResponse> failed(RuntimeException e) {
+        CompletableFuture<ChatResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
+
+    private static ChatResponse reconcile(ChatResponse response, RateLimiter.Permit permit) {
+        if (permit != null) {
+            permit.reconcile(response.getUsage());
+        }
+        return response;
+    }
+
+    /**
+     * Returns the rate limiter for a request.
+     *
+     * @param options the chat options
+     * @return the shared limiter for the request's API key and model, or null if not rate limited
+     * @see RateLimiterRegistry
+     */
+    protected RateLimiter rateLimiter(ChatOptions options) {
+        String model = options.getModelOrDefault(config.getModel());
+        String key = model != null ? model : "";
+        RateLimiter limiter = rateLimiters.get(key);
+        if (limiter != null) {
+            return limiter;
+        }
+        RateLimit limit = config.getRateLimit(model);
+        if (limit == null || limit.isUnlimited()) {
+            return null;
+        }
+        String owner = rateLimiterOwner;
+        if (owner == null) {
+            owner = RateLimiterRegistry.ownerKey(config);
+            rateLimiterOwner = owner;
+        }
+        limiter = RateLimiterRegistry.getLimiter(owner, model, limit);
+        rateLimiters.put(key, limiter);
+        return limiter;
+    }
+
+    /**
+     * Resolves the retry policy for a request.
+     *
+     * <p>Starts from {@link ChatConfig#getRetryPolicy()} and applies the retry
+     * overrides of the given options.</p>
+     *
+     * @param options the chat options
+     * @return the retry policy
+     */
+    protected RetryPolicy retryPolicy(ChatOptions options) {
+        if (!options.getRetryEnabledOrDefault(config.isRetryEnabled())) {
+            return RetryPolicy.NONE;
+        }
+        if (config.isRetryEnabled() && options.getRetryCount() == null && options.getRetryDelayMs() == null) {
+            return config.getRetryPolicy();
+        }
+        long initialDelayMs = Math.max(0, options.getRetryDelayMsOrDefault(config.getRetryInitialDelayMs()));
+        return RetryPolicy.builder()
+                .maxRetries(Math.max(0, options.getRetryCountOrDefault(config.getRetryCount())))
+                .initialDelayMs(initialDelayMs)
+                .maxDelayMs(Math.max(initialDelayMs, config.getRetryMaxDelayMs()))
+                .multiplier(Math.max(1.0, config.getRetryMultiplier()))
+                .jitter(config.getRetryJitter())
+                .build();
+    }
+
+    /**
+     * Builds the HTTP headers for a request.
+     *
+     * @return the request headers
+     */
+    protected Map<String, String> buildHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("Authorization", "Bearer " + config.getApiKey());
+        return headers;
+    }
+
+    /**
+     * Builds the provider-specific JSON request body.
+     *
+     * @param prompt  the prompt
+     * @param options the chat options
+     * @param stream  true if this is a streaming request
+     * @return the request body JSON string
+     */
+    protected abstract String buildRequestBody(Prompt prompt, ChatOptions options, boolean stream);
+
+    /**
+     * Creates the HTTP request body for a request.
+     *
+     * <p>The default implementation wraps {@link #buildRequestBody}. Subclasses
+     * should return a {@link JsonRequestBody} instead, which serializes the
+     * request straight into the connection when it is sent. The body is
+     * written again for every retry.</p>
+     *
+     * @param prompt  the prompt
+     * @param options the chat options
+     * @param stream  true if this is a streaming request
+     * @return the request body
+     */
+    protected RequestBody createRequestBody(Prompt prompt, ChatOptions options, boolean stream) {
+        return RequestBody.create(buildRequestBody(prompt, options, stream), JsonRequestBody.JSON_TYPE);
+    }
+
+    private LLMHttpClient.BodyReader<ChatResponse> responseReader(ChatOptions options) {
+        RawResponseRetention retention = options.getRawResponseRetentionOrDefault(config.getRawResponseRetention());
+        return body -> readResponse(body, retention);
+    }
+
+    /**
+     * Reads a chat completion response from the HTTP body.
+     *
+     * <p>Unless the retention is {@link RawResponseRetention#NONE}, the body
+     * is read as UTF-8 bytes that back {@link ChatResponse#getRawResponse()},
+     * compressed first for {@link RawResponseRetention#COMPRESSED}; otherwise
+     * it is parsed straight from the body stream and never held in memory as a
+     * whole. Subclasses for providers with a different response format should
+     * override both this method and {@link #parseResponse(String)}.</p>
+     *
+     * @param body      the response body of a successful request
+     * @param retention how to keep the raw response, resolved from the
+     *                  request options and the configuration
+     * @return the parsed response
+     * @throws IOException       if the body cannot be read
+     * @throws ProviderException if the response contains an error
+     * @throws ParseException    if the response cannot be parsed
+     * @see ChatResponseParser
+     */
+    protected ChatResponse readResponse(ResponseBody body, RawResponseRetention retention) throws IOException {
+        if (body == null) {
+            throw new ParseException("Empty response from API");
+        }
+        if (retention != RawResponseRetention.NONE) {
+            return ChatResponseParser.parse(body.bytes(), retention);
+        }
+        return ChatResponseParser.parse(body.byteStream());
+    }
+
+    /**
+     * Parses a chat completion response.
+     *
+     * @param response the raw response body
+     * @return the parsed response
+     * @throws ProviderException if the response contains an error
+     * @throws ParseException    if the response cannot be parsed
+     * @see ChatResponseParser
+     */
+    protected ChatResponse parseResponse(String response) {
+        return ChatResponseParser.parse(response);
+    }
+
+    /**
+     * Parses a streaming chunk.
+     *
+     * @param session the parsing state of the stream the chunk belongs to
+     * @param data    the SSE event data
+     * @return the delta, or null if the chunk cannot be parsed
+     * @see StreamDeltaParser.Session#parseDelta(String)
+     */
+    protected ChatDelta parseStreamDelta(StreamDeltaParser.Session session, String data) {
+        return session.parseDelta(data);
+    }
+
+    @Override
+    public String getDefaultModel() {
+        return config.getModel();
+    }
+
+    @Override
+    public String getEndpointUrl() {
+        return config.getFullUrl();
+    }
+
+    /**
+     * Returns the configuration.
+     *
+     * @return the config
+     */
+    public C getConfig() {
+        return config;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.llmkit.exception;
+
+/**
+ * Exception thrown when a circuit breaker rejects a request without sending
+ * it, because the provider has recently been failing or slow.
+ *
+ * <p>The request never reached the provider, so it is safe to send it
+ * elsewhere. It is not retried by the default retry policy: retrying would
+ * only be rejected again until the breaker lets probes through.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class CircuitBreakerOpenException extends ChatException {
+
+    private final String circuitBreakerName;
+    private final long remainingOpenMs;
+
+    /**
+     * Creates a new CircuitBreakerOpenException.
+     *
+     * @param circuitBreakerName the name of the rejecting circuit breaker
+     * @param remainingOpenMs    the time until the breaker lets probes through,
+     *                           0 if it is already probing
+     */
+    public CircuitBreakerOpenException(String circuitBreakerName, long remainingOpenMs) {
+        super("Circuit breaker '" + circuitBreakerName + "' is open"
+                + (remainingOpenMs > 0 ? " for another " + remainingOpenMs + " ms" : " and probing"));
+        this.circuitBreakerName = circuitBreakerName;
+        this.remainingOpenMs = remainingOpenMs;
+    }
+
+    /**
+     * Returns the name of the circuit breaker that rejected the request.
+     *
+     * @return the circuit breaker name
+     */
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+
+    /**
+     * Returns how long the breaker stays open before it lets probes through.
+     *
+     * @return the remaining time in milliseconds, 0 if it is already probing
+     */
+    public long getRemainingOpenMs() {
+        return remainingOpenMs;
+    }
+}
@@ -13,6 +13,7 @@ public class NetworkException extends LLMKitException {
 
     private final Integer httpStatusCode;
     private final String responseBody;
+    private final Long retryAfterMs;
 
     /**
      * Creates a new NetworkException with the specified message.
@@ -53,9 +54,25 @@ public class NetworkException extends LLMKitException {
      * @param cause          the cause of this exception
      */
     public NetworkException(String message, Integer httpStatusCode, String responseBody, Throwable cause) {
+        this(message, httpStatusCode, responseBody, null, cause);
+    }
+
+    /**
+     * Creates a new NetworkException with full details and the server's retry hint.
+     *
+     * @param message        the detail message
+     * @param httpStatusCode the HTTP status code
+     * @param responseBody   the response body (if available)
+     * @param retryAfterMs   the delay requested by the {@code Retry-After} header, or null
+     * @param cause          the cause of this exception
+     * @since 0.3.0
+     */
+    public NetworkException(String message, Integer httpStatusCode, String responseBody,
+                            Long retryAfterMs, Throwable cause) {
         super(message, cause);
         this.httpStatusCode = httpStatusCode;
         this.responseBody = responseBody;
+        this.retryAfterMs = retryAfterMs;
     }
 
     /**
@@ -76,6 +93,16 @@ public class NetworkException extends LLMKitException {
         return responseBody;
     }
 
+    /**
+     * Returns how long the server asked clients to wait before retrying.
+     *
+     * @return the {@code Retry-After} delay in milliseconds, or null if the response had none
+     * @since 0.3.0
+     */
+    public Long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+
     /**
      * Checks if this is a timeout error.
      *
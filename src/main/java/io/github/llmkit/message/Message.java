@@ -1,5 +1,12 @@
 package io.github.llmkit.message;
 
+import io.github.llmkit.core.json.JsonSinkWriter;
+import io.github.llmkit.tokenizer.Tokenizer;
+import okio.Buffer;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 
 /**
@@ -14,6 +21,10 @@ import java.util.Objects;
 public abstract class Message {
 
     private final String content;
+    /** Encoded by {@link #toJsonBytes()} on first use. */
+    private volatile ByteString json;
+    /** Cached by {@link #countTokens(Tokenizer)} for the last tokenizer used. */
+    private volatile TokenCount tokenCount;
 
     /**
      * Creates a new message with the specified content.
@@ -49,6 +60,62 @@ public abstract class Message {
         return getType().getValue();
     }
 
+    /**
+     * Returns this message encoded as a chat completion message object,
+     * {@code {"role":"...","content":"..."}}.
+     *
+     * <p>Messages are immutable, so the encoding is built once, on first use,
+     * and every later request containing this message copies the cached bytes
+     * instead of escaping and encoding the content again. Concurrent first
+     * calls may each encode the message; the results are identical.</p>
+     *
+     * @return the UTF-8 encoded JSON object
+     * @since 0.3.0
+     */
+    public final ByteString toJsonBytes() {
+        ByteString result = json;
+        if (result == null) {
+            Buffer buffer = new Buffer();
+            try {
+                JsonSinkWriter writer = new JsonSinkWriter(buffer)
+                        .beginObject()
+                        .name("role").value(getRole());
+                if (content != null) {
+                    writer.name("content").value(content);
+                }
+                writer.endObject();
+            } catch (IOException e) {
+                // A Buffer never fails
+                throw new UncheckedIOException(e);
+            }
+            result = buffer.readByteString();
+            json = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tokens this message costs in a chat request, as counted by
+     * {@link Tokenizer#countTokens(Message)}.
+     *
+     * <p>The count for the most recently used tokenizer is cached, so a
+     * conversation can be recounted on every turn without tokenizing its
+     * history again.</p>
+     *
+     * @param tokenizer the tokenizer
+     * @return the token count
+     * @since 0.3.0
+     */
+    public final int countTokens(Tokenizer tokenizer) {
+        TokenCount cached = tokenCount;
+        if (cached != null && cached.tokenizer == tokenizer) {
+            return cached.count;
+        }
+        int count = tokenizer.countTokens(this);
+        tokenCount = new TokenCount(tokenizer, count);
+        return count;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -71,4 +138,14 @@ public abstract class Message {
                         : content) + '\'' +
                 '}';
     }
+
+    private static final class TokenCount {
+        final Tokenizer tokenizer;
+        final int count;
+
+        TokenCount(Tokenizer tokenizer, int count) {
+            this.tokenizer = tokenizer;
+            this.count = count;
+        }
+    }
 }
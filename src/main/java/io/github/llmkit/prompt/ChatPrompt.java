@@ -1,6 +1,7 @@
 package io.github.llmkit.prompt;
 
 import io.github.llmkit.message.*;
+import io.github.llmkit.tokenizer.Tokenizer;
 
 import java.util.*;
 
@@ -10,6 +11,12 @@ import java.util.*;
  * <p>ChatPrompt supports arbitrary sequences of messages, enabling complex
  * multi-turn conversations with history. The message list is immutable.</p>
  *
+ * <p>The {@code add*} methods return a new prompt that shares the message
+ * list of this one, so growing a conversation one turn at a time costs
+ * amortized O(1) per message rather than a copy of the whole history.
+ * Token counts are carried over the same way: a prompt extended from a
+ * counted one only counts the appended messages.</p>
+ *
  * <h3>Example Usage</h3>
  * <pre>{@code
  * // Using the builder
@@ -34,10 +41,27 @@ import java.util.*;
  */
 public final class ChatPrompt implements Prompt {
 
-    private final List<Message> messages;
+    private static final ChatPrompt EMPTY = new ChatPrompt(MessageList.EMPTY);
+
+    private final MessageList messages;
+    /** Cached by {@link #countTokens(Tokenizer)}, inherited from the prompt this one extends. */
+    private volatile TokenCount tokenCount;
+
+    private ChatPrompt(MessageList messages) {
+        this.messages = messages;
+    }
+
+    private ChatPrompt(MessageList messages, TokenCount tokenCount) {
+        this.messages = messages;
+        this.tokenCount = tokenCount;
+    }
 
-    private ChatPrompt(List<Message> messages) {
-        this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+    /**
+     * Creates a prompt whose token count for a tokenizer is already known.
+     */
+    static ChatPrompt counted(List<Message> messages, Tokenizer tokenizer, int tokens) {
+        MessageList list = MessageList.copyOf(messages);
+        return new ChatPrompt(list, new TokenCount(tokenizer, tokens, list.size()));
     }
 
     /**
@@ -48,9 +72,9 @@ public final class ChatPrompt implements Prompt {
      */
     public static ChatPrompt of(List<Message> messages) {
         if (messages == null) {
-            return new ChatPrompt(Collections.emptyList());
+            return EMPTY;
         }
-        return new ChatPrompt(messages);
+        return new ChatPrompt(MessageList.copyOf(messages));
     }
 
     /**
@@ -61,9 +85,9 @@ public final class ChatPrompt implements Prompt {
      */
     public static ChatPrompt of(Message... messages) {
         if (messages == null || messages.length == 0) {
-            return new ChatPrompt(Collections.emptyList());
+            return EMPTY;
         }
-        return new ChatPrompt(Arrays.asList(messages));
+        return new ChatPrompt(MessageList.copyOf(Arrays.asList(messages)));
     }
 
     /**
@@ -72,7 +96,7 @@ public final class ChatPrompt implements Prompt {
      * @return an empty ChatPrompt
      */
     public static ChatPrompt empty() {
-        return new ChatPrompt(Collections.emptyList());
+        return EMPTY;
     }
 
     @Override
@@ -87,9 +111,7 @@ public final class ChatPrompt implements Prompt {
      * @return a new ChatPrompt with the added message
      */
     public ChatPrompt addUserMessage(String content) {
-        List<Message> newMessages = new ArrayList<>(messages);
-        newMessages.add(new UserMessage(content));
-        return new ChatPrompt(newMessages);
+        return new ChatPrompt(messages.append(new UserMessage(content)), tokenCount);
     }
 
     /**
@@ -99,9 +121,7 @@ public final class ChatPrompt implements Prompt {
      * @return a new ChatPrompt with the added message
      */
     public ChatPrompt addAssistantMessage(String content) {
-        List<Message> newMessages = new ArrayList<>(messages);
-        newMessages.add(new AiMessage(content));
-        return new ChatPrompt(newMessages);
+        return new ChatPrompt(messages.append(new AiMessage(content)), tokenCount);
     }
 
     /**
@@ -114,9 +134,7 @@ public final class ChatPrompt implements Prompt {
         if (message == null) {
             return this;
         }
-        List<Message> newMessages = new ArrayList<>(messages);
-        newMessages.add(message);
-        return new ChatPrompt(newMessages);
+        return new ChatPrompt(messages.append(message), tokenCount);
     }
 
     /**
@@ -129,9 +147,41 @@ public final class ChatPrompt implements Prompt {
         if (additionalMessages == null || additionalMessages.isEmpty()) {
             return this;
         }
-        List<Message> newMessages = new ArrayList<>(messages);
-        newMessages.addAll(additionalMessages);
-        return new ChatPrompt(newMessages);
+        return new ChatPrompt(messages.appendAll(additionalMessages), tokenCount);
+    }
+
+    /**
+     * Counts the prompt tokens of this conversation, as
+     * {@link Tokenizer#countTokens(Prompt)} does.
+     *
+     * <p>The count for the most recently used tokenizer is cached and passed
+     * on to the prompts returned by the {@code add*} methods, so counting a
+     * conversation after every turn only tokenizes the new messages and sums
+     * nothing but their counts.</p>
+     *
+     * @param tokenizer the tokenizer
+     * @return the token count
+     */
+    public int countTokens(Tokenizer tokenizer) {
+        TokenCount cached = tokenCount;
+        long tokens;
+        int from;
+        if (cached != null && cached.tokenizer == tokenizer) {
+            if (cached.messages == messages.size()) {
+                return cached.count;
+            }
+            tokens = cached.count;
+            from = cached.messages;
+        } else {
+            tokens = Tokenizer.TOKENS_PER_REPLY;
+            from = 0;
+        }
+        for (int i = from; i < messages.size(); i++) {
+            tokens += messages.get(i).countTokens(tokenizer);
+        }
+        int count = (int) Math.min(Integer.MAX_VALUE, tokens);
+        tokenCount = new TokenCount(tokenizer, count, messages.size());
+        return count;
     }
 
     /**
@@ -215,4 +265,19 @@ public final class ChatPrompt implements Prompt {
         if (s == null) return "null";
         return s.length() > maxLen ? s.substring(0, maxLen) + "..." : s;
     }
+
+    /**
+     * Token count of the first {@code messages} messages of a prompt.
+     */
+    private static final class TokenCount {
+        final Tokenizer tokenizer;
+        final int count;
+        final int messages;
+
+        TokenCount(Tokenizer tokenizer, int count, int messages) {
+            this.tokenizer = tokenizer;
+            this.count = count;
+            this.messages = messages;
+        }
+    }
 }
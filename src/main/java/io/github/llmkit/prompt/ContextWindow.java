@@ -0,0 +1,292 @@
+package io.github.llmkit.prompt;
+
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.message.Message;
+import io.github.llmkit.message.UserMessage;
+import io.github.llmkit.tokenizer.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a conversation within a model's context window.
+ *
+ * <p>{@link #fit(ChatPrompt, ChatOptions)} returns the prompt unchanged while
+ * it fits the token budget: the context size minus the completion tokens
+ * reserved by {@code ChatOptions.maxTokens}. Once it no longer fits, the
+ * oldest turns are dropped until it does. The system message returned by
+ * {@link ChatPrompt#getSystemMessage()} and the latest turn are always kept.
+ * A turn is a user message together with the messages that follow it up to
+ * the next user message.</p>
+ *
+ * <p>With a {@link Summarizer}, dropped turns are replaced by a summary placed
+ * right after the system message. When that summary is dropped in turn, it is
+ * passed to the summarizer along with the turns after it, so the summary
+ * rolls forward with the conversation.</p>
+ *
+ * <p>Token counts are cached per message and per prompt (see
+ * {@link ChatPrompt#countTokens(Tokenizer)}), and a fitted prompt carries
+ * its count forward, so fitting after each new turn only tokenizes that turn
+ * instead of recounting the whole history.</p>
+ *
+ * <pre>{@code
+ * ContextWindow window = ContextWindow.builder()
+ *     .tokenizer(BpeTokenizer.load(BpeEncoding.CL100K_BASE))
+ *     .contextTokens(128_000)
+ *     .build();
+ *
+ * conversation = window.fit(conversation.addUserMessage(input), options);
+ * ChatResponse response = chatModel.call(conversation, options);
+ * conversation = conversation.addAssistantMessage(response.getContent());
+ * }</pre>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class ContextWindow {
+
+    /**
+     * Condenses the turns dropped from a conversation into one message.
+     */
+    @FunctionalInterface
+    public interface Summarizer {
+
+        /**
+         * Summarizes dropped messages, for example with a call to a chat model.
+         *
+         * @param messages the dropped messages, oldest first; the first one
+         *                 may be an earlier summary
+         * @return the summary message, or null to drop the messages without one
+         */
+        Message summarize(List<Message> messages);
+    }
+
+    private final Tokenizer tokenizer;
+    private final int contextTokens;
+    private final Summarizer summarizer;
+    private final int summaryTokens;
+
+    private ContextWindow(Builder builder) {
+        this.tokenizer = builder.tokenizer;
+        this.contextTokens = builder.contextTokens;
+        this.summarizer = builder.summarizer;
+        this.summaryTokens = builder.summaryTokens;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Tokenizer getTokenizer() {
+        return tokenizer;
+    }
+
+    public int getContextTokens() {
+        return contextTokens;
+    }
+
+    /**
+     * Returns the prompt tokens available for a request: the context size
+     * minus the completion tokens reserved by {@code maxTokens}.
+     *
+     * @param options the chat options, may be null
+     * @return the prompt token budget
+     */
+    public int getBudget(ChatOptions options) {
+        if (options == null || options.getMaxTokens() == null) {
+            return contextTokens;
+        }
+        return contextTokens - options.getMaxTokens();
+    }
+
+    /**
+     * Returns the prompt, with its oldest turns dropped or summarized if it
+     * does not fit the budget.
+     *
+     * @param prompt  the conversation
+     * @param options the chat options, may be null
+     * @return the prompt itself if it fits, otherwise a trimmed copy
+     * @throws ChatException if the system message and the latest turn alone
+     *                       exceed the budget
+     */
+    public ChatPrompt fit(ChatPrompt prompt, ChatOptions options) {
+        int budget = getBudget(options);
+        long total = prompt.countTokens(tokenizer);
+        if (total <= budget) {
+            return prompt;
+        }
+
+        List<Message> messages = prompt.getMessages();
+        int start = prompt.getSystemMessage() != null ? 1 : 0;
+        int last = lastTurn(messages, start);
+        long target = summarizer != null ? (long) budget - summaryTokens : budget;
+
+        // Drop whole turns from the front, subtracting their cached counts
+        int cut = start;
+        long kept = total;
+        while (kept > target && cut < last) {
+            int next = nextTurn(messages, cut, last);
+            kept -= count(messages, cut, next);
+            cut = next;
+        }
+
+        Message summary = null;
+        long tokens = kept;
+        if (summarizer != null && cut > start) {
+            while (true) {
+                summary = summarizer.summarize(messages.subList(start, cut));
+                tokens = summary != null ? kept + summary.countTokens(tokenizer) : kept;
+                if (tokens <= budget || cut == last) {
+                    break;
+                }
+                int next = nextTurn(messages, cut, last);
+                kept -= count(messages, cut, next);
+                cut = next;
+            }
+            if (tokens > budget && summary != null) {
+                summary = null;
+                tokens = kept;
+            }
+        }
+        if (tokens > budget) {
+            throw new ChatException("Prompt needs " + tokens + " tokens even after trimming, but the budget is "
+                    + budget + " (context " + contextTokens + " tokens)");
+        }
+
+        List<Message> window = new ArrayList<>(messages.size() - cut + 2);
+        if (start > 0) {
+            window.add(messages.get(0));
+        }
+        if (summary != null) {
+            window.add(summary);
+        }
+        window.addAll(messages.subList(cut, messages.size()));
+        return ChatPrompt.counted(window, tokenizer, (int) tokens);
+    }
+
+    private long count(List<Message> messages, int from, int to) {
+        long tokens = 0;
+        for (int i = from; i < to; i++) {
+            tokens += messages.get(i).countTokens(tokenizer);
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the start of the latest turn: the last user message, or the
+     * last message if there is none.
+     */
+    private static int lastTurn(List<Message> messages, int start) {
+        for (int i = messages.size() - 1; i >= start; i--) {
+            if (messages.get(i) instanceof UserMessage) {
+                return i;
+            }
+        }
+        return Math.max(start, messages.size() - 1);
+    }
+
+    private static int nextTurn(List<Message> messages, int from, int last) {
+        int i = from + 1;
+        while (i < last && !(messages.get(i) instanceof UserMessage)) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextWindow{" +
+                "contextTokens=" + contextTokens +
+                ", summarizer=" + (summarizer != null) +
+                ", summaryTokens=" + summaryTokens +
+                '}';
+    }
+
+    /**
+     * Builder for {@link ContextWindow}.
+     */
+    public static final class Builder {
+        private Tokenizer tokenizer;
+        private int contextTokens;
+        private Summarizer summarizer;
+        private int summaryTokens = 256;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the tokenizer matching the model. Required.
+         *
+         * @param tokenizer the tokenizer
+         * @return this builder
+         */
+        public Builder tokenizer(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+            return this;
+        }
+
+        /**
+         * Sets the model's context size in tokens, prompt and completion
+         * together. Required.
+         *
+         * @param contextTokens the context size
+         * @return this builder
+         */
+        public Builder contextTokens(int contextTokens) {
+            this.contextTokens = contextTokens;
+            return this;
+        }
+
+        /**
+         * Summarizes dropped turns instead of discarding them.
+         *
+         * @param summarizer the summarizer, null to discard dropped turns
+         * @return this builder
+         */
+        public Builder summarizer(Summarizer summarizer) {
+            this.summarizer = summarizer;
+            return this;
+        }
+
+        /**
+         * Sets the tokens left free for the summary when turns are dropped.
+         * If a summary does not fit, further turns are dropped and summarized
+         * again. Default 256.
+         *
+         * @param summaryTokens the tokens reserved for the summary
+         * @return this builder
+         */
+        public Builder summaryTokens(int summaryTokens) {
+            this.summaryTokens = summaryTokens;
+            return this;
+        }
+
+        /**
+         * Builds the context window.
+         *
+         * @return the context window
+         * @throws IllegalArgumentException if the tokenizer is missing or a
+         *                                  size is not positive
+         */
+        public ContextWindow build() {
+            if (tokenizer == null) {
+                throw new IllegalArgumentException("tokenizer must not be null");
+            }
+            if (contextTokens <= 0) {
+                throw new IllegalArgumentException("contextTokens must be positive");
+            }
+            if (summaryTokens < 0) {
+                throw new IllegalArgumentException("summaryTokens must not be negative");
+            }
+            return new ContextWindow(this);
+        }
+    }
+}
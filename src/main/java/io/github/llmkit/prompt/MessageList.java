@@ -0,0 +1,128 @@
+package io.github.llmkit.prompt;
+
+import io.github.llmkit.message.Message;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable message list with amortized O(1) append and structural sharing,
+ * backing {@link ChatPrompt}.
+ *
+ * <p>Every version of a conversation is a prefix of one shared array. The
+ * first append to a given version claims the next free slot of that array and
+ * returns a longer view over it, without copying; the array grows
+ * geometrically, like an {@code ArrayList}. Appending again to an older
+ * version (branching the conversation) finds its slot already claimed and
+ * copies the prefix into a new array, so no version ever observes another's
+ * messages.</p>
+ *
+ * <p>Slots below a list's size are written before the list is created and
+ * never change afterwards, so lists are safe to share between threads.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+final class MessageList extends AbstractList<Message> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 8;
+
+    static final MessageList EMPTY = new MessageList(new Shared(new Message[0], 0), 0);
+
+    private final Shared shared;
+    private final int size;
+
+    private MessageList(Shared shared, int size) {
+        this.shared = shared;
+        this.size = size;
+    }
+
+    /**
+     * Creates a list holding a copy of the given messages.
+     *
+     * @param messages the messages
+     * @return the list
+     */
+    static MessageList copyOf(Collection<? extends Message> messages) {
+        if (messages instanceof MessageList) {
+            return (MessageList) messages;
+        }
+        Message[] elements = messages.toArray(new Message[0]);
+        if (elements.length == 0) {
+            return EMPTY;
+        }
+        return new MessageList(new Shared(elements, elements.length), elements.length);
+    }
+
+    /**
+     * Returns a list with the given message appended.
+     *
+     * @param message the message
+     * @return the longer list; this list is unchanged
+     */
+    MessageList append(Message message) {
+        Shared target = claim(1);
+        target.elements[size] = message;
+        return new MessageList(target, size + 1);
+    }
+
+    /**
+     * Returns a list with the given messages appended.
+     *
+     * @param messages the messages
+     * @return the longer list; this list is unchanged
+     */
+    MessageList appendAll(Collection<? extends Message> messages) {
+        Message[] added = messages.toArray(new Message[0]);
+        if (added.length == 0) {
+            return this;
+        }
+        Shared target = claim(added.length);
+        System.arraycopy(added, 0, target.elements, size, added.length);
+        return new MessageList(target, size + added.length);
+    }
+
+    /**
+     * Reserves {@code count} slots after this list's last element, in the
+     * shared array if they are free and fit, otherwise in a fresh copy.
+     */
+    private Shared claim(int count) {
+        Shared current = shared;
+        int required = size + count;
+        if (required <= current.elements.length && current.claimed.compareAndSet(size, required)) {
+            return current;
+        }
+        Message[] elements = new Message[Math.max(required, Math.max(MIN_CAPACITY, size * 2))];
+        System.arraycopy(current.elements, 0, elements, 0, size);
+        return new Shared(elements, required);
+    }
+
+    @Override
+    public Message get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return shared.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Backing array shared by the versions of a conversation.
+     */
+    private static final class Shared {
+        final Message[] elements;
+        /** Number of slots handed out so far; only ever grows. */
+        final AtomicInteger claimed;
+
+        Shared(Message[] elements, int claimed) {
+            this.elements = elements;
+            this.claimed = new AtomicInteger(claimed);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.llmkit.ratelimit;
+
+/**
+ * Requests-per-minute and tokens-per-minute quota for one model and API key.
+ *
+ * <p>A value of 0 means the dimension is not limited.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class RateLimit {
+
+    /**
+     * No limit on either dimension.
+     */
+    public static final RateLimit UNLIMITED = new RateLimit(0, 0);
+
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+
+    private RateLimit(int requestsPerMinute, int tokensPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    /**
+     * Creates a quota.
+     *
+     * @param requestsPerMinute the requests per minute, 0 for unlimited
+     * @param tokensPerMinute   the tokens per minute, 0 for unlimited
+     * @return the quota
+     * @throws IllegalArgumentException if a value is negative
+     */
+    public static RateLimit of(int requestsPerMinute, int tokensPerMinute) {
+        if (requestsPerMinute < 0 || tokensPerMinute < 0) {
+            throw new IllegalArgumentException("Rate limits must not be negative");
+        }
+        if (requestsPerMinute == 0 && tokensPerMinute == 0) {
+            return UNLIMITED;
+        }
+        return new RateLimit(requestsPerMinute, tokensPerMinute);
+    }
+
+    /**
+     * Returns the requests per minute.
+     *
+     * @return the requests per minute, 0 if unlimited
+     */
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    /**
+     * Returns the tokens per minute.
+     *
+     * @return the tokens per minute, 0 if unlimited
+     */
+    public int getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    /**
+     * Returns true if neither dimension is limited.
+     *
+     * @return true if unlimited
+     */
+    public boolean isUnlimited() {
+        return requestsPerMinute == 0 && tokensPerMinute == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RateLimit)) return false;
+        RateLimit that = (RateLimit) o;
+        return requestsPerMinute == that.requestsPerMinute && tokensPerMinute == that.tokensPerMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * requestsPerMinute + tokensPerMinute;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimit{rpm=" + requestsPerMinute + ", tpm=" + tokensPerMinute + '}';
+    }
+}
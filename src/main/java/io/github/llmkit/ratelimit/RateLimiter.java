@@ -0,0 +1,407 @@
+package io.github.llmkit.ratelimit;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.util.FutureUtil;
+import io.github.llmkit.util.SharedScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side limiter for a requests-per-minute and tokens-per-minute quota.
+ *
+ * <p>Each dimension is a token bucket holding one minute of quota that refills
+ * continuously. Acquiring a {@link Permit} charges one request and the
+ * estimated tokens up front. Once the response arrives,
+ * {@link Permit#reconcile(ChatResponse.Usage)} corrects the charge to the
+ * actual usage; a failed request can {@link Permit#release()} its tokens.</p>
+ *
+ * <p>When the quota is exhausted, callers queue locally in arrival order instead
+ * of being rejected by the provider:</p>
+ * <ul>
+ *   <li>{@link #acquire(int)} blocks the calling thread</li>
+ *   <li>{@link #acquireAsync(int)} completes a future on the
+ *       {@link SharedScheduler} without blocking</li>
+ *   <li>{@link #tryAcquire(int)} never waits and returns null when no quota is left</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.of(RateLimit.of(500, 90_000));
+ *
+ * RateLimiter.Permit permit = limiter.acquire(estimatedTokens);
+ * ChatResponse response = model.call(prompt);
+ * permit.reconcile(response.getUsage());
+ * }</pre>
+ *
+ * <p>Chat models built from a {@code ChatConfig} with rate limits apply this
+ * automatically, see {@link RateLimiterRegistry}.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class RateLimiter {
+
+    private static final double NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final RateLimit limit;
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+    private final LongSupplier ticker;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+
+    RateLimiter(RateLimit limit, LongSupplier ticker, ScheduledExecutorService scheduler) {
+        this.limit = limit;
+        this.ticker = ticker;
+        this.scheduler = scheduler;
+        long now = ticker.getAsLong();
+        this.requests = limit.getRequestsPerMinute() > 0
+                ? new TokenBucket(limit.getRequestsPerMinute(), limit.getRequestsPerMinute() / NANOS_PER_MINUTE, now)
+                : null;
+        this.tokens = limit.getTokensPerMinute() > 0
+                ? new TokenBucket(limit.getTokensPerMinute(), limit.getTokensPerMinute() / NANOS_PER_MINUTE, now)
+                : null;
+    }
+
+    /**
+     * Creates a limiter for the given quota.
+     *
+     * @param limit the quota
+     * @return a new limiter
+     */
+    public static RateLimiter of(RateLimit limit) {
+        return new RateLimiter(limit, System::nanoTime, SharedScheduler.get());
+    }
+
+    /**
+     * Acquires a permit, blocking until quota is available.
+     *
+     * @param estimatedTokens the tokens to charge up front
+     * @return the permit
+     * @throws ChatException if the thread is interrupted while waiting
+     */
+    public Permit acquire(int estimatedTokens) {
+        Permit permit = new Permit(estimatedTokens);
+        long waitNanos = reserve(permit);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                permit.abandon();
+                Thread.currentThread().interrupt();
+                throw new ChatException("Interrupted while waiting for rate limit", e);
+            }
+        }
+        return permit;
+    }
+
+    /**
+     * Acquires a permit only if quota is available right now.
+     *
+     * @param estimatedTokens the tokens to charge up front
+     * @return the permit, or null if the caller would have to wait
+     */
+    public Permit tryAcquire(int estimatedTokens) {
+        return tryAcquire(estimatedTokens, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Acquires a permit if quota becomes available within the timeout, blocking
+     * for at most that long.
+     *
+     * @param estimatedTokens the tokens to charge up front
+     * @param timeout         the maximum time to wait
+     * @param unit            the unit of the timeout
+     * @return the permit, or null if it would not be available in time
+     * @throws ChatException if the thread is interrupted while waiting
+     */
+    public Permit tryAcquire(int estimatedTokens, long timeout, TimeUnit unit) {
+        long timeoutNanos = unit.toNanos(timeout);
+        Permit permit = new Permit(estimatedTokens);
+        synchronized (this) {
+            long now = ticker.getAsLong();
+            if (timeoutNanos == 0) {
+                if ((requests != null && !requests.canTake(1, now))
+                        || (tokens != null && !tokens.canTake(estimatedTokens, now))) {
+                    return null;
+                }
+            }
+            long waitNanos = take(permit, now);
+            if (waitNanos > timeoutNanos) {
+                refund(permit, true, now);
+                return null;
+            }
+            if (waitNanos == 0) {
+                acquired.increment();
+                return permit;
+            }
+        }
+        // Quota is reserved; wait outside the lock
+        return acquireReserved(permit);
+    }
+
+    /**
+     * Acquires a permit without blocking. The returned future completes on the
+     * {@link SharedScheduler} once quota is available; cancelling it gives the
+     * reservation back.
+     *
+     * @param estimatedTokens the tokens to charge up front
+     * @return a future completed with the permit
+     */
+    public CompletableFuture<Permit> acquireAsync(int estimatedTokens) {
+        Permit permit = new Permit(estimatedTokens);
+        long waitNanos = reserve(permit);
+        CompletableFuture<Permit> future = new CompletableFuture<>();
+        if (waitNanos == 0) {
+            future.complete(permit);
+            return future;
+        }
+        ScheduledFuture<?> task = scheduler.schedule(() -> future.complete(permit), waitNanos, TimeUnit.NANOSECONDS);
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(false);
+                permit.abandon();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Acquires a permit asynchronously and then runs an asynchronous action.
+     *
+     * <p>If the action fails, the permit's tokens are released. On success the
+     * caller is expected to reconcile the permit with the actual usage.
+     * Cancelling the returned future cancels the wait or the action.</p>
+     *
+     * @param estimatedTokens the tokens to charge up front
+     * @param action          starts the rate-limited work
+     * @param <T>             the result type
+     * @return a future completed with the action's result
+     */
+    public <T> CompletableFuture<T> executeAsync(int estimatedTokens,
+                                                 Function<Permit, CompletableFuture<T>> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Permit> permitFuture = acquireAsync(estimatedTokens);
+        FutureUtil.propagateCancellation(result, permitFuture);
+        permitFuture.whenComplete((permit, error) -> {
+            if (error != null) {
+                result.completeExceptionally(FutureUtil.unwrapCause(error));
+                return;
+            }
+            if (result.isDone()) {
+                permit.abandon();
+                return;
+            }
+            CompletableFuture<T> work;
+            try {
+                work = action.apply(permit);
+            } catch (RuntimeException e) {
+                permit.release();
+                result.completeExceptionally(e);
+                return;
+            }
+            FutureUtil.propagateCancellation(result, work);
+            work.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    permit.release();
+                    result.completeExceptionally(FutureUtil.unwrapCause(failure));
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Returns the quota enforced by this limiter.
+     *
+     * @return the quota
+     */
+    public RateLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the requests that could be sent right now without waiting.
+     *
+     * @return the available requests, negative while callers are queued, or
+     *         {@link Double#POSITIVE_INFINITY} if requests are not limited
+     */
+    public synchronized double getAvailableRequests() {
+        return requests != null ? requests.available(ticker.getAsLong()) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the tokens that could be charged right now without waiting.
+     *
+     * @return the available tokens, negative while callers are queued, or
+     *         {@link Double#POSITIVE_INFINITY} if tokens are not limited
+     */
+    public synchronized double getAvailableTokens() {
+        return tokens != null ? tokens.available(ticker.getAsLong()) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of permits granted.
+     *
+     * @return the acquired count
+     */
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * Returns the number of permits that had to wait for quota.
+     *
+     * @return the delayed count
+     */
+    public long getDelayedCount() {
+        return delayed.sum();
+    }
+
+    // ==================== Internal ====================
+
+    private Permit acquireReserved(Permit permit) {
+        long waitNanos;
+        synchronized (this) {
+            waitNanos = permit.readyAtNanos - ticker.getAsLong();
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                permit.abandon();
+                Thread.currentThread().interrupt();
+                throw new ChatException("Interrupted while waiting for rate limit", e);
+            }
+        }
+        acquired.increment();
+        delayed.increment();
+        return permit;
+    }
+
+    private synchronized long reserve(Permit permit) {
+        long waitNanos = take(permit, ticker.getAsLong());
+        acquired.increment();
+        if (waitNanos > 0) {
+            delayed.increment();
+        }
+        return waitNanos;
+    }
+
+    private long take(Permit permit, long now) {
+        long waitNanos = 0;
+        if (requests != null) {
+            waitNanos = requests.take(1, now);
+        }
+        if (tokens != null) {
+            waitNanos = Math.max(waitNanos, tokens.take(permit.tokens, now));
+        }
+        permit.readyAtNanos = now + waitNanos;
+        return waitNanos;
+    }
+
+    private void refund(Permit permit, boolean includeRequest, long now) {
+        if (includeRequest && requests != null) {
+            requests.refund(1, now);
+        }
+        if (tokens != null) {
+            tokens.refund(permit.tokens, now);
+        }
+    }
+
+    /**
+     * Quota reserved for one request.
+     */
+    public final class Permit {
+
+        private int tokens;
+        private long readyAtNanos;
+        private boolean released;
+
+        private Permit(int tokens) {
+            this.tokens = Math.max(0, tokens);
+        }
+
+        /**
+         * Returns the tokens currently charged for this permit.
+         *
+         * @return the charged tokens
+         */
+        public int getTokens() {
+            synchronized (RateLimiter.this) {
+                return tokens;
+            }
+        }
+
+        /**
+         * Corrects the charge to the actual number of tokens used. Extra usage
+         * is taken from the bucket (delaying later callers); unused tokens are
+         * returned.
+         *
+         * @param actualTokens the tokens actually used
+         */
+        public void reconcile(int actualTokens) {
+            synchronized (RateLimiter.this) {
+                if (released || RateLimiter.this.tokens == null) {
+                    return;
+                }
+                int delta = Math.max(0, actualTokens) - tokens;
+                long now = ticker.getAsLong();
+                if (delta > 0) {
+                    RateLimiter.this.tokens.take(delta, now);
+                } else if (delta < 0) {
+                    RateLimiter.this.tokens.refund(-delta, now);
+                }
+                tokens = Math.max(0, actualTokens);
+            }
+        }
+
+        /**
+         * Corrects the charge to the total tokens reported by the provider.
+         * Does nothing if usage is null.
+         *
+         * @param usage the reported usage
+         */
+        public void reconcile(ChatResponse.Usage usage) {
+            if (usage != null) {
+                reconcile(usage.getTotalTokens());
+            }
+        }
+
+        /**
+         * Returns the charged tokens to the bucket, for example when the request
+         * failed before the provider processed it. The request itself stays
+         * charged.
+         */
+        public void release() {
+            synchronized (RateLimiter.this) {
+                if (!released) {
+                    released = true;
+                    refund(this, false, ticker.getAsLong());
+                }
+            }
+        }
+
+        /**
+         * Gives back the whole reservation when the request is never sent.
+         */
+        void abandon() {
+            synchronized (RateLimiter.this) {
+                if (!released) {
+                    released = true;
+                    refund(this, true, ticker.getAsLong());
+                }
+            }
+        }
+    }
+}
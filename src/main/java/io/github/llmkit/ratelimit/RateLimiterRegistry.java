@@ -0,0 +1,111 @@
+package io.github.llmkit.ratelimit;
+
+import io.github.llmkit.core.config.ChatConfig;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of {@link RateLimiter}s, one per provider endpoint,
+ * API key and model.
+ *
+ * <p>Chat models look up their limiter here, once per model name, so all
+ * model instances that share an API key and model also share its quota.
+ * Limits come from {@link ChatConfig#getRateLimit(String)}.</p>
+ *
+ * <p>Limiters are keyed on the provider, endpoint, API key and model only,
+ * not on the limits: the quota belongs to the key, and separate buckets would
+ * let two configurations spend it twice. When configurations disagree on the
+ * limits for the same key and model, the limits of the first one to request
+ * the limiter apply to all of them.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class RateLimiterRegistry {
+
+    private static final ConcurrentMap<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private RateLimiterRegistry() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the limiter for a configuration and model.
+     *
+     * @param config the chat configuration
+     * @param model  the model the request is sent to
+     * @return the shared limiter, or null if the model is not rate limited
+     */
+    public static RateLimiter getLimiter(ChatConfig config, String model) {
+        RateLimit limit = config.getRateLimit(model);
+        if (limit == null || limit.isUnlimited()) {
+            return null;
+        }
+        return getLimiter(ownerKey(config), model, limit);
+    }
+
+    /**
+     * Returns the limiter for an owner key and model, creating it with the
+     * given limit if it does not exist yet.
+     *
+     * @param ownerKey the key returned by {@link #ownerKey(ChatConfig)}
+     * @param model    the model the request is sent to
+     * @param limit    the limit to apply if the limiter is created
+     * @return the shared limiter
+     */
+    public static RateLimiter getLimiter(String ownerKey, String model, RateLimit limit) {
+        return LIMITERS.computeIfAbsent(ownerKey + "/" + model, name -> RateLimiter.of(limit));
+    }
+
+    /**
+     * Returns the part of a limiter key that identifies the provider endpoint
+     * and API key. Computing it hashes the API key, so callers that look up
+     * limiters repeatedly should compute it once per configuration.
+     *
+     * @param config the chat configuration
+     * @return the owner key, which does not contain the API key itself
+     */
+    public static String ownerKey(ChatConfig config) {
+        String apiKey = config.getApiKey();
+        String keyId = apiKey != null ? keyId(apiKey) : "none";
+        return config.getProvider() + "@" + config.getEndpoint() + "#" + keyId;
+    }
+
+    /**
+     * Returns all limiters created so far, keyed by a description that does not
+     * include the API key itself.
+     *
+     * @return an unmodifiable view of the limiters
+     */
+    public static Map<String, RateLimiter> getLimiters() {
+        return Collections.unmodifiableMap(LIMITERS);
+    }
+
+    /**
+     * Removes all limiters. Mainly useful for testing.
+     */
+    public static void reset() {
+        LIMITERS.clear();
+    }
+
+    /**
+     * Identifies an API key without keeping it in the map key: the first 64
+     * bits of its SHA-256 digest, so distinct keys do not share a bucket.
+     */
+    static String keyId(String apiKey) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        return String.format("%016x", ByteBuffer.wrap(hash).getLong());
+    }
+}
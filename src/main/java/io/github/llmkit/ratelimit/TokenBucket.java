@@ -0,0 +1,69 @@
+package io.github.llmkit.ratelimit;
+
+/**
+ * Token bucket that refills continuously at a fixed rate.
+ *
+ * <p>The balance may go negative: a reservation always succeeds and the caller
+ * waits until the debt is repaid, which queues reservations in arrival order.
+ * Not thread-safe; {@link RateLimiter} guards its buckets with a lock.</p>
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double permitsPerNano;
+    private double available;
+    private long lastRefillNanos;
+
+    TokenBucket(long capacity, double permitsPerNano, long nowNanos) {
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerNano;
+        this.available = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Returns true if {@code permits} could be taken without waiting. Requests
+     * larger than the capacity only need a full bucket.
+     */
+    boolean canTake(long permits, long nowNanos) {
+        refill(nowNanos);
+        return available >= Math.min(permits, capacity);
+    }
+
+    /**
+     * Takes permits, possibly going into debt.
+     *
+     * @return nanoseconds until the balance is no longer negative
+     */
+    long take(long permits, long nowNanos) {
+        refill(nowNanos);
+        available -= permits;
+        return waitNanos();
+    }
+
+    /**
+     * Returns permits to the bucket, e.g. when a reservation is abandoned or
+     * the actual cost was lower than estimated.
+     */
+    void refund(long permits, long nowNanos) {
+        refill(nowNanos);
+        available = Math.min(capacity, available + permits);
+    }
+
+    double available(long nowNanos) {
+        refill(nowNanos);
+        return available;
+    }
+
+    private long waitNanos() {
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            available = Math.min(capacity, available + elapsed * permitsPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.llmkit.ratelimit;
+
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.message.Message;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.tokenizer.Tokenizer;
+
+/**
+ * Estimates how many tokens a request will be charged against a
+ * tokens-per-minute quota before it is sent.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+
+    /**
+     * Heuristic estimator: about four characters per token plus a small
+     * per-message overhead, plus {@code maxTokens} when set, since providers
+     * reserve the completion budget against the quota as well.
+     */
+    TokenEstimator DEFAULT = (prompt, options) -> {
+        long chars = 0;
+        for (Message message : prompt.getMessages()) {
+            chars += message.getContent() != null ? message.getContent().length() : 0;
+        }
+        long tokens = (chars + 3) / 4 + 4L * prompt.size() + 3;
+        if (options != null && options.getMaxTokens() != null) {
+            tokens += options.getMaxTokens();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, tokens);
+    };
+
+    /**
+     * Creates an estimator that counts prompt tokens exactly with a
+     * tokenizer, plus {@code maxTokens} when set.
+     *
+     * @param tokenizer the tokenizer matching the model
+     * @return the estimator
+     */
+    static TokenEstimator of(Tokenizer tokenizer) {
+        if (tokenizer == null) {
+            throw new IllegalArgumentException("tokenizer must not be null");
+        }
+        return (prompt, options) -> {
+            long tokens = tokenizer.countTokens(prompt);
+            if (options != null && options.getMaxTokens() != null) {
+                tokens += options.getMaxTokens();
+            }
+            return (int) Math.min(Integer.MAX_VALUE, tokens);
+        };
+    }
+
+    /**
+     * Estimates the tokens charged for a request.
+     *
+     * @param prompt  the prompt
+     * @param options the chat options, may be null
+     * @return the estimated token count
+     */
+    int estimate(Prompt prompt, ChatOptions options);
+}
@@ -0,0 +1,418 @@
+package io.github.llmkit.resilience;
+
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.util.FutureUtil;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker that sheds load from a failing or slow
+ * provider.
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED} - calls go through and their outcomes are
+ *       recorded in a sliding window of the last calls. When the failure or
+ *       slow call rate reaches its threshold, the breaker opens.</li>
+ *   <li>{@link State#OPEN} - calls are rejected immediately with a
+ *       {@link CircuitBreakerOpenException}, without touching the provider.
+ *       After {@code openDurationMs} the breaker becomes half-open.</li>
+ *   <li>{@link State#HALF_OPEN} - a limited number of probe calls go
+ *       through, others are rejected. Once every probe has completed, the
+ *       breaker closes if their rates are below the thresholds and opens
+ *       again otherwise.</li>
+ * </ul>
+ *
+ * <p>Checking a closed breaker reads a single volatile field, and so does
+ * rejecting a call while the breaker is open, so a degraded provider costs
+ * callers microseconds instead of a read timeout. Outcomes are recorded under
+ * a lock held for a few field updates. Outcomes of calls admitted before the
+ * last state change are ignored, and cancelled calls are not recorded.</p>
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.of("openai", CircuitBreakerConfig.DEFAULT);
+ * breaker.addListener((cb, from, to) -> log.warn("{}: {} -> {}", cb.getName(), from, to));
+ * ChatResponse response = breaker.execute(() -> model.call(prompt));
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see CircuitBreakerChatModel
+ */
+public final class CircuitBreaker {
+
+    /**
+     * States of a circuit breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Receives state changes of a circuit breaker.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after the breaker changed state, on the thread that caused
+         * the change. Exceptions thrown by the listener are ignored.
+         *
+         * @param breaker the circuit breaker
+         * @param from    the previous state
+         * @param to      the new state
+         */
+        void onStateChange(CircuitBreaker breaker, State from, State to);
+    }
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final LongSupplier ticker;
+    private final long openNanos;
+    private final long slowNanos;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** The current state; also the permit handed to the calls it admits. */
+    private volatile Phase phase;
+
+    /** Outcomes of the last calls while closed, as OUTCOME_* bits; guarded by this. */
+    private final byte[] window;
+    private int windowSize;
+    private int windowNext;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    /** Probe accounting while half-open; guarded by this. */
+    private int probesAdmitted;
+    private int probesCompleted;
+    private int probeFailures;
+    private int probeSlowCalls;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private static final byte OUTCOME_FAILURE = 1;
+    private static final byte OUTCOME_SLOW = 2;
+
+    CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier ticker) {
+        this.name = name;
+        this.config = config;
+        this.ticker = ticker;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMs());
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMs());
+        this.window = new byte[config.getSlidingWindowSize()];
+        this.phase = new Phase(State.CLOSED, ticker.getAsLong());
+    }
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param name   the name, used in exceptions and by listeners
+     * @param config the configuration
+     * @return a closed circuit breaker
+     */
+    public static CircuitBreaker of(String name, CircuitBreakerConfig config) {
+        if (name == null || config == null) {
+            throw new IllegalArgumentException("name and config must not be null");
+        }
+        return new CircuitBreaker(name, config, System::nanoTime);
+    }
+
+    /**
+     * Runs a call through the breaker.
+     *
+     * @param call the call
+     * @param <T>  the result type
+     * @return the result of the call
+     * @throws CircuitBreakerOpenException if the breaker rejects the call
+     */
+    public <T> T execute(Supplier<T> call) {
+        Phase permit = acquire();
+        long start = ticker.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            record(permit, ticker.getAsLong() - start, e);
+            throw e;
+        }
+        record(permit, ticker.getAsLong() - start, null);
+        return result;
+    }
+
+    /**
+     * Runs an asynchronous call through the breaker. The outcome is recorded
+     * when the returned future completes.
+     *
+     * @param call the call
+     * @param <T>  the result type
+     * @return the future of the call, or a future failed with
+     *         {@link CircuitBreakerOpenException} if the breaker rejects it,
+     *         or with whatever the call threw
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        Phase permit;
+        try {
+            permit = acquire();
+        } catch (CircuitBreakerOpenException e) {
+            CompletableFuture<T> rejection = new CompletableFuture<>();
+            rejection.completeExceptionally(e);
+            return rejection;
+        }
+        long start = ticker.getAsLong();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException | Error e) {
+            record(permit, ticker.getAsLong() - start, e);
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        future.whenComplete((result, error) -> record(permit, ticker.getAsLong() - start, error));
+        return future;
+    }
+
+    /**
+     * Admits a call or rejects it.
+     *
+     * @return the permit to pass to {@link #record}
+     * @throws CircuitBreakerOpenException if the call is rejected
+     */
+    Phase acquire() {
+        Phase current = phase;
+        if (current.state == State.CLOSED) {
+            return current;
+        }
+        long now = ticker.getAsLong();
+        if (current.state == State.OPEN && now - current.since < openNanos) {
+            throw reject(current, now);
+        }
+
+        Phase from = null;
+        Phase permit = null;
+        synchronized (this) {
+            current = phase;
+            if (current.state == State.OPEN && now - current.since >= openNanos) {
+                from = current;
+                current = transition(State.HALF_OPEN, now);
+            }
+            if (current.state == State.CLOSED) {
+                permit = current;
+            } else if (current.state == State.HALF_OPEN && probesAdmitted < config.getHalfOpenCalls()) {
+                probesAdmitted++;
+                permit = current;
+            }
+        }
+        if (from != null) {
+            fire(from.state, State.HALF_OPEN);
+        }
+        if (permit == null) {
+            throw reject(current, now);
+        }
+        return permit;
+    }
+
+    /**
+     * Records the outcome of an admitted call.
+     *
+     * @param permit        the permit returned by {@link #acquire()}
+     * @param durationNanos the duration of the call, or its time to first output
+     * @param failure       the failure, or null if the call succeeded
+     */
+    void record(Phase permit, long durationNanos, Throwable failure) {
+        if (permit != phase) {
+            return;
+        }
+        boolean cancelled = FutureUtil.unwrapCause(failure) instanceof CancellationException;
+        boolean failed = failure != null && !cancelled && config.isFailure(failure);
+        boolean slow = !cancelled && durationNanos >= slowNanos;
+
+        Phase from = null;
+        Phase to = null;
+        synchronized (this) {
+            if (permit != phase) {
+                return;
+            }
+            long now = ticker.getAsLong();
+            if (permit.state == State.CLOSED) {
+                if (cancelled) {
+                    return;
+                }
+                add((byte) ((failed ? OUTCOME_FAILURE : 0) | (slow ? OUTCOME_SLOW : 0)));
+                if (windowSize >= Math.min(config.getMinimumCalls(), window.length)
+                        && exceeds(windowFailures, windowSlowCalls, windowSize)) {
+                    from = permit;
+                    to = transition(State.OPEN, now);
+                }
+            } else if (permit.state == State.HALF_OPEN) {
+                if (cancelled) {
+                    probesAdmitted--;
+                    return;
+                }
+                probesCompleted++;
+                probeFailures += failed ? 1 : 0;
+                probeSlowCalls += slow ? 1 : 0;
+                if (probesCompleted >= config.getHalfOpenCalls()) {
+                    from = permit;
+                    to = transition(exceeds(probeFailures, probeSlowCalls, probesCompleted)
+                            ? State.OPEN : State.CLOSED, now);
+                }
+            }
+        }
+        if (to != null) {
+            fire(from.state, to.state);
+        }
+    }
+
+    /**
+     * Adds a listener for state changes.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the current state. An open breaker whose open duration has
+     * elapsed reports {@link State#OPEN} until the next call probes it.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return phase.state;
+    }
+
+    /**
+     * Returns the failure rate over the sliding window.
+     *
+     * @return the rate in percent, or -1 if fewer than {@code minimumCalls}
+     *         calls have been recorded since the breaker last closed
+     */
+    public synchronized float getFailureRate() {
+        return windowSize >= Math.min(config.getMinimumCalls(), window.length)
+                ? windowFailures * 100f / windowSize : -1;
+    }
+
+    /**
+     * Returns the slow call rate over the sliding window.
+     *
+     * @return the rate in percent, or -1 if fewer than {@code minimumCalls}
+     *         calls have been recorded since the breaker last closed
+     */
+    public synchronized float getSlowCallRate() {
+        return windowSize >= Math.min(config.getMinimumCalls(), window.length)
+                ? windowSlowCalls * 100f / windowSize : -1;
+    }
+
+    /**
+     * Returns the number of calls rejected without being sent.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void add(byte outcome) {
+        if (windowSize == window.length) {
+            byte evicted = window[windowNext];
+            windowFailures -= evicted & OUTCOME_FAILURE;
+            windowSlowCalls -= (evicted & OUTCOME_SLOW) >> 1;
+        } else {
+            windowSize++;
+        }
+        window[windowNext] = outcome;
+        windowFailures += outcome & OUTCOME_FAILURE;
+        windowSlowCalls += (outcome & OUTCOME_SLOW) >> 1;
+        windowNext = windowNext + 1 == window.length ? 0 : windowNext + 1;
+    }
+
+    private boolean exceeds(int failures, int slowCalls, int calls) {
+        return failures * 100f >= config.getFailureRateThreshold() * calls
+                || slowCalls * 100f >= config.getSlowCallRateThreshold() * calls;
+    }
+
+    /**
+     * Switches to a new state; must hold the lock.
+     */
+    private Phase transition(State to, long now) {
+        if (to == State.CLOSED) {
+            windowSize = 0;
+            windowNext = 0;
+            windowFailures = 0;
+            windowSlowCalls = 0;
+        } else if (to == State.HALF_OPEN) {
+            probesAdmitted = 0;
+            probesCompleted = 0;
+            probeFailures = 0;
+            probeSlowCalls = 0;
+        }
+        Phase next = new Phase(to, now);
+        phase = next;
+        return next;
+    }
+
+    private CircuitBreakerOpenException reject(Phase current, long now) {
+        rejected.increment();
+        long remainingNanos = current.state == State.OPEN ? openNanos - (now - current.since) : 0;
+        return new CircuitBreakerOpenException(name, TimeUnit.NANOSECONDS.toMillis(Math.max(0, remainingNanos)));
+    }
+
+    private void fire(State from, State to) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onStateChange(this, from, to);
+            } catch (RuntimeException e) {
+                // A failing listener must not break the calls that trigger it
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{name='" + name + "', state=" + phase.state + '}';
+    }
+
+    /**
+     * A state and when it was entered. A new instance is created on every
+     * transition, so comparing identities tells whether a permit is stale.
+     */
+    static final class Phase {
+        final State state;
+        final long since;
+
+        Phase(State state, long since) {
+            this.state = state;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package io.github.llmkit.resilience;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ChatModel} decorator that guards a provider endpoint with one
+ * {@link CircuitBreaker} per model.
+ *
+ * <p>Requests are counted against the breaker of the model named in their
+ * {@link ChatOptions}, or of the endpoint's
+ * {@linkplain ChatModel#getDefaultModel() default model}, so one model
+ * degrading does not shed the traffic of another, while requests that name the
+ * default model and requests that leave it out share one breaker. At most
+ * {@link Builder#maxModels(int) maxModels} breakers are kept per endpoint;
+ * requests for further models share one overflow breaker named
+ * {@code name/*}. Wrap every endpoint to get a breaker per endpoint and
+ * model:</p>
+ *
+ * <pre>{@code
+ * ChatModel model = CircuitBreakerChatModel.builder(new OpenAIChatModel(config))
+ *     .name("openai")
+ *     .config(CircuitBreakerConfig.builder().slowCallDurationMs(20_000).slowCallRateThreshold(80).build())
+ *     .listener((breaker, from, to) -> log.warn("{}: {} -> {}", breaker.getName(), from, to))
+ *     .build();
+ * }</pre>
+ *
+ * <p>While a breaker is open, requests fail immediately with a
+ * {@link CircuitBreakerOpenException}. Streams are timed to their first delta,
+ * so a long answer is not mistaken for a slow provider.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class CircuitBreakerChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final List<CircuitBreaker.Listener> listeners;
+    private final LongSupplier ticker;
+    private final int maxModels;
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private volatile CircuitBreaker overflow;
+
+    private CircuitBreakerChatModel(Builder builder) {
+        this.delegate = builder.delegate;
+        this.name = builder.name;
+        this.config = builder.config;
+        this.listeners = new ArrayList<>(builder.listeners);
+        this.ticker = builder.ticker;
+        this.maxModels = builder.maxModels;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param delegate the model to guard
+     * @return a new builder
+     */
+    public static Builder builder(ChatModel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        Guard guard = new Guard(getCircuitBreaker(options));
+        ChatResponse response;
+        try {
+            response = delegate.call(prompt, options);
+        } catch (RuntimeException | Error e) {
+            guard.complete(e);
+            throw e;
+        }
+        guard.complete(null);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        return guardAsync(options, guard -> delegate.callAsync(prompt, options));
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        Guard guard = new Guard(getCircuitBreaker(options));
+        try {
+            delegate.stream(prompt, guard.tracking(onDelta), options);
+        } catch (RuntimeException | Error e) {
+            guard.complete(e);
+            throw e;
+        }
+        guard.complete(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        return guardAsync(options, guard -> delegate.streamAsync(prompt, guard.tracking(onDelta), options));
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        return guardAsync(options, guard -> delegate.streamDeltasAsync(prompt, guard.tracking(onDelta), options));
+    }
+
+    @Override
+    public String getDefaultModel() {
+        return delegate.getDefaultModel();
+    }
+
+    @Override
+    public String getEndpointUrl() {
+        return delegate.getEndpointUrl();
+    }
+
+    /**
+     * Returns the circuit breaker that guards requests with the given options,
+     * creating it on first use.
+     *
+     * @param options the chat options, may be null
+     * @return the circuit breaker of the requested model
+     */
+    public CircuitBreaker getCircuitBreaker(ChatOptions options) {
+        String defaultModel = delegate.getDefaultModel();
+        String model = options != null ? options.getModelOrDefault(defaultModel) : defaultModel;
+        if (model == null) {
+            model = "";
+        }
+        CircuitBreaker breaker = breakers.get(model);
+        if (breaker != null) {
+            return breaker;
+        }
+        if (breakers.size() >= maxModels) {
+            return overflowBreaker();
+        }
+        return breakers.computeIfAbsent(model, key -> newBreaker(key.isEmpty() ? name : name + "/" + key));
+    }
+
+    private CircuitBreaker overflowBreaker() {
+        CircuitBreaker breaker = overflow;
+        if (breaker == null) {
+            synchronized (this) {
+                breaker = overflow;
+                if (breaker == null) {
+                    breaker = newBreaker(name + "/*");
+                    overflow = breaker;
+                }
+            }
+        }
+        return breaker;
+    }
+
+    private CircuitBreaker newBreaker(String breakerName) {
+        CircuitBreaker breaker = new CircuitBreaker(breakerName, config, ticker);
+        for (CircuitBreaker.Listener listener : listeners) {
+            breaker.addListener(listener);
+        }
+        return breaker;
+    }
+
+    /**
+     * Returns the circuit breakers created so far.
+     *
+     * @return the circuit breakers
+     */
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        CircuitBreaker breaker = overflow;
+        if (breaker == null) {
+            return Collections.unmodifiableCollection(breakers.values());
+        }
+        List<CircuitBreaker> all = new ArrayList<>(breakers.values());
+        all.add(breaker);
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Returns the wrapped model.
+     *
+     * @return the delegate
+     */
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    private <T> CompletableFuture<T> guardAsync(ChatOptions options,
+                                                Function<Guard, CompletableFuture<T>> request) {
+        Guard guard;
+        try {
+            guard = new Guard(getCircuitBreaker(options));
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+        CompletableFuture<T> response;
+        try {
+            response = request.apply(guard);
+        } catch (RuntimeException | Error e) {
+            guard.complete(e);
+            return failed(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        response.whenComplete((value, error) -> {
+            guard.complete(error);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+        FutureUtil.propagateCancellation(result, response);
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure) {
+        CompletableFuture<T> failed = new CompletableFuture<>();
+        failed.completeExceptionally(failure);
+        return failed;
+    }
+
+    /**
+     * One admitted request.
+     */
+    private final class Guard {
+        private final CircuitBreaker breaker;
+        private final CircuitBreaker.Phase permit;
+        private final long start;
+        private volatile long firstOutput;
+
+        Guard(CircuitBreaker breaker) {
+            this.breaker = breaker;
+            this.permit = breaker.acquire();
+            this.start = ticker.getAsLong();
+        }
+
+        <D> Consumer<D> tracking(Consumer<D> onDelta) {
+            return delta -> {
+                if (firstOutput == 0) {
+                    firstOutput = Math.max(1, ticker.getAsLong() - start);
+                }
+                onDelta.accept(delta);
+            };
+        }
+
+        void complete(Throwable failure) {
+            long duration = firstOutput != 0 ? firstOutput : ticker.getAsLong() - start;
+            breaker.record(permit, duration, failure);
+        }
+    }
+
+    /**
+     * Builder for {@link CircuitBreakerChatModel}.
+     */
+    public static class Builder {
+
+        private final ChatModel delegate;
+        private String name = "chat";
+        private CircuitBreakerConfig config = CircuitBreakerConfig.DEFAULT;
+        private final List<CircuitBreaker.Listener> listeners = new ArrayList<>();
+        private LongSupplier ticker = System::nanoTime;
+        private int maxModels = 32;
+
+        private Builder(ChatModel delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("delegate must not be null");
+            }
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the name of the guarded endpoint; breakers are named
+         * {@code name/model}. Default {@code "chat"}.
+         *
+         * @param name the endpoint name
+         * @return this builder
+         */
+        public Builder name(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name must not be null");
+            }
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the configuration of every breaker.
+         *
+         * @param config the configuration
+         * @return this builder
+         */
+        public Builder config(CircuitBreakerConfig config) {
+            if (config == null) {
+                throw new IllegalArgumentException("config must not be null");
+            }
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Adds a listener to every breaker.
+         *
+         * @param listener the listener
+         * @return this builder
+         */
+        public Builder listener(CircuitBreaker.Listener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("listener must not be null");
+            }
+            listeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Sets how many models get a breaker of their own. Requests for
+         * further models share one overflow breaker, so caller-supplied model
+         * names cannot grow the breaker map without bound. Default 32.
+         *
+         * @param maxModels the maximum number of per-model breakers
+         * @return this builder
+         */
+        public Builder maxModels(int maxModels) {
+            if (maxModels < 1) {
+                throw new IllegalArgumentException("maxModels must be at least 1");
+            }
+            this.maxModels = maxModels;
+            return this;
+        }
+
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Builds the model.
+         *
+         * @return a new guarded model
+         */
+        public CircuitBreakerChatModel build() {
+            return new CircuitBreakerChatModel(this);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package io.github.llmkit.resilience;
+
+import io.github.llmkit.util.RetryPolicy;
+
+import java.util.function.Predicate;
+
+/**
+ * Immutable settings of a {@link CircuitBreaker}.
+ *
+ * <p>The breaker opens when, over the last {@code slidingWindowSize} calls
+ * and once at least {@code minimumCalls} have been recorded, the share of
+ * failed calls reaches {@code failureRateThreshold} percent or the share of
+ * calls slower than {@code slowCallDurationMs} reaches
+ * {@code slowCallRateThreshold} percent. It then rejects requests for
+ * {@code openDurationMs} before letting {@code halfOpenCalls} probes
+ * through.</p>
+ *
+ * <p>By default only failures that {@link RetryPolicy#isTransient(Throwable)}
+ * classifies as transient count as failures: server errors, rate limiting,
+ * timeouts and connection failures. Other failures, such as an invalid
+ * request, show that the provider is responding and count as successes.</p>
+ *
+ * <pre>{@code
+ * CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+ *     .failureRateThreshold(50)
+ *     .slowCallDurationMs(20_000)
+ *     .slowCallRateThreshold(80)
+ *     .openDurationMs(15_000)
+ *     .build();
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class CircuitBreakerConfig {
+
+    /**
+     * Opens at 50% failures or when every call takes 30 seconds or more,
+     * over the last 50 calls with at least 10 recorded; stays open 30 seconds
+     * and probes with 3 calls.
+     */
+    public static final CircuitBreakerConfig DEFAULT = builder().build();
+
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationMs;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> recordFailure;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationMs = builder.slowCallDurationMs;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.openDurationMs = builder.openDurationMs;
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.recordFailure = builder.recordFailure;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMs() {
+        return slowCallDurationMs;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * Returns true if the failure counts against the provider.
+     *
+     * @param failure the failure
+     * @return true to record it as a failure
+     */
+    public boolean isFailure(Throwable failure) {
+        return recordFailure.test(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerConfig{" +
+                "failureRateThreshold=" + failureRateThreshold +
+                ", slowCallRateThreshold=" + slowCallRateThreshold +
+                ", slowCallDurationMs=" + slowCallDurationMs +
+                ", slidingWindowSize=" + slidingWindowSize +
+                ", minimumCalls=" + minimumCalls +
+                ", openDurationMs=" + openDurationMs +
+                ", halfOpenCalls=" + halfOpenCalls +
+                '}';
+    }
+
+    /**
+     * Builder for {@link CircuitBreakerConfig}.
+     */
+    public static final class Builder {
+
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private long slowCallDurationMs = 30_000;
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 10;
+        private long openDurationMs = 30_000;
+        private int halfOpenCalls = 3;
+        private Predicate<Throwable> recordFailure = RetryPolicy::isTransient;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the failure rate, in percent, at which the breaker opens.
+         *
+         * @param percent a value in (0, 100]
+         * @return this builder
+         */
+        public Builder failureRateThreshold(float percent) {
+            this.failureRateThreshold = checkPercent(percent, "failureRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the slow call rate, in percent, at which the breaker opens.
+         *
+         * @param percent a value in (0, 100]
+         * @return this builder
+         */
+        public Builder slowCallRateThreshold(float percent) {
+            this.slowCallRateThreshold = checkPercent(percent, "slowCallRateThreshold");
+            return this;
+        }
+
+        /**
+         * Sets the duration from which a call counts as slow. For streams the
+         * time to the first delta is measured.
+         *
+         * @param slowCallDurationMs the duration in milliseconds
+         * @return this builder
+         */
+        public Builder slowCallDurationMs(long slowCallDurationMs) {
+            if (slowCallDurationMs <= 0) {
+                throw new IllegalArgumentException("slowCallDurationMs must be positive");
+            }
+            this.slowCallDurationMs = slowCallDurationMs;
+            return this;
+        }
+
+        /**
+         * Sets the number of most recent calls the rates are computed over.
+         *
+         * @param slidingWindowSize the window size
+         * @return this builder
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            if (slidingWindowSize <= 0) {
+                throw new IllegalArgumentException("slidingWindowSize must be positive");
+            }
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls that must be recorded before the rates are
+         * evaluated. Capped at the window size.
+         *
+         * @param minimumCalls the minimum number of calls
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("minimumCalls must be positive");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets how long the breaker rejects requests before probing.
+         *
+         * @param openDurationMs the duration in milliseconds
+         * @return this builder
+         */
+        public Builder openDurationMs(long openDurationMs) {
+            if (openDurationMs < 0) {
+                throw new IllegalArgumentException("openDurationMs must not be negative");
+            }
+            this.openDurationMs = openDurationMs;
+            return this;
+        }
+
+        /**
+         * Sets the number of probe calls let through in the half-open state.
+         *
+         * @param halfOpenCalls the number of probes
+         * @return this builder
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("halfOpenCalls must be positive");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * Sets which failures count against the provider. Default
+         * {@link RetryPolicy#isTransient(Throwable)}.
+         *
+         * @param recordFailure the classification
+         * @return this builder
+         */
+        public Builder recordFailure(Predicate<Throwable> recordFailure) {
+            if (recordFailure == null) {
+                throw new IllegalArgumentException("recordFailure must not be null");
+            }
+            this.recordFailure = recordFailure;
+            return this;
+        }
+
+        /**
+         * Builds the configuration.
+         *
+         * @return the configuration
+         */
+        public CircuitBreakerConfig build() {
+            return new CircuitBreakerConfig(this);
+        }
+
+        private static float checkPercent(float percent, String name) {
+            if (!(percent > 0 && percent <= 100)) {
+                throw new IllegalArgumentException(name + " must be in (0, 100]");
+            }
+            return percent;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.llmkit.routing;
+
+import io.github.llmkit.api.ChatModel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * One deployment behind a {@link LoadBalancedChatModel}, typically a model
+ * configured with its own endpoint URL and API key, and its live statistics.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class Endpoint {
+
+    /** Weight of the newest sample in the latency average. */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final int index;
+    private final String name;
+    private final ChatModel model;
+    private final LongSupplier ticker;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    /** Latency average in nanoseconds, 0 until the first sample. */
+    private final AtomicLong latencyNanos = new AtomicLong();
+    private volatile long ejectedUntil;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+
+    Endpoint(int index, String name, ChatModel model, LongSupplier ticker) {
+        this.index = index;
+        this.name = name;
+        this.model = model;
+        this.ticker = ticker;
+        this.ejectedUntil = ticker.getAsLong();
+    }
+
+    int index() {
+        return index;
+    }
+
+    ChatModel model() {
+        return model;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of requests currently in flight on this endpoint.
+     *
+     * @return the outstanding request count
+     */
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of the latency: the
+     * full duration of calls, and the time to the first delta of streams.
+     *
+     * @return the average in milliseconds, 0 before the first request completes
+     */
+    public double getLatencyMs() {
+        return latencyNanos.get() / 1_000_000.0;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns how many times this endpoint has been ejected.
+     *
+     * @return the ejection count
+     */
+    public long getEjectionCount() {
+        return ejections.sum();
+    }
+
+    /**
+     * Returns true while the endpoint is ejected after a 429 or 5xx response.
+     *
+     * @return true if ejected
+     */
+    public boolean isEjected() {
+        return isEjected(ticker.getAsLong());
+    }
+
+    boolean isEjected(long now) {
+        return now - ejectedUntil < 0;
+    }
+
+    long ejectedUntil() {
+        return ejectedUntil;
+    }
+
+    long latencyNanos() {
+        return latencyNanos.get();
+    }
+
+    /**
+     * Marks the start of a request.
+     *
+     * @return the start time
+     */
+    long begin() {
+        requests.increment();
+        outstanding.incrementAndGet();
+        return ticker.getAsLong();
+    }
+
+    void recordLatency(long startNanos) {
+        long sample = ticker.getAsLong() - startNanos;
+        while (true) {
+            long current = latencyNanos.get();
+            long next = current == 0 ? Math.max(1, sample) : current + (long) ((sample - current) * LATENCY_WEIGHT);
+            if (latencyNanos.compareAndSet(current, Math.max(1, next))) {
+                return;
+            }
+        }
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void fail() {
+        failures.increment();
+    }
+
+    void eject(long durationMs) {
+        ejections.increment();
+        ejectedUntil = ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{" +
+                "name='" + name + '\'' +
+                ", outstanding=" + outstanding.get() +
+                ", latencyMs=" + String.format("%.1f", getLatencyMs()) +
+                ", ejected=" + isEjected() +
+                '}';
+    }
+}
@@ -0,0 +1,422 @@
+package io.github.llmkit.routing;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+import io.github.llmkit.util.SharedScheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ChatModel} decorator that cuts tail latency by hedging calls: if a
+ * response has not arrived after a delay, a duplicate request is sent and the
+ * first successful response wins.
+ *
+ * <pre>{@code
+ * ChatModel model = HedgingChatModel.builder(loadBalanced)
+ *     .delayPercentile(95)
+ *     .budgetPercent(5)
+ *     .build();
+ * }</pre>
+ *
+ * <p>The delay is the {@link Builder#delayPercentile(double) delayPercentile}
+ * of the latencies of recent calls, so only the slowest calls are hedged.
+ * Until enough calls have completed, {@link Builder#initialDelayMs(long)
+ * initialDelayMs} is used. The losing request is cancelled, which cancels its
+ * HTTP call. The duplicate goes to the {@link Builder#hedgeModel(ChatModel)
+ * hedge model}, by default the wrapped model itself; when that is a
+ * {@link LoadBalancedChatModel}, its strategy sends the duplicate to a less
+ * busy endpoint than the one still holding the original.</p>
+ *
+ * <p>Every call earns {@link Builder#budgetPercent(double) budgetPercent}
+ * percent of a hedge, and a hedge is only sent when a whole one has been
+ * earned, so hedges never exceed that share of the calls. A call whose
+ * original fails before the delay fails as usual: hedging is not a retry.
+ * Streams are passed through unhedged, since a duplicate stream would have
+ * to be discarded after its first delta.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class HedgingChatModel implements ChatModel {
+
+    private static final int SAMPLE_SIZE = 512;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    /**
+     * One hedge, in hundredths of a percent of a call.
+     */
+    private static final long HEDGE_COST = 10_000;
+    private static final long MAX_SAVED_HEDGES = 10;
+
+    private final ChatModel delegate;
+    private final ChatModel hedgeModel;
+    private final double delayPercentile;
+    private final long creditPerCall;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier ticker;
+
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private long sampleCount;
+    private volatile long delayNanos;
+
+    private final Object budgetLock = new Object();
+    private long credit;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private HedgingChatModel(Builder builder) {
+        this.delegate = builder.delegate;
+        this.hedgeModel = builder.hedgeModel != null ? builder.hedgeModel : builder.delegate;
+        this.delayPercentile = builder.delayPercentile;
+        this.creditPerCall = Math.round(builder.budgetPercent * 100);
+        this.scheduler = builder.scheduler;
+        this.ticker = builder.ticker;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(builder.initialDelayMs);
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param delegate the model that sends the original requests
+     * @return a new builder
+     */
+    public static Builder builder(ChatModel delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        return FutureUtil.await(callAsync(prompt, options));
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        requests.increment();
+        synchronized (budgetLock) {
+            credit = Math.min(credit + creditPerCall, MAX_SAVED_HEDGES * HEDGE_COST);
+        }
+        HedgedCall call = new HedgedCall(prompt, options);
+        call.start();
+        return call.result;
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        delegate.stream(prompt, onDelta, options);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        return delegate.streamAsync(prompt, onDelta, options);
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        return delegate.streamDeltasAsync(prompt, onDelta, options);
+    }
+
+    /**
+     * Returns the current hedge delay.
+     *
+     * @return the delay in milliseconds
+     */
+    public double getHedgeDelayMs() {
+        return delayNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns the number of calls made through this model.
+     *
+     * @return the call count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of duplicate requests sent.
+     *
+     * @return the hedge count
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Returns the number of calls answered by the duplicate request.
+     *
+     * @return the number of hedges that won
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public String getDefaultModel() {
+        return delegate.getDefaultModel();
+    }
+
+    @Override
+    public String getEndpointUrl() {
+        return delegate.getEndpointUrl();
+    }
+
+    public ChatModel getDelegate() {
+        return delegate;
+    }
+
+    private CompletableFuture<ChatResponse> send(ChatModel model, Prompt prompt, ChatOptions options) {
+        try {
+            return model.callAsync(prompt, options);
+        } catch (RuntimeException e) {
+            CompletableFuture<ChatResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private boolean tryAcquireHedge() {
+        synchronized (budgetLock) {
+            if (credit < HEDGE_COST) {
+                return false;
+            }
+            credit -= HEDGE_COST;
+            return true;
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (samples) {
+            samples[(int) (sampleCount++ % SAMPLE_SIZE)] = nanos;
+            if (sampleCount == MIN_SAMPLES || (sampleCount > MIN_SAMPLES && sampleCount % RECOMPUTE_INTERVAL == 0)) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(sampleCount, SAMPLE_SIZE));
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(delayPercentile / 100 * sorted.length) - 1;
+                delayNanos = sorted[Math.max(0, index)];
+            }
+        }
+    }
+
+    /**
+     * One call: the original request and, once the delay has passed, its hedge.
+     */
+    private final class HedgedCall implements Runnable {
+
+        final CompletableFuture<ChatResponse> result = new CompletableFuture<>();
+
+        private final AtomicBoolean won = new AtomicBoolean();
+        private final Prompt prompt;
+        private final ChatOptions options;
+        private final long start;
+
+        private volatile CompletableFuture<ChatResponse> primary;
+        private volatile CompletableFuture<ChatResponse> hedge;
+        private volatile Future<?> timer;
+        private long hedgeStart;
+
+        // Guarded by this
+        private int pending = 1;
+        private Throwable primaryFailure;
+
+        HedgedCall(Prompt prompt, ChatOptions options) {
+            this.prompt = prompt;
+            this.options = options;
+            this.start = ticker.getAsLong();
+        }
+
+        void start() {
+            primary = send(delegate, prompt, options);
+            primary.whenComplete((response, error) -> onComplete(false, start, response, error));
+            if (!result.isDone()) {
+                try {
+                    timer = scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // No hedge; the original request still completes the call
+                }
+            }
+            result.whenComplete((response, error) -> finish(response != null));
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (result.isDone() || !tryAcquireHedge()) {
+                    return;
+                }
+                pending++;
+            }
+            hedges.increment();
+            hedgeStart = ticker.getAsLong();
+            CompletableFuture<ChatResponse> attempt = send(hedgeModel, prompt, options);
+            hedge = attempt;
+            attempt.whenComplete((response, error) -> onComplete(true, hedgeStart, response, error));
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+        }
+
+        private void onComplete(boolean hedged, long sent, ChatResponse response, Throwable error) {
+            if (error == null) {
+                recordLatency(ticker.getAsLong() - sent);
+                // Count the win before completing: the caller may read the
+                // counters as soon as the result is complete
+                if (!result.isDone() && won.compareAndSet(false, true)) {
+                    if (hedged) {
+                        hedgeWins.increment();
+                    }
+                    result.complete(response);
+                }
+                return;
+            }
+            Throwable failure;
+            synchronized (this) {
+                if (!hedged) {
+                    primaryFailure = error;
+                }
+                if (--pending > 0) {
+                    return;
+                }
+                failure = primaryFailure != null ? primaryFailure : error;
+            }
+            result.completeExceptionally(FutureUtil.unwrapCause(failure));
+        }
+
+        /**
+         * Cancels the timer and whichever request is still running. A request
+         * that lost to the other counts with the time it ran, a lower bound of
+         * its latency, so slow replicas keep the delay honest.
+         */
+        private void finish(boolean answered) {
+            Future<?> pendingTimer = timer;
+            if (pendingTimer != null) {
+                pendingTimer.cancel(false);
+            }
+            long now = ticker.getAsLong();
+            CompletableFuture<ChatResponse> attempt = primary;
+            if (attempt != null && attempt.cancel(true) && answered) {
+                recordLatency(now - start);
+            }
+            attempt = hedge;
+            if (attempt != null && attempt.cancel(true) && answered) {
+                recordLatency(now - hedgeStart);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link HedgingChatModel}.
+     */
+    public static class Builder {
+
+        private final ChatModel delegate;
+        private ChatModel hedgeModel;
+        private double delayPercentile = 95;
+        private long initialDelayMs = 1_000;
+        private double budgetPercent = 10;
+        private ScheduledExecutorService scheduler = SharedScheduler.get();
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(ChatModel delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("delegate must not be null");
+            }
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the model that receives the duplicate requests, such as
+         * another endpoint of the same model. Default the wrapped model.
+         *
+         * @param hedgeModel the model for hedges
+         * @return this builder
+         */
+        public Builder hedgeModel(ChatModel hedgeModel) {
+            if (hedgeModel == null) {
+                throw new IllegalArgumentException("hedgeModel must not be null");
+            }
+            this.hedgeModel = hedgeModel;
+            return this;
+        }
+
+        /**
+         * Sets the latency percentile of recent calls after which a call is
+         * hedged. Default 95.
+         *
+         * @param percentile a value in (0, 100]
+         * @return this builder
+         */
+        public Builder delayPercentile(double percentile) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("delayPercentile must be in (0, 100]");
+            }
+            this.delayPercentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the hedge delay used until enough calls have completed to
+         * compute the percentile. Default 1 second.
+         *
+         * @param initialDelayMs the delay in milliseconds
+         * @return this builder
+         */
+        public Builder initialDelayMs(long initialDelayMs) {
+            if (initialDelayMs < 0) {
+                throw new IllegalArgumentException("initialDelayMs must not be negative");
+            }
+            this.initialDelayMs = initialDelayMs;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of hedges as a percentage of calls. Default
+         * 10; 0 disables hedging.
+         *
+         * @param percent a value in [0, 100]
+         * @return this builder
+         */
+        public Builder budgetPercent(double percent) {
+            if (!(percent >= 0 && percent <= 100)) {
+                throw new IllegalArgumentException("budgetPercent must be in [0, 100]");
+            }
+            this.budgetPercent = percent;
+            return this;
+        }
+
+        Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Builds the model.
+         *
+         * @return a new hedging model
+         */
+        public HedgingChatModel build() {
+            return new HedgingChatModel(this);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package io.github.llmkit.routing;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.exception.LLMKitException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ChatModel} that spreads requests over several deployments of the
+ * same model, such as regional gateways or API keys with separate quotas.
+ *
+ * <pre>{@code
+ * ChatModel model = LoadBalancedChatModel.builder()
+ *     .endpoint("us-east", new OpenAIChatModel(usEastConfig))
+ *     .endpoint("eu-west", new OpenAIChatModel(euWestConfig))
+ *     .strategy(LoadBalancingStrategy.POWER_OF_TWO_CHOICES)
+ *     .build();
+ * }</pre>
+ *
+ * <p>Each request goes to the endpoint chosen by the
+ * {@link LoadBalancingStrategy}, based on its requests in flight and its
+ * latency average. An endpoint that answers with HTTP 429 or 5xx is ejected
+ * for {@link Builder#ejectionMs(long) ejectionMs}, or longer if the response
+ * carried a {@code Retry-After} header, and receives no traffic until then.
+ * If every endpoint is ejected, requests go to the one whose ejection ends
+ * first rather than failing locally. An endpoint wrapped in a
+ * {@code CircuitBreakerChatModel} whose breaker is open is ejected for the
+ * rest of its open period.</p>
+ *
+ * <p>The failed request itself fails over to another endpoint that is not
+ * ejected, up to {@link Builder#maxFailovers(int) maxFailovers} times. A
+ * stream fails over only if it has not delivered any delta yet, so callers
+ * never see output from two endpoints. Other failures are rethrown as they
+ * are; retries remain the job of each endpoint's own retry settings.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public class LoadBalancedChatModel implements ChatModel {
+
+    private final Endpoint[] endpoints;
+    private final LoadBalancingStrategy strategy;
+    private final long ejectionMs;
+    private final int maxFailovers;
+    private final LongSupplier ticker;
+
+    private LoadBalancedChatModel(Builder builder) {
+        this.ticker = builder.ticker;
+        this.endpoints = new Endpoint[builder.names.size()];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = new Endpoint(i, builder.names.get(i), builder.models.get(i), ticker);
+        }
+        this.strategy = builder.strategy;
+        this.ejectionMs = builder.ejectionMs;
+        this.maxFailovers = builder.maxFailovers;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt, ChatOptions options) {
+        return execute(exchange -> exchange.endpoint.model().call(prompt, options));
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+        return executeAsync(exchange -> exchange.endpoint.model().callAsync(prompt, options));
+    }
+
+    @Override
+    public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        execute(exchange -> {
+            exchange.endpoint.model().stream(prompt, exchange.tracking(onDelta), options);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        return executeAsync(exchange ->
+                exchange.endpoint.model().streamAsync(prompt, exchange.tracking(onDelta), options));
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                            ChatOptions options) {
+        if (onDelta == null) {
+            throw new IllegalArgumentException("onDelta callback must not be null");
+        }
+        return executeAsync(exchange ->
+                exchange.endpoint.model().streamDeltasAsync(prompt, exchange.tracking(onDelta), options));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns the default model shared by every endpoint, or null if they
+     * differ.</p>
+     */
+    @Override
+    public String getDefaultModel() {
+        String model = endpoints[0].model().getDefaultModel();
+        for (Endpoint endpoint : endpoints) {
+            if (model == null || !model.equals(endpoint.model().getDefaultModel())) {
+                return null;
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Returns the endpoints and their statistics, in the order they were added.
+     *
+     * @return the endpoints
+     */
+    public List<Endpoint> getEndpoints() {
+        return Collections.unmodifiableList(Arrays.asList(endpoints));
+    }
+
+    public LoadBalancingStrategy getStrategy() {
+        return strategy;
+    }
+
+    private <T> T execute(Function<Exchange, T> request) {
+        boolean[] tried = new boolean[endpoints.length];
+        Endpoint endpoint = select(tried, false);
+        for (int failovers = 0; ; failovers++) {
+            tried[endpoint.index()] = true;
+            Exchange exchange = new Exchange(endpoint);
+            T result;
+            try {
+                result = request.apply(exchange);
+            } catch (RuntimeException e) {
+                Endpoint next = exchange.failed(e) && failovers < maxFailovers ? select(tried, true) : null;
+                if (next == null) {
+                    throw e;
+                }
+                endpoint = next;
+                continue;
+            }
+            exchange.succeeded();
+            return result;
+        }
+    }
+
+    private <T> CompletableFuture<T> executeAsync(Function<Exchange, CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean[] tried = new boolean[endpoints.length];
+        attemptAsync(request, select(tried, false), tried, 0, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(Function<Exchange, CompletableFuture<T>> request, Endpoint endpoint,
+                                  boolean[] tried, int failovers, CompletableFuture<T> result) {
+        tried[endpoint.index()] = true;
+        Exchange exchange = new Exchange(endpoint);
+        CompletableFuture<T> response;
+        try {
+            response = request.apply(exchange);
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        FutureUtil.propagateCancellation(result, response);
+        response.whenComplete((value, error) -> {
+            if (error == null) {
+                exchange.succeeded();
+                result.complete(value);
+                return;
+            }
+            Endpoint next = exchange.failed(error) && failovers < maxFailovers && !result.isDone()
+                    ? select(tried, true) : null;
+            if (next == null) {
+                result.completeExceptionally(error);
+            } else {
+                attemptAsync(request, next, tried, failovers + 1, result);
+            }
+        });
+    }
+
+    /**
+     * Picks an endpoint that has not been tried for this request.
+     *
+     * @param tried       endpoints already tried, by index
+     * @param healthyOnly if true, never return an ejected endpoint
+     * @return the endpoint, or null if there is none
+     */
+    private Endpoint select(boolean[] tried, boolean healthyOnly) {
+        long now = ticker.getAsLong();
+        int candidates = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (!tried[endpoint.index()] && !endpoint.isEjected(now)) {
+                candidates++;
+            }
+        }
+        if (candidates == 0) {
+            return healthyOnly ? null : firstToRecover(tried);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (strategy == LoadBalancingStrategy.POWER_OF_TWO_CHOICES) {
+            int first = random.nextInt(candidates);
+            if (candidates == 1) {
+                return candidate(tried, now, first);
+            }
+            int second = random.nextInt(candidates - 1);
+            if (second >= first) {
+                second++;
+            }
+            Endpoint a = candidate(tried, now, first);
+            Endpoint b = candidate(tried, now, second);
+            return cost(b) < cost(a) ? b : a;
+        }
+
+        // Least outstanding; start at a random endpoint so that ties spread out
+        int start = random.nextInt(endpoints.length);
+        Endpoint best = null;
+        for (int i = 0; i < endpoints.length; i++) {
+            Endpoint endpoint = endpoints[(start + i) % endpoints.length];
+            if (tried[endpoint.index()] || endpoint.isEjected(now)) {
+                continue;
+            }
+            if (best == null
+                    || endpoint.getOutstandingRequests() < best.getOutstandingRequests()
+                    || endpoint.getOutstandingRequests() == best.getOutstandingRequests()
+                    && endpoint.latencyNanos() < best.latencyNanos()) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the n-th endpoint that is neither tried nor ejected.
+     */
+    private Endpoint candidate(boolean[] tried, long now, int n) {
+        for (Endpoint endpoint : endpoints) {
+            if (!tried[endpoint.index()] && !endpoint.isEjected(now) && n-- == 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("No candidate " + n);
+    }
+
+    private static double cost(Endpoint endpoint) {
+        // Untried endpoints cost nothing, so they are probed early
+        return (endpoint.getOutstandingRequests() + 1) * (double) endpoint.latencyNanos();
+    }
+
+    private Endpoint firstToRecover(boolean[] tried) {
+        Endpoint first = null;
+        for (Endpoint endpoint : endpoints) {
+            if (!tried[endpoint.index()]
+                    && (first == null || endpoint.ejectedUntil() - first.ejectedUntil() < 0)) {
+                first = endpoint;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns true if a failure shows that the endpoint is overloaded or
+     * unhealthy: HTTP 429, a rate limit error, a server error, possibly
+     * wrapped in another framework exception, or an open circuit breaker.
+     *
+     * @param failure the failure
+     * @return true if the endpoint should be ejected
+     */
+    static boolean isEjectable(Throwable failure) {
+        Throwable cause = FutureUtil.unwrapCause(failure);
+        Integer status = null;
+        if (cause instanceof CircuitBreakerOpenException) {
+            return true;
+        }
+        if (cause instanceof ProviderException) {
+            ProviderException e = (ProviderException) cause;
+            if (e.isRateLimitError()) {
+                return true;
+            }
+            status = e.getHttpStatusCode();
+            if (status == null) {
+                return "server_error".equals(e.getProviderErrorType());
+            }
+        } else if (cause instanceof NetworkException) {
+            status = ((NetworkException) cause).getHttpStatusCode();
+        } else if (cause instanceof LLMKitException) {
+            // e.g. a stream failure wrapping the HTTP error
+            return cause.getCause() != null && cause.getCause() != cause && isEjectable(cause.getCause());
+        }
+        return status != null && (status == 429 || status >= 500);
+    }
+
+    private long ejectionMs(Throwable failure) {
+        Throwable cause = FutureUtil.unwrapCause(failure);
+        if (cause instanceof CircuitBreakerOpenException) {
+            return ((CircuitBreakerOpenException) cause).getRemainingOpenMs();
+        }
+        while (cause != null) {
+            if (cause instanceof NetworkException) {
+                Long retryAfterMs = ((NetworkException) cause).getRetryAfterMs();
+                return retryAfterMs != null ? Math.max(ejectionMs, retryAfterMs) : ejectionMs;
+            }
+            cause = cause.getCause() != cause ? cause.getCause() : null;
+        }
+        return ejectionMs;
+    }
+
+    /**
+     * One attempt of a request on an endpoint.
+     */
+    private final class Exchange {
+        final Endpoint endpoint;
+        private final long start;
+        private volatile boolean emitted;
+
+        Exchange(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            this.start = endpoint.begin();
+        }
+
+        <D> Consumer<D> tracking(Consumer<D> onDelta) {
+            return delta -> {
+                if (!emitted) {
+                    emitted = true;
+                    endpoint.recordLatency(start);
+                }
+                onDelta.accept(delta);
+            };
+        }
+
+        void succeeded() {
+            if (!emitted) {
+                endpoint.recordLatency(start);
+            }
+            endpoint.end();
+        }
+
+        /**
+         * Records a failure, ejecting the endpoint if needed. A cancelled
+         * attempt, such as the losing request of a hedge, only ends.
+         *
+         * @return true if the request may fail over to another endpoint
+         */
+        boolean failed(Throwable failure) {
+            endpoint.end();
+            if (FutureUtil.unwrapCause(failure) instanceof CancellationException) {
+                return false;
+            }
+            endpoint.fail();
+            if (!isEjectable(failure)) {
+                return false;
+            }
+            endpoint.eject(ejectionMs(failure));
+            return !emitted;
+        }
+    }
+
+    /**
+     * Builder for {@link LoadBalancedChatModel}.
+     */
+    public static class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<ChatModel> models = new ArrayList<>();
+        private LoadBalancingStrategy strategy = LoadBalancingStrategy.POWER_OF_TWO_CHOICES;
+        private long ejectionMs = 30_000;
+        private int maxFailovers = 1;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an endpoint, usually a model configured with its own endpoint
+         * URL and API key.
+         *
+         * @param name  the name reported in statistics, e.g. a region
+         * @param model the model serving this endpoint
+         * @return this builder
+         */
+        public Builder endpoint(String name, ChatModel model) {
+            if (name == null || model == null) {
+                throw new IllegalArgumentException("name and model must not be null");
+            }
+            names.add(name);
+            models.add(model);
+            return this;
+        }
+
+        /**
+         * Sets how an endpoint is chosen. Default
+         * {@link LoadBalancingStrategy#POWER_OF_TWO_CHOICES}.
+         *
+         * @param strategy the strategy
+         * @return this builder
+         */
+        public Builder strategy(LoadBalancingStrategy strategy) {
+            if (strategy == null) {
+                throw new IllegalArgumentException("strategy must not be null");
+            }
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * Sets how long an endpoint receives no traffic after a 429 or 5xx
+         * response. Default 30 seconds.
+         *
+         * @param ejectionMs the cool-down in milliseconds
+         * @return this builder
+         */
+        public Builder ejectionMs(long ejectionMs) {
+            if (ejectionMs < 0) {
+                throw new IllegalArgumentException("ejectionMs must not be negative");
+            }
+            this.ejectionMs = ejectionMs;
+            return this;
+        }
+
+        /**
+         * Sets how many other endpoints a request may fail over to after a
+         * 429 or 5xx response. Default 1; 0 disables failover.
+         *
+         * @param maxFailovers the maximum number of failovers per request
+         * @return this builder
+         */
+        public Builder maxFailovers(int maxFailovers) {
+            if (maxFailovers < 0) {
+                throw new IllegalArgumentException("maxFailovers must not be negative");
+            }
+            this.maxFailovers = maxFailovers;
+            return this;
+        }
+
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Builds the model.
+         *
+         * @return a new load-balanced model
+         * @throws IllegalArgumentException if no endpoint was added
+         */
+        public LoadBalancedChatModel build() {
+            if (names.isEmpty()) {
+                throw new IllegalArgumentException("At least one endpoint is required");
+            }
+            return new LoadBalancedChatModel(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.llmkit.routing;
+
+/**
+ * How {@link LoadBalancedChatModel} picks an endpoint for each request.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public enum LoadBalancingStrategy {
+
+    /**
+     * Sends each request to the endpoint with the fewest requests in flight,
+     * breaking ties by the lower latency average. Scans every endpoint.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Picks two endpoints at random and sends the request to the one with the
+     * lower cost, {@code (outstanding + 1) * latency average}. Avoids herding
+     * on a single endpoint when many clients share the same view of the load.
+     */
+    POWER_OF_TWO_CHOICES
+}
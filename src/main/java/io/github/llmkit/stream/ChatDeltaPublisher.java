@@ -0,0 +1,102 @@
+package io.github.llmkit.stream;
+
+import io.github.llmkit.api.ChatDelta;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reactive Streams {@link Publisher} of the deltas of a streamed chat response.
+ *
+ * <p>The publisher is cold and unicast: every subscriber gets its own stream,
+ * started when it first requests deltas. Deltas are emitted only as requested.
+ * Up to {@code bufferSize} deltas that arrive without demand are buffered; once
+ * the buffer is full the producing thread blocks until the subscriber requests
+ * more, so for HTTP models the SSE socket is no longer read and TCP flow
+ * control throttles the provider. Cancelling the subscription cancels the
+ * underlying stream and closes its event source.</p>
+ *
+ * <p>The stream's failure is signalled through {@code onError} after the
+ * deltas received before it, as an {@code LLMKitException}.</p>
+ *
+ * <p>On Java 9 and later the publisher can be used as a
+ * {@code java.util.concurrent.Flow.Publisher} with
+ * {@code org.reactivestreams.FlowAdapters.toFlowPublisher(publisher)}.</p>
+ *
+ * <pre>{@code
+ * model.streamPublisher(prompt).subscribe(new Subscriber<ChatDelta>() {
+ *     private Subscription subscription;
+ *
+ *     public void onSubscribe(Subscription s) {
+ *         subscription = s;
+ *         s.request(1);
+ *     }
+ *
+ *     public void onNext(ChatDelta delta) {
+ *         socket.send(delta.getContent()).thenRun(() -> subscription.request(1));
+ *     }
+ *
+ *     public void onError(Throwable t) { ... }
+ *     public void onComplete() { ... }
+ * });
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class ChatDeltaPublisher implements Publisher<ChatDelta> {
+
+    /**
+     * Default number of deltas buffered per subscriber.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 32;
+
+    private final Function<Consumer<ChatDelta>, CompletableFuture<?>> source;
+    private final int bufferSize;
+
+    /**
+     * Creates a publisher with the {@linkplain #DEFAULT_BUFFER_SIZE default buffer size}.
+     *
+     * @param source starts a stream that passes its deltas to the given consumer
+     *               and returns a future completed when the stream ends;
+     *               cancelling the future must stop the stream
+     */
+    public ChatDeltaPublisher(Function<Consumer<ChatDelta>, CompletableFuture<?>> source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a publisher.
+     *
+     * @param source     starts a stream that passes its deltas to the given
+     *                   consumer and returns a future completed when the stream
+     *                   ends; cancelling the future must stop the stream
+     * @param bufferSize the maximum number of deltas buffered without demand
+     */
+    public ChatDeltaPublisher(Function<Consumer<ChatDelta>, CompletableFuture<?>> source, int bufferSize) {
+        if (source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1");
+        }
+        this.source = source;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ChatDelta> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+        DeltaSubscription subscription = new DeltaSubscription(subscriber, source, bufferSize);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+        }
+    }
+}
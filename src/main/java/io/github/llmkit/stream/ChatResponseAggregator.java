@@ -0,0 +1,65 @@
+package io.github.llmkit.stream;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Aggregates the deltas of a streamed response into a {@link ChatResponse}.
+ *
+ * <p>Content fragments are concatenated in order; the last reported finish
+ * reason and usage win. Instances are not thread-safe, but streams deliver
+ * their deltas sequentially.</p>
+ *
+ * <pre>{@code
+ * ChatResponseAggregator aggregator = new ChatResponseAggregator();
+ * model.streamDeltasAsync(prompt, aggregator.andThen(delta -> ui.append(delta.getContent())), options);
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class ChatResponseAggregator implements Consumer<ChatDelta> {
+
+    private final StringBuilder content = new StringBuilder();
+    private boolean hasContent;
+    private String finishReason;
+    private ChatResponse.Usage usage;
+
+    @Override
+    public void accept(ChatDelta delta) {
+        if (delta.getContent() != null) {
+            content.append(delta.getContent());
+            hasContent = true;
+        }
+        if (delta.getFinishReason() != null) {
+            finishReason = delta.getFinishReason();
+        }
+        if (delta.getUsage() != null) {
+            usage = delta.getUsage();
+        }
+    }
+
+    /**
+     * Returns the usage reported so far.
+     *
+     * @return the usage, or null if none has been reported
+     */
+    public ChatResponse.Usage getUsage() {
+        return usage;
+    }
+
+    /**
+     * Builds the response from the deltas received so far.
+     *
+     * @return the aggregated response; it has no raw response
+     */
+    public ChatResponse toResponse() {
+        return ChatResponse.builder()
+                .content(hasContent ? content.toString() : null)
+                .finishReason(finishReason)
+                .usage(usage)
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.llmkit.stream;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.util.FutureUtil;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Subscription of one subscriber to a {@link ChatDeltaPublisher}.
+ *
+ * <p>The producer thread {@linkplain #offer(ChatDelta) offers} deltas into a
+ * bounded buffer and blocks while it is full. Signals to the subscriber are
+ * serialized by a work-in-progress counter: whichever thread finds new work
+ * drains the buffer, so {@code onNext} is never called concurrently or
+ * recursively. A {@link ReentrantLock} rather than a monitor guards the state,
+ * so a producer blocked on a virtual thread does not pin its carrier.</p>
+ */
+final class DeltaSubscription implements Subscription {
+
+    private final Subscriber<? super ChatDelta> subscriber;
+    private final Function<Consumer<ChatDelta>, CompletableFuture<?>> source;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<ChatDelta> buffer = new ArrayDeque<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    // Guarded by lock
+    private long demand;
+    private boolean done;
+    private Throwable error;
+    private boolean cancelled;
+    private boolean stopped;
+    private CompletableFuture<?> upstream;
+
+    DeltaSubscription(Subscriber<? super ChatDelta> subscriber,
+                      Function<Consumer<ChatDelta>, CompletableFuture<?>> source, int capacity) {
+        this.subscriber = subscriber;
+        this.source = source;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void request(long n) {
+        lock.lock();
+        try {
+            if (cancelled || done) {
+                return;
+            }
+            if (n <= 0) {
+                // Rule 3.9: signal the violation and stop the stream
+                buffer.clear();
+                done = true;
+                error = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (n <= 0) {
+            cancelUpstream();
+        } else if (started.compareAndSet(false, true)) {
+            start();
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            buffer.clear();
+        } finally {
+            lock.unlock();
+        }
+        // Cancel the stream before waking its producer, so it ends as cancelled
+        cancelUpstream();
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a delta, blocking the producer while the buffer is full.
+     */
+    void offer(ChatDelta delta) {
+        lock.lock();
+        try {
+            while (buffer.size() >= capacity && !cancelled && !done) {
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (cancelled || done) {
+                return;
+            }
+            buffer.add(delta);
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void start() {
+        CompletableFuture<?> future;
+        try {
+            future = source.apply(this::offer);
+        } catch (RuntimeException e) {
+            terminate(e);
+            return;
+        }
+        boolean stop;
+        lock.lock();
+        try {
+            upstream = future;
+            stop = stopped;
+        } finally {
+            lock.unlock();
+        }
+        if (stop) {
+            // The subscription ended while the stream was starting
+            future.cancel(true);
+        }
+        future.whenComplete((result, failure) -> terminate(failure));
+    }
+
+    private void terminate(Throwable failure) {
+        lock.lock();
+        try {
+            if (done) {
+                return;
+            }
+            done = true;
+            error = failure != null ? FutureUtil.unwrap(failure) : null;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void cancelUpstream() {
+        CompletableFuture<?> future;
+        lock.lock();
+        try {
+            stopped = true;
+            future = upstream;
+        } finally {
+            lock.unlock();
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while (true) {
+            while (true) {
+                ChatDelta next = null;
+                boolean finished = false;
+                Throwable failure = null;
+                lock.lock();
+                try {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (demand > 0 && !buffer.isEmpty()) {
+                        next = buffer.poll();
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                        notFull.signal();
+                    } else if (done && buffer.isEmpty()) {
+                        // Terminal signal; no further signals may follow
+                        finished = true;
+                        failure = error;
+                        cancelled = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (next != null) {
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException e) {
+                        // Rule 2.13: a throwing subscriber is treated as cancelled
+                        cancel();
+                        return;
+                    }
+                } else if (finished) {
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                } else {
+                    break;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+}
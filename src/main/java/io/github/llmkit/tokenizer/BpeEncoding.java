@@ -0,0 +1,79 @@
+package io.github.llmkit.tokenizer;
+
+import java.util.regex.Pattern;
+
+/**
+ * Known byte-level BPE encodings, in tiktoken's rank file format.
+ *
+ * <p>Each encoding pairs a pre-tokenization pattern with a vocabulary file
+ * looked up on the classpath under {@value #RESOURCE_DIRECTORY}, for example
+ * {@code io/github/llmkit/tokenizer/cl100k_base.tiktoken}. The
+ * {@code cl100k_base} and {@code o200k_base} files published with tiktoken
+ * (MIT licensed) are bundled in the jar. Qwen's {@code qwen.tiktoken} is
+ * distributed under Qwen's own license and is not bundled; add it to the
+ * classpath to use {@link #QWEN}, or load any other file with
+ * {@link BpeTokenizer#fromTiktoken}.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see BpeTokenizer#load(BpeEncoding)
+ */
+public enum BpeEncoding {
+
+    /**
+     * Encoding of GPT-4 and GPT-3.5 Turbo models.
+     */
+    CL100K_BASE("cl100k_base.tiktoken",
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}"
+                    + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+"),
+
+    /**
+     * Encoding of GPT-4o and later models.
+     */
+    O200K_BASE("o200k_base.tiktoken",
+            "[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]*[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]+"
+                    + "(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+                    + "|[^\\r\\n\\p{L}\\p{N}]?[\\p{Lu}\\p{Lt}\\p{Lm}\\p{Lo}\\p{M}]+[\\p{Ll}\\p{Lm}\\p{Lo}\\p{M}]*"
+                    + "(?i:'s|'t|'re|'ve|'m|'ll|'d)?"
+                    + "|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]+[\\r\\n/]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+"),
+
+    /**
+     * Encoding of Qwen models; digits are split one by one.
+     */
+    QWEN("qwen.tiktoken",
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}"
+                    + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    /**
+     * Classpath directory holding the vocabulary files.
+     */
+    public static final String RESOURCE_DIRECTORY = "io/github/llmkit/tokenizer/";
+
+    private final String fileName;
+    private final Pattern pattern;
+
+    BpeEncoding(String fileName, String pattern) {
+        this.fileName = fileName;
+        // tiktoken's regex engine treats \s, \w and case folding as Unicode-aware
+        this.pattern = Pattern.compile(pattern, Pattern.UNICODE_CHARACTER_CLASS);
+    }
+
+    /**
+     * Returns the classpath resource holding the vocabulary.
+     *
+     * @return the resource name
+     */
+    public String getResourceName() {
+        return RESOURCE_DIRECTORY + fileName;
+    }
+
+    /**
+     * Returns the pre-tokenization pattern; text is split into its matches
+     * before byte pair merges are applied to each one.
+     *
+     * @return the pattern
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,315 @@
+package io.github.llmkit.tokenizer;
+
+import io.github.llmkit.exception.ConfigurationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Byte-level BPE tokenizer compatible with tiktoken vocabularies.
+ *
+ * <p>Text is split with the encoding's pre-tokenization pattern, each piece
+ * is encoded as UTF-8, and adjacent parts are merged lowest rank first until
+ * no pair is in the vocabulary, exactly as tiktoken does. The merge loop works
+ * on primitive arrays: part boundaries and pair ranks are {@code int[]}s and
+ * vocabulary lookups hash slices of the piece's bytes in place, so encoding
+ * allocates nothing per piece.</p>
+ *
+ * <pre>{@code
+ * BpeTokenizer tokenizer = BpeTokenizer.load(BpeEncoding.CL100K_BASE);
+ * int[] tokens = tokenizer.encode("Hello world");
+ * int count = tokenizer.countTokens(prompt);
+ * }</pre>
+ *
+ * <p>Special tokens such as {@code <|endoftext|>} are not recognized; they
+ * are encoded as ordinary text. Instances are immutable and thread-safe.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class BpeTokenizer implements Tokenizer {
+
+    private static final ConcurrentMap<BpeEncoding, BpeTokenizer> LOADED = new ConcurrentHashMap<>();
+
+    private final TokenRanks ranks;
+    private final Pattern pattern;
+
+    private BpeTokenizer(TokenRanks ranks, Pattern pattern) {
+        this.ranks = ranks;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns the tokenizer for a known encoding, loading its vocabulary from
+     * the classpath on first use.
+     *
+     * @param encoding the encoding
+     * @return the shared tokenizer
+     * @throws ConfigurationException if the vocabulary is missing or malformed
+     * @see BpeEncoding#getResourceName()
+     */
+    public static BpeTokenizer load(BpeEncoding encoding) {
+        if (encoding == null) {
+            throw new IllegalArgumentException("encoding must not be null");
+        }
+        return LOADED.computeIfAbsent(encoding, BpeTokenizer::loadResource);
+    }
+
+    private static BpeTokenizer loadResource(BpeEncoding encoding) {
+        String name = encoding.getResourceName();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        InputStream in = loader != null ? loader.getResourceAsStream(name) : null;
+        if (in == null) {
+            in = BpeTokenizer.class.getClassLoader().getResourceAsStream(name);
+        }
+        if (in == null) {
+            throw new ConfigurationException("Tokenizer vocabulary not found on the classpath: " + name);
+        }
+        try (InputStream stream = in) {
+            return fromTiktoken(stream, encoding.getPattern());
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to load tokenizer vocabulary " + name, e);
+        }
+    }
+
+    /**
+     * Creates a tokenizer from a vocabulary in tiktoken's format: one
+     * {@code <base64 token bytes> <rank>} pair per line.
+     *
+     * @param in      the vocabulary; read to the end but not closed
+     * @param pattern the pre-tokenization pattern
+     * @return the tokenizer
+     * @throws IOException if the vocabulary cannot be read or is malformed
+     */
+    public static BpeTokenizer fromTiktoken(InputStream in, Pattern pattern) throws IOException {
+        if (in == null || pattern == null) {
+            throw new IllegalArgumentException("in and pattern must not be null");
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Base64.Decoder base64 = Base64.getDecoder();
+        byte[][] tokens = new byte[1024][];
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            int rank;
+            byte[] token;
+            try {
+                rank = Integer.parseInt(line.substring(space + 1).trim());
+                token = base64.decode(line.substring(0, space));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IOException("Malformed vocabulary at line " + lineNumber, e);
+            }
+            if (rank < 0 || token.length == 0) {
+                throw new IOException("Malformed vocabulary at line " + lineNumber);
+            }
+            if (rank >= tokens.length) {
+                tokens = Arrays.copyOf(tokens, Math.max(rank + 1, tokens.length * 2));
+            }
+            tokens[rank] = token;
+        }
+        int length = tokens.length;
+        while (length > 0 && tokens[length - 1] == null) {
+            length--;
+        }
+        try {
+            return new BpeTokenizer(new TokenRanks(Arrays.copyOf(tokens, length)), pattern);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed vocabulary: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the number of tokens in the vocabulary.
+     *
+     * @return the vocabulary size
+     */
+    public int getVocabularySize() {
+        return ranks.size();
+    }
+
+    @Override
+    public int[] encode(String text) {
+        if (text == null || text.isEmpty()) {
+            return new int[0];
+        }
+        Session session = new Session(true);
+        session.run(text);
+        return Arrays.copyOf(session.tokens, session.count);
+    }
+
+    @Override
+    public String decode(int[] tokens) {
+        int length = 0;
+        for (int token : tokens) {
+            length += ranks.length(token);
+        }
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (int token : tokens) {
+            position = ranks.copy(token, bytes, position);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        Session session = new Session(false);
+        session.run(text);
+        return session.count;
+    }
+
+    /**
+     * Scratch state of one encode or count call.
+     */
+    private final class Session {
+        private final boolean collect;
+        private byte[] bytes = new byte[64];
+        /** Start offset of each part, plus the end of the last one. */
+        private int[] starts = new int[65];
+        /** Rank of parts {@code i} and {@code i + 1} merged, or MAX_VALUE if not a token. */
+        private int[] pairRanks = new int[64];
+        private int[] tokens;
+        private int count;
+
+        Session(boolean collect) {
+            this.collect = collect;
+            this.tokens = collect ? new int[16] : null;
+        }
+
+        void run(String text) {
+            Matcher matcher = pattern.matcher(text);
+            while (matcher.find()) {
+                piece(encodeUtf8(text, matcher.start(), matcher.end()));
+            }
+        }
+
+        private void piece(int length) {
+            int whole = ranks.rank(bytes, 0, length);
+            if (whole != TokenRanks.NONE) {
+                emit(whole);
+                return;
+            }
+            if (starts.length < length + 1) {
+                starts = new int[length + 1];
+                pairRanks = new int[length];
+            }
+            int[] starts = this.starts;
+            int[] pairRanks = this.pairRanks;
+            for (int i = 0; i <= length; i++) {
+                starts[i] = i;
+            }
+            for (int i = 0; i + 1 < length; i++) {
+                pairRanks[i] = rankOf(i, i + 2);
+            }
+
+            // parts = number of tokens; pairs i in [0, parts - 2]
+            int parts = length;
+            while (parts > 1) {
+                int min = Integer.MAX_VALUE;
+                int at = -1;
+                for (int i = 0; i < parts - 1; i++) {
+                    if (pairRanks[i] < min) {
+                        min = pairRanks[i];
+                        at = i;
+                    }
+                }
+                if (at < 0) {
+                    break;
+                }
+                // Merge parts at and at + 1 by dropping the boundary between them
+                System.arraycopy(starts, at + 2, starts, at + 1, parts - at - 1);
+                if (at + 2 < parts - 1) {
+                    System.arraycopy(pairRanks, at + 2, pairRanks, at + 1, parts - at - 3);
+                }
+                parts--;
+                if (at < parts - 1) {
+                    pairRanks[at] = rankOf(starts[at], starts[at + 2]);
+                }
+                if (at > 0) {
+                    pairRanks[at - 1] = rankOf(starts[at - 1], starts[at + 1]);
+                }
+            }
+
+            if (!collect) {
+                count += parts;
+                return;
+            }
+            for (int i = 0; i < parts; i++) {
+                int rank = ranks.rank(bytes, starts[i], starts[i + 1]);
+                if (rank == TokenRanks.NONE) {
+                    throw new IllegalStateException("Byte sequence is not in the vocabulary");
+                }
+                emit(rank);
+            }
+        }
+
+        private int rankOf(int from, int to) {
+            int rank = ranks.rank(bytes, from, to);
+            return rank == TokenRanks.NONE ? Integer.MAX_VALUE : rank;
+        }
+
+        private void emit(int rank) {
+            if (collect) {
+                if (count == tokens.length) {
+                    tokens = Arrays.copyOf(tokens, count * 2);
+                }
+                tokens[count] = rank;
+            }
+            count++;
+        }
+
+        /**
+         * Encodes {@code text[from, to)} into {@link #bytes}.
+         *
+         * @return the number of bytes
+         */
+        private int encodeUtf8(String text, int from, int to) {
+            if (bytes.length < (to - from) * 3) {
+                bytes = new byte[(to - from) * 3];
+            }
+            byte[] out = bytes;
+            int position = 0;
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    out[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xC0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    out[position++] = (byte) (0xE0 | (c >> 12));
+                    out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < to
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // Unpaired surrogate, replaced like String.getBytes(UTF_8) does
+                    out[position++] = '?';
+                }
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.llmkit.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Vocabulary of a BPE tokenizer: byte sequences and their ranks, which are
+ * also their token ids.
+ *
+ * <p>All token bytes live in a single pool and are found through an
+ * open-addressing hash table of ranks, so looking up a slice of a byte array
+ * allocates nothing.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+final class TokenRanks {
+
+    static final int NONE = -1;
+
+    private final byte[] pool;
+    /** Start of each token's bytes in the pool, indexed by rank; -1 for unused ranks. */
+    private final int[] offsets;
+    private final int[] lengths;
+    /** Open-addressing table of rank + 1, 0 for empty slots. */
+    private final int[] table;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Builds a vocabulary.
+     *
+     * @param tokens the token bytes, indexed by rank; null entries are unused ranks
+     * @throws IllegalArgumentException if a byte sequence appears twice
+     */
+    TokenRanks(byte[][] tokens) {
+        int total = 0;
+        int count = 0;
+        for (byte[] token : tokens) {
+            if (token != null) {
+                total += token.length;
+                count++;
+            }
+        }
+        this.pool = new byte[total];
+        this.offsets = new int[tokens.length];
+        this.lengths = new int[tokens.length];
+        this.size = count;
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+
+        Arrays.fill(offsets, -1);
+        int offset = 0;
+        for (int rank = 0; rank < tokens.length; rank++) {
+            byte[] token = tokens[rank];
+            if (token == null) {
+                continue;
+            }
+            System.arraycopy(token, 0, pool, offset, token.length);
+            offsets[rank] = offset;
+            lengths[rank] = token.length;
+            offset += token.length;
+
+            int slot = hash(token, 0, token.length) & mask;
+            while (table[slot] != 0) {
+                if (matches(table[slot] - 1, token, 0, token.length)) {
+                    throw new IllegalArgumentException("Duplicate token for ranks " + (table[slot] - 1)
+                            + " and " + rank);
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = rank + 1;
+        }
+    }
+
+    /**
+     * Returns the rank of {@code bytes[from, to)}.
+     *
+     * @return the rank, or {@link #NONE} if the sequence is not a token
+     */
+    int rank(byte[] bytes, int from, int to) {
+        int slot = hash(bytes, from, to) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (matches(entry - 1, bytes, from, to)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Copies the bytes of a token into {@code out} at {@code position}.
+     *
+     * @return the position after the copied bytes
+     * @throws IllegalArgumentException if the rank is unknown
+     */
+    int copy(int rank, byte[] out, int position) {
+        if (rank < 0 || rank >= offsets.length || offsets[rank] < 0) {
+            throw new IllegalArgumentException("Unknown token: " + rank);
+        }
+        System.arraycopy(pool, offsets[rank], out, position, lengths[rank]);
+        return position + lengths[rank];
+    }
+
+    int length(int rank) {
+        if (rank < 0 || rank >= offsets.length || offsets[rank] < 0) {
+            throw new IllegalArgumentException("Unknown token: " + rank);
+        }
+        return lengths[rank];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean matches(int rank, byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (lengths[rank] != length) {
+            return false;
+        }
+        int offset = offsets[rank];
+        for (int i = 0; i < length; i++) {
+            if (pool[offset + i] != bytes[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 0x811C9DC5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ bytes[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
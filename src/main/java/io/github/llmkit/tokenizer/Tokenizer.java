@@ -0,0 +1,95 @@
+package io.github.llmkit.tokenizer;
+
+import io.github.llmkit.message.Message;
+import io.github.llmkit.prompt.ChatPrompt;
+import io.github.llmkit.prompt.Prompt;
+
+/**
+ * Converts text to model tokens, offline.
+ *
+ * <p>Besides plain text, a tokenizer counts the tokens of chat messages and
+ * prompts the way OpenAI-compatible chat APIs charge them: every message
+ * costs {@value #TOKENS_PER_MESSAGE} tokens of framing plus its role and
+ * content, and every prompt {@value #TOKENS_PER_REPLY} more to prime the
+ * reply. Message counts are cached on the immutable {@link Message}, so
+ * recounting a growing conversation only tokenizes new messages.</p>
+ *
+ * <pre>{@code
+ * Tokenizer tokenizer = BpeTokenizer.load(BpeEncoding.CL100K_BASE);
+ * int tokens = tokenizer.countTokens(prompt);
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ * @see BpeTokenizer
+ */
+public interface Tokenizer {
+
+    /**
+     * Framing tokens added to every chat message.
+     */
+    int TOKENS_PER_MESSAGE = 3;
+
+    /**
+     * Tokens added to every prompt to prime the assistant's reply.
+     */
+    int TOKENS_PER_REPLY = 3;
+
+    /**
+     * Encodes text into token ids.
+     *
+     * @param text the text
+     * @return the token ids
+     */
+    int[] encode(String text);
+
+    /**
+     * Decodes token ids back into text.
+     *
+     * @param tokens the token ids
+     * @return the text
+     * @throws IllegalArgumentException if a token id is unknown
+     */
+    String decode(int[] tokens);
+
+    /**
+     * Counts the tokens of a text without materializing them.
+     *
+     * @param text the text, may be null
+     * @return the token count, 0 for null or empty text
+     */
+    int countTokens(String text);
+
+    /**
+     * Counts the tokens a message costs in a chat request: its framing, role
+     * and content.
+     *
+     * <p>This method always tokenizes; {@link Message#countTokens(Tokenizer)}
+     * caches its result on the message.</p>
+     *
+     * @param message the message
+     * @return the token count
+     */
+    default int countTokens(Message message) {
+        return TOKENS_PER_MESSAGE + countTokens(message.getRole()) + countTokens(message.getContent());
+    }
+
+    /**
+     * Counts the prompt tokens of a chat request, using the cached count of
+     * each message. A {@link ChatPrompt} also caches its total, see
+     * {@link ChatPrompt#countTokens(Tokenizer)}.
+     *
+     * @param prompt the prompt
+     * @return the token count
+     */
+    default int countTokens(Prompt prompt) {
+        if (prompt instanceof ChatPrompt) {
+            return ((ChatPrompt) prompt).countTokens(this);
+        }
+        long tokens = TOKENS_PER_REPLY;
+        for (Message message : prompt.getMessages()) {
+            tokens += message.countTokens(this);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, tokens);
+    }
+}
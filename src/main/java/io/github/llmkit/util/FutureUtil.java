@@ -0,0 +1,101 @@
+package io.github.llmkit.util;
+
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.LLMKitException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Utility methods for working with {@link CompletableFuture}s.
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class FutureUtil {
+
+    private FutureUtil() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Waits for a future to complete and returns its result.
+     *
+     * <p>Failures are rethrown as {@link LLMKitException}s. If the calling thread
+     * is interrupted while waiting, the future is cancelled and the interrupt
+     * flag is restored.</p>
+     *
+     * @param future the future to wait for
+     * @param <T>    the result type
+     * @return the result of the future
+     * @throws LLMKitException if the future failed, was cancelled or the wait was interrupted
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ChatException("Interrupted while waiting for response", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (CancellationException e) {
+            throw new ChatException("Request was cancelled", e);
+        }
+    }
+
+    /**
+     * Cancels {@code target} whenever {@code source} is cancelled.
+     *
+     * <p>Dependent stages created with {@code thenApply} and friends do not
+     * propagate cancellation back to the stage they were derived from. Use this
+     * method to make sure cancelling a derived future also cancels the work
+     * backing it.</p>
+     *
+     * @param source the future whose cancellation is observed
+     * @param target the future to cancel
+     */
+    public static void propagateCancellation(CompletableFuture<?> source, Future<?> target) {
+        source.whenComplete((result, error) -> {
+            if (source.isCancelled()) {
+                target.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Unwraps the wrapper exceptions added by {@link CompletableFuture} and
+     * converts the underlying cause to an {@link LLMKitException}.
+     *
+     * @param throwable the throwable to unwrap
+     * @return the underlying framework exception
+     */
+    public static LLMKitException unwrap(Throwable throwable) {
+        Throwable cause = unwrapCause(throwable);
+        if (cause instanceof LLMKitException) {
+            return (LLMKitException) cause;
+        }
+        if (cause instanceof CancellationException) {
+            return new ChatException("Request was cancelled", cause);
+        }
+        return new ChatException("Request failed: " + (cause != null ? cause.getMessage() : null), cause);
+    }
+
+    /**
+     * Strips {@link CompletionException} and {@link ExecutionException} wrappers.
+     *
+     * @param throwable the throwable to unwrap
+     * @return the innermost cause that is not a wrapper
+     */
+    public static Throwable unwrapCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
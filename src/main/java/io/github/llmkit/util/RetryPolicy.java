@@ -0,0 +1,469 @@
+package io.github.llmkit.util;
+
+import io.github.llmkit.exception.ConfigurationException;
+import io.github.llmkit.exception.LLMKitException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Immutable description of when and how often a failed request is retried.
+ *
+ * <p>Delays grow exponentially from {@code initialDelayMs} by {@code multiplier}
+ * per attempt and are capped at {@code maxDelayMs}. Jitter spreads the retries
+ * of many concurrent clients so that they do not hit a recovering provider in
+ * lockstep:</p>
+ * <ul>
+ *   <li>{@link Jitter#NONE} - the exponential delay itself</li>
+ *   <li>{@link Jitter#FULL} - a random delay between 0 and the exponential delay</li>
+ *   <li>{@link Jitter#DECORRELATED} - a random delay between {@code initialDelayMs}
+ *       and three times the previous delay</li>
+ * </ul>
+ *
+ * <p>When a {@link NetworkException} carries a {@code Retry-After} value, the
+ * next attempt waits at least that long. If the provider asks for longer than
+ * {@code maxRetryAfterMs} (one minute by default), the request is not retried
+ * and fails fast with the original error instead of blocking the caller; retrying
+ * any earlier would only be rejected again.</p>
+ *
+ * <p>By default only transient failures are retried, see
+ * {@link #isTransient(Throwable)}. Authentication errors, invalid requests and
+ * unparseable responses fail immediately.</p>
+ *
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.builder()
+ *     .maxRetries(5)
+ *     .initialDelayMs(500)
+ *     .maxDelayMs(20_000)
+ *     .jitter(RetryPolicy.Jitter.DECORRELATED)
+ *     .build();
+ *
+ * String body = Retryer.retry(() -> httpClient.post(url, headers, payload), policy);
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class RetryPolicy {
+
+    /**
+     * Jitter strategies applied to the exponential backoff delay.
+     */
+    public enum Jitter {
+        NONE,
+        FULL,
+        DECORRELATED
+    }
+
+    /**
+     * Three retries starting at one second, doubling up to 30 seconds, with full jitter.
+     */
+    public static final RetryPolicy DEFAULT = builder().build();
+
+    /**
+     * A policy that never retries.
+     */
+    public static final RetryPolicy NONE = builder().maxRetries(0).build();
+
+    private final int maxRetries;
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+    private final Jitter jitter;
+    private final boolean respectRetryAfter;
+    private final long maxRetryAfterMs;
+    private final Predicate<Throwable> retryOn;
+
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.initialDelayMs = builder.initialDelayMs;
+        this.maxDelayMs = builder.maxDelayMs;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.respectRetryAfter = builder.respectRetryAfter;
+        this.maxRetryAfterMs = builder.maxRetryAfterMs;
+        this.retryOn = builder.retryOn;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with this policy's settings.
+     *
+     * @return a new builder
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .maxRetries(maxRetries)
+                .initialDelayMs(initialDelayMs)
+                .maxDelayMs(maxDelayMs)
+                .multiplier(multiplier)
+                .jitter(jitter)
+                .respectRetryAfter(respectRetryAfter)
+                .maxRetryAfterMs(maxRetryAfterMs)
+                .retryOn(retryOn);
+    }
+
+    /**
+     * Returns true if another attempt should be made after the given failure.
+     *
+     * <p>Returns false when the failure carries a {@code Retry-After} longer
+     * than {@link #getMaxRetryAfterMs()}.</p>
+     *
+     * @param retry   the number of the retry about to be made, starting at 1
+     * @param failure the failure of the previous attempt
+     * @return true to retry
+     */
+    public boolean shouldRetry(int retry, Throwable failure) {
+        return retry <= maxRetries && isRetryable(failure) && !exceedsMaxRetryAfter(failure);
+    }
+
+    /**
+     * Returns true if the policy's classification considers the failure
+     * retryable, regardless of how many retries remain.
+     *
+     * @param failure the failure
+     * @return true if the failure is retryable
+     */
+    public boolean isRetryable(Throwable failure) {
+        return retryOn.test(FutureUtil.unwrapCause(failure));
+    }
+
+    /**
+     * Computes how long to wait before a retry.
+     *
+     * @param retry           the number of the retry about to be made, starting at 1
+     * @param previousDelayMs the delay before the previous retry, or 0 for the first retry
+     * @param failure         the failure of the previous attempt, may be null
+     * @return the delay in milliseconds
+     */
+    public long nextDelayMs(int retry, long previousDelayMs, Throwable failure) {
+        long delay;
+        switch (jitter) {
+            case FULL:
+                delay = ThreadLocalRandom.current().nextLong(exponentialDelayMs(retry) + 1);
+                break;
+            case DECORRELATED:
+                long base = Math.max(initialDelayMs, previousDelayMs);
+                long upper = Math.min(maxDelayMs, saturatedMultiply(base, 3));
+                delay = upper > initialDelayMs
+                        ? ThreadLocalRandom.current().nextLong(initialDelayMs, upper + 1)
+                        : upper;
+                break;
+            default:
+                delay = exponentialDelayMs(retry);
+                break;
+        }
+
+        if (respectRetryAfter) {
+            Long retryAfterMs = retryAfterMs(failure);
+            if (retryAfterMs != null && retryAfterMs > delay) {
+                delay = Math.min(retryAfterMs, maxRetryAfterMs);
+            }
+        }
+        return delay;
+    }
+
+    /**
+     * Returns the default classification of a failure.
+     *
+     * <p>Retried:</p>
+     * <ul>
+     *   <li>rate limit errors (HTTP 429 or {@link ProviderException#isRateLimitError()})</li>
+     *   <li>HTTP 408, 409 and 5xx responses</li>
+     *   <li>timeouts, connection failures and other I/O errors without a response</li>
+     * </ul>
+     * <p>Not retried: authentication errors, other 4xx responses, parse and
+     * configuration errors, and unexpected runtime exceptions.</p>
+     *
+     * @param failure the failure to classify
+     * @return true if the failure is likely to go away on retry
+     */
+    public static boolean isTransient(Throwable failure) {
+        Throwable cause = FutureUtil.unwrapCause(failure);
+        if (cause instanceof ProviderException) {
+            ProviderException e = (ProviderException) cause;
+            if (e.isAuthenticationError()) {
+                return false;
+            }
+            if (e.isRateLimitError()) {
+                return true;
+            }
+            if (e.getHttpStatusCode() != null) {
+                return isTransientStatus(e.getHttpStatusCode());
+            }
+            return "server_error".equals(e.getProviderErrorType());
+        }
+        if (cause instanceof NetworkException) {
+            NetworkException e = (NetworkException) cause;
+            if (e.getHttpStatusCode() != null) {
+                return isTransientStatus(e.getHttpStatusCode());
+            }
+            // No response at all: timeout, refused or reset connection
+            return true;
+        }
+        if (cause instanceof ParseException || cause instanceof ConfigurationException) {
+            return false;
+        }
+        if (cause instanceof LLMKitException) {
+            return cause.getCause() != null && cause.getCause() != cause && isTransient(cause.getCause());
+        }
+        return cause instanceof IOException;
+    }
+
+    private static boolean isTransientStatus(int status) {
+        return status == 408 || status == 409 || status == 429 || status >= 500;
+    }
+
+    private boolean exceedsMaxRetryAfter(Throwable failure) {
+        if (!respectRetryAfter) {
+            return false;
+        }
+        Long retryAfterMs = retryAfterMs(failure);
+        return retryAfterMs != null && retryAfterMs > maxRetryAfterMs;
+    }
+
+    private static Long retryAfterMs(Throwable failure) {
+        Throwable cause = FutureUtil.unwrapCause(failure);
+        while (cause != null) {
+            if (cause instanceof NetworkException) {
+                return ((NetworkException) cause).getRetryAfterMs();
+            }
+            cause = cause.getCause() != cause ? cause.getCause() : null;
+        }
+        return null;
+    }
+
+    private long exponentialDelayMs(int retry) {
+        double delay = initialDelayMs * Math.pow(multiplier, Math.max(0, retry - 1));
+        return delay >= maxDelayMs ? maxDelayMs : (long) delay;
+    }
+
+    private static long saturatedMultiply(long value, int factor) {
+        return value > Long.MAX_VALUE / factor ? Long.MAX_VALUE : value * factor;
+    }
+
+    /**
+     * Returns the maximum number of retries after the first attempt.
+     *
+     * @return the maximum number of retries after the first attempt
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns the delay before the first retry in milliseconds.
+     *
+     * @return the delay before the first retry
+     */
+    public long getInitialDelayMs() {
+        return initialDelayMs;
+    }
+
+    /**
+     * Returns the upper bound for computed delays in milliseconds.
+     *
+     * @return the upper bound for computed delays
+     */
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    /**
+     * Returns the factor by which the delay grows per retry.
+     *
+     * @return the factor by which the delay grows per retry
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the jitter strategy.
+     *
+     * @return the jitter strategy
+     */
+    public Jitter getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Returns true if Retry-After values extend the delay.
+     *
+     * @return true if Retry-After values extend the delay
+     */
+    public boolean isRespectRetryAfter() {
+        return respectRetryAfter;
+    }
+
+    /**
+     * Returns the longest {@code Retry-After} in milliseconds the policy waits
+     * for; longer values make the request fail fast.
+     *
+     * @return the longest Retry-After waited for
+     */
+    public long getMaxRetryAfterMs() {
+        return maxRetryAfterMs;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxRetries=" + maxRetries +
+                ", initialDelayMs=" + initialDelayMs +
+                ", maxDelayMs=" + maxDelayMs +
+                ", multiplier=" + multiplier +
+                ", jitter=" + jitter +
+                ", respectRetryAfter=" + respectRetryAfter +
+                ", maxRetryAfterMs=" + maxRetryAfterMs +
+                '}';
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static final class Builder {
+
+        private int maxRetries = 3;
+        private long initialDelayMs = 1000;
+        private long maxDelayMs = 30_000;
+        private double multiplier = 2.0;
+        private Jitter jitter = Jitter.FULL;
+        private boolean respectRetryAfter = true;
+        private long maxRetryAfterMs = 60_000;
+        private Predicate<Throwable> retryOn = RetryPolicy::isTransient;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of retries after the first attempt.
+         *
+         * @param maxRetries the maximum retries, 0 to disable retrying
+         * @return this builder
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry.
+         *
+         * @param initialDelayMs the initial delay in milliseconds
+         * @return this builder
+         */
+        public Builder initialDelayMs(long initialDelayMs) {
+            if (initialDelayMs < 0) {
+                throw new IllegalArgumentException("initialDelayMs must not be negative");
+            }
+            this.initialDelayMs = initialDelayMs;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound for computed delays. A longer {@code Retry-After}
+         * from the provider is still honored, up to {@link #maxRetryAfterMs(long)}.
+         *
+         * @param maxDelayMs the maximum delay in milliseconds
+         * @return this builder
+         */
+        public Builder maxDelayMs(long maxDelayMs) {
+            if (maxDelayMs < 0) {
+                throw new IllegalArgumentException("maxDelayMs must not be negative");
+            }
+            this.maxDelayMs = maxDelayMs;
+            return this;
+        }
+
+        /**
+         * Sets the factor by which the delay grows per retry.
+         *
+         * @param multiplier the multiplier, at least 1
+         * @return this builder
+         */
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1.0) {
+                throw new IllegalArgumentException("multiplier must be at least 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the jitter strategy.
+         *
+         * @param jitter the jitter strategy
+         * @return this builder
+         */
+        public Builder jitter(Jitter jitter) {
+            this.jitter = jitter != null ? jitter : Jitter.NONE;
+            return this;
+        }
+
+        /**
+         * Sets whether a {@code Retry-After} value from the provider extends the delay.
+         *
+         * @param respectRetryAfter true to honor Retry-After (default)
+         * @return this builder
+         */
+        public Builder respectRetryAfter(boolean respectRetryAfter) {
+            this.respectRetryAfter = respectRetryAfter;
+            return this;
+        }
+
+        /**
+         * Sets the longest {@code Retry-After} the policy waits for. When the
+         * provider asks for longer, the request is not retried and fails fast
+         * with the original error. Default one minute.
+         *
+         * @param maxRetryAfterMs the limit in milliseconds
+         * @return this builder
+         */
+        public Builder maxRetryAfterMs(long maxRetryAfterMs) {
+            if (maxRetryAfterMs < 0) {
+                throw new IllegalArgumentException("maxRetryAfterMs must not be negative");
+            }
+            this.maxRetryAfterMs = maxRetryAfterMs;
+            return this;
+        }
+
+        /**
+         * Sets which failures are retried. Defaults to {@link RetryPolicy#isTransient(Throwable)}.
+         *
+         * @param retryOn predicate receiving the unwrapped failure
+         * @return this builder
+         */
+        public Builder retryOn(Predicate<Throwable> retryOn) {
+            this.retryOn = retryOn != null ? retryOn : RetryPolicy::isTransient;
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return a new policy
+         */
+        public RetryPolicy build() {
+            if (maxDelayMs < initialDelayMs) {
+                maxDelayMs = initialDelayMs;
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
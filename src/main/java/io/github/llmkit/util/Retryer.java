@@ -3,9 +3,24 @@ package io.github.llmkit.util;
 import io.github.llmkit.exception.LLMKitException;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
- * Utility for retrying operations with configurable retry count and delay.
+ * Utility for retrying operations.
+ *
+ * <p>{@link #retry(Callable, RetryPolicy)} waits between attempts according to a
+ * {@link RetryPolicy} (exponential backoff, jitter, {@code Retry-After}) and
+ * only retries failures the policy classifies as retryable. The fixed-delay
+ * overloads retry every exception and are kept for compatibility.</p>
+ *
+ * <p>{@link #retryAsync(Supplier, RetryPolicy)} retries asynchronous operations
+ * without blocking any thread: each re-attempt is scheduled on a shared timer
+ * and chained onto the returned {@link CompletableFuture}.</p>
  *
  * @author LLMKit Contributors
  * @since 0.2.0
@@ -17,38 +32,97 @@ public final class Retryer {
     }
 
     /**
-     * Retries a callable operation with the specified retry count and delay.
+     * Retries a callable operation according to a retry policy.
      *
-     * @param callable     the operation to retry
-     * @param retryCount   the maximum number of retries
-     * @param retryDelayMs the delay between retries in milliseconds
-     * @param <T>          the return type
+     * <p>Failures that the policy does not consider retryable are rethrown
+     * immediately. If the thread is interrupted while waiting, the last failure
+     * is rethrown and the interrupt flag is restored.</p>
+     *
+     * @param callable the operation to retry
+     * @param policy   the retry policy
+     * @param <T>      the return type
      * @return the result of the callable
-     * @throws LLMKitException if all retries fail
+     * @throws LLMKitException if the last attempt fails
+     * @since 0.3.0
      */
-    public static <T> T retry(Callable<T> callable, int retryCount, int retryDelayMs) {
-        int attempts = 0;
-        Exception lastException = null;
+    public static <T> T retry(Callable<T> callable, RetryPolicy policy) {
+        int retry = 0;
+        long delayMs = 0;
 
-        while (attempts <= retryCount) {
+        while (true) {
             try {
                 return callable.call();
             } catch (Exception ex) {
-                lastException = ex;
-                attempts++;
-
-                if (attempts > retryCount) {
-                    break;
+                retry++;
+                if (!policy.shouldRetry(retry, ex)) {
+                    throw toLLMKitException(ex, retry - 1);
+                }
+                delayMs = policy.nextDelayMs(retry, delayMs, ex);
+                if (!sleepQuietly(delayMs)) {
+                    throw toLLMKitException(ex, retry - 1);
                 }
-
-                sleepQuietly(retryDelayMs);
             }
         }
+    }
 
-        if (lastException instanceof LLMKitException) {
-            throw (LLMKitException) lastException;
-        }
-        throw new LLMKitException("Operation failed after " + retryCount + " retries", lastException);
+    /**
+     * Retries an asynchronous operation according to a retry policy, scheduling
+     * re-attempts on the {@link SharedScheduler}.
+     *
+     * @param attempt  starts one attempt; must not block
+     * @param policy   the retry policy
+     * @param <T>      the result type
+     * @return a future completed with the first successful result or the last failure
+     * @see #retryAsync(Supplier, RetryPolicy, ScheduledExecutorService)
+     * @since 0.3.0
+     */
+    public static <T> CompletableFuture<T> retryAsync(Supplier<CompletableFuture<T>> attempt, RetryPolicy policy) {
+        return retryAsync(attempt, policy, SharedScheduler.get());
+    }
+
+    /**
+     * Retries an asynchronous operation according to a retry policy.
+     *
+     * <p>No thread waits during backoff: when an attempt fails with a retryable
+     * error, the next attempt is scheduled on {@code scheduler} after the
+     * policy's delay. The attempt supplier runs on the scheduler thread, so it
+     * should only start work (for example enqueue an HTTP call) and return.</p>
+     *
+     * <p>Cancelling the returned future cancels the attempt in progress or the
+     * pending re-attempt.</p>
+     *
+     * @param attempt   starts one attempt; must not block
+     * @param policy    the retry policy
+     * @param scheduler the scheduler for re-attempts
+     * @param <T>       the result type
+     * @return a future completed with the first successful result or the last failure
+     * @since 0.3.0
+     */
+    public static <T> CompletableFuture<T> retryAsync(Supplier<CompletableFuture<T>> attempt, RetryPolicy policy,
+                                                      ScheduledExecutorService scheduler) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AsyncRetry<T> retry = new AsyncRetry<>(attempt, policy, scheduler, result);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                retry.cancel();
+            }
+        });
+        retry.run();
+        return result;
+    }
+
+    /**
+     * Retries a callable operation with the specified retry count and delay.
+     *
+     * @param callable     the operation to retry
+     * @param retryCount   the maximum number of retries
+     * @param retryDelayMs the delay between retries in milliseconds
+     * @param <T>          the return type
+     * @return the result of the callable
+     * @throws LLMKitException if all retries fail
+     */
+    public static <T> T retry(Callable<T> callable, int retryCount, int retryDelayMs) {
+        return retry(callable, fixedDelay(retryCount, retryDelayMs));
     }
 
     /**
@@ -66,14 +140,124 @@ public final class Retryer {
         }, retryCount, retryDelayMs);
     }
 
-    private static void sleepQuietly(int delayMs) {
+    /**
+     * Returns a policy that retries every exception with a constant delay, as
+     * the fixed-delay overloads do.
+     *
+     * @param retryCount   the maximum number of retries
+     * @param retryDelayMs the delay between retries in milliseconds
+     * @return the policy
+     * @since 0.3.0
+     */
+    public static RetryPolicy fixedDelay(int retryCount, int retryDelayMs) {
+        return RetryPolicy.builder()
+                .maxRetries(Math.max(0, retryCount))
+                .initialDelayMs(Math.max(0, retryDelayMs))
+                .multiplier(1.0)
+                .jitter(RetryPolicy.Jitter.NONE)
+                .respectRetryAfter(false)
+                .retryOn(e -> e instanceof Exception)
+                .build();
+    }
+
+    /**
+     * State of one {@link #retryAsync} invocation.
+     */
+    private static final class AsyncRetry<T> implements Runnable {
+
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final RetryPolicy policy;
+        private final ScheduledExecutorService scheduler;
+        private final CompletableFuture<T> result;
+
+        private int retry;
+        private long delayMs;
+        private volatile Future<?> current;
+
+        AsyncRetry(Supplier<CompletableFuture<T>> attempt, RetryPolicy policy,
+                   ScheduledExecutorService scheduler, CompletableFuture<T> result) {
+            this.attempt = attempt;
+            this.policy = policy;
+            this.scheduler = scheduler;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = attempt.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            track(future);
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else {
+                    onFailure(FutureUtil.unwrapCause(error));
+                }
+            });
+        }
+
+        private void onFailure(Throwable error) {
+            if (result.isDone()) {
+                return;
+            }
+            retry++;
+            if (!policy.shouldRetry(retry, error)) {
+                result.completeExceptionally(error);
+                return;
+            }
+            delayMs = policy.nextDelayMs(retry, delayMs, error);
+            try {
+                track(scheduler.schedule(this, delayMs, TimeUnit.MILLISECONDS));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private void track(Future<?> future) {
+            current = future;
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        }
+
+        void cancel() {
+            Future<?> future = current;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static LLMKitException toLLMKitException(Exception ex, int retries) {
+        if (ex instanceof LLMKitException) {
+            return (LLMKitException) ex;
+        }
+        return new LLMKitException("Operation failed after " + retries + " retries", ex);
+    }
+
+    /**
+     * Sleeps for the given delay.
+     *
+     * @return false if the thread was interrupted
+     */
+    private static boolean sleepQuietly(long delayMs) {
         if (delayMs <= 0) {
-            return;
+            return true;
         }
         try {
             Thread.sleep(delayMs);
+            return true;
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
+            return false;
         }
     }
 }
@@ -0,0 +1,46 @@
+package io.github.llmkit.util;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Daemon scheduler shared by the framework's timers, such as asynchronous
+ * retry backoff and rate limiter waits.
+ *
+ * <p>Scheduled tasks only start or complete asynchronous work and must not
+ * block, so a single thread serves the whole process. The thread is created on
+ * first use.</p>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class SharedScheduler {
+
+    private SharedScheduler() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the shared scheduler.
+     *
+     * @return the scheduler
+     */
+    public static ScheduledExecutorService get() {
+        return Holder.SCHEDULER;
+    }
+
+    private static final class Holder {
+
+        static final ScheduledExecutorService SCHEDULER = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "llmkit-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
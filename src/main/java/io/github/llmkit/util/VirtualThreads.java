@@ -0,0 +1,107 @@
+package io.github.llmkit.util;
+
+import io.github.llmkit.exception.ConfigurationException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to JDK 21+ virtual threads from code compiled for Java 8.
+ *
+ * <p>The virtual-thread executor is looked up reflectively, so the library
+ * keeps running on older JVMs and only {@link #executor()} and
+ * {@link #newExecutor()} fail there. Use {@link #isSupported()} to choose a
+ * fallback.</p>
+ *
+ * <p>Blocking calls such as {@code ChatModel.call()} and {@code stream()} park
+ * a virtual thread instead of holding a platform thread while the provider
+ * responds, so plain blocking code scales to many thousands of concurrent
+ * conversations:</p>
+ *
+ * <pre>{@code
+ * OpenAIChatModel model = OpenAIChatConfig.builder()
+ *         .apiKey(apiKey)
+ *         .virtualThreads()      // OkHttp callbacks and SSE readers
+ *         .maxRequests(10_000)
+ *         .maxRequestsPerHost(10_000)
+ *         .build()
+ *         .toModel();
+ *
+ * ExecutorService conversations = VirtualThreads.executor();
+ * for (Prompt prompt : prompts) {
+ *     conversations.submit(() -> model.call(prompt));
+ * }
+ * }</pre>
+ *
+ * @author LLMKit Contributors
+ * @since 0.3.0
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = findFactory();
+
+    private VirtualThreads() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads.
+     *
+     * @return true on JDK 21 and later
+     */
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Returns the process-wide executor that starts a new virtual thread per
+     * task. It is never shut down by the framework.
+     *
+     * @return the shared virtual-thread executor
+     * @throws ConfigurationException if virtual threads are not supported
+     */
+    public static ExecutorService executor() {
+        checkSupported();
+        return Holder.EXECUTOR;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     *
+     * <p>Configs using the executor share one HTTP client until it is shut
+     * down; prefer {@link #executor()} unless the executor needs its own
+     * lifecycle, and shut it down when it is no longer used.</p>
+     *
+     * @return a new virtual-thread executor, owned by the caller
+     * @throws ConfigurationException if virtual threads are not supported
+     */
+    public static ExecutorService newExecutor() {
+        checkSupported();
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ConfigurationException("Failed to create virtual-thread executor", e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (NEW_EXECUTOR == null) {
+            throw new ConfigurationException("Virtual threads require Java 21 or later, running on Java "
+                    + System.getProperty("java.specification.version"));
+        }
+    }
+
+    private static Method findFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class Holder {
+
+        static final ExecutorService EXECUTOR = newExecutor();
+    }
+}
@@ -32,6 +32,7 @@ class ChatOptionsTest {
                 .retryEnabled(true)
                 .retryCount(5)
                 .retryDelayMs(2000)
+                .rawResponseRetention(RawResponseRetention.COMPRESSED)
                 .build();
 
         assertThat(options.getModel()).isEqualTo("gpt-4");
@@ -44,6 +45,8 @@ class ChatOptionsTest {
         assertThat(options.getRetryEnabled()).isTrue();
         assertThat(options.getRetryCount()).isEqualTo(5);
         assertThat(options.getRetryDelayMs()).isEqualTo(2000);
+        assertThat(options.getRawResponseRetention()).isEqualTo(RawResponseRetention.COMPRESSED);
+        assertThat(options.toBuilder().build()).isEqualTo(options);
     }
 
     @Test
@@ -55,6 +58,8 @@ class ChatOptionsTest {
         assertThat(options.getRetryEnabledOrDefault(false)).isFalse();
         assertThat(options.getRetryCountOrDefault(3)).isEqualTo(3);
         assertThat(options.getRetryDelayMsOrDefault(1000)).isEqualTo(1000);
+        assertThat(options.getRawResponseRetentionOrDefault(RawResponseRetention.FULL))
+                .isEqualTo(RawResponseRetention.FULL);
     }
 
     @Test
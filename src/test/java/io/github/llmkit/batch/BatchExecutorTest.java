@@ -0,0 +1,219 @@
+package io.github.llmkit.batch;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.FutureUtil;
+import io.github.llmkit.util.RetryPolicy;
+import io.github.llmkit.util.SharedScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BatchExecutorTest {
+
+    @Test
+    void shouldBoundConcurrencyAndPreserveInputOrder() {
+        AsyncModel model = new AsyncModel(prompt -> {
+            CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+            SharedScheduler.get().schedule(() -> future.complete(ChatResponse.of(text(prompt))),
+                    ThreadLocalRandom.current().nextInt(1, 5), TimeUnit.MILLISECONDS);
+            return future;
+        });
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+
+        List<BatchResult> results = model.callAll(prompts(50), ChatOptions.DEFAULT, BatchOptions.builder()
+                .maxConcurrency(4)
+                .onResult(result -> delivered.add(result.getIndex()))
+                .build());
+
+        assertThat(model.maxInFlight.get()).isBetween(1, 4);
+        assertThat(results).hasSize(50).allMatch(BatchResult::isSuccess);
+        for (int i = 0; i < 50; i++) {
+            assertThat(results.get(i).getIndex()).isEqualTo(i);
+            assertThat(results.get(i).getResponse().getContent()).isEqualTo("prompt-" + i);
+            assertThat(delivered.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void shouldDeliverInCompletionOrder() {
+        Map<String, CompletableFuture<ChatResponse>> pending = new ConcurrentHashMap<>();
+        AsyncModel model = new AsyncModel(prompt -> {
+            CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+            pending.put(text(prompt), future);
+            return future;
+        });
+        List<Integer> completionOrder = new ArrayList<>();
+        List<Integer> inputOrder = new ArrayList<>();
+
+        CompletableFuture<List<BatchResult>> batch = model.callAllAsync(prompts(3), ChatOptions.DEFAULT,
+                BatchOptions.builder()
+                        .order(BatchOptions.Order.COMPLETION)
+                        .onResult(result -> completionOrder.add(result.getIndex()))
+                        .build());
+        CompletableFuture<List<BatchResult>> ordered = new AsyncModel(prompt -> pending.get(text(prompt)))
+                .callAllAsync(prompts(3), ChatOptions.DEFAULT, BatchOptions.builder()
+                        .onResult(result -> inputOrder.add(result.getIndex()))
+                        .build());
+
+        pending.get("prompt-2").complete(ChatResponse.of("c"));
+        pending.get("prompt-0").complete(ChatResponse.of("a"));
+        assertThat(inputOrder).containsExactly(0);
+        pending.get("prompt-1").complete(ChatResponse.of("b"));
+
+        assertThat(batch.join()).extracting(BatchResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(ordered.join()).hasSize(3);
+        assertThat(completionOrder).containsExactly(2, 0, 1);
+        assertThat(inputOrder).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void shouldIsolateFailuresAndReportProgress() {
+        AsyncModel model = new AsyncModel(prompt -> {
+            CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+            if (text(prompt).endsWith("3")) {
+                future.completeExceptionally(new ProviderException("Invalid API key", "invalid_api_key", null, "{}"));
+            } else {
+                future.complete(ChatResponse.of("ok"));
+            }
+            return future;
+        });
+        List<BatchProgress> progress = new CopyOnWriteArrayList<>();
+
+        List<BatchResult> results = model.callAll(prompts(10), ChatOptions.DEFAULT,
+                BatchOptions.builder().onProgress(progress::add).build());
+
+        assertThat(results.get(3).isSuccess()).isFalse();
+        assertThat(results.get(3).getError()).isInstanceOf(ProviderException.class);
+        assertThat(results).filteredOn(BatchResult::isSuccess).hasSize(9);
+        assertThat(progress).hasSize(10);
+        BatchProgress last = progress.get(9);
+        assertThat(last.isDone()).isTrue();
+        assertThat(last.getSucceeded()).isEqualTo(9);
+        assertThat(last.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryEachPromptWithBatchPolicy() {
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        List<ChatOptions> seenOptions = new CopyOnWriteArrayList<>();
+        AsyncModel model = new AsyncModel(prompt -> {
+            CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+            if (attempts.computeIfAbsent(text(prompt), key -> new AtomicInteger()).incrementAndGet() == 1) {
+                future.completeExceptionally(new NetworkException("unavailable", 503, "{}"));
+            } else {
+                future.complete(ChatResponse.of("ok"));
+            }
+            return future;
+        });
+        model.onOptions = seenOptions::add;
+
+        List<BatchResult> results = model.callAll(prompts(5), ChatOptions.DEFAULT, BatchOptions.builder()
+                .retryPolicy(RetryPolicy.builder().maxRetries(2).initialDelayMs(1).maxDelayMs(1).build())
+                .build());
+
+        assertThat(results).allMatch(BatchResult::isSuccess);
+        assertThat(attempts.values()).allMatch(count -> count.get() == 2);
+        // The batch policy replaces the model's own retries
+        assertThat(seenOptions).allMatch(options -> Boolean.FALSE.equals(options.getRetryEnabled()));
+    }
+
+    @Test
+    void shouldHandleSynchronousCompletionWithoutRecursion() {
+        AsyncModel model = new AsyncModel(prompt -> CompletableFuture.completedFuture(ChatResponse.of("ok")));
+
+        List<BatchResult> results = model.callAll(prompts(20_000), ChatOptions.DEFAULT,
+                BatchOptions.builder().maxConcurrency(1).build());
+
+        assertThat(results).hasSize(20_000).allMatch(BatchResult::isSuccess);
+    }
+
+    @Test
+    void cancellingShouldCancelInFlightAndSkipRemaining() {
+        List<CompletableFuture<ChatResponse>> calls = new CopyOnWriteArrayList<>();
+        AsyncModel model = new AsyncModel(prompt -> {
+            CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+            calls.add(future);
+            return future;
+        });
+
+        CompletableFuture<List<BatchResult>> batch = model.callAllAsync(prompts(10), ChatOptions.DEFAULT,
+                BatchOptions.builder().maxConcurrency(2).build());
+        batch.cancel(true);
+
+        assertThat(calls).hasSize(2).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    void shouldCompleteEmptyBatch() {
+        AsyncModel model = new AsyncModel(prompt -> {
+            throw new AssertionError("no call expected");
+        });
+
+        assertThat(model.callAll(new ArrayList<>())).isEmpty();
+    }
+
+    private static List<Prompt> prompts(int count) {
+        List<Prompt> prompts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prompts.add(Prompt.of("prompt-" + i));
+        }
+        return prompts;
+    }
+
+    private static String text(Prompt prompt) {
+        return prompt.getMessages().get(0).getContent();
+    }
+
+    /**
+     * Model whose asynchronous calls are answered by a function.
+     */
+    private static final class AsyncModel implements ChatModel {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final Function<Prompt, CompletableFuture<ChatResponse>> answer;
+        volatile Consumer<ChatOptions> onOptions = options -> { };
+
+        AsyncModel(Function<Prompt, CompletableFuture<ChatResponse>> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            return callAsync(prompt, options).join();
+        }
+
+        @Override
+        public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+            onOptions.accept(options);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<ChatResponse> future = answer.apply(prompt);
+            // Count the call as finished before the caller sees its result
+            CompletableFuture<ChatResponse> result = future.whenComplete((response, error) -> inFlight.decrementAndGet());
+            FutureUtil.propagateCancellation(result, future);
+            return result;
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
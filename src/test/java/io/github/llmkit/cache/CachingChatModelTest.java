@@ -0,0 +1,215 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.prompt.Prompt;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingChatModelTest {
+
+    private static final ChatOptions DETERMINISTIC = ChatOptions.builder().temperature(0f).build();
+
+    @Test
+    void shouldServeRepeatedDeterministicCallsFromCache() {
+        CountingModel delegate = new CountingModel();
+        CachingChatModel model = CachingChatModel.builder(delegate).build();
+
+        ChatResponse first = model.call(Prompt.of("Hello"), DETERMINISTIC);
+        ChatResponse second = model.call(Prompt.of("Hello"), DETERMINISTIC);
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegate.calls.get()).isEqualTo(1);
+        assertThat(model.getStats().getHitCount()).isEqualTo(1);
+        assertThat(model.getStats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheNonDeterministicCallsByDefault() {
+        CountingModel delegate = new CountingModel();
+        CachingChatModel model = CachingChatModel.builder(delegate).build();
+        ChatOptions sampled = ChatOptions.builder().temperature(0.7f).build();
+
+        model.call(Prompt.of("Hello"), sampled);
+        model.call(Prompt.of("Hello"), sampled);
+        model.call(Prompt.of("Hello"));
+
+        assertThat(delegate.calls.get()).isEqualTo(3);
+
+        CachingChatModel cacheAll = CachingChatModel.builder(delegate).cacheNonDeterministic(true).build();
+        cacheAll.call(Prompt.of("Hello"), sampled);
+        cacheAll.call(Prompt.of("Hello"), sampled);
+
+        assertThat(delegate.calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldCacheAsyncCalls() {
+        CountingModel delegate = new CountingModel();
+        CachingChatModel model = CachingChatModel.builder(delegate).build();
+
+        String first = model.callAsync(Prompt.of("Hello"), DETERMINISTIC).join().getContent();
+        String second = model.callAsync(Prompt.of("Hello"), DETERMINISTIC).join().getContent();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(delegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCancelDelegateCallWhenAsyncCallIsCancelled() {
+        CompletableFuture<ChatResponse> call = new CompletableFuture<>();
+        ChatModel delegate = new CountingModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                return call;
+            }
+        };
+        CachingChatModel model = CachingChatModel.builder(delegate).build();
+
+        CompletableFuture<ChatResponse> result = model.callAsync(Prompt.of("Hello"), DETERMINISTIC);
+        result.cancel(true);
+
+        assertThat(call).isCancelled();
+        assertThat(model.getStats().getSize()).isZero();
+    }
+
+    @Test
+    void shouldNotShareEntriesBetweenModelsWithDifferentDefaults() {
+        ResponseCache cache = InMemoryResponseCache.builder().build();
+        CountingModel gpt4o = new CountingModel("gpt-4o", "https://api.openai.com/v1/chat/completions");
+        CountingModel mini = new CountingModel("gpt-4o-mini", "https://api.openai.com/v1/chat/completions");
+        CachingChatModel a = CachingChatModel.builder(gpt4o).cache(cache).build();
+        CachingChatModel b = CachingChatModel.builder(mini).cache(cache).build();
+
+        a.call(Prompt.of("Hello"), DETERMINISTIC);
+        b.call(Prompt.of("Hello"), DETERMINISTIC);
+
+        assertThat(gpt4o.calls.get()).isEqualTo(1);
+        assertThat(mini.calls.get()).isEqualTo(1);
+
+        // Naming the default model explicitly hits the same entry
+        a.call(Prompt.of("Hello"), DETERMINISTIC.withModel("gpt-4o"));
+        assertThat(gpt4o.calls.get()).isEqualTo(1);
+
+        // The same model behind another endpoint does not
+        CountingModel proxy = new CountingModel("gpt-4o", "https://llm-proxy.example.com/v1/chat/completions");
+        CachingChatModel.builder(proxy).cache(cache).build().call(Prompt.of("Hello"), DETERMINISTIC);
+        assertThat(proxy.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeriveKeyFromMessagesAndOptions() {
+        CacheKey key = CacheKey.of(Prompt.of("system", "Hello"), DETERMINISTIC);
+
+        assertThat(CacheKey.of(Prompt.of("system", "Hello"), DETERMINISTIC)).isEqualTo(key);
+        assertThat(CacheKey.of(Prompt.of("system", "Hello!"), DETERMINISTIC)).isNotEqualTo(key);
+        assertThat(CacheKey.of(Prompt.of("systemHello"), DETERMINISTIC)).isNotEqualTo(key);
+        assertThat(CacheKey.of(Prompt.of("system", "Hello"), DETERMINISTIC.withModel("gpt-4o"))).isNotEqualTo(key);
+        assertThat(CacheKey.of(null, "gpt-4o", Prompt.of("system", "Hello"), DETERMINISTIC))
+                .isEqualTo(CacheKey.of(Prompt.of("system", "Hello"), DETERMINISTIC.withModel("gpt-4o")));
+        assertThat(CacheKey.of("https://example.com", null, Prompt.of("system", "Hello"), DETERMINISTIC))
+                .isNotEqualTo(key);
+        assertThat(CacheKey.of(Prompt.of("system", "Hello"),
+                ChatOptions.builder().temperature(0f).maxTokens(10).build())).isNotEqualTo(key);
+        // Retry settings do not change the response
+        assertThat(CacheKey.of(Prompt.of("system", "Hello"),
+                ChatOptions.builder().temperature(0f).retryCount(5).build())).isEqualTo(key);
+    }
+
+    @Test
+    void shouldIgnoreExtraParameterOrder() {
+        Map<String, Object> a = new HashMap<>();
+        a.put("seed", 42);
+        a.put("stop", Collections.singletonList("\n"));
+        Map<String, Object> b = new LinkedHashMap<>();
+        b.put("stop", Collections.singletonList("\n"));
+        b.put("seed", 42);
+
+        assertThat(CacheKey.of(Prompt.of("Hi"), ChatOptions.builder().extra(a).build()))
+                .isEqualTo(CacheKey.of(Prompt.of("Hi"), ChatOptions.builder().extra(b).build()));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        InMemoryResponseCache cache = InMemoryResponseCache.builder().maxSize(2).build();
+        CacheKey k1 = new CacheKey(0, 1);
+        CacheKey k2 = new CacheKey(0, 2);
+        CacheKey k3 = new CacheKey(0, 3);
+
+        cache.put(k1, ChatResponse.of("one"));
+        cache.put(k2, ChatResponse.of("two"));
+        cache.get(k1);
+        cache.put(k3, ChatResponse.of("three"));
+
+        assertThat(cache.get(k1)).isNotNull();
+        assertThat(cache.get(k2)).isNull();
+        assertThat(cache.get(k3)).isNotNull();
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        InMemoryResponseCache cache = InMemoryResponseCache.builder()
+                .ttlMs(1000)
+                .ticker(now::get)
+                .build();
+        CacheKey key = new CacheKey(1, 1);
+        cache.put(key, ChatResponse.of("cached"));
+
+        now.addAndGet(999_000_000L);
+        assertThat(cache.get(key)).isNotNull();
+
+        now.addAndGet(1_000_000L);
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isZero();
+    }
+
+    private static class CountingModel implements ChatModel {
+        final AtomicInteger calls = new AtomicInteger();
+        private final String defaultModel;
+        private final String endpointUrl;
+
+        CountingModel() {
+            this(null, null);
+        }
+
+        CountingModel(String defaultModel, String endpointUrl) {
+            this.defaultModel = defaultModel;
+            this.endpointUrl = endpointUrl;
+        }
+
+        @Override
+        public String getDefaultModel() {
+            return defaultModel;
+        }
+
+        @Override
+        public String getEndpointUrl() {
+            return endpointUrl;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            return ChatResponse.of("response " + calls.incrementAndGet());
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            onDelta.accept("response " + calls.incrementAndGet());
+        }
+    }
+}
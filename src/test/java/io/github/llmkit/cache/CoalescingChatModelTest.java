@@ -0,0 +1,232 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.prompt.Prompt;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoalescingChatModelTest {
+
+    @Test
+    void shouldSendOneRequestForConcurrentDuplicates() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel delegate = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                await(release);
+                return ChatResponse.of("shared");
+            }
+        };
+        CoalescingChatModel model = new CoalescingChatModel(delegate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ChatResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> model.call(Prompt.of("popular"))));
+            }
+            waitUntil(() -> model.getCoalescedCount() == 7);
+            release.countDown();
+
+            for (Future<ChatResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("shared");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(model.getRequestCount()).isEqualTo(1);
+        assertThat(model.getInFlightCount()).isZero();
+
+        model.call(Prompt.of("popular"));
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShareFailuresWithWaitingCallers() {
+        CompletableFuture<ChatResponse> pending = new CompletableFuture<>();
+        CoalescingChatModel model = new CoalescingChatModel(new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                return pending;
+            }
+        });
+
+        CompletableFuture<ChatResponse> first = model.callAsync(Prompt.of("Hi"), null);
+        CompletableFuture<ChatResponse> second = model.callAsync(Prompt.of("Hi"), null);
+        CompletableFuture<ChatResponse> other = model.callAsync(Prompt.of("Bye"), null);
+        pending.completeExceptionally(new ChatException("boom"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(other).isCompletedExceptionally();
+        assertThat(model.getRequestCount()).isEqualTo(2);
+        assertThat(model.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCancelRequestOnlyWhenAllCallersCancel() {
+        CompletableFuture<ChatResponse> pending = new CompletableFuture<>();
+        CoalescingChatModel model = new CoalescingChatModel(new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                return pending;
+            }
+        });
+
+        CompletableFuture<ChatResponse> first = model.callAsync(Prompt.of("Hi"), null);
+        CompletableFuture<ChatResponse> second = model.callAsync(Prompt.of("Hi"), null);
+
+        first.cancel(true);
+        assertThat(pending).isNotCancelled();
+
+        second.cancel(true);
+        assertThat(pending).isCancelled();
+    }
+
+    @Test
+    void shouldReplayDeltasToLateStreamSubscribers() {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        List<Consumer<String>> upstream = new ArrayList<>();
+        CoalescingChatModel model = new CoalescingChatModel(new StubModel() {
+            @Override
+            public CompletableFuture<Void> streamAsync(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                upstream.add(onDelta);
+                return completion;
+            }
+        });
+
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        CompletableFuture<Void> firstDone = model.streamAsync(Prompt.of("Hi"), first::append, null);
+        upstream.get(0).accept("Hel");
+        CompletableFuture<Void> secondDone = model.streamAsync(Prompt.of("Hi"), second::append, null);
+        upstream.get(0).accept("lo");
+        completion.complete(null);
+
+        assertThat(upstream).hasSize(1);
+        assertThat(firstDone).isCompleted();
+        assertThat(secondDone).isCompleted();
+        assertThat(first.toString()).isEqualTo("Hello");
+        assertThat(second.toString()).isEqualTo("Hello");
+        assertThat(model.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotBlockJoiningSubscriberBehindSlowConsumer() throws Exception {
+        CompletableFuture<ChatResponse> completion = new CompletableFuture<>();
+        List<Consumer<ChatDelta>> upstream = new ArrayList<>();
+        CoalescingChatModel model = new CoalescingChatModel(new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                                    ChatOptions options) {
+                upstream.add(onDelta);
+                return completion;
+            }
+        });
+
+        CountDownLatch slowEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ChatResponse> slow = model.streamDeltasAsync(Prompt.of("Hi"), delta -> {
+            slowEntered.countDown();
+            await(release);
+        }, null);
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            reader.submit(() -> upstream.get(0).accept(ChatDelta.of("Hel")));
+            assertThat(slowEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Joins and replays while the slow consumer still holds the reader thread
+            StringBuilder fast = new StringBuilder();
+            CompletableFuture<ChatResponse> joined = model.streamDeltasAsync(Prompt.of("Hi"),
+                    delta -> fast.append(delta.getContent()), null);
+            assertThat(fast.toString()).isEqualTo("Hel");
+
+            release.countDown();
+            reader.submit(() -> {
+                upstream.get(0).accept(ChatDelta.of("lo"));
+                completion.complete(ChatResponse.of("Hello"));
+            }).get(5, TimeUnit.SECONDS);
+
+            assertThat(joined.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("Hello");
+            assertThat(slow.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("Hello");
+            assertThat(fast.toString()).isEqualTo("Hello");
+            assertThat(upstream).hasSize(1);
+        } finally {
+            release.countDown();
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotJoinStreamWithoutRequestedUsage() {
+        List<ChatOptions> upstream = new ArrayList<>();
+        CoalescingChatModel model = new CoalescingChatModel(new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> streamDeltasAsync(Prompt prompt, Consumer<ChatDelta> onDelta,
+                                                                    ChatOptions options) {
+                upstream.add(options);
+                return new CompletableFuture<>();
+            }
+        });
+
+        model.streamDeltasAsync(Prompt.of("Hi"), delta -> { }, ChatOptions.builder().build());
+        model.streamDeltasAsync(Prompt.of("Hi"), delta -> { }, ChatOptions.builder().includeUsage(true).build());
+        model.streamDeltasAsync(Prompt.of("Hi"), delta -> { },
+                ChatOptions.builder().rawResponseRetention(RawResponseRetention.FULL).build());
+        model.streamDeltasAsync(Prompt.of("Hi"), delta -> { }, ChatOptions.builder().includeUsage(true).build());
+
+        assertThat(upstream).hasSize(3);
+        assertThat(model.getCoalescedCount()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static class StubModel implements ChatModel {
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.llmkit.cache;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.prompt.Prompt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DiskResponseCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldStoreAndReadResponses() {
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).build()) {
+            CacheKey key = new CacheKey(1, 2);
+            cache.put(key, ChatResponse.builder()
+                    .content("你好, world")
+                    .finishReason("stop")
+                    .usage(3, 4, 7)
+                    .rawResponse("{}")
+                    .build());
+
+            ChatResponse cached = cache.get(key);
+
+            assertThat(cached.getContent()).isEqualTo("你好, world");
+            assertThat(cached.getFinishReason()).isEqualTo("stop");
+            assertThat(cached.getUsage()).isEqualTo(new ChatResponse.Usage(3, 4, 7));
+            assertThat(cached.getRawResponse()).isNull();
+            assertThat(cache.get(new CacheKey(2, 1))).isNull();
+            assertThat(cache.stats().getHitCount()).isEqualTo(1);
+            assertThat(cache.stats().getMissCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldSurviveReopen() {
+        CacheKey kept = new CacheKey(1, 1);
+        CacheKey replaced = new CacheKey(2, 2);
+        CacheKey removed = new CacheKey(3, 3);
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).storeRawResponse(true).build()) {
+            cache.put(kept, ChatResponse.builder().content("kept").rawResponse("raw").build());
+            cache.put(replaced, ChatResponse.of("old"));
+            cache.put(replaced, ChatResponse.of("new"));
+            cache.put(removed, ChatResponse.of("removed"));
+            cache.invalidate(removed);
+        }
+
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).build()) {
+            assertThat(cache.get(kept).getContent()).isEqualTo("kept");
+            assertThat(cache.get(kept).getRawResponse()).isEqualTo("raw");
+            assertThat(cache.get(replaced).getContent()).isEqualTo("new");
+            assertThat(cache.get(removed)).isNull();
+            assertThat(cache.stats().getSize()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldRollSegmentsAndCompact() {
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory)
+                .segmentSizeBytes(4096)
+                .compactionThreshold(1.0)
+                .build()) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 100; i++) {
+                    cache.put(new CacheKey(0, i), ChatResponse.of("response " + i + " round " + round));
+                }
+            }
+            long before = cache.getDiskUsage();
+            assertThat(cache.getDeadBytes()).isPositive();
+
+            cache.compact();
+
+            assertThat(cache.getDiskUsage()).isLessThan(before);
+            assertThat(cache.stats().getSize()).isEqualTo(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(cache.get(new CacheKey(0, i)).getContent()).isEqualTo("response " + i + " round 4");
+            }
+        }
+
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).build()) {
+            assertThat(cache.stats().getSize()).isEqualTo(100);
+            assertThat(cache.get(new CacheKey(0, 42)).getContent()).isEqualTo("response 42 round 4");
+        }
+    }
+
+    @Test
+    void shouldCompactAutomaticallyWhenMostlyDead() {
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).segmentSizeBytes(4096).build()) {
+            CacheKey key = new CacheKey(7, 7);
+            for (int i = 0; i < 1000; i++) {
+                cache.put(key, ChatResponse.of("version " + i));
+            }
+
+            assertThat(cache.getDiskUsage()).isLessThanOrEqualTo(2 * 4096);
+            assertThat(cache.get(key).getContent()).isEqualTo("version 999");
+        }
+    }
+
+    @Test
+    void shouldPlugIntoCachingChatModel() {
+        try (DiskResponseCache cache = DiskResponseCache.builder(directory).build()) {
+            ChatModel delegate = new ChatModel() {
+                @Override
+                public ChatResponse call(Prompt prompt, ChatOptions options) {
+                    return ChatResponse.of("fresh");
+                }
+
+                @Override
+                public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                    onDelta.accept("fresh");
+                }
+            };
+            CachingChatModel model = CachingChatModel.builder(delegate)
+                    .cache(cache)
+                    .cacheNonDeterministic(true)
+                    .build();
+
+            model.call(Prompt.of("Hi"));
+            model.call(Prompt.of("Hi"));
+
+            assertThat(model.getStats().getHitCount()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.llmkit.chat.openai;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OpenAIBatchClientTest {
+
+    private static final String BATCH_IN_PROGRESS = "{\"id\":\"batch_1\",\"status\":\"in_progress\"," +
+            "\"input_file_id\":\"file-in\",\"request_counts\":{\"total\":3,\"completed\":1,\"failed\":0}}";
+
+    private static final String BATCH_COMPLETED = "{\"id\":\"batch_1\",\"status\":\"completed\"," +
+            "\"input_file_id\":\"file-in\",\"output_file_id\":\"file-out\",\"error_file_id\":\"file-err\"," +
+            "\"request_counts\":{\"total\":3,\"completed\":2,\"failed\":1}}";
+
+    private static final String OUTPUT_FILE =
+            "{\"id\":\"r1\",\"custom_id\":\"1\",\"response\":{\"status_code\":200,\"body\":{\"choices\":[" +
+            "{\"message\":{\"role\":\"assistant\",\"content\":\"Two\"},\"finish_reason\":\"stop\"}]," +
+            "\"usage\":{\"prompt_tokens\":3,\"completion_tokens\":1,\"total_tokens\":4}}},\"error\":null}\n" +
+            "{\"id\":\"r0\",\"custom_id\":\"0\",\"response\":{\"status_code\":200,\"body\":{\"choices\":[" +
+            "{\"message\":{\"role\":\"assistant\",\"content\":\"One\"},\"finish_reason\":\"stop\"}]}},\"error\":null}\n";
+
+    private static final String ERROR_FILE =
+            "{\"id\":\"r2\",\"custom_id\":\"2\",\"response\":{\"status_code\":400,\"body\":{\"error\":" +
+            "{\"message\":\"Invalid model\",\"type\":\"invalid_request_error\",\"code\":\"model_not_found\"}}}," +
+            "\"error\":null}\n";
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebServer server;
+    private OpenAIChatModel model;
+    private OpenAIBatchClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        model = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .model("gpt-4o-mini")
+                .retryEnabled(false)
+                .build()
+                .toModel();
+        client = new OpenAIBatchClient(model);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void shouldWriteOneRequestLinePerPromptUsingModelRequestBody() throws Exception {
+        Path file = tempDir.resolve("requests.jsonl");
+        ChatOptions options = ChatOptions.builder().temperature(0f).build();
+
+        int count = client.writeRequests(Arrays.asList(Prompt.of("a"), Prompt.of("b")), options, file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JSONObject first = JSON.parseObject(lines.get(0));
+        assertThat(first.getString("custom_id")).isEqualTo("0");
+        assertThat(first.getString("method")).isEqualTo("POST");
+        assertThat(first.getString("url")).isEqualTo("/v1/chat/completions");
+        assertThat(first.getJSONObject("body"))
+                .isEqualTo(JSON.parseObject(model.buildRequestBody(Prompt.of("a"), options, false)));
+        assertThat(JSON.parseObject(lines.get(1)).getString("custom_id")).isEqualTo("1");
+    }
+
+    @Test
+    void shouldConsumePromptsLazily() {
+        Path file = tempDir.resolve("lazy.jsonl");
+        List<Integer> generated = new ArrayList<>();
+        Iterable<Prompt> prompts = () -> new Iterator<Prompt>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < 1000;
+            }
+
+            @Override
+            public Prompt next() {
+                generated.add(next);
+                return Prompt.of("prompt " + next++);
+            }
+        };
+
+        assertThat(client.writeRequests(prompts, null, file)).isEqualTo(1000);
+        assertThat(generated).hasSize(1000);
+    }
+
+    @Test
+    void submitShouldUploadFileAndCreateBatch() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":\"file-in\",\"purpose\":\"batch\"}"));
+        server.enqueue(new MockResponse().setBody(BATCH_IN_PROGRESS));
+
+        OpenAIBatch batch = client.submit(Arrays.asList(Prompt.of("a"), Prompt.of("b")), null);
+
+        assertThat(batch.getId()).isEqualTo("batch_1");
+        assertThat(batch.getStatus()).isEqualTo("in_progress");
+        assertThat(batch.isTerminal()).isFalse();
+
+        RecordedRequest upload = server.takeRequest();
+        assertThat(upload.getPath()).isEqualTo("/v1/files");
+        assertThat(upload.getHeader("Authorization")).isEqualTo("Bearer test-key");
+        assertThat(upload.getHeader("Content-Type")).startsWith("multipart/form-data");
+        String multipart = upload.getBody().readUtf8();
+        assertThat(multipart).contains("name=\"purpose\"").contains("batch");
+        assertThat(multipart).contains("\"custom_id\":\"0\"").contains("\"custom_id\":\"1\"");
+
+        RecordedRequest create = server.takeRequest();
+        assertThat(create.getPath()).isEqualTo("/v1/batches");
+        JSONObject payload = JSON.parseObject(create.getBody().readUtf8());
+        assertThat(payload.getString("input_file_id")).isEqualTo("file-in");
+        assertThat(payload.getString("endpoint")).isEqualTo("/v1/chat/completions");
+        assertThat(payload.getString("completion_window")).isEqualTo(OpenAIBatchClient.COMPLETION_WINDOW);
+    }
+
+    @Test
+    void awaitCompletionShouldPollUntilTerminal() throws Exception {
+        server.enqueue(new MockResponse().setBody(BATCH_IN_PROGRESS));
+        server.enqueue(new MockResponse().setBody(BATCH_IN_PROGRESS));
+        server.enqueue(new MockResponse().setBody(BATCH_COMPLETED));
+
+        OpenAIBatch batch = client.awaitCompletion("batch_1", 10, 5000);
+
+        assertThat(batch.isCompleted()).isTrue();
+        assertThat(batch.getOutputFileId()).isEqualTo("file-out");
+        assertThat(batch.getCompletedRequests()).isEqualTo(2);
+        assertThat(batch.getFailedRequests()).isEqualTo(1);
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(server.takeRequest().getPath()).isEqualTo("/v1/batches/batch_1");
+    }
+
+    @Test
+    void awaitCompletionShouldTimeOut() {
+        for (int i = 0; i < 20; i++) {
+            server.enqueue(new MockResponse().setBody(BATCH_IN_PROGRESS));
+        }
+
+        assertThatThrownBy(() -> client.awaitCompletion("batch_1", 20, 50))
+                .isInstanceOf(ChatException.class)
+                .hasMessageContaining("did not finish");
+    }
+
+    @Test
+    void readResultsShouldParseOutputAndErrorFiles() throws Exception {
+        server.enqueue(new MockResponse().setBody(BATCH_COMPLETED));
+        server.enqueue(new MockResponse().setBody(OUTPUT_FILE));
+        server.enqueue(new MockResponse().setBody(ERROR_FILE));
+        OpenAIBatch batch = client.getBatch("batch_1");
+
+        List<OpenAIBatchOutput> outputs = new ArrayList<>();
+        client.readResults(batch, outputs::add);
+
+        assertThat(outputs).extracting(OpenAIBatchOutput::getIndex).containsExactly(1, 0, 2);
+        assertThat(outputs.get(0).getResponse().getContent()).isEqualTo("Two");
+        assertThat(outputs.get(0).getResponse().getUsage().getTotalTokens()).isEqualTo(4);
+        assertThat(outputs.get(1).getResponse().getContent()).isEqualTo("One");
+        OpenAIBatchOutput failed = outputs.get(2);
+        assertThat(failed.isSuccess()).isFalse();
+        assertThat(failed.getError()).isInstanceOf(ProviderException.class);
+        assertThat(((ProviderException) failed.getError()).getHttpStatusCode()).isEqualTo(400);
+        assertThat(((ProviderException) failed.getError()).getProviderErrorCode()).isEqualTo("model_not_found");
+
+        server.takeRequest();
+        assertThat(server.takeRequest().getPath()).isEqualTo("/v1/files/file-out/content");
+        assertThat(server.takeRequest().getPath()).isEqualTo("/v1/files/file-err/content");
+    }
+
+    @Test
+    void shouldReportMalformedLineWithoutStoppingResults() {
+        server.enqueue(new MockResponse().setBody("not json\n" + OUTPUT_FILE));
+
+        List<OpenAIBatchOutput> outputs = new ArrayList<>();
+        client.readResultFile("file-out", outputs::add);
+
+        assertThat(outputs).hasSize(3);
+        assertThat(outputs.get(0).isSuccess()).isFalse();
+        assertThat(outputs.get(1).isSuccess()).isTrue();
+        assertThat(outputs.get(2).isSuccess()).isTrue();
+    }
+
+    @Test
+    void shouldThrowNetworkExceptionOnHttpError() {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":{\"message\":\"No such batch\"}}"));
+
+        assertThatThrownBy(() -> client.getBatch("missing"))
+                .isInstanceOf(NetworkException.class)
+                .satisfies(e -> assertThat(((NetworkException) e).getHttpStatusCode()).isEqualTo(404));
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.llmkit.chat.openai;
 
 import io.github.llmkit.exception.ConfigurationException;
+import io.github.llmkit.util.VirtualThreads;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.*;
@@ -113,4 +114,55 @@ class OpenAIChatConfigTest {
         assertThat(toString).doesNotContain("sk-secret-key-12345");
         assertThat(toString).contains("[REDACTED]");
     }
+
+    @Test
+    void shouldConfigureConnectionPool() {
+        OpenAIChatConfig config = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .maxIdleConnections(10)
+                .keepAliveDurationMs(60_000)
+                .maxRequests(256)
+                .maxRequestsPerHost(128)
+                .build();
+
+        assertThat(config.getMaxIdleConnections()).isEqualTo(10);
+        assertThat(config.getKeepAliveDurationMs()).isEqualTo(60_000);
+        assertThat(config.getMaxRequests()).isEqualTo(256);
+        assertThat(config.getMaxRequestsPerHost()).isEqualTo(128);
+    }
+
+    @Test
+    void shouldRejectInvalidPoolSettings() {
+        assertThatThrownBy(() -> OpenAIChatConfig.builder().apiKey("test-key").maxRequestsPerHost(0).build())
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("maxRequestsPerHost");
+    }
+
+    @Test
+    void shouldRaiseUnsetMaxRetryDelayToInitialDelay() {
+        OpenAIChatConfig config = OpenAIChatConfig.builder().apiKey("test-key").retryDelayMs(60_000).build();
+
+        assertThat(config.getRetryMaxDelayMs()).isEqualTo(60_000);
+        assertThat(config.getRetryPolicy().getMaxDelayMs()).isEqualTo(60_000);
+    }
+
+    @Test
+    void shouldRejectExplicitMaxRetryDelayBelowInitialDelay() {
+        assertThatThrownBy(() -> OpenAIChatConfig.builder().apiKey("test-key")
+                .retryDelayMs(5_000).retryMaxDelayMs(1_000).build())
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("retryMaxDelayMs");
+    }
+
+    @Test
+    void shouldConfigureVirtualThreadsWhenSupported() {
+        if (VirtualThreads.isSupported()) {
+            OpenAIChatConfig config = OpenAIChatConfig.builder().apiKey("test-key").virtualThreads().build();
+            assertThat(config.getExecutor()).isSameAs(VirtualThreads.executor());
+        } else {
+            assertThatThrownBy(() -> OpenAIChatConfig.builder().apiKey("test-key").virtualThreads())
+                    .isInstanceOf(ConfigurationException.class)
+                    .hasMessageContaining("Java 21");
+        }
+    }
 }
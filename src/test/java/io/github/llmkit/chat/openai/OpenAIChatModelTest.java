@@ -0,0 +1,426 @@
+package io.github.llmkit.chat.openai;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.ratelimit.RateLimiter;
+import io.github.llmkit.ratelimit.RateLimiterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OpenAIChatModelTest {
+
+    private static final String COMPLETION = "{\"id\":\"chatcmpl-1\",\"choices\":[{\"index\":0," +
+            "\"message\":{\"role\":\"assistant\",\"content\":\"Hello!\"},\"finish_reason\":\"stop\"}]," +
+            "\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":2,\"total_tokens\":7}}";
+
+    private static final String USAGE_STREAM =
+            "data: {\"id\":\"c1\",\"choices\":[{\"delta\":{\"role\":\"assistant\",\"content\":\"\"}}]}\n\n" +
+            "data: {\"id\":\"c1\",\"choices\":[{\"delta\":{\"content\":\"Hello\"}}]}\n\n" +
+            "data: {\"id\":\"c1\",\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}\n\n" +
+            "data: {\"id\":\"c1\",\"choices\":[],\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":2," +
+            "\"total_tokens\":7}}\n\n" +
+            "data: [DONE]\n\n";
+
+    private MockWebServer server;
+    private OpenAIChatModel model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        model = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .retryEnabled(false)
+                .build()
+                .toModel();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+        RateLimiterRegistry.reset();
+    }
+
+    @Test
+    void callShouldParseResponse() throws Exception {
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+
+        ChatResponse response = model.call(Prompt.of("Hi"));
+
+        assertThat(response.getContent()).isEqualTo("Hello!");
+        assertThat(response.getFinishReason()).isEqualTo("stop");
+        assertThat(response.getUsage().getTotalTokens()).isEqualTo(7);
+
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getPath()).isEqualTo("/v1/chat/completions");
+        assertThat(request.getHeader("Authorization")).isEqualTo("Bearer test-key");
+        assertThat(request.getBody().readUtf8()).contains("\"content\":\"Hi\"");
+    }
+
+    @Test
+    void callShouldKeepRawResponseUnlessDisabled() throws Exception {
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        OpenAIChatModel lean = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .retryEnabled(false)
+                .retainRawResponse(false)
+                .build()
+                .toModel();
+
+        assertThat(model.call(Prompt.of("Hi")).getRawResponse()).isEqualTo(COMPLETION);
+        ChatResponse response = lean.callAsync(Prompt.of("Hi")).get(5, TimeUnit.SECONDS);
+        assertThat(response.getContent()).isEqualTo("Hello!");
+        assertThat(response.getRawResponse()).isNull();
+    }
+
+    @Test
+    void callShouldApplyRawResponseRetentionFromOptions() throws Exception {
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+
+        ChatResponse compressed = model.call(Prompt.of("Hi"),
+                ChatOptions.builder().rawResponseRetention(RawResponseRetention.COMPRESSED).build());
+        ChatResponse dropped = model.callAsync(Prompt.of("Hi"),
+                ChatOptions.builder().rawResponseRetention(RawResponseRetention.NONE).build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(compressed.getContent()).isEqualTo("Hello!");
+        assertThat(compressed.getRawResponse()).isEqualTo(COMPLETION);
+        assertThat(dropped.getContent()).isEqualTo("Hello!");
+        assertThat(dropped.getRawResponse()).isNull();
+    }
+
+    @Test
+    void callShouldWriteRequestBodyAndResendItOnRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        ChatOptions options = ChatOptions.builder()
+                .temperature(0.5f)
+                .maxTokens(64)
+                .frequencyPenalty(0.2)
+                .addExtra("temperature", 1)
+                .addExtra("response_format", Collections.singletonMap("type", "json_object"))
+                .retryEnabled(true).retryCount(1).retryDelayMs(0)
+                .build();
+
+        model.call(Prompt.chat().system("Be \"terse\"").user("line1\nline2").build(), options);
+
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest retry = server.takeRequest();
+        String body = first.getBody().readUtf8();
+        assertThat(retry.getBody().readUtf8()).isEqualTo(body);
+        assertThat(first.getHeader("Content-Type")).startsWith("application/json");
+        assertThat(first.getChunkSizes()).isNotEmpty();
+
+        JSONObject json = JSON.parseObject(body);
+        assertThat(json.getString("model")).isEqualTo("gpt-4o");
+        assertThat(json.getJSONArray("messages")).hasSize(2);
+        assertThat(json.getJSONArray("messages").getJSONObject(0).getString("content")).isEqualTo("Be \"terse\"");
+        assertThat(json.getJSONArray("messages").getJSONObject(1).getString("content")).isEqualTo("line1\nline2");
+        assertThat(json.getIntValue("temperature")).isEqualTo(1);
+        assertThat(json.getIntValue("max_tokens")).isEqualTo(64);
+        assertThat(json.getDoubleValue("frequency_penalty")).isEqualTo(0.2);
+        assertThat(json.getJSONObject("response_format").getString("type")).isEqualTo("json_object");
+        assertThat(json).doesNotContainKey("stream");
+    }
+
+    @Test
+    void callShouldRetryRateLimitHonoringRetryAfter() {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("retry-after-ms", "50")
+                .setBody("{\"error\":{\"type\":\"rate_limit_exceeded\"}}"));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        ChatOptions options = ChatOptions.builder().retryEnabled(true).retryCount(2).retryDelayMs(0).build();
+
+        long start = System.nanoTime();
+        ChatResponse response = model.call(Prompt.of("Hi"), options);
+
+        assertThat(response.getContent()).isEqualTo("Hello!");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void callShouldNotRetryAuthenticationErrors() {
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("{}"));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        ChatOptions options = ChatOptions.builder().retryEnabled(true).retryCount(3).retryDelayMs(0).build();
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"), options))
+                .isInstanceOf(NetworkException.class)
+                .satisfies(e -> assertThat(((NetworkException) e).getHttpStatusCode()).isEqualTo(401));
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callAsyncShouldCompleteWithResponse() {
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+
+        ChatResponse response = model.callAsync(Prompt.of("Hi")).join();
+
+        assertThat(response.getContent()).isEqualTo("Hello!");
+    }
+
+    @Test
+    void callAsyncShouldFailWithNetworkException() {
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+
+        CompletableFuture<ChatResponse> future = model.callAsync(Prompt.of("Hi"));
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NetworkException.class);
+    }
+
+    @Test
+    void asyncMethodsShouldReportSetupFailuresThroughFuture() {
+        OpenAIChatModel failing = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .rateLimit(100, 10_000)
+                .tokenEstimator((prompt, options) -> {
+                    throw new IllegalStateException("estimator failed");
+                })
+                .build()
+                .toModel();
+
+        CompletableFuture<ChatResponse> call = failing.callAsync(Prompt.of("Hi"));
+        CompletableFuture<ChatResponse> stream = failing.streamDeltasAsync(Prompt.of("Hi"), delta -> { }, null);
+
+        assertThatThrownBy(call::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(stream::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(server.getRequestCount()).isZero();
+    }
+
+    @Test
+    void cancellingCallAsyncShouldCancelRequest() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        CompletableFuture<ChatResponse> future = model.callAsync(Prompt.of("Hi"));
+        assertThat(server.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+
+        assertThat(future.cancel(true)).isTrue();
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void streamShouldDeliverDeltas() {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"Hel\"}}]}\n\n" +
+                        "data: {\"choices\":[{\"delta\":{\"content\":\"lo\"}}]}\n\n" +
+                        "data: [DONE]\n\n"));
+
+        List<String> deltas = new ArrayList<>();
+        model.stream(Prompt.of("Hi"), deltas::add, ChatOptions.DEFAULT);
+
+        assertThat(deltas).containsExactly("Hel", "lo");
+    }
+
+    @Test
+    void streamAsyncShouldCompleteWhenStreamEnds() {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"Hi\"}}]}\n\ndata: [DONE]\n\n"));
+
+        StringBuilder content = new StringBuilder();
+        model.streamAsync(Prompt.of("Hi"), content::append).join();
+
+        assertThat(content.toString()).isEqualTo("Hi");
+    }
+
+    @Test
+    void callAsyncShouldRetryTransientFailures() {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody("{}"));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        ChatOptions options = ChatOptions.builder().retryEnabled(true).retryCount(2).retryDelayMs(10).build();
+
+        ChatResponse response = model.callAsync(Prompt.of("Hi"), options).join();
+
+        assertThat(response.getContent()).isEqualTo("Hello!");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void streamShouldRetryFailureBeforeFirstDelta() {
+        server.enqueue(new MockResponse().setResponseCode(429).setBody("{}"));
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"Hi\"}}]}\n\ndata: [DONE]\n\n"));
+        ChatOptions options = ChatOptions.builder().retryEnabled(true).retryCount(2).retryDelayMs(10).build();
+
+        List<String> deltas = new ArrayList<>();
+        model.stream(Prompt.of("Hi"), deltas::add, options);
+
+        assertThat(deltas).containsExactly("Hi");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void streamShouldReportHttpErrorsAsNetworkException() {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":{}}"));
+
+        assertThatThrownBy(() -> model.stream(Prompt.of("Hi"), delta -> { }, ChatOptions.DEFAULT))
+                .isInstanceOf(NetworkException.class)
+                .satisfies(e -> assertThat(((NetworkException) e).getResponseBody()).isEqualTo("{\"error\":{}}"));
+    }
+
+    @Test
+    void callShouldReconcileRateLimitWithUsage() {
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        server.enqueue(new MockResponse().setBody(COMPLETION));
+        OpenAIChatModel limited = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .retryEnabled(false)
+                .rateLimit(100, 10_000)
+                .build()
+                .toModel();
+
+        limited.call(Prompt.of("Hi"), ChatOptions.builder().maxTokens(500).build());
+        limited.callAsync(Prompt.of("Hi")).join();
+
+        RateLimiter limiter = RateLimiterRegistry.getLimiter(limited.getConfig(), limited.getConfig().getModel());
+        assertThat(limiter.getAcquiredCount()).isEqualTo(2);
+        // Both estimates were replaced by the reported 7 tokens
+        assertThat(limiter.getAvailableTokens()).isBetween(10_000.0 - 14, 10_000.0);
+        assertThat(limiter.getAvailableRequests()).isLessThan(99.0);
+    }
+
+    @Test
+    void streamShouldDeliverDeltasOnConfiguredExecutor() {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"Hi\"}}]}\n\ndata: [DONE]\n\n"));
+        List<Thread> created = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            created.add(thread);
+            return thread;
+        });
+        try {
+            OpenAIChatModel custom = OpenAIChatConfig.builder()
+                    .apiKey("test-key")
+                    .endpoint(server.url("/").toString())
+                    .executor(executor)
+                    .build()
+                    .toModel();
+
+            List<Thread> threads = new ArrayList<>();
+            custom.stream(Prompt.of("Hi"), delta -> threads.add(Thread.currentThread()), ChatOptions.DEFAULT);
+
+            assertThat(threads).hasSize(1);
+            assertThat(created).contains(threads.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void streamPublisherShouldEmitDeltasOnDemand() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"choices\":[{\"delta\":{\"content\":\"Hel\"}}]}\n\n" +
+                        "data: {\"choices\":[{\"delta\":{\"content\":\"lo\"}}]}\n\n" +
+                        "data: [DONE]\n\n"));
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        model.streamPublisher(Prompt.of("Hi")).subscribe(new Subscriber<ChatDelta>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ChatDelta delta) {
+                deltas.add(delta.getContent());
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(deltas).containsExactly("Hel", "lo");
+    }
+
+    @Test
+    void streamDeltasShouldReturnAggregatedResponse() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(USAGE_STREAM));
+
+        List<ChatDelta> deltas = new ArrayList<>();
+        ChatResponse response = model.streamDeltas(Prompt.of("Hi"), deltas::add,
+                ChatOptions.builder().includeUsage(true).build());
+
+        assertThat(deltas).extracting(ChatDelta::getRole).containsExactly("assistant", null, null, null);
+        assertThat(deltas.get(2).getFinishReason()).isEqualTo("stop");
+        assertThat(response.getContent()).isEqualTo("Hello");
+        assertThat(response.getFinishReason()).isEqualTo("stop");
+        assertThat(response.getUsage()).isEqualTo(new ChatResponse.Usage(5, 2, 7));
+        assertThat(server.takeRequest().getBody().readUtf8()).contains("\"include_usage\":true");
+    }
+
+    @Test
+    void streamShouldReconcileRateLimitWithReportedUsage() {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(USAGE_STREAM));
+        OpenAIChatModel limited = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .endpoint(server.url("/").toString())
+                .retryEnabled(false)
+                .rateLimit(0, 10_000)
+                .build()
+                .toModel();
+
+        StringBuilder content = new StringBuilder();
+        limited.stream(Prompt.of("Hi"), content::append,
+                ChatOptions.builder().includeUsage(true).maxTokens(500).build());
+
+        RateLimiter limiter = RateLimiterRegistry.getLimiter(limited.getConfig(), limited.getConfig().getModel());
+        assertThat(content.toString()).isEqualTo("Hello");
+        assertThat(limiter.getAvailableTokens()).isBetween(10_000.0 - 7, 10_000.0);
+    }
+}
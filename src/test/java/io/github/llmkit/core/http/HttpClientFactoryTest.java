@@ -0,0 +1,126 @@
+package io.github.llmkit.core.http;
+
+import io.github.llmkit.chat.openai.OpenAIChatConfig;
+import io.github.llmkit.chat.qwen.QwenChatConfig;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HttpClientFactoryTest {
+
+    @AfterEach
+    void tearDown() {
+        HttpClientFactory.reset();
+    }
+
+    @Test
+    void shouldApplyPoolSettingsFromConfig() {
+        OpenAIChatConfig config = OpenAIChatConfig.builder()
+                .apiKey("test-key")
+                .maxRequests(200)
+                .maxRequestsPerHost(100)
+                .build();
+
+        OkHttpClient client = HttpClientFactory.getClient(config);
+
+        assertThat(client.dispatcher().getMaxRequests()).isEqualTo(200);
+        assertThat(client.dispatcher().getMaxRequestsPerHost()).isEqualTo(100);
+        assertThat(client.connectionPool()).isNotSameAs(HttpClientFactory.getDefaultClient().connectionPool());
+    }
+
+    @Test
+    void shouldShareClientForEquivalentConfigs() {
+        OpenAIChatConfig first = OpenAIChatConfig.builder().apiKey("key-1").build();
+        OpenAIChatConfig second = OpenAIChatConfig.builder().apiKey("key-2").build();
+
+        assertThat(HttpClientFactory.getClient(first)).isSameAs(HttpClientFactory.getClient(second));
+    }
+
+    @Test
+    void shouldIsolateProviders() {
+        OkHttpClient openai = HttpClientFactory.getClient(OpenAIChatConfig.builder().apiKey("key").build());
+        OkHttpClient qwen = HttpClientFactory.getClient(QwenChatConfig.builder().apiKey("key").build());
+
+        assertThat(openai).isNotSameAs(qwen);
+        assertThat(openai.connectionPool()).isNotSameAs(qwen.connectionPool());
+        assertThat(openai.dispatcher()).isNotSameAs(qwen.dispatcher());
+    }
+
+    @Test
+    void shouldReportPoolStats() {
+        HttpClientFactory.getClient(OpenAIChatConfig.builder().apiKey("key").maxRequestsPerHost(7).build());
+
+        Map<String, PoolStats> stats = HttpClientFactory.getPoolStats();
+
+        assertThat(stats).containsKey("default");
+        PoolStats openai = stats.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("openai@") && e.getKey().contains("maxRequestsPerHost=7"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertThat(openai.getMaxRequestsPerHost()).isEqualTo(7);
+        assertThat(openai.getConnectionCount()).isZero();
+        assertThat(openai.getQueuedCalls()).isZero();
+    }
+
+    @Test
+    void shouldRunDispatcherOnConfiguredExecutor() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            OkHttpClient custom = HttpClientFactory.getClient(
+                    OpenAIChatConfig.builder().apiKey("key").executor(executor).build());
+            OkHttpClient standard = HttpClientFactory.getClient(OpenAIChatConfig.builder().apiKey("key").build());
+
+            assertThat(custom.dispatcher().executorService()).isSameAs(executor);
+            assertThat(custom).isNotSameAs(standard);
+
+            HttpClientFactory.reset();
+            assertThat(executor.isShutdown()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepSeparateClientsPerExecutorInstance() {
+        ExecutorService first = Executors.newCachedThreadPool();
+        ExecutorService second = Executors.newCachedThreadPool();
+        try {
+            OkHttpClient a = HttpClientFactory.getClient(
+                    OpenAIChatConfig.builder().apiKey("key").executor(first).build());
+            OkHttpClient b = HttpClientFactory.getClient(
+                    OpenAIChatConfig.builder().apiKey("key").executor(second).build());
+
+            assertThat(a).isNotSameAs(b);
+            assertThat(a.dispatcher().executorService()).isSameAs(first);
+            assertThat(b.dispatcher().executorService()).isSameAs(second);
+            assertThat(HttpClientFactory.getClient(OpenAIChatConfig.builder().apiKey("other").executor(first).build()))
+                    .isSameAs(a);
+        } finally {
+            first.shutdownNow();
+            second.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReleaseClientsOfShutDownExecutors() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        OkHttpClient client = HttpClientFactory.getClient(
+                OpenAIChatConfig.builder().apiKey("key").executor(executor).build());
+        assertThat(HttpClientFactory.getPoolStats().keySet()).anyMatch(key -> key.contains("executor="));
+
+        executor.shutdown();
+        OkHttpClient replacement = HttpClientFactory.getClient(
+                OpenAIChatConfig.builder().apiKey("key").executor(executor).build());
+
+        assertThat(replacement).isNotSameAs(client);
+        HttpClientFactory.getClient(OpenAIChatConfig.builder().apiKey("key").build());
+        assertThat(HttpClientFactory.getPoolStats().keySet()).noneMatch(key -> key.contains("executor="));
+    }
+}
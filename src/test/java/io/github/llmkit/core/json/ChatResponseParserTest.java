@@ -0,0 +1,112 @@
+package io.github.llmkit.core.json;
+
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.api.RawResponseRetention;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChatResponseParserTest {
+
+    private static final String COMPLETION = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion\"," +
+            "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Hello \\\"world\\\" 中文\"," +
+            "\"refusal\":null},\"logprobs\":null,\"finish_reason\":\"stop\"},{\"index\":1,\"message\":" +
+            "{\"content\":\"ignored\"}}],\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":2," +
+            "\"total_tokens\":7,\"prompt_tokens_details\":{\"cached_tokens\":0}}}";
+
+    @Test
+    void shouldParseStringAndKeepIt() {
+        ChatResponse response = ChatResponseParser.parse(COMPLETION);
+
+        assertThat(response.getContent()).isEqualTo("Hello \"world\" 中文");
+        assertThat(response.getFinishReason()).isEqualTo("stop");
+        assertThat(response.getUsage()).isEqualTo(new ChatResponse.Usage(5, 2, 7));
+        assertThat(response.getRawResponse()).isSameAs(COMPLETION);
+    }
+
+    @Test
+    void shouldParseBytesAndDecodeRawResponseOnDemand() {
+        byte[] utf8 = COMPLETION.getBytes(StandardCharsets.UTF_8);
+
+        ChatResponse retained = ChatResponseParser.parse(utf8, RawResponseRetention.FULL);
+        ChatResponse dropped = ChatResponseParser.parse(utf8, RawResponseRetention.NONE);
+
+        assertThat(retained.getContent()).isEqualTo("Hello \"world\" 中文");
+        assertThat(retained.getRawResponse()).isEqualTo(COMPLETION);
+        assertThat(dropped.getContent()).isEqualTo(retained.getContent());
+        assertThat(dropped.getRawResponse()).isNull();
+    }
+
+    @Test
+    void shouldInflateCompressedRawResponseOnDemand() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("Recursion 递归 ").append(i).append(' ');
+        }
+        String json = "{\"choices\":[{\"message\":{\"content\":\"" + content + "\"},\"finish_reason\":\"stop\"}]}";
+        byte[] utf8 = json.getBytes(StandardCharsets.UTF_8);
+
+        ChatResponse response = ChatResponseParser.parse(utf8, RawResponseRetention.COMPRESSED);
+
+        assertThat(response.getContent()).isEqualTo(content.toString());
+        assertThat(response.getRawResponse()).isEqualTo(json);
+        assertThat(response.getRawResponse()).isEqualTo(json);
+    }
+
+    @Test
+    void shouldParseStreamWithoutRawResponse() {
+        ChatResponse response = ChatResponseParser.parse(
+                new ByteArrayInputStream(COMPLETION.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getContent()).isEqualTo("Hello \"world\" 中文");
+        assertThat(response.getUsage().getTotalTokens()).isEqualTo(7);
+        assertThat(response.getRawResponse()).isNull();
+    }
+
+    @Test
+    void shouldAllowNullContent() {
+        ChatResponse response = ChatResponseParser.parse(
+                "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":null},\"finish_reason\":\"tool_calls\"}]}");
+
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getFinishReason()).isEqualTo("tool_calls");
+        assertThat(response.getUsage()).isNull();
+    }
+
+    @Test
+    void shouldThrowProviderExceptionForErrorBody() {
+        String body = "{\"error\":{\"message\":\"Rate limit reached\",\"type\":\"requests\",\"code\":429}}";
+
+        byte[] utf8 = body.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ChatResponseParser.parse(utf8, RawResponseRetention.NONE))
+                .isInstanceOf(ProviderException.class)
+                .hasMessage("Rate limit reached")
+                .satisfies(e -> {
+                    ProviderException error = (ProviderException) e;
+                    assertThat(error.getProviderErrorCode()).isEqualTo("429");
+                    assertThat(error.getProviderErrorType()).isEqualTo("requests");
+                    assertThat(error.getRawResponse()).isEqualTo(body);
+                });
+    }
+
+    @Test
+    void shouldRejectMissingChoicesAndInvalidJson() {
+        assertThatThrownBy(() -> ChatResponseParser.parse("{\"choices\":[]}"))
+                .isInstanceOf(ParseException.class)
+                .hasMessageContaining("No choices");
+        assertThatThrownBy(() -> ChatResponseParser.parse("{\"choices\":[{\"message\":"))
+                .isInstanceOf(ParseException.class);
+        assertThatThrownBy(() -> ChatResponseParser.parse(new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(ParseException.class)
+                .hasMessageContaining("Empty response");
+        assertThatThrownBy(() -> ChatResponseParser.parse(""))
+                .isInstanceOf(ParseException.class)
+                .hasMessageContaining("Empty response");
+    }
+}
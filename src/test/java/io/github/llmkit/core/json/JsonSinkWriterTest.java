@@ -0,0 +1,112 @@
+package io.github.llmkit.core.json;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import io.github.llmkit.core.http.JsonRequestBody;
+import io.github.llmkit.message.UserMessage;
+import okio.Buffer;
+import okio.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonSinkWriterTest {
+
+    @Test
+    void shouldWriteNestedDocument() throws Exception {
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer)
+                .beginObject()
+                .name("model").value("gpt-4o")
+                .name("messages").beginArray()
+                .beginObject().name("role").value("user").name("content").value("Hi").endObject()
+                .beginObject().name("role").value("assistant").endObject()
+                .endArray()
+                .name("stream").value(true)
+                .name("empty").beginArray().endArray()
+                .endObject();
+
+        assertThat(buffer.readUtf8()).isEqualTo("{\"model\":\"gpt-4o\",\"messages\":[{\"role\":\"user\"," +
+                "\"content\":\"Hi\"},{\"role\":\"assistant\"}],\"stream\":true,\"empty\":[]}");
+    }
+
+    @Test
+    void shouldEscapeStringsAndKeepUnicode() throws Exception {
+        String text = "quote \" backslash \\ newline \n tab \t bell \u0007 中文 emoji 😀";
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer).beginObject().name("content").value(text).endObject();
+
+        String json = buffer.readUtf8();
+        assertThat(json).contains("\\\"", "\\\\", "\\n", "\\t", "\\u0007", "中文", "😀");
+        assertThat(JSON.parseObject(json).getString("content")).isEqualTo(text);
+    }
+
+    @Test
+    void shouldEncodeLongStringsAcrossScratchBuffer() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("ab\u00e9\u4e2d\ud83d\ude00\"\n");
+        }
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer).value(text.toString());
+
+        assertThat(JSON.parseObject("{\"v\":" + buffer.readUtf8() + "}").getString("v"))
+                .isEqualTo(text.toString());
+    }
+
+    @Test
+    void shouldWriteNumbersAndNonFiniteAsNull() throws Exception {
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer).beginArray()
+                .value(7).value(0.7f).value(1234567890123L).value(2.5d).value(Double.NaN).value(Float.POSITIVE_INFINITY)
+                .endArray();
+
+        assertThat(buffer.readUtf8()).isEqualTo("[7,0.7,1234567890123,2.5,null,null]");
+    }
+
+    @Test
+    void shouldWriteArbitraryValues() throws Exception {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("type", "json_object");
+        nested.put("tags", Arrays.asList("a", 1, null));
+        nested.put("ids", new int[]{1, 2});
+
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer).beginObject().name("response_format").value((Object) nested).endObject();
+
+        assertThat(buffer.readUtf8())
+                .isEqualTo("{\"response_format\":{\"type\":\"json_object\",\"tags\":[\"a\",1,null],\"ids\":[1,2]}}");
+    }
+
+    @Test
+    void shouldCopyPreEncodedValues() throws Exception {
+        Buffer buffer = new Buffer();
+        new JsonSinkWriter(buffer).beginObject()
+                .name("messages").beginArray()
+                .jsonValue(new UserMessage("a").toJsonBytes())
+                .jsonValue(ByteString.encodeUtf8("{\"role\":\"assistant\"}"))
+                .endArray()
+                .name("n").value(1)
+                .endObject();
+
+        assertThat(buffer.readUtf8())
+                .isEqualTo("{\"messages\":[{\"role\":\"user\",\"content\":\"a\"},{\"role\":\"assistant\"}],\"n\":1}");
+    }
+
+    @Test
+    void requestBodyShouldRenderSameDocumentItWritesToSink() throws Exception {
+        JsonRequestBody body = new JsonRequestBody(json -> json.beginObject().name("n").value(1).endObject());
+
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+
+        assertThat(body.contentLength()).isEqualTo(-1);
+        assertThat(body.contentType().toString()).startsWith("application/json");
+        assertThat(sink.readUtf8()).isEqualTo(body.toJson());
+        assertThat(JSON.parseObject(body.toJson())).isEqualTo(JSONObject.of("n", 1));
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.llmkit.core.json;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.api.ChatResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StreamDeltaParserTest {
+
+    @Test
+    void shouldExtractContent() {
+        String chunk = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1700000000," +
+                "\"model\":\"gpt-4o\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\"," +
+                "\"content\":\"Hello\"},\"logprobs\":null,\"finish_reason\":null}]}";
+
+        assertThat(StreamDeltaParser.parseContent(chunk)).isEqualTo("Hello");
+    }
+
+    @Test
+    void shouldHandleEscapesAndUnicode() {
+        String chunk = "{\"choices\":[{\"delta\":{\"content\":\"line\\n\\\"quoted\\\" \\u4f60\\u597d 世界\"}}]}";
+
+        assertThat(StreamDeltaParser.parseContent(chunk)).isEqualTo("line\n\"quoted\" 你好 世界");
+    }
+
+    @Test
+    void shouldSkipNestedValuesBeforeChoices() {
+        String chunk = "{\"meta\":{\"choices\":[1,2],\"delta\":{\"content\":\"wrong\"}}," +
+                "\"choices\":[{\"delta\":{\"content\":\"right\"}}]}";
+
+        assertThat(StreamDeltaParser.parseContent(chunk)).isEqualTo("right");
+    }
+
+    @Test
+    void shouldReturnNullWithoutContent() {
+        assertThat(StreamDeltaParser.parseContent("{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}")).isNull();
+        assertThat(StreamDeltaParser.parseContent("{\"choices\":[{\"delta\":{\"content\":null}}]}")).isNull();
+        assertThat(StreamDeltaParser.parseContent("{\"choices\":[],\"usage\":{\"total_tokens\":3}}")).isNull();
+        assertThat(StreamDeltaParser.parseContent("{\"choices\":null}")).isNull();
+    }
+
+    @Test
+    void shouldTolerateMalformedChunks() {
+        assertThat(StreamDeltaParser.parseContent(null)).isNull();
+        assertThat(StreamDeltaParser.parseContent("")).isNull();
+        assertThat(StreamDeltaParser.parseContent("[DONE]")).isNull();
+        assertThat(StreamDeltaParser.parseContent("{\"choices\":[{\"delta\":{\"content\":\"trunc")).isNull();
+    }
+
+    @Test
+    void shouldParseStructuredDelta() {
+        String chunk = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"model\":\"gpt-4o\"," +
+                "\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"Hi\"}," +
+                "\"logprobs\":null,\"finish_reason\":\"stop\"},{\"index\":1,\"delta\":{\"content\":\"other\"}}]}";
+
+        ChatDelta delta = StreamDeltaParser.parseDelta(chunk);
+
+        assertThat(delta.getId()).isEqualTo("chatcmpl-1");
+        assertThat(delta.getModel()).isEqualTo("gpt-4o");
+        assertThat(delta.getRole()).isEqualTo("assistant");
+        assertThat(delta.getContent()).isEqualTo("Hi");
+        assertThat(delta.getFinishReason()).isEqualTo("stop");
+        assertThat(delta.getUsage()).isNull();
+    }
+
+    @Test
+    void shouldParseUsageChunk() {
+        String chunk = "{\"id\":\"chatcmpl-1\",\"choices\":[],\"usage\":{\"prompt_tokens\":9," +
+                "\"completion_tokens\":12,\"total_tokens\":21,\"prompt_tokens_details\":{\"cached_tokens\":0}}}";
+
+        ChatDelta delta = StreamDeltaParser.parseDelta(chunk);
+
+        assertThat(delta.getUsage()).isEqualTo(new ChatResponse.Usage(9, 12, 21));
+        assertThat(delta.hasContent()).isFalse();
+        assertThat(delta.isEmpty()).isFalse();
+    }
+
+    @Test
+    void parseDeltaShouldTolerateMalformedChunks() {
+        assertThat(StreamDeltaParser.parseDelta(null)).isNull();
+        assertThat(StreamDeltaParser.parseDelta("[DONE]")).isNull();
+        assertThat(StreamDeltaParser.parseDelta("{\"choices\":[{\"delta\":{\"content\":\"trunc")).isNull();
+        assertThat(StreamDeltaParser.parseDelta("{\"choices\":null,\"usage\":null}").isEmpty()).isTrue();
+    }
+
+    @Test
+    void sessionShouldReuseIdAndModelOfEarlierChunks() {
+        StreamDeltaParser.Session session = StreamDeltaParser.newSession();
+
+        ChatDelta prelude = session.parseDelta("{\"id\":\"\",\"model\":\"\",\"choices\":[]," +
+                "\"prompt_filter_results\":[]}");
+        ChatDelta first = session.parseDelta("{\"id\":\"chatcmpl-1\",\"model\":\"gpt-4o\"," +
+                "\"choices\":[{\"delta\":{\"role\":\"assistant\",\"content\":\"Hel\"}}]}");
+        ChatDelta second = session.parseDelta("{\"id\":\"chatcmpl-1\",\"model\":\"gpt-4o\"," +
+                "\"choices\":[{\"delta\":{\"content\":\"lo\"}}]}");
+
+        assertThat(prelude.isEmpty()).isTrue();
+        assertThat(first.getId()).isEqualTo("chatcmpl-1");
+        assertThat(first.getModel()).isEqualTo("gpt-4o");
+        assertThat(second.getId()).isSameAs(first.getId());
+        assertThat(second.getModel()).isSameAs(first.getModel());
+        assertThat(second.getContent()).isEqualTo("lo");
+        assertThat(second.getRole()).isNull();
+    }
+}
@@ -68,4 +68,14 @@ class MessageTest {
         assertThat(toString).contains("...");
         assertThat(toString.length()).isLessThan(longContent.length());
     }
+
+    @Test
+    void toJsonBytesShouldEncodeOnceAndEscapeContent() {
+        UserMessage message = new UserMessage("Say \"hi\"\n中文");
+
+        assertThat(message.toJsonBytes().utf8())
+                .isEqualTo("{\"role\":\"user\",\"content\":\"Say \\\"hi\\\"\\n中文\"}");
+        assertThat(message.toJsonBytes()).isSameAs(message.toJsonBytes());
+        assertThat(new AiMessage(null).toJsonBytes().utf8()).isEqualTo("{\"role\":\"assistant\"}");
+    }
 }
@@ -5,6 +5,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -163,4 +168,68 @@ class ChatPromptTest {
         assertThat(withSystem.getMessages()).hasSize(2);
         assertThat(withSystem.getMessages().get(0)).isInstanceOf(SystemMessage.class);
     }
+
+    @Test
+    void branchesShouldNotSeeEachOthersMessages() {
+        ChatPrompt history = ChatPrompt.empty().addUserMessage("Hello");
+        for (int i = 0; i < 20; i++) {
+            history = history.addAssistantMessage("a" + i).addUserMessage("u" + i);
+        }
+        ChatPrompt base = history;
+
+        ChatPrompt left = base.addAssistantMessage("left");
+        ChatPrompt right = base.addAssistantMessage("right")
+                .addMessages(Arrays.asList(UserMessage.of("r1"), AiMessage.of("r2")));
+        ChatPrompt leftAgain = left.addUserMessage("left 2");
+
+        assertThat(base.size()).isEqualTo(41);
+        assertThat(left.getLastMessage().getContent()).isEqualTo("left");
+        assertThat(right.getMessages()).hasSize(44)
+                .extracting(Message::getContent).endsWith("right", "r1", "r2");
+        assertThat(leftAgain.getMessages().subList(0, 42)).isEqualTo(left.getMessages());
+        assertThat(right.getMessages().subList(0, 41)).isEqualTo(base.getMessages());
+        assertThatThrownBy(() -> base.getMessages().get(41)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void concurrentAppendsToSameVersionShouldStayIndependent() throws Exception {
+        ChatPrompt base = ChatPrompt.of(UserMessage.of("Hello"));
+        int threads = 8;
+        List<ChatPrompt> results = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                String name = "t" + t;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    ChatPrompt prompt = base;
+                    for (int i = 0; i < 100; i++) {
+                        prompt = prompt.addUserMessage(name + "-" + i);
+                    }
+                    results.add(prompt);
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(results).hasSize(threads);
+        for (ChatPrompt prompt : results) {
+            List<Message> messages = prompt.getMessages();
+            String name = messages.get(1).getContent().split("-")[0];
+            assertThat(messages).hasSize(101);
+            for (int i = 0; i < 100; i++) {
+                assertThat(messages.get(i + 1).getContent()).isEqualTo(name + "-" + i);
+            }
+        }
+        assertThat(base.size()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,156 @@
+package io.github.llmkit.prompt;
+
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.message.*;
+import io.github.llmkit.tokenizer.Tokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ContextWindowTest {
+
+    /** One token per character of content, no role or framing cost; 3 per prompt. */
+    private static final class CharTokenizer implements Tokenizer {
+        final AtomicInteger counted = new AtomicInteger();
+
+        @Override
+        public int[] encode(String text) {
+            return text.chars().toArray();
+        }
+
+        @Override
+        public String decode(int[] tokens) {
+            return new String(tokens, 0, tokens.length);
+        }
+
+        @Override
+        public int countTokens(String text) {
+            return text != null ? text.length() : 0;
+        }
+
+        @Override
+        public int countTokens(Message message) {
+            counted.incrementAndGet();
+            return countTokens(message.getContent());
+        }
+    }
+
+    private final CharTokenizer tokenizer = new CharTokenizer();
+
+    private static ChatPrompt conversation(int turns) {
+        ChatPrompt prompt = Prompt.chat().system("sys").build();
+        for (int i = 0; i < turns; i++) {
+            prompt = prompt.addUserMessage("u" + i + "__").addAssistantMessage("a" + i + "__");
+        }
+        return prompt;
+    }
+
+    @Test
+    void shouldReturnPromptUnchangedWhenItFits() {
+        ChatPrompt prompt = conversation(3);
+        ContextWindow window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(100).build();
+
+        // 3 + "sys" + 6 messages of 4 characters
+        assertThat(prompt.countTokens(tokenizer)).isEqualTo(30);
+        assertThat(window.fit(prompt, null)).isSameAs(prompt);
+        assertThat(window.getBudget(ChatOptions.builder().maxTokens(40).build())).isEqualTo(60);
+    }
+
+    @Test
+    void shouldDropOldestTurnsKeepingSystemMessage() {
+        ChatPrompt prompt = conversation(5).addUserMessage("next");
+        ContextWindow window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(100).build();
+
+        // 3 + 3 + 11 * 4 = 50 tokens; a budget of 30 leaves room for the system message and 6 messages
+        ChatPrompt fitted = window.fit(prompt, ChatOptions.builder().maxTokens(70).build());
+
+        assertThat(fitted.getSystemMessage()).isSameAs(prompt.getSystemMessage());
+        assertThat(fitted.getMessages()).extracting(Message::getContent)
+                .containsExactly("sys", "u3__", "a3__", "u4__", "a4__", "next");
+        assertThat(fitted.countTokens(tokenizer)).isEqualTo(26)
+                .isEqualTo(ChatPrompt.of(fitted.getMessages()).countTokens(new CharTokenizer()));
+    }
+
+    @Test
+    void shouldDropWholeTurns() {
+        ChatPrompt prompt = Prompt.chat()
+                .user("q1").assistant("a1").assistant("a1 again")
+                .user("q2").assistant("a2")
+                .user("q3")
+                .build();
+        ContextWindow window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(15).build();
+
+        assertThat(window.fit(prompt, null).getMessages()).extracting(Message::getContent)
+                .containsExactly("q2", "a2", "q3");
+    }
+
+    @Test
+    void shouldCountOnlyNewMessagesOnEachTurn() {
+        ContextWindow window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(40).build();
+        ChatPrompt prompt = Prompt.chat().system("sys").build();
+
+        for (int i = 0; i < 100; i++) {
+            prompt = window.fit(prompt.addUserMessage("u" + i + "__"), null).addAssistantMessage("a" + i + "__");
+        }
+
+        ChatPrompt fitted = window.fit(prompt, null);
+
+        assertThat(tokenizer.counted).hasValue(1 + 200);
+        assertThat(fitted.countTokens(tokenizer)).isLessThanOrEqualTo(40)
+                .isEqualTo(ChatPrompt.of(fitted.getMessages()).countTokens(new CharTokenizer()));
+    }
+
+    @Test
+    void shouldRollSummaryForwardWithConversation() {
+        List<List<String>> summarized = new ArrayList<>();
+        ContextWindow window = ContextWindow.builder()
+                .tokenizer(tokenizer)
+                .contextTokens(30)
+                .summaryTokens(3)
+                .summarizer(messages -> {
+                    List<String> contents = new ArrayList<>();
+                    for (Message message : messages) {
+                        contents.add(message.getContent());
+                    }
+                    summarized.add(contents);
+                    return new SystemMessage("S" + summarized.size());
+                })
+                .build();
+
+        // 3 + 3 + 8 * 4 = 38 tokens: drop turns 0 and 1 to get to 22 + "S1"
+        ChatPrompt fitted = window.fit(conversation(4), null);
+
+        assertThat(fitted.getMessages()).extracting(Message::getContent)
+                .containsExactly("sys", "S1", "u2__", "a2__", "u3__", "a3__");
+        assertThat(summarized.get(0)).containsExactly("u0__", "a0__", "u1__", "a1__");
+
+        ChatPrompt next = window.fit(fitted.addUserMessage("u4__").addAssistantMessage("a4__"), null);
+
+        assertThat(next.getMessages()).extracting(Message::getContent)
+                .containsExactly("sys", "S2", "u3__", "a3__", "u4__", "a4__");
+        assertThat(summarized.get(1)).containsExactly("S1", "u2__", "a2__");
+    }
+
+    @Test
+    void shouldFailWhenLatestTurnExceedsBudget() {
+        ContextWindow window = ContextWindow.builder().tokenizer(tokenizer).contextTokens(10).build();
+        ChatPrompt prompt = Prompt.chat().system("sys").user("hi").user("a very long question").build();
+
+        assertThatThrownBy(() -> window.fit(prompt, null))
+                .isInstanceOf(ChatException.class)
+                .hasMessageContaining("budget is 10");
+    }
+
+    @Test
+    void builderShouldValidate() {
+        assertThatThrownBy(() -> ContextWindow.builder().contextTokens(10).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ContextWindow.builder().tokenizer(tokenizer).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
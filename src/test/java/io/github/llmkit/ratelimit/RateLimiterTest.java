@@ -0,0 +1,151 @@
+package io.github.llmkit.ratelimit;
+
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.chat.openai.OpenAIChatConfig;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.util.SharedScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private RateLimiter limiter(int rpm, int tpm) {
+        return new RateLimiter(RateLimit.of(rpm, tpm), now::get, SharedScheduler.get());
+    }
+
+    @Test
+    void shouldLimitRequestsPerMinute() {
+        RateLimiter limiter = limiter(2, 0);
+
+        assertThat(limiter.tryAcquire(0)).isNotNull();
+        assertThat(limiter.tryAcquire(0)).isNotNull();
+        assertThat(limiter.tryAcquire(0)).isNull();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(limiter.tryAcquire(0)).isNotNull();
+        assertThat(limiter.tryAcquire(0)).isNull();
+        assertThat(limiter.getAcquiredCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReconcileEstimatedTokensWithUsage() {
+        RateLimiter limiter = limiter(0, 1000);
+
+        RateLimiter.Permit permit = limiter.tryAcquire(800);
+        assertThat(limiter.tryAcquire(300)).isNull();
+
+        permit.reconcile(new ChatResponse.Usage(60, 40, 100));
+        assertThat(permit.getTokens()).isEqualTo(100);
+        assertThat(limiter.getAvailableTokens()).isEqualTo(900.0);
+        assertThat(limiter.tryAcquire(300)).isNotNull();
+    }
+
+    @Test
+    void shouldChargeUsageAboveEstimate() {
+        RateLimiter limiter = limiter(0, 1000);
+
+        RateLimiter.Permit permit = limiter.tryAcquire(100);
+        permit.reconcile(1500);
+
+        assertThat(limiter.getAvailableTokens()).isEqualTo(-500.0);
+        assertThat(limiter.tryAcquire(1)).isNull();
+    }
+
+    @Test
+    void shouldReleaseTokensOfFailedRequests() {
+        RateLimiter limiter = limiter(10, 1000);
+
+        limiter.tryAcquire(1000).release();
+
+        assertThat(limiter.getAvailableTokens()).isEqualTo(1000.0);
+        assertThat(limiter.getAvailableRequests()).isEqualTo(9.0);
+    }
+
+    @Test
+    void shouldTimeOutWhenWaitIsTooLong() {
+        RateLimiter limiter = limiter(1, 0);
+        limiter.tryAcquire(0);
+
+        assertThat(limiter.tryAcquire(0, 1, TimeUnit.SECONDS)).isNull();
+        // The failed attempt must not consume quota
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(limiter.tryAcquire(0)).isNotNull();
+    }
+
+    @Test
+    void acquireAsyncShouldCompleteOnceQuotaRefills() {
+        // 1000 tokens per second, so 50 tokens of debt take 50 ms to repay
+        RateLimiter limiter = RateLimiter.of(RateLimit.of(0, 60_000));
+        limiter.acquire(60_000);
+
+        CompletableFuture<RateLimiter.Permit> permit = limiter.acquireAsync(50);
+
+        assertThat(permit).isNotDone();
+        assertThat(permit.join().getTokens()).isEqualTo(50);
+        assertThat(limiter.getDelayedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void registryShouldShareLimiterAcrossConflictingLimits() {
+        OpenAIChatConfig first = OpenAIChatConfig.builder().apiKey("sk-test").rateLimit(60, 0).build();
+        OpenAIChatConfig second = OpenAIChatConfig.builder().apiKey("sk-test").rateLimit(120, 0).build();
+        try {
+            RateLimiter limiter = RateLimiterRegistry.getLimiter(first, "gpt-4o");
+
+            // One bucket per key and model: the first configuration's limits apply
+            assertThat(RateLimiterRegistry.getLimiter(second, "gpt-4o")).isSameAs(limiter);
+            assertThat(limiter.getLimit().getRequestsPerMinute()).isEqualTo(60);
+            assertThat(RateLimiterRegistry.getLimiters()).hasSize(1);
+        } finally {
+            RateLimiterRegistry.reset();
+        }
+    }
+
+    @Test
+    void cancellingAsyncAcquireShouldReturnReservation() {
+        RateLimiter limiter = limiter(0, 1000);
+        limiter.tryAcquire(1000);
+
+        CompletableFuture<RateLimiter.Permit> permit = limiter.acquireAsync(500);
+        assertThat(limiter.getAvailableTokens()).isEqualTo(-500.0);
+
+        permit.cancel(true);
+        assertThat(limiter.getAvailableTokens()).isEqualTo(0.0);
+    }
+
+    @Test
+    void registryShouldSeparateKeysWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same String.hashCode()
+        OpenAIChatConfig first = OpenAIChatConfig.builder().apiKey("Aa").rateLimit(60, 0).build();
+        OpenAIChatConfig second = OpenAIChatConfig.builder().apiKey("BB").rateLimit(60, 0).build();
+        try {
+            RateLimiter a = RateLimiterRegistry.getLimiter(first, "gpt-4o");
+            RateLimiter b = RateLimiterRegistry.getLimiter(second, "gpt-4o");
+
+            assertThat(a).isNotSameAs(b);
+            assertThat(RateLimiterRegistry.getLimiter(first, "gpt-4o")).isSameAs(a);
+            assertThat(RateLimiterRegistry.getLimiters().keySet()).noneMatch(key -> key.contains("#Aa/"));
+        } finally {
+            RateLimiterRegistry.reset();
+        }
+    }
+
+    @Test
+    void defaultEstimatorShouldIncludeMaxTokens() {
+        Prompt prompt = Prompt.of("You are helpful.", "Explain recursion in one sentence.");
+
+        int withoutBudget = TokenEstimator.DEFAULT.estimate(prompt, ChatOptions.DEFAULT);
+        int withBudget = TokenEstimator.DEFAULT.estimate(prompt, ChatOptions.builder().maxTokens(256).build());
+
+        assertThat(withoutBudget).isBetween(10, 30);
+        assertThat(withBudget).isEqualTo(withoutBudget + 256);
+    }
+}
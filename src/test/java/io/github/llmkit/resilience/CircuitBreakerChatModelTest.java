@@ -0,0 +1,223 @@
+package io.github.llmkit.resilience;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerChatModelTest {
+
+    private static final CircuitBreakerConfig CONFIG = CircuitBreakerConfig.builder()
+            .slidingWindowSize(4)
+            .minimumCalls(4)
+            .slowCallDurationMs(1_000)
+            .slowCallRateThreshold(100)
+            .openDurationMs(10_000)
+            .build();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldKeepOneBreakerPerModel() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel provider = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                if ("degraded".equals(options.getModel())) {
+                    throw new NetworkException("Service unavailable", 503, "{}");
+                }
+                return ChatResponse.of("ok");
+            }
+        };
+        List<String> transitions = new ArrayList<>();
+        CircuitBreakerChatModel model = CircuitBreakerChatModel.builder(provider)
+                .name("openai")
+                .config(CONFIG)
+                .listener((breaker, from, to) -> transitions.add(breaker.getName() + ": " + from + " -> " + to))
+                .ticker(now::get)
+                .build();
+        ChatOptions degraded = ChatOptions.builder().model("degraded").build();
+        ChatOptions healthy = ChatOptions.builder().model("healthy").build();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> model.call(Prompt.of("Hi"), degraded)).isInstanceOf(NetworkException.class);
+            model.call(Prompt.of("Hi"), healthy);
+        }
+        calls.set(0);
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"), degraded))
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .hasMessageContaining("openai/degraded");
+        assertThat(model.call(Prompt.of("Hi"), healthy).getContent()).isEqualTo("ok");
+        assertThat(calls).hasValue(1);
+        assertThat(transitions).containsExactly("openai/degraded: CLOSED -> OPEN");
+        assertThat(model.getCircuitBreaker(healthy).getState()).isEqualTo(State.CLOSED);
+        assertThat(model.getCircuitBreakers()).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectAsyncRequestsWithFailedFuture() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel provider = new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+                future.completeExceptionally(new NetworkException("Bad gateway", 502, "{}"));
+                return future;
+            }
+        };
+        CircuitBreakerChatModel model = CircuitBreakerChatModel.builder(provider)
+                .config(CONFIG)
+                .ticker(now::get)
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> model.callAsync(Prompt.of("Hi"), ChatOptions.DEFAULT).join())
+                    .hasCauseInstanceOf(NetworkException.class);
+        }
+        CompletableFuture<ChatResponse> rejected = model.callAsync(Prompt.of("Hi"), ChatOptions.DEFAULT);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void errorInProbeShouldFreeItsSlot() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel provider = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                if (calls.incrementAndGet() <= 4) {
+                    throw new NetworkException("Service unavailable", 503, "{}");
+                }
+                throw new StackOverflowError();
+            }
+
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                throw new StackOverflowError();
+            }
+        };
+        CircuitBreakerChatModel model = CircuitBreakerChatModel.builder(provider)
+                .config(CircuitBreakerConfig.builder()
+                        .slidingWindowSize(4)
+                        .minimumCalls(4)
+                        .openDurationMs(10_000)
+                        .halfOpenCalls(1)
+                        .build())
+                .ticker(now::get)
+                .build();
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> model.call(Prompt.of("Hi"), ChatOptions.DEFAULT))
+                    .isInstanceOf(NetworkException.class);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"), ChatOptions.DEFAULT))
+                .isInstanceOf(StackOverflowError.class);
+
+        // The probe was recorded, so the breaker left HALF_OPEN instead of rejecting forever
+        assertThat(model.getCircuitBreaker(null).getState()).isEqualTo(State.CLOSED);
+        CompletableFuture<ChatResponse> async = model.callAsync(Prompt.of("Hi"), ChatOptions.DEFAULT);
+        assertThatThrownBy(async::join).hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    void shouldTimeStreamsToFirstDelta() {
+        ChatModel provider = new StubModel() {
+            @Override
+            public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+                onDelta.accept("Once");
+                // A long answer keeps streaming well past the slow call duration
+                now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+                onDelta.accept(" upon a time");
+            }
+        };
+        CircuitBreakerChatModel model = CircuitBreakerChatModel.builder(provider)
+                .config(CONFIG)
+                .ticker(now::get)
+                .build();
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            model.stream(Prompt.of("Tell me a story"), text::append, ChatOptions.DEFAULT);
+        }
+
+        assertThat(model.getCircuitBreaker(ChatOptions.DEFAULT).getState()).isEqualTo(State.CLOSED);
+        assertThat(model.getCircuitBreaker(ChatOptions.DEFAULT).getSlowCallRate()).isZero();
+        assertThat(text.toString()).startsWith("Once upon a time");
+    }
+
+    @Test
+    void shouldShareBreakerBetweenDefaultAndExplicitModel() {
+        ChatModel provider = new StubModel() {
+            @Override
+            public String getDefaultModel() {
+                return "gpt-4o";
+            }
+
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                throw new NetworkException("Service unavailable", 503, "{}");
+            }
+        };
+        CircuitBreakerChatModel model = CircuitBreakerChatModel.builder(provider)
+                .name("openai")
+                .config(CONFIG)
+                .maxModels(2)
+                .ticker(now::get)
+                .build();
+        ChatOptions explicit = ChatOptions.builder().model("gpt-4o").build();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> model.call(Prompt.of("Hi"), ChatOptions.DEFAULT))
+                    .isInstanceOf(NetworkException.class);
+            assertThatThrownBy(() -> model.call(Prompt.of("Hi"), explicit)).isInstanceOf(NetworkException.class);
+        }
+
+        assertThat(model.getCircuitBreaker(null)).isSameAs(model.getCircuitBreaker(explicit));
+        assertThat(model.getCircuitBreaker(explicit).getName()).isEqualTo("openai/gpt-4o");
+        assertThat(model.getCircuitBreaker(explicit).getState()).isEqualTo(State.OPEN);
+
+        // Beyond maxModels, further models share the overflow breaker
+        CircuitBreaker other = model.getCircuitBreaker(ChatOptions.builder().model("a").build());
+        CircuitBreaker overflow = model.getCircuitBreaker(ChatOptions.builder().model("b").build());
+        assertThat(other.getName()).isEqualTo("openai/a");
+        assertThat(overflow.getName()).isEqualTo("openai/*");
+        assertThat(model.getCircuitBreaker(ChatOptions.builder().model("c").build())).isSameAs(overflow);
+        assertThat(model.getCircuitBreakers()).hasSize(3);
+    }
+
+    private static class StubModel implements ChatModel {
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
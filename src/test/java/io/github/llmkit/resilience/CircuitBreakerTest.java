@@ -0,0 +1,200 @@
+package io.github.llmkit.resilience;
+
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(CircuitBreakerConfig config) {
+        CircuitBreaker breaker = new CircuitBreaker("test", config, now::get);
+        breaker.addListener((cb, from, to) -> transitions.add(from + "->" + to));
+        return breaker;
+    }
+
+    private static CircuitBreakerConfig.Builder config() {
+        return CircuitBreakerConfig.builder()
+                .slidingWindowSize(10)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .openDurationMs(1_000)
+                .halfOpenCalls(2);
+    }
+
+    private void fail(CircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new NetworkException("unavailable", 503, "{}");
+        })).isInstanceOf(NetworkException.class);
+    }
+
+    @Test
+    void shouldOpenAtFailureRateAndRejectImmediately() {
+        CircuitBreaker breaker = breaker(config().build());
+
+        breaker.execute(() -> "ok");
+        fail(breaker);
+        breaker.execute(() -> "ok");
+        assertThat(breaker.getFailureRate()).isEqualTo(-1);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThatThrownBy(() -> breaker.execute(() -> "never sent"))
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .satisfies(e -> {
+                    CircuitBreakerOpenException open = (CircuitBreakerOpenException) e;
+                    assertThat(open.getCircuitBreakerName()).isEqualTo("test");
+                    assertThat(open.getRemainingOpenMs()).isEqualTo(600);
+                });
+        assertThat(breaker.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOpenAtSlowCallRate() {
+        CircuitBreaker breaker = breaker(config().slowCallDurationMs(100).slowCallRateThreshold(75).build());
+
+        for (int i = 0; i < 4; i++) {
+            long latencyMs = i == 0 ? 10 : 200;
+            breaker.execute(() -> now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs)));
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void shouldSlideWindowOverLastCalls() {
+        CircuitBreaker breaker = breaker(config().failureRateThreshold(60).build());
+
+        for (int i = 0; i < 5; i++) {
+            fail(breaker);
+            breaker.execute(() -> "ok");
+            breaker.execute(() -> "ok");
+        }
+        // The window holds the last 10 calls: 3 failures
+        assertThat(breaker.getFailureRate()).isEqualTo(30f);
+
+        for (int i = 0; i < 3; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.getFailureRate()).isEqualTo(50f);
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void shouldProbeWhenHalfOpenAndCloseOnSuccess() {
+        CircuitBreaker breaker = breaker(config().build());
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        breaker.executeAsync(() -> first);
+        breaker.executeAsync(() -> second);
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.executeAsync(() -> CompletableFuture.completedFuture("third")))
+                .isCompletedExceptionally();
+
+        first.complete("ok");
+        second.complete("ok");
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+        assertThat(breaker.getFailureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReopenWhenProbesFail() {
+        CircuitBreaker breaker = breaker(config().build());
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        breaker.execute(() -> "ok");
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+    }
+
+    @Test
+    void cancelledProbeShouldFreeItsSlot() {
+        CircuitBreaker breaker = breaker(config().halfOpenCalls(1).build());
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        breaker.executeAsync(() -> probe);
+        probe.completeExceptionally(new CancellationException());
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.execute(() -> "ok");
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void shouldIgnoreOutcomesOfCallsAdmittedBeforeStateChange() {
+        CircuitBreaker breaker = breaker(config().build());
+        CompletableFuture<String> slowCall = new CompletableFuture<>();
+        breaker.executeAsync(() -> slowCall);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        breaker.execute(() -> "probe");
+
+        // Admitted while closed; must not count as the second probe
+        slowCall.complete("late");
+
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    void shouldCountClientErrorsAsSuccesses() {
+        CircuitBreaker breaker = breaker(config().build());
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> {
+                throw new ProviderException("bad request", "invalid_request", null, 400, "{}");
+            })).isInstanceOf(ProviderException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void configShouldValidate() {
+        assertThatThrownBy(() -> CircuitBreakerConfig.builder().failureRateThreshold(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CircuitBreakerConfig.builder().slowCallRateThreshold(101))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CircuitBreakerConfig.builder().slidingWindowSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.llmkit.routing;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HedgingChatModelTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs every hedge timer scheduled so far.
+     */
+    private void drainTimers() throws InterruptedException {
+        scheduler.shutdown();
+        assertThat(scheduler.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldUseFirstResponseAndCancelSlowOriginal() throws Exception {
+        List<CompletableFuture<ChatResponse>> originals = new ArrayList<>();
+        ChatModel slow = pending(originals);
+        ChatModel fast = new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                return CompletableFuture.completedFuture(ChatResponse.of("hedged"));
+            }
+        };
+        HedgingChatModel model = HedgingChatModel.builder(slow)
+                .hedgeModel(fast)
+                .initialDelayMs(0)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .build();
+
+        ChatResponse response = model.callAsync(Prompt.of("Hi"), null).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getContent()).isEqualTo("hedged");
+        assertThat(originals).hasSize(1);
+        assertThat(originals.get(0)).isCancelled();
+        assertThat(model.getHedgeCount()).isEqualTo(1);
+        assertThat(model.getHedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountHedgeWinBeforeCompletingCall() throws Exception {
+        List<CompletableFuture<ChatResponse>> originals = new ArrayList<>();
+        List<CompletableFuture<ChatResponse>> hedges = new ArrayList<>();
+        HedgingChatModel model = HedgingChatModel.builder(pending(originals))
+                .hedgeModel(pending(hedges))
+                .initialDelayMs(0)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .build();
+
+        CompletableFuture<ChatResponse> result = model.callAsync(Prompt.of("Hi"), null);
+        // Runs inside complete(), before anything completing the call does afterwards
+        CompletableFuture<Long> winsSeen = result.thenApply(response -> model.getHedgeWinCount());
+        drainTimers();
+        hedges.get(0).complete(ChatResponse.of("hedged"));
+        originals.get(0).complete(ChatResponse.of("original"));
+
+        assertThat(result.join().getContent()).isEqualTo("hedged");
+        assertThat(winsSeen.join()).isEqualTo(1);
+        assertThat(model.getHedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotHedgeCallsFasterThanDelay() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HedgingChatModel model = HedgingChatModel.builder(responding(calls, 5))
+                .initialDelayMs(50)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .ticker(now::get)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(model.call(Prompt.of("Hi")).getContent()).isEqualTo("ok");
+        }
+        drainTimers();
+
+        assertThat(calls).hasValue(10);
+        assertThat(model.getRequestCount()).isEqualTo(10);
+        assertThat(model.getHedgeCount()).isZero();
+    }
+
+    @Test
+    void shouldDelayByPercentileOfRecentLatencies() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel provider = new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(calls.incrementAndGet()));
+                return CompletableFuture.completedFuture(ChatResponse.of("ok"));
+            }
+        };
+        HedgingChatModel model = HedgingChatModel.builder(provider)
+                .delayPercentile(90)
+                .initialDelayMs(2_000)
+                .scheduler(scheduler)
+                .ticker(now::get)
+                .build();
+
+        for (int i = 0; i < 19; i++) {
+            model.call(Prompt.of("Hi"));
+        }
+        assertThat(model.getHedgeDelayMs()).isEqualTo(2_000.0);
+
+        // Latencies of 1..20 ms: the 90th percentile is 18 ms
+        model.call(Prompt.of("Hi"));
+        assertThat(model.getHedgeDelayMs()).isEqualTo(18.0);
+    }
+
+    @Test
+    void shouldCapHedgesAtBudget() throws Exception {
+        List<CompletableFuture<ChatResponse>> originals = new ArrayList<>();
+        AtomicInteger hedged = new AtomicInteger();
+        HedgingChatModel model = HedgingChatModel.builder(pending(originals))
+                .hedgeModel(responding(hedged, 0))
+                .initialDelayMs(0)
+                .budgetPercent(10)
+                .scheduler(scheduler)
+                .ticker(now::get)
+                .build();
+
+        List<CompletableFuture<ChatResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(model.callAsync(Prompt.of("Hi"), null));
+        }
+        drainTimers();
+
+        assertThat(hedged).hasValueBetween(1, 5);
+        assertThat(model.getHedgeCount()).isEqualTo(hedged.get());
+        assertThat(results).filteredOn(CompletableFuture::isDone).hasSize(hedged.get());
+    }
+
+    @Test
+    void shouldFailWhenOriginalFailsBeforeDelay() throws Exception {
+        AtomicInteger hedged = new AtomicInteger();
+        ChatModel invalid = new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                CompletableFuture<ChatResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new ProviderException("bad request", "invalid_request", null, 400, "{}"));
+                return failed;
+            }
+        };
+        HedgingChatModel model = HedgingChatModel.builder(invalid)
+                .hedgeModel(responding(hedged, 0))
+                .initialDelayMs(10)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .build();
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"))).isInstanceOf(ProviderException.class);
+        drainTimers();
+
+        assertThat(hedged).hasValue(0);
+    }
+
+    @Test
+    void shouldWaitForHedgeWhenOriginalFailsAfterDelay() throws Exception {
+        List<CompletableFuture<ChatResponse>> originals = new ArrayList<>();
+        List<CompletableFuture<ChatResponse>> hedges = new ArrayList<>();
+        HedgingChatModel model = HedgingChatModel.builder(pending(originals))
+                .hedgeModel(pending(hedges))
+                .initialDelayMs(0)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .build();
+
+        CompletableFuture<ChatResponse> result = model.callAsync(Prompt.of("Hi"), null);
+        drainTimers();
+        originals.get(0).completeExceptionally(new NetworkException("bad gateway", 502, "{}"));
+
+        assertThat(result).isNotDone();
+        hedges.get(0).completeExceptionally(new NetworkException("unavailable", 503, "{}"));
+
+        // Both failed: the original's failure is reported
+        assertThatThrownBy(result::join).hasCauseInstanceOf(NetworkException.class).hasMessageContaining("bad gateway");
+        assertThat(model.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    void cancellingCallShouldCancelBothRequests() throws Exception {
+        List<CompletableFuture<ChatResponse>> originals = new ArrayList<>();
+        List<CompletableFuture<ChatResponse>> hedges = new ArrayList<>();
+        HedgingChatModel model = HedgingChatModel.builder(pending(originals))
+                .hedgeModel(pending(hedges))
+                .initialDelayMs(0)
+                .budgetPercent(100)
+                .scheduler(scheduler)
+                .build();
+
+        CompletableFuture<ChatResponse> result = model.callAsync(Prompt.of("Hi"), null);
+        drainTimers();
+        result.cancel(true);
+
+        assertThat(originals.get(0)).isCancelled();
+        assertThat(hedges.get(0)).isCancelled();
+    }
+
+    @Test
+    void builderShouldValidate() {
+        assertThatThrownBy(() -> HedgingChatModel.builder(null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HedgingChatModel.builder(new StubModel()).delayPercentile(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HedgingChatModel.builder(new StubModel()).budgetPercent(101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ChatModel pending(List<CompletableFuture<ChatResponse>> futures) {
+        return new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+                synchronized (futures) {
+                    futures.add(future);
+                }
+                return future;
+            }
+        };
+    }
+
+    private ChatModel responding(AtomicInteger calls, long latencyMs) {
+        return new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+                return CompletableFuture.completedFuture(ChatResponse.of("ok"));
+            }
+        };
+    }
+
+    private static class StubModel implements ChatModel {
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
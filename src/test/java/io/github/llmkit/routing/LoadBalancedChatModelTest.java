@@ -0,0 +1,309 @@
+package io.github.llmkit.routing;
+
+import io.github.llmkit.api.ChatModel;
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.api.ChatResponse;
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.CircuitBreakerOpenException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ProviderException;
+import io.github.llmkit.prompt.Prompt;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoadBalancedChatModelTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldSendToEndpointWithFewestOutstandingRequests() {
+        List<CompletableFuture<ChatResponse>> pendingA = new ArrayList<>();
+        List<CompletableFuture<ChatResponse>> pendingB = new ArrayList<>();
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("a", pending(pendingA))
+                .endpoint("b", pending(pendingB))
+                .strategy(LoadBalancingStrategy.LEAST_OUTSTANDING)
+                .build();
+
+        for (int i = 0; i < 6; i++) {
+            model.callAsync(Prompt.of("Hi"), null);
+        }
+
+        assertThat(pendingA).hasSize(3);
+        assertThat(pendingB).hasSize(3);
+        assertThat(model.getEndpoints()).extracting(Endpoint::getOutstandingRequests).containsExactly(3, 3);
+
+        pendingA.forEach(f -> f.complete(ChatResponse.of("ok")));
+        model.callAsync(Prompt.of("Hi"), null);
+
+        assertThat(pendingA).hasSize(4);
+        assertThat(model.getEndpoints().get(0).getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void powerOfTwoChoicesShouldPreferLowerLatency() {
+        AtomicInteger slowCalls = new AtomicInteger();
+        AtomicInteger fastCalls = new AtomicInteger();
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("slow", responding(slowCalls, 500))
+                .endpoint("fast", responding(fastCalls, 50))
+                .strategy(LoadBalancingStrategy.POWER_OF_TWO_CHOICES)
+                .ticker(now::get)
+                .build();
+
+        for (int i = 0; i < 20; i++) {
+            model.call(Prompt.of("Hi"));
+        }
+
+        // Each endpoint is probed once while it has no latency sample, then the fast one wins
+        assertThat(slowCalls).hasValue(1);
+        assertThat(fastCalls).hasValue(19);
+        assertThat(model.getEndpoints().get(1).getLatencyMs()).isEqualTo(50.0);
+    }
+
+    @Test
+    void shouldEjectRateLimitedEndpointAndFailOver() {
+        AtomicInteger limitedCalls = new AtomicInteger();
+        AtomicInteger healthyCalls = new AtomicInteger();
+        ChatModel limited = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                limitedCalls.incrementAndGet();
+                throw new NetworkException("Too many requests", 429, "{}", 60_000L, null);
+            }
+        };
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("limited", limited)
+                .endpoint("healthy", responding(healthyCalls, 10))
+                .ejectionMs(1_000)
+                .ticker(now::get)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(model.call(Prompt.of("Hi")).getContent()).isEqualTo("ok");
+        }
+
+        Endpoint ejected = model.getEndpoints().get(0);
+        assertThat(limitedCalls).hasValue(1);
+        assertThat(healthyCalls).hasValue(10);
+        assertThat(ejected.isEjected()).isTrue();
+        assertThat(ejected.getEjectionCount()).isEqualTo(1);
+        assertThat(ejected.getOutstandingRequests()).isZero();
+
+        // Retry-After outlasts the configured cool-down
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(ejected.isEjected()).isTrue();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertThat(ejected.isEjected()).isFalse();
+    }
+
+    @Test
+    void shouldRouteToFirstRecoveringEndpointWhenAllAreEjected() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel failing = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                throw new ProviderException("overloaded", null, "server_error", 503, "{}");
+            }
+        };
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("a", failing)
+                .endpoint("b", failing)
+                .maxFailovers(3)
+                .ticker(now::get)
+                .build();
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"))).isInstanceOf(ProviderException.class);
+        assertThat(calls).hasValue(2);
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"))).isInstanceOf(ProviderException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void shouldNotEjectOrFailOverOnClientErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel invalid = new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                throw new ProviderException("bad request", "invalid_request", null, 400, "{}");
+            }
+        };
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("a", invalid)
+                .endpoint("b", invalid)
+                .build();
+
+        assertThatThrownBy(() -> model.call(Prompt.of("Hi"))).isInstanceOf(ProviderException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(model.getEndpoints()).noneMatch(Endpoint::isEjected);
+        assertThat(model.getEndpoints()).extracting(Endpoint::getFailureCount).containsExactlyInAnyOrder(1L, 0L);
+    }
+
+    @Test
+    void streamShouldFailOverOnlyBeforeFirstDelta() {
+        AtomicInteger healthyStreams = new AtomicInteger();
+        ChatModel unavailable = new StubModel() {
+            @Override
+            public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                throw new NetworkException("unavailable", 503, "{}");
+            }
+        };
+        ChatModel brokenMidway = new StubModel() {
+            @Override
+            public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                onDelta.accept("partial");
+                throw new NetworkException("bad gateway", 502, "{}");
+            }
+        };
+        ChatModel healthy = new StubModel() {
+            @Override
+            public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+                healthyStreams.incrementAndGet();
+                onDelta.accept("complete");
+            }
+        };
+
+        List<String> deltas = new ArrayList<>();
+        LoadBalancedChatModel failover = LoadBalancedChatModel.builder()
+                .endpoint("unavailable", unavailable)
+                .endpoint("healthy", healthy)
+                .strategy(LoadBalancingStrategy.LEAST_OUTSTANDING)
+                .build();
+        for (int i = 0; i < 4; i++) {
+            failover.stream(Prompt.of("Hi"), deltas::add, null);
+        }
+        assertThat(deltas).containsOnly("complete").hasSize(4);
+        assertThat(healthyStreams).hasValue(4);
+
+        deltas.clear();
+        LoadBalancedChatModel midway = LoadBalancedChatModel.builder()
+                .endpoint("broken", brokenMidway)
+                .endpoint("healthy", healthy)
+                .build();
+        while (!midway.getEndpoints().get(0).isEjected()) {
+            deltas.clear();
+            try {
+                midway.stream(Prompt.of("Hi"), deltas::add, null);
+            } catch (NetworkException e) {
+                assertThat(deltas).containsExactly("partial");
+            }
+        }
+        assertThat(midway.getEndpoints().get(0).getEjectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callAsyncShouldFailOverAndPropagateCancellation() {
+        CompletableFuture<ChatResponse> failed = new CompletableFuture<>();
+        CompletableFuture<ChatResponse> pending = new CompletableFuture<>();
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("a", new StubModel() {
+                    @Override
+                    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                        return failed;
+                    }
+                })
+                .endpoint("b", new StubModel() {
+                    @Override
+                    public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                        return pending;
+                    }
+                })
+                .strategy(LoadBalancingStrategy.LEAST_OUTSTANDING)
+                .build();
+        // Occupy b so that the first request goes to a
+        model.getEndpoints().get(1).begin();
+
+        CompletableFuture<ChatResponse> result = model.callAsync(Prompt.of("Hi"), null);
+        failed.completeExceptionally(new ChatException("wrapped", new NetworkException("overloaded", 529, "{}")));
+
+        assertThat(result).isNotDone();
+        assertThat(model.getEndpoints().get(0).isEjected()).isTrue();
+
+        result.cancel(true);
+        assertThat(pending).isCancelled();
+        assertThat(model.getEndpoints().get(1).getOutstandingRequests()).isEqualTo(1);
+        // Cancellation is neither a success nor a failure of the endpoint
+        assertThat(model.getEndpoints().get(1).getFailureCount()).isZero();
+        assertThat(model.getEndpoints().get(1).isEjected()).isFalse();
+    }
+
+    @Test
+    void shouldEjectEndpointForRestOfOpenCircuitBreakerPeriod() {
+        AtomicInteger healthyCalls = new AtomicInteger();
+        LoadBalancedChatModel model = LoadBalancedChatModel.builder()
+                .endpoint("open", new StubModel() {
+                    @Override
+                    public ChatResponse call(Prompt prompt, ChatOptions options) {
+                        throw new CircuitBreakerOpenException("open", 5_000);
+                    }
+                })
+                .endpoint("healthy", responding(healthyCalls, 10))
+                .strategy(LoadBalancingStrategy.LEAST_OUTSTANDING)
+                .ticker(now::get)
+                .build();
+        // Occupy healthy so that the request goes to open first
+        model.getEndpoints().get(1).begin();
+
+        assertThat(model.call(Prompt.of("Hi")).getContent()).isEqualTo("ok");
+
+        Endpoint open = model.getEndpoints().get(0);
+        assertThat(open.isEjected(TimeUnit.MILLISECONDS.toNanos(4_999))).isTrue();
+        assertThat(open.isEjected(TimeUnit.MILLISECONDS.toNanos(5_000))).isFalse();
+    }
+
+    @Test
+    void builderShouldValidate() {
+        assertThatThrownBy(() -> LoadBalancedChatModel.builder().build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadBalancedChatModel.builder().endpoint("a", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadBalancedChatModel.builder().maxFailovers(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ChatModel pending(List<CompletableFuture<ChatResponse>> futures) {
+        return new StubModel() {
+            @Override
+            public CompletableFuture<ChatResponse> callAsync(Prompt prompt, ChatOptions options) {
+                CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+                futures.add(future);
+                return future;
+            }
+        };
+    }
+
+    private ChatModel responding(AtomicInteger calls, long latencyMs) {
+        return new StubModel() {
+            @Override
+            public ChatResponse call(Prompt prompt, ChatOptions options) {
+                calls.incrementAndGet();
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+                return ChatResponse.of("ok");
+            }
+        };
+    }
+
+    private static class StubModel implements ChatModel {
+        @Override
+        public ChatResponse call(Prompt prompt, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stream(Prompt prompt, Consumer<String> onDelta, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
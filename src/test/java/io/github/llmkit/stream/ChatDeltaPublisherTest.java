@@ -0,0 +1,191 @@
+package io.github.llmkit.stream;
+
+import io.github.llmkit.api.ChatDelta;
+import io.github.llmkit.exception.NetworkException;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChatDeltaPublisherTest {
+
+    @Test
+    void shouldEmitOnlyRequestedDeltas() throws Exception {
+        ProducerSource source = new ProducerSource(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new ChatDeltaPublisher(source, 3).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        // The producer fills the buffer and then blocks
+        waitUntil(() -> source.offered.get() == 6);
+        Thread.sleep(50);
+
+        assertThat(subscriber.contents()).containsExactly("d0", "d1");
+        assertThat(source.offered.get()).isEqualTo(6);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.contents()).hasSize(10).startsWith("d0", "d1", "d2");
+        assertThat(subscriber.error.get()).isNull();
+    }
+
+    @Test
+    void shouldNotStartStreamBeforeDemand() {
+        ProducerSource source = new ProducerSource(1);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new ChatDeltaPublisher(source).subscribe(subscriber);
+
+        assertThat(subscriber.subscription).isNotNull();
+        assertThat(source.starts.get()).isZero();
+    }
+
+    @Test
+    void cancelShouldStopStreamAndReleaseProducer() throws Exception {
+        ProducerSource source = new ProducerSource(100);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new ChatDeltaPublisher(source, 2).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        waitUntil(() -> source.offered.get() == 4);
+        subscriber.subscription.cancel();
+
+        assertThat(source.future.get()).isCancelled();
+        source.thread.join(5000);
+        assertThat(source.thread.isAlive()).isFalse();
+        assertThat(subscriber.contents()).containsExactly("d0");
+        assertThat(subscriber.completed.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSignalErrorForNonPositiveRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new ChatDeltaPublisher(new ProducerSource(1)).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error.get()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSignalStreamFailureAfterBufferedDeltas() throws Exception {
+        NetworkException failure = new NetworkException("connection reset");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new ChatDeltaPublisher(sink -> {
+            sink.accept(ChatDelta.of("partial"));
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(failure);
+            return future;
+        }).subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.contents()).containsExactly("partial");
+        assertThat(subscriber.error.get()).isSameAs(failure);
+    }
+
+    @Test
+    void shouldStartIndependentStreamPerSubscriber() throws Exception {
+        ProducerSource source = new ProducerSource(2);
+        ChatDeltaPublisher publisher = new ChatDeltaPublisher(source);
+
+        for (int i = 0; i < 2; i++) {
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(subscriber.contents()).containsExactly("d0", "d1");
+        }
+        assertThat(source.starts.get()).isEqualTo(2);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Emits numbered deltas from its own thread, like the SSE reader thread.
+     */
+    private static final class ProducerSource implements Function<Consumer<ChatDelta>, CompletableFuture<?>> {
+
+        final int count;
+        final AtomicInteger starts = new AtomicInteger();
+        final AtomicInteger offered = new AtomicInteger();
+        final AtomicReference<CompletableFuture<Void>> future = new AtomicReference<>();
+        volatile Thread thread;
+
+        ProducerSource(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public CompletableFuture<?> apply(Consumer<ChatDelta> sink) {
+            starts.incrementAndGet();
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            future.set(result);
+            thread = new Thread(() -> {
+                for (int i = 0; i < count && !result.isDone(); i++) {
+                    offered.incrementAndGet();
+                    sink.accept(ChatDelta.of("d" + i));
+                }
+                result.complete(null);
+            });
+            thread.start();
+            return result;
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<ChatDelta> {
+
+        final List<ChatDelta> deltas = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ChatDelta delta) {
+            deltas.add(delta);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        List<String> contents() {
+            List<String> contents = new CopyOnWriteArrayList<>();
+            deltas.forEach(delta -> contents.add(delta.getContent()));
+            return contents;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package io.github.llmkit.tokenizer;
+
+import io.github.llmkit.api.ChatOptions;
+import io.github.llmkit.exception.ConfigurationException;
+import io.github.llmkit.message.Message;
+import io.github.llmkit.message.UserMessage;
+import io.github.llmkit.prompt.ChatPrompt;
+import io.github.llmkit.prompt.Prompt;
+import io.github.llmkit.ratelimit.TokenEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BpeTokenizerTest {
+
+    /** Every single byte, then merges whose ranks decide the merge order. */
+    private static final String[] MERGES = {"ll", "he", "hell", " w", "or", " wor", "user", "assistant"};
+
+    private BpeTokenizer tokenizer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder vocabulary = new StringBuilder();
+        for (int b = 0; b < 256; b++) {
+            vocabulary.append(Base64.getEncoder().encodeToString(new byte[]{(byte) b}))
+                    .append(' ').append(b).append('\n');
+        }
+        for (int i = 0; i < MERGES.length; i++) {
+            vocabulary.append(Base64.getEncoder().encodeToString(MERGES[i].getBytes(StandardCharsets.UTF_8)))
+                    .append(' ').append(256 + i).append('\n');
+        }
+        tokenizer = BpeTokenizer.fromTiktoken(
+                new ByteArrayInputStream(vocabulary.toString().getBytes(StandardCharsets.UTF_8)),
+                BpeEncoding.CL100K_BASE.getPattern());
+    }
+
+    @Test
+    void shouldMergeLowestRankFirst() {
+        // hello: ll, then he, then hell; " world": " w", then or, then " wor"
+        assertThat(tokenizer.encode("hello world")).containsExactly(258, 'o', 261, 'l', 'd');
+        assertThat(tokenizer.getVocabularySize()).isEqualTo(256 + MERGES.length);
+    }
+
+    @Test
+    void shouldRoundTripArbitraryText() {
+        String text = "Hello, 世界! 123456 emoji 😀\n\n  tabs\tand 'quotes' we'll";
+
+        int[] tokens = tokenizer.encode(text);
+
+        assertThat(tokenizer.decode(tokens)).isEqualTo(text);
+        assertThat(tokenizer.countTokens(text)).isEqualTo(tokens.length);
+        assertThat(tokenizer.encode("")).isEmpty();
+        assertThat(tokenizer.countTokens((String) null)).isZero();
+    }
+
+    @Test
+    void shouldCountPromptTokensWithMessageFraming() {
+        ChatPrompt prompt = Prompt.chat().user("hello").assistant("hello world").build();
+
+        // user: 3 + "user" + [hell, o]; assistant: 3 + "assistant" + [hell, o, " wor", l, d]
+        assertThat(tokenizer.countTokens(prompt.getMessages().get(0))).isEqualTo(3 + 1 + 2);
+        assertThat(tokenizer.countTokens(prompt.getMessages().get(1))).isEqualTo(3 + 1 + 5);
+        assertThat(tokenizer.countTokens(prompt)).isEqualTo(Tokenizer.TOKENS_PER_REPLY + 6 + 9);
+        assertThat(TokenEstimator.of(tokenizer).estimate(prompt, ChatOptions.builder().maxTokens(10).build()))
+                .isEqualTo(Tokenizer.TOKENS_PER_REPLY + 6 + 9 + 10);
+    }
+
+    @Test
+    void shouldCacheMessageCountsPerTokenizer() {
+        AtomicInteger tokenized = new AtomicInteger();
+        Tokenizer counting = new Tokenizer() {
+            @Override
+            public int[] encode(String text) {
+                return tokenizer.encode(text);
+            }
+
+            @Override
+            public String decode(int[] tokens) {
+                return tokenizer.decode(tokens);
+            }
+
+            @Override
+            public int countTokens(String text) {
+                return tokenizer.countTokens(text);
+            }
+
+            @Override
+            public int countTokens(Message message) {
+                tokenized.incrementAndGet();
+                return Tokenizer.super.countTokens(message);
+            }
+        };
+        ChatPrompt prompt = ChatPrompt.of(UserMessage.of("hello"), UserMessage.of("world"));
+
+        int first = counting.countTokens(prompt);
+        int second = counting.countTokens(prompt.addUserMessage("again"));
+
+        assertThat(tokenized).hasValue(3);
+        assertThat(second).isGreaterThan(first);
+        assertThat(prompt.getMessages().get(0).countTokens(tokenizer)).isEqualTo(6);
+        assertThat(prompt.getMessages().get(0).countTokens(counting)).isEqualTo(6);
+        assertThat(tokenized).hasValue(4);
+    }
+
+    @Test
+    void shouldMatchReferenceMergeOnRandomVocabulary() throws IOException {
+        Random random = new Random(42);
+        String alphabet = "abcde ";
+        List<byte[]> vocabulary = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int b = 0; b < 256; b++) {
+            vocabulary.add(new byte[]{(byte) b});
+        }
+        while (vocabulary.size() < 256 + 300) {
+            StringBuilder token = new StringBuilder();
+            for (int i = 2 + random.nextInt(4); i > 0; i--) {
+                token.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (seen.add(token.toString())) {
+                vocabulary.add(token.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        StringBuilder file = new StringBuilder();
+        for (int rank = 0; rank < vocabulary.size(); rank++) {
+            file.append(Base64.getEncoder().encodeToString(vocabulary.get(rank))).append(' ').append(rank).append('\n');
+        }
+        // One piece per text, so the merge loop sees the whole input
+        BpeTokenizer random300 = BpeTokenizer.fromTiktoken(
+                new ByteArrayInputStream(file.toString().getBytes(StandardCharsets.UTF_8)), Pattern.compile(".+"));
+
+        for (int n = 0; n < 500; n++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 1 + random.nextInt(40); i > 0; i--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            int[] expected = referenceMerge(vocabulary, text.toString().getBytes(StandardCharsets.UTF_8));
+
+            assertThat(random300.encode(text.toString())).as(text.toString()).containsExactly(expected);
+            assertThat(random300.countTokens(text.toString())).isEqualTo(expected.length);
+        }
+    }
+
+    /**
+     * Straightforward list-based BPE as in tiktoken: a piece that is a token
+     * maps to it directly, otherwise the lowest ranked adjacent pair is merged
+     * until none is left.
+     */
+    private static int[] referenceMerge(List<byte[]> vocabulary, byte[] piece) {
+        Map<String, Integer> ranks = new HashMap<>();
+        for (int rank = 0; rank < vocabulary.size(); rank++) {
+            ranks.put(new String(vocabulary.get(rank), StandardCharsets.ISO_8859_1), rank);
+        }
+        Integer whole = ranks.get(new String(piece, StandardCharsets.ISO_8859_1));
+        if (whole != null) {
+            return new int[]{whole};
+        }
+        List<String> parts = new ArrayList<>();
+        for (byte b : piece) {
+            parts.add(new String(new byte[]{b}, StandardCharsets.ISO_8859_1));
+        }
+        while (true) {
+            int best = -1;
+            int bestRank = Integer.MAX_VALUE;
+            for (int i = 0; i + 1 < parts.size(); i++) {
+                Integer rank = ranks.get(parts.get(i) + parts.get(i + 1));
+                if (rank != null && rank < bestRank) {
+                    bestRank = rank;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            parts.set(best, parts.get(best) + parts.remove(best + 1));
+        }
+        return parts.stream().mapToInt(ranks::get).toArray();
+    }
+
+    @Test
+    void shouldRejectUnknownTokensAndMalformedVocabularies() {
+        assertThatThrownBy(() -> tokenizer.decode(new int[]{100_000}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BpeTokenizer.fromTiktoken(
+                new ByteArrayInputStream("aGk= x\n".getBytes(StandardCharsets.UTF_8)),
+                BpeEncoding.QWEN.getPattern()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 1");
+        assertThatThrownBy(() -> BpeTokenizer.fromTiktoken(
+                new ByteArrayInputStream("aGk= 0\naGk= 1\n".getBytes(StandardCharsets.UTF_8)),
+                BpeEncoding.QWEN.getPattern()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Duplicate");
+    }
+
+    @Test
+    void loadShouldReportMissingVocabulary() {
+        assertThatThrownBy(() -> BpeTokenizer.load(BpeEncoding.QWEN))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("io/github/llmkit/tokenizer/qwen.tiktoken");
+    }
+
+    @Test
+    void bundledVocabulariesShouldMatchTiktokenIds() {
+        BpeTokenizer cl100k = BpeTokenizer.load(BpeEncoding.CL100K_BASE);
+        BpeTokenizer o200k = BpeTokenizer.load(BpeEncoding.O200K_BASE);
+
+        assertThat(cl100k.encode("hello world")).containsExactly(15339, 1917);
+        assertThat(cl100k.encode("Hello, world!")).containsExactly(9906, 11, 1917, 0);
+        assertThat(cl100k.getVocabularySize()).isEqualTo(100_256);
+        assertThat(o200k.encode("hello world")).containsExactly(24912, 2375);
+        assertThat(o200k.getVocabularySize()).isEqualTo(199_998);
+    }
+
+    @Test
+    void patternsShouldSplitLikeTiktoken() {
+        assertThat(pieces(BpeEncoding.CL100K_BASE, "12345 it's")).containsExactly("123", "45", " it", "'s");
+        assertThat(pieces(BpeEncoding.QWEN, "123")).containsExactly("1", "2", "3");
+        assertThat(pieces(BpeEncoding.O200K_BASE, "HelloWorld it's")).containsExactly("Hello", "World", " it's");
+        // Ideographic and no-break spaces are whitespace, as in tiktoken
+        assertThat(pieces(BpeEncoding.CL100K_BASE, "你好。\u3000\u3000世界"))
+                .containsExactly("你好", "。", "\u3000", "\u3000世界");
+        assertThat(pieces(BpeEncoding.QWEN, "你好。\u3000\u3000世界"))
+                .containsExactly("你好", "。", "\u3000", "\u3000世界");
+        assertThat(pieces(BpeEncoding.O200K_BASE, "a\u00a0\u00a0b."))
+                .containsExactly("a", "\u00a0", "\u00a0b", ".");
+    }
+
+    private static List<String> pieces(BpeEncoding encoding, String text) {
+        List<String> pieces = new ArrayList<>();
+        Matcher matcher = encoding.getPattern().matcher(text);
+        while (matcher.find()) {
+            pieces.add(matcher.group());
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.llmkit.util;
+
+import io.github.llmkit.exception.ChatException;
+import io.github.llmkit.exception.NetworkException;
+import io.github.llmkit.exception.ParseException;
+import io.github.llmkit.exception.ProviderException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void shouldClassifyTransientFailures() {
+        assertThat(RetryPolicy.isTransient(new ProviderException("slow down", null, "rate_limit_exceeded", "{}"))).isTrue();
+        assertThat(RetryPolicy.isTransient(new NetworkException("unavailable", 503, "{}"))).isTrue();
+        assertThat(RetryPolicy.isTransient(new NetworkException("timeout", new SocketTimeoutException()))).isTrue();
+        assertThat(RetryPolicy.isTransient(new CompletionException(new NetworkException("too many", 429, "{}")))).isTrue();
+        assertThat(RetryPolicy.isTransient(new IOException("reset"))).isTrue();
+        assertThat(RetryPolicy.isTransient(new ChatException("Stream failed", new NetworkException("reset")))).isTrue();
+
+        assertThat(RetryPolicy.isTransient(new ProviderException("bad key", "invalid_api_key", null, "{}"))).isFalse();
+        assertThat(RetryPolicy.isTransient(new NetworkException("unauthorized", 401, "{}"))).isFalse();
+        assertThat(RetryPolicy.isTransient(new NetworkException("bad request", 400, "{}"))).isFalse();
+        assertThat(RetryPolicy.isTransient(ParseException.invalidJson("oops", null))).isFalse();
+        assertThat(RetryPolicy.isTransient(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToMaxDelay() {
+        RetryPolicy policy = RetryPolicy.builder()
+                .initialDelayMs(100)
+                .maxDelayMs(500)
+                .jitter(RetryPolicy.Jitter.NONE)
+                .build();
+
+        assertThat(policy.nextDelayMs(1, 0, null)).isEqualTo(100);
+        assertThat(policy.nextDelayMs(2, 100, null)).isEqualTo(200);
+        assertThat(policy.nextDelayMs(3, 200, null)).isEqualTo(400);
+        assertThat(policy.nextDelayMs(4, 400, null)).isEqualTo(500);
+        assertThat(policy.nextDelayMs(60, 500, null)).isEqualTo(500);
+    }
+
+    @Test
+    void shouldKeepJitteredDelaysWithinBounds() {
+        RetryPolicy full = RetryPolicy.builder().initialDelayMs(100).maxDelayMs(1000).build();
+        RetryPolicy decorrelated = full.toBuilder().jitter(RetryPolicy.Jitter.DECORRELATED).build();
+
+        long previous = 0;
+        for (int retry = 1; retry <= 20; retry++) {
+            assertThat(full.nextDelayMs(retry, 0, null)).isBetween(0L, Math.min(1000L, 100L << (retry - 1)));
+            long delay = decorrelated.nextDelayMs(retry, previous, null);
+            assertThat(delay).isBetween(100L, Math.min(1000L, Math.max(100L, previous) * 3));
+            previous = delay;
+        }
+    }
+
+    @Test
+    void shouldHonorRetryAfter() {
+        RetryPolicy policy = RetryPolicy.builder().initialDelayMs(10).maxDelayMs(100).build();
+        NetworkException rateLimited = new NetworkException("too many", 429, "{}", 5_000L, null);
+
+        assertThat(policy.nextDelayMs(1, 0, rateLimited)).isEqualTo(5_000L);
+        assertThat(policy.toBuilder().respectRetryAfter(false).build().nextDelayMs(1, 0, rateLimited))
+                .isLessThanOrEqualTo(10L);
+    }
+
+    @Test
+    void shouldFailFastWhenRetryAfterExceedsLimit() {
+        RetryPolicy policy = RetryPolicy.builder().maxRetries(3).initialDelayMs(0).maxRetryAfterMs(10_000).build();
+        NetworkException longWait = new NetworkException("too many", 429, "{}", 3_600_000L, null);
+        NetworkException shortWait = new NetworkException("too many", 429, "{}", 5_000L, null);
+
+        assertThat(policy.shouldRetry(1, longWait)).isFalse();
+        assertThat(policy.shouldRetry(1, shortWait)).isTrue();
+        assertThat(policy.toBuilder().respectRetryAfter(false).build().shouldRetry(1, longWait)).isTrue();
+
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> Retryer.retry(() -> {
+            attempts.incrementAndGet();
+            throw longWait;
+        }, policy)).isInstanceOf(NetworkException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void retryerShouldFailFastOnNonRetryableErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = RetryPolicy.builder().maxRetries(3).initialDelayMs(0).build();
+
+        assertThatThrownBy(() -> Retryer.retry(() -> {
+            attempts.incrementAndGet();
+            throw new NetworkException("bad request", 400, "{}");
+        }, policy)).isInstanceOf(NetworkException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+
+        String result = Retryer.retry(() -> {
+            if (attempts.incrementAndGet() < 4) {
+                throw new NetworkException("unavailable", 503, "{}");
+            }
+            return "ok";
+        }, policy);
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(4);
+    }
+
+    @Test
+    void retryAsyncShouldScheduleAttemptsWithoutBlocking() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = RetryPolicy.builder().maxRetries(3).initialDelayMs(5).build();
+
+        CompletableFuture<String> result = Retryer.retryAsync(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            if (attempts.incrementAndGet() < 3) {
+                attempt.completeExceptionally(new NetworkException("unavailable", 503, "{}"));
+            } else {
+                attempt.complete("ok");
+            }
+            return attempt;
+        }, policy);
+
+        assertThat(result.join()).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void retryAsyncShouldCancelPendingRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxRetries(3)
+                .initialDelayMs(200)
+                .jitter(RetryPolicy.Jitter.NONE)
+                .build();
+
+        CompletableFuture<String> result = Retryer.retryAsync(() -> {
+            attempts.incrementAndGet();
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(new NetworkException("unavailable", 503, "{}"));
+            return attempt;
+        }, policy);
+        result.cancel(true);
+        Thread.sleep(400);
+
+        assertThat(result).isCancelled();
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+}